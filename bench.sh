@@ -0,0 +1,23 @@
+#!/bin/sh
+
+path_src="src/main/java/com"
+path_test_src="src/test/java/com"
+path_bench_src="src/bench/java/com"
+path_bench_bin="bench-bin"
+version="8"
+bench="${1:-ParseBench}"
+
+# remove bench-bin files
+rm -Rf ${path_bench_bin}
+
+# mkdir bench-bin
+mkdir ${path_bench_bin}
+
+# compile
+javac -d ${path_bench_bin} \
+--release ${version} \
+$(find ${path_src} ${path_test_src} ${path_bench_src} -name "*.java") || exit 1
+
+# run benchmark
+java -Xmx2g -cp ${path_bench_bin} \
+com.shimizukenta.jsonhub.bench.${bench}
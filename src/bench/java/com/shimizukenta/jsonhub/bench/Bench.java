@@ -0,0 +1,70 @@
+package com.shimizukenta.jsonhub.bench;
+
+import java.util.concurrent.Callable;
+
+/**
+ * This class is main-driven micro-benchmark harness.
+ * 
+ * <p>
+ * Each case is run for warmup-duration, then measured for measure-duration,
+ * and reported as operations per second and megabytes per second.<br />
+ * Results of operations are consumed into {@link #sink}, so not eliminated by JIT.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class Bench {
+	
+	private static final long WARMUP_NANOS = Long.getLong("bench.warmup.ms", 2000L) * 1000000L;
+	private static final long MEASURE_NANOS = Long.getLong("bench.measure.ms", 3000L) * 1000000L;
+	
+	/**
+	 * Consumed results.
+	 */
+	public static volatile int sink;
+	
+	private Bench() {
+	}
+	
+	/**
+	 * Run case and print result.
+	 * 
+	 * @param name case name
+	 * @param bytesPerOp bytes processed by one operation, for MB/s
+	 * @param op the operation
+	 * @return operations per second
+	 * @throws Exception if operation failed
+	 */
+	public static double run(String name, long bytesPerOp, Callable<?> op) throws Exception {
+		
+		loop(op, WARMUP_NANOS);
+		
+		final long start = System.nanoTime();
+		final long ops = loop(op, MEASURE_NANOS);
+		final double sec = (System.nanoTime() - start) / 1e9;
+		
+		final double opsPerSec = ops / sec;
+		final double mbPerSec = opsPerSec * bytesPerOp / (1024.0 * 1024.0);
+		
+		System.out.println(String.format("%-36s %12.1f ops/s %10.1f MB/s", name, opsPerSec, mbPerSec));
+		
+		return opsPerSec;
+	}
+	
+	private static long loop(Callable<?> op, long nanos) throws Exception {
+		
+		final long end = System.nanoTime() + nanos;
+		long ops = 0L;
+		int h = 0;
+		
+		do {
+			h += System.identityHashCode(op.call());
+			++ ops;
+		} while ( System.nanoTime() < end );
+		
+		sink += h;
+		return ops;
+	}
+	
+}
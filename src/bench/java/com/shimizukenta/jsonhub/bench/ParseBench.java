@@ -0,0 +1,89 @@
+package com.shimizukenta.jsonhub.bench;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+import com.shimizukenta.jsonhub.impl.BaselineJsonReader;
+import com.shimizukenta.jsonhub.impl.JsonCorpus;
+
+/**
+ * This class is benchmark of parsing, current engines compared with baseline engine.
+ * 
+ * <p>
+ * Documents are large ARRAY of records and small random documents of {@link JsonCorpus}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class ParseBench {
+	
+	private ParseBench() {
+	}
+	
+	private static JsonHubReaderConfig config(boolean lazy, boolean parallel) {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.lazy(lazy);
+		c.parallel(parallel);
+		return c;
+	}
+	
+	public static void main(String[] args) throws Exception {
+		
+		final String large = JsonCorpus.largeArray(4 * 1024 * 1024);
+		final byte[] largeBytes = large.getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer largeDirect = ByteBuffer.allocateDirect(largeBytes.length);
+		largeDirect.put(largeBytes).flip();
+		
+		final JsonHubReaderConfig lazy = config(true, false);
+		final JsonHubReaderConfig parallel = config(false, true);
+		final JsonHubReaderConfig indexed = config(false, false);
+		indexed.indexed(true);
+		
+		System.out.println("# large ARRAY " + largeBytes.length + " bytes, "
+				+ Runtime.getRuntime().availableProcessors() + " cores");
+		
+		final double base = Bench.run("baseline(String)", largeBytes.length, () -> BaselineJsonReader.fromJson(large));
+		final double cursor = Bench.run("cursor(String)", largeBytes.length, () -> JsonHub.fromJson(large));
+		final double utf8 = Bench.run("utf8(byte[])", largeBytes.length, () -> JsonHub.fromBytes(largeBytes));
+		Bench.run("utf8(direct)", largeBytes.length, () -> JsonHub.fromBytes(largeDirect));
+		Bench.run("indexed(utf8)", largeBytes.length, () -> JsonHub.fromBytes(largeBytes, indexed));
+		Bench.run("lazy(String) + get(last)", largeBytes.length, () -> {
+			final JsonHub v = JsonHub.fromJson(large, lazy);
+			return v.get(v.length() - 1).get("name");
+		});
+		Bench.run("parallel(String)", largeBytes.length, () -> JsonHub.fromJson(large, parallel));
+		Bench.run("parallel(utf8)", largeBytes.length, () -> JsonHub.fromBytes(largeBytes, parallel));
+		
+		System.out.println(String.format("# cursor/baseline %.2fx, utf8/baseline %.2fx", (cursor / base), (utf8 / base)));
+		
+		final List<String> docs = JsonCorpus.documents(2000);
+		long size = 0L;
+		for ( String s : docs ) {
+			size += s.getBytes(StandardCharsets.UTF_8).length;
+		}
+		
+		System.out.println("# " + docs.size() + " small documents " + size + " bytes");
+		
+		final double smallBase = Bench.run("baseline(String)", size, () -> {
+			int h = 0;
+			for ( String s : docs ) {
+				h += BaselineJsonReader.fromJson(s).type().ordinal();
+			}
+			return h;
+		});
+		final double smallCursor = Bench.run("cursor(String)", size, () -> {
+			int h = 0;
+			for ( String s : docs ) {
+				h += JsonHub.fromJson(s).type().ordinal();
+			}
+			return h;
+		});
+		
+		System.out.println(String.format("# cursor/baseline %.2fx", (smallCursor / smallBase)));
+	}
+	
+}
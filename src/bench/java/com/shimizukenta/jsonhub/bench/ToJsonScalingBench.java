@@ -0,0 +1,159 @@
+package com.shimizukenta.jsonhub.bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubPrettyPrinter;
+import com.shimizukenta.jsonhub.impl.JsonCorpus;
+
+/**
+ * This class is benchmark of printing shared values by multiple threads.
+ * 
+ * <p>
+ * Each operation prints same values on N threads concurrently, N is 1, 2, 4, ... up to cores.<br />
+ * Values are printed by Compact-JSON-pretty-printer to counting writer,
+ * so cached {@link JsonHub#toJson()} of root is not used.<br />
+ * Throughput (MB/s) scales with N if printing holds no lock.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class ToJsonScalingBench {
+	
+	private ToJsonScalingBench() {
+	}
+	
+	/**
+	 * Writer which counts characters only.
+	 */
+	private static final class CountingWriter extends Writer {
+		
+		private long count;
+		
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			count += len;
+		}
+		
+		@Override
+		public void write(String str) {
+			count += str.length();
+		}
+		
+		@Override
+		public void write(int c) {
+			++ count;
+		}
+		
+		@Override
+		public void flush() {
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
+	
+	private static long print(JsonHub v) throws IOException {
+		final CountingWriter w = new CountingWriter();
+		JsonHubPrettyPrinter.getCompactPrinter().print(v, w);
+		return w.count;
+	}
+	
+	private static String packedArrays(int count, int length) {
+		
+		final StringBuilder sb = new StringBuilder("[");
+		
+		for ( int i = 0; i < count; ++i ) {
+			
+			if ( i > 0 ) {
+				sb.append(',');
+			}
+			
+			sb.append('[');
+			
+			for ( int j = 0; j < length; ++j ) {
+				
+				if ( j > 0 ) {
+					sb.append(',');
+				}
+				
+				if ( (i & 0x1) == 0 ) {
+					sb.append((long)i * j * 7919L);
+				} else {
+					sb.append(j).append('.').append((i + j) % 1000);
+				}
+			}
+			
+			sb.append(']');
+		}
+		
+		return sb.append(']').toString();
+	}
+	
+	private static void scaling(String name, JsonHub v, long chars, ExecutorService pool, int cores) throws Exception {
+		
+		double single = 0.0D;
+		
+		for ( int n = 1; ; n = Math.min(n * 2, cores) ) {
+			
+			final int threads = n;
+			final List<Callable<Long>> tasks = new ArrayList<>();
+			
+			for ( int i = 0; i < threads; ++i ) {
+				tasks.add(() -> print(v));
+			}
+			
+			final double ops = Bench.run(name + " x" + threads, chars * threads, () -> {
+				long h = 0L;
+				for ( Future<Long> f : pool.invokeAll(tasks) ) {
+					h += f.get().longValue();
+				}
+				return h;
+			});
+			
+			if ( threads == 1 ) {
+				single = ops;
+			} else {
+				System.out.println(String.format("# %s x%d scaling %.2fx", name, threads, (ops * threads / single)));
+			}
+			
+			if ( threads >= cores ) {
+				break;
+			}
+		}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		
+		final int cores = Runtime.getRuntime().availableProcessors();
+		
+		final JsonHub records = JsonHub.fromJson(JsonCorpus.largeArray(4 * 1024 * 1024));
+		final JsonHub packed = JsonHub.fromJson(packedArrays(200, 1000));
+		
+		/* count by printer, not cache toJson of values */
+		final long recordsChars = print(records);
+		final long packedChars = print(packed);
+		
+		System.out.println("# records " + recordsChars + " chars, packed arrays " + packedChars + " chars, " + cores + " cores");
+		
+		final ExecutorService pool = Executors.newFixedThreadPool(cores);
+		
+		try {
+			scaling("compact(records)", records, recordsChars, pool, cores);
+			scaling("compact(packed)", packed, packedChars, pool, cores);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+}
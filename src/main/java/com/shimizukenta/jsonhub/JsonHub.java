@@ -6,6 +6,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
@@ -20,10 +22,13 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import com.shimizukenta.jsonhub.impl.JsonHubFromPojoParser;
 import com.shimizukenta.jsonhub.impl.JsonHubToPojoParser;
+import com.shimizukenta.jsonhub.impl.JsonLinesReader;
 import com.shimizukenta.jsonhub.impl.JsonPathParser;
 import com.shimizukenta.jsonhub.impl.JsonReader;
 
@@ -33,11 +38,18 @@ import com.shimizukenta.jsonhub.impl.JsonReader;
  * <ul>
  * <li>To convert from JSON-String to JsonHub instance, {@link #fromJson(CharSequence)} or {@link #fromJson(Reader)}.</li>
  * <li>To convert from JSON-File to JsonHub instance, {@link #fromFile(Path)}.</li>
- * <li>To convert from JSON-bytes to JsonHub instance, {@link #fromBytes(byte[])} or {@link #fromBytes(InputStream)}.</li>
+ * <li>To convert with config (e.g. lazy parsing), {@link #fromJson(CharSequence, JsonHubReaderConfig)}.</li>
+ * <li>To convert from large JSON-File by memory-mapping, {@link #fromMappedFile(Path)}.</li>
+ * <li>To read NDJSON (JSON Lines) as stream, {@link #fromJsonLines(Path)}, to write, {@link JsonHubLinesWriter}.</li>
+ * <li>To convert from JSON-bytes to JsonHub instance, {@link #fromBytes(byte[])}, {@link #fromBytes(ByteBuffer)} or {@link #fromBytes(InputStream)}.</li>
  * <li>To convert from POJO(Plain-Old-Java-Object) to JsonHub instance, {@link #fromPojo(Object)}.</li>
+ * <li>To pull-parse JSON-stream token by token with bounded memory, {@link JsonHubStreamReader}.</li>
+ * <li>To read concatenated JSON values (e.g. {@code {...}{...}}) value by value, {@link JsonHubConcatenatedReader}.</li>
+ * <li>To receive parse events without building JsonHub, {@link #parse(CharSequence, JsonHubHandler)}.</li>
  * <li>To get JSON-String from JsonHub instance, {@link #toJson()}.</li>
  * <li>To write JSON-File from JsonHub instance, {@link #writeFile(Path)} or {@link #writeFile(Path, OpenOption...)}.</li>
  * <li>To get JSON-String-UTF8-bytes from JsonHub instance, {@link #getBytes()}.</li>
+ * <li>To write JSON-UTF8-bytes without building String, {@link #writeTo(OutputStream)}, {@link #writeTo(ByteBuffer)} or {@link #writeTo(WritableByteChannel)}.</li>
  * <li>To convert from JsonHub instance to POJO, {@link #toPojo(Class)}.</li>
  * </ul>
  * <ul>
@@ -63,6 +75,10 @@ import com.shimizukenta.jsonhub.impl.JsonReader;
  * <li>{@link #longValue()}</li>
  * <li>{@link #doubleValue()}</li>
  * <li>{@link #booleanValue()}</li>
+ * <li>{@link #toLongArray()}</li>
+ * <li>{@link #toDoubleArray()}</li>
+ * <li>{@link #longStream()}</li>
+ * <li>{@link #doubleStream()}</li>
  * <li>{@link #optionalInt()}</li>
  * <li>{@link #optionalLong()}</li>
  * <li>{@link #optionalDouble()}</li>
@@ -106,6 +122,7 @@ import com.shimizukenta.jsonhub.impl.JsonReader;
  * @author kenta-shimizu
  * @see JsonHubBuilder
  * @see JsonHubPrettyPrinter
+ * @see JsonHubStreamReader
  *
  */
 public interface JsonHub extends Iterable<JsonHub> {
@@ -502,6 +519,74 @@ public interface JsonHub extends Iterable<JsonHub> {
 		return optionalDouble().orElseThrow(() -> new JsonHubUnsupportedOperationException(type() + " not support #doubleValue"));
 	}
 	
+	/**
+	 * Returns long values of ARRAY elements as java.util.stream.LongStream.
+	 * 
+	 * <p>
+	 * Available if type is ARRAY and all elements are NUMBER.<br />
+	 * Packed NUMBER ARRAY streams values without building elements.<br />
+	 * </p>
+	 * 
+	 * @return long values stream
+	 * @throws JsonHubUnsupportedOperationException if type is <i>not</i> ARRAY, or element is <i>not</i> NUMBER
+	 */
+	default public LongStream longStream() {
+		
+		if ( type() != JsonHubType.ARRAY ) {
+			throw new JsonHubUnsupportedOperationException(type() + " not support #longStream");
+		}
+		
+		return stream().mapToLong(JsonHub::longValue);
+	}
+	
+	/**
+	 * Returns double values of ARRAY elements as java.util.stream.DoubleStream.
+	 * 
+	 * <p>
+	 * Available if type is ARRAY and all elements are NUMBER.<br />
+	 * Packed NUMBER ARRAY streams values without building elements.<br />
+	 * </p>
+	 * 
+	 * @return double values stream
+	 * @throws JsonHubUnsupportedOperationException if type is <i>not</i> ARRAY, or element is <i>not</i> NUMBER
+	 */
+	default public DoubleStream doubleStream() {
+		
+		if ( type() != JsonHubType.ARRAY ) {
+			throw new JsonHubUnsupportedOperationException(type() + " not support #doubleStream");
+		}
+		
+		return stream().mapToDouble(JsonHub::doubleValue);
+	}
+	
+	/**
+	 * Returns long values of ARRAY elements.
+	 * 
+	 * <p>
+	 * Available if type is ARRAY and all elements are NUMBER.<br />
+	 * </p>
+	 * 
+	 * @return long values array
+	 * @throws JsonHubUnsupportedOperationException if type is <i>not</i> ARRAY, or element is <i>not</i> NUMBER
+	 */
+	default public long[] toLongArray() {
+		return longStream().toArray();
+	}
+	
+	/**
+	 * Returns double values of ARRAY elements.
+	 * 
+	 * <p>
+	 * Available if type is ARRAY and all elements are NUMBER.<br />
+	 * </p>
+	 * 
+	 * @return double values array
+	 * @throws JsonHubUnsupportedOperationException if type is <i>not</i> ARRAY, or element is <i>not</i> NUMBER
+	 */
+	default public double[] toDoubleArray() {
+		return doubleStream().toArray();
+	}
+	
 	/**
 	 * Returns JsonHubBuilder.
 	 * 
@@ -527,6 +612,23 @@ public interface JsonHub extends Iterable<JsonHub> {
 		return JsonReader.fromJson(json);
 	}
 	
+	/**
+	 * Returns JsonHub instance parsing from JSON-String with config.
+	 * 
+	 * <p>
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param json JSON-string
+	 * @param config the config
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubReaderConfig
+	 */
+	public static JsonHub fromJson(CharSequence json, JsonHubReaderConfig config) {
+		return JsonReader.fromJson(json, config);
+	}
+	
 	/**
 	 * Returns parsed JaonHub from Reader.
 	 * 
@@ -581,6 +683,127 @@ public interface JsonHub extends Iterable<JsonHub> {
 		return JsonReader.fromFile(path);
 	}
 	
+	/**
+	 * Returns parsed JsonHub instance from memory-mapped file.
+	 * 
+	 * <p>
+	 * Bytes are parsed from mapped buffer directly without copying to heap.<br />
+	 * Files larger than 2GB are mapped by windows.<br />
+	 * File must not be modified while parsed JsonHub is in use.<br />
+	 * </p>
+	 * 
+	 * @param path of JSON file
+	 * @return parsed JsonHub instance
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if JsonHub parse failed
+	 */
+	public static JsonHub fromMappedFile(Path path) throws IOException {
+		return JsonReader.fromMappedFile(path);
+	}
+	
+	/**
+	 * Returns stream of JsonHub parsing from NDJSON (JSON Lines) file.
+	 * 
+	 * <p>
+	 * Each line is parsed as one JSON value, blank lines are skipped.<br />
+	 * Lines are parsed lazily while stream is consumed.<br />
+	 * Stream must be closed to close file.<br />
+	 * </p>
+	 * 
+	 * @param path of NDJSON file
+	 * @return stream of JsonHub
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed while stream is consumed
+	 */
+	public static Stream<JsonHub> fromJsonLines(Path path) throws IOException {
+		return JsonLinesReader.lines(path, JsonHubReaderConfig.defaultConfig());
+	}
+	
+	/**
+	 * Returns stream of JsonHub parsing from NDJSON (JSON Lines) file with config.
+	 * 
+	 * <p>
+	 * If {@link JsonHubReaderConfig#parallel()} is {@code true}, returns parallel stream,
+	 * and lines are parsed across cores.<br />
+	 * Use {@link Stream#forEachOrdered(Consumer)} or collect to keep line order,
+	 * or {@link Stream#unordered()} and {@link Stream#forEach(Consumer)} if order is not required.<br />
+	 * Stream must be closed to close file.<br />
+	 * </p>
+	 * 
+	 * @param path of NDJSON file
+	 * @param config the config
+	 * @return stream of JsonHub
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed while stream is consumed
+	 */
+	public static Stream<JsonHub> fromJsonLines(Path path, JsonHubReaderConfig config) throws IOException {
+		return JsonLinesReader.lines(path, config);
+	}
+	
+	/**
+	 * Returns stream of JsonHub parsing from NDJSON-UTF8-bytes-stream.
+	 * 
+	 * <p>
+	 * Closing returned stream closes {@code strm}.<br />
+	 * </p>
+	 * 
+	 * @param strm NDJSON-UTF8-bytes-stream
+	 * @return stream of JsonHub
+	 * @throws JsonHubParseException if parse failed while stream is consumed
+	 */
+	public static Stream<JsonHub> fromJsonLines(InputStream strm) {
+		return JsonLinesReader.lines(strm, JsonHubReaderConfig.defaultConfig());
+	}
+	
+	/**
+	 * Returns stream of JsonHub parsing from NDJSON-UTF8-bytes-stream with config.
+	 * 
+	 * <p>
+	 * Closing returned stream closes {@code strm}.<br />
+	 * </p>
+	 * 
+	 * @param strm NDJSON-UTF8-bytes-stream
+	 * @param config the config
+	 * @return stream of JsonHub
+	 * @throws JsonHubParseException if parse failed while stream is consumed
+	 * @see #fromJsonLines(Path, JsonHubReaderConfig)
+	 */
+	public static Stream<JsonHub> fromJsonLines(InputStream strm, JsonHubReaderConfig config) {
+		return JsonLinesReader.lines(strm, config);
+	}
+	
+	/**
+	 * Returns stream of JsonHub parsing from NDJSON-Reader.
+	 * 
+	 * <p>
+	 * Closing returned stream closes {@code reader}.<br />
+	 * </p>
+	 * 
+	 * @param reader NDJSON-Reader
+	 * @return stream of JsonHub
+	 * @throws JsonHubParseException if parse failed while stream is consumed
+	 */
+	public static Stream<JsonHub> fromJsonLines(Reader reader) {
+		return JsonLinesReader.lines(reader, JsonHubReaderConfig.defaultConfig());
+	}
+	
+	/**
+	 * Returns stream of JsonHub parsing from NDJSON-Reader with config.
+	 * 
+	 * <p>
+	 * Closing returned stream closes {@code reader}.<br />
+	 * </p>
+	 * 
+	 * @param reader NDJSON-Reader
+	 * @param config the config
+	 * @return stream of JsonHub
+	 * @throws JsonHubParseException if parse failed while stream is consumed
+	 * @see #fromJsonLines(Path, JsonHubReaderConfig)
+	 */
+	public static Stream<JsonHub> fromJsonLines(Reader reader, JsonHubReaderConfig config) {
+		return JsonLinesReader.lines(reader, config);
+	}
+	
 	/**
 	 * Write to file.
 	 * 
@@ -757,9 +980,54 @@ public interface JsonHub extends Iterable<JsonHub> {
 	 */
 	public void writeBytesExcludedNullValueInObject(OutputStream strm) throws IOException;
 	
+	/**
+	 * Write Compact-JSON UTF-8 encoded bytes to OutputStream.
+	 * 
+	 * <p>
+	 * Encoded directly to UTF-8 in pooled buffer, without building String and bytes of whole JSON.<br />
+	 * OutputStream is not flushed and not closed.<br />
+	 * </p>
+	 * 
+	 * @param strm OutputStream
+	 * @throws IOException if IO failed
+	 */
+	public void writeTo(OutputStream strm) throws IOException;
+	
+	/**
+	 * Put Compact-JSON UTF-8 encoded bytes to ByteBuffer.
+	 * 
+	 * <p>
+	 * Encoded directly to UTF-8 in pooled buffer, without building String and bytes of whole JSON.<br />
+	 * Bytes are put from position of ByteBuffer, and position is advanced.<br />
+	 * </p>
+	 * 
+	 * @param buffer ByteBuffer
+	 * @throws java.nio.BufferOverflowException if remaining of ByteBuffer is not enough
+	 */
+	public void writeTo(ByteBuffer buffer);
+	
+	/**
+	 * Write Compact-JSON UTF-8 encoded bytes to WritableByteChannel.
+	 * 
+	 * <p>
+	 * Encoded directly to UTF-8 in pooled buffer, without building String and bytes of whole JSON.<br />
+	 * Channel must be blocking mode, and is not closed.<br />
+	 * </p>
+	 * 
+	 * @param channel WritableByteChannel
+	 * @throws IOException if IO failed
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException;
+	
 	/**
 	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-array.
 	 * 
+	 * <p>
+	 * Bytes are parsed without decoding to String, STRING values are decoded at first access.<br />
+	 * {@code bs} is copied before parsing, and may be modified after parsed.<br />
+	 * To parse without copy, use {@link #fromBytes(ByteBuffer)}.<br />
+	 * </p>
+	 * 
 	 * @param bs JSON-UTF8-bytes-array
 	 * @return parsed JsonHub instance
 	 * @throws JsonHubParseException if parse failed
@@ -768,6 +1036,60 @@ public interface JsonHub extends Iterable<JsonHub> {
 		return JsonReader.fromBytes(bs);
 	}
 	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-buffer.
+	 * 
+	 * <p>
+	 * Parse from position to limit, position of buffer is not changed.<br />
+	 * Bytes are parsed without decoding to String, STRING values are decoded at first access.<br />
+	 * {@code bb} must not be modified while parsed JsonHub is in use.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes-buffer
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromBytes(ByteBuffer bb) {
+		return JsonReader.fromBytes(bb);
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-array with config.
+	 * 
+	 * <p>
+	 * If {@link JsonHubReaderConfig#lazy()} is {@code true}, parsed JsonHub refers to {@code bs},
+	 * and {@code bs} must not be modified while parsed JsonHub is in use.<br />
+	 * Otherwise {@code bs} is copied before parsing, and may be modified after parsed.<br />
+	 * </p>
+	 * 
+	 * @param bs JSON-UTF8-bytes-array
+	 * @param config the config
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubReaderConfig
+	 */
+	public static JsonHub fromBytes(byte[] bs, JsonHubReaderConfig config) {
+		return JsonReader.fromBytes(bs, config);
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-buffer with config.
+	 * 
+	 * <p>
+	 * Parse from position to limit, position of buffer is not changed.<br />
+	 * {@code bb} must not be modified while parsed JsonHub is in use.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes-buffer
+	 * @param config the config
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubReaderConfig
+	 */
+	public static JsonHub fromBytes(ByteBuffer bb, JsonHubReaderConfig config) {
+		return JsonReader.fromBytes(bb, config);
+	}
+	
 	/**
 	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-stream.
 	 * 
@@ -780,6 +1102,84 @@ public interface JsonHub extends Iterable<JsonHub> {
 		return JsonReader.fromBytes(strm);
 	}
 	
+	/**
+	 * Parse JSON-String, and fire events to handler without building JsonHub.
+	 * 
+	 * <p>
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param json JSON-string
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubHandler
+	 */
+	public static void parse(CharSequence json, JsonHubHandler handler) {
+		JsonReader.parse(json, handler);
+	}
+	
+	/**
+	 * Parse JSON from Reader, and fire events to handler without building JsonHub.
+	 * 
+	 * <p>
+	 * Reader is read by bounded buffer.<br />
+	 * </p>
+	 * 
+	 * @param reader the reader
+	 * @param handler the handler
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubHandler
+	 */
+	public static void parse(Reader reader, JsonHubHandler handler) throws IOException {
+		JsonReader.parse(reader, handler);
+	}
+	
+	/**
+	 * Parse JSON-UTF8-bytes-array, and fire events to handler without building JsonHub.
+	 * 
+	 * @param bs JSON-UTF8-bytes-array
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubHandler
+	 */
+	public static void parse(byte[] bs, JsonHubHandler handler) {
+		JsonReader.parse(ByteBuffer.wrap(bs), handler);
+	}
+	
+	/**
+	 * Parse JSON-UTF8-bytes-buffer, and fire events to handler without building JsonHub.
+	 * 
+	 * <p>
+	 * Parse from position to limit, position of buffer is not changed.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes-buffer
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubHandler
+	 */
+	public static void parse(ByteBuffer bb, JsonHubHandler handler) {
+		JsonReader.parse(bb, handler);
+	}
+	
+	/**
+	 * Parse JSON-UTF8-bytes-stream, and fire events to handler without building JsonHub.
+	 * 
+	 * <p>
+	 * Stream is read by bounded buffer.<br />
+	 * </p>
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @param handler the handler
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 * @see JsonHubHandler
+	 */
+	public static void parse(InputStream strm, JsonHubHandler handler) throws IOException {
+		JsonReader.parse(strm, handler);
+	}
+	
 	/**
 	 * Parse with JsonPath.
 	 * 
@@ -0,0 +1,96 @@
+package com.shimizukenta.jsonhub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+
+import com.shimizukenta.jsonhub.impl.JsonHubConcatenatedReaderImpl;
+
+/**
+ * This interface is implements of reading concatenated JSON values, value by value.
+ * 
+ * <p>
+ * Source is stream of back-to-back JSON values, e.g. {@code {...}{...}[...]}.<br />
+ * Values may be separated by white-space.<br />
+ * NUMBER and literal (true, false, null) must be followed by white-space if next value follows.<br />
+ * Source is read by bounded buffer, memory usage grows with largest single value, not with whole stream.<br />
+ * </p>
+ * <ul>
+ * <li>To get reader from Reader, {@link #newReader(Reader)}.</li>
+ * <li>To get reader from JSON-UTF8-bytes-stream, {@link #newReader(InputStream)}.</li>
+ * <li>To get reader from JSON-UTF8-bytes-channel, {@link #newReader(ReadableByteChannel)}.</li>
+ * </ul>
+ * <pre>
+ * // Example of Use.
+ * 
+ * try (
+ *     JsonHubConcatenatedReader r = JsonHubConcatenatedReader.newReader(strm);
+ *     ) {
+ * 
+ *     while ( r.hasNext() ) {
+ *         JsonHub value = r.next();
+ *         // process value
+ *     }
+ * }
+ * </pre>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public interface JsonHubConcatenatedReader extends Closeable {
+	
+	/**
+	 * Returns {@code true} if next value exists.
+	 * 
+	 * <p>
+	 * Reads source until next value is completed or reached end of stream.<br />
+	 * </p>
+	 * 
+	 * @return {@code true} if next value exists
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public boolean hasNext() throws IOException;
+	
+	/**
+	 * Returns next value.
+	 * 
+	 * @return next value, {@code null} if reached end of stream
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public JsonHub next() throws IOException;
+	
+	/**
+	 * Returns JsonHubConcatenatedReader instance from Reader.
+	 * 
+	 * @param reader the reader of JSON values
+	 * @return JsonHubConcatenatedReader instance
+	 */
+	public static JsonHubConcatenatedReader newReader(Reader reader) {
+		return JsonHubConcatenatedReaderImpl.newReader(reader);
+	}
+	
+	/**
+	 * Returns JsonHubConcatenatedReader instance from JSON-UTF8-bytes-stream.
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @return JsonHubConcatenatedReader instance
+	 */
+	public static JsonHubConcatenatedReader newReader(InputStream strm) {
+		return JsonHubConcatenatedReaderImpl.newReader(strm);
+	}
+	
+	/**
+	 * Returns JsonHubConcatenatedReader instance from JSON-UTF8-bytes-channel.
+	 * 
+	 * @param channel JSON-UTF8-bytes-channel
+	 * @return JsonHubConcatenatedReader instance
+	 */
+	public static JsonHubConcatenatedReader newReader(ReadableByteChannel channel) {
+		return JsonHubConcatenatedReaderImpl.newReader(channel);
+	}
+	
+}
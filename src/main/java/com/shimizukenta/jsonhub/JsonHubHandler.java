@@ -0,0 +1,119 @@
+package com.shimizukenta.jsonhub;
+
+/**
+ * This interface is implements of receiving JSON parse events.
+ * 
+ * <p>
+ * Events are fired in document order, JsonHub tree is <i>not</i> built.<br />
+ * All methods are default no-operation, override only the events to receive.<br />
+ * </p>
+ * <ul>
+ * <li>To parse JSON-String, {@link JsonHub#parse(CharSequence, JsonHubHandler)}.</li>
+ * <li>To parse Reader, {@link JsonHub#parse(java.io.Reader, JsonHubHandler)}.</li>
+ * <li>To parse JSON-UTF8-bytes, {@link JsonHub#parse(byte[], JsonHubHandler)}.</li>
+ * <li>To parse JSON-UTF8-bytes-buffer, {@link JsonHub#parse(java.nio.ByteBuffer, JsonHubHandler)}.</li>
+ * <li>To parse JSON-UTF8-bytes-stream, {@link JsonHub#parse(java.io.InputStream, JsonHubHandler)}.</li>
+ * </ul>
+ * <pre>
+ * // Example of Use. count elements of top-level array.
+ * 
+ * final int[] count = new int[]{0};
+ * 
+ * JsonHub.parse(json, new JsonHubHandler() {
+ * 
+ *     private int depth = 0;
+ * 
+ *     &#64;Override public void startArray()  { ++ depth; }
+ *     &#64;Override public void endArray()    { -- depth; if ( depth == 1 ) { ++ count[0]; } }
+ *     &#64;Override public void startObject() { ++ depth; }
+ *     &#64;Override public void endObject()   { -- depth; if ( depth == 1 ) { ++ count[0]; } }
+ *     &#64;Override public void stringValue(String v)  { if ( depth == 1 ) { ++ count[0]; } }
+ *     &#64;Override public void numberValue(Number v)  { if ( depth == 1 ) { ++ count[0]; } }
+ *     &#64;Override public void booleanValue(boolean v) { if ( depth == 1 ) { ++ count[0]; } }
+ *     &#64;Override public void nullValue()   { if ( depth == 1 ) { ++ count[0]; } }
+ * });
+ * </pre>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public interface JsonHubHandler {
+	
+	/**
+	 * Start of OBJECT, on "{".
+	 */
+	default public void startObject() {
+		/* Nothing */
+	}
+	
+	/**
+	 * End of OBJECT, on "}".
+	 */
+	default public void endObject() {
+		/* Nothing */
+	}
+	
+	/**
+	 * Start of ARRAY, on "[".
+	 */
+	default public void startArray() {
+		/* Nothing */
+	}
+	
+	/**
+	 * End of ARRAY, on "]".
+	 */
+	default public void endArray() {
+		/* Nothing */
+	}
+	
+	/**
+	 * Name of Object pair, fired before the value.
+	 * 
+	 * @param name unescaped name
+	 */
+	default public void name(String name) {
+		/* Nothing */
+	}
+	
+	/**
+	 * STRING value.
+	 * 
+	 * @param v unescaped value
+	 */
+	default public void stringValue(String v) {
+		/* Nothing */
+	}
+	
+	/**
+	 * NUMBER value.
+	 * 
+	 * <p>
+	 * If NUMBER has no fraction and no exponent, Long,
+	 * or BigDecimal if out of range of long.<br />
+	 * If NUMBER has fraction or exponent (e.g. {@code 1.5}, {@code 1e5}), Double.<br />
+	 * </p>
+	 * 
+	 * @param v Long, BigDecimal or Double
+	 */
+	default public void numberValue(Number v) {
+		/* Nothing */
+	}
+	
+	/**
+	 * true or false value.
+	 * 
+	 * @param v value
+	 */
+	default public void booleanValue(boolean v) {
+		/* Nothing */
+	}
+	
+	/**
+	 * null value.
+	 */
+	default public void nullValue() {
+		/* Nothing */
+	}
+	
+}
@@ -0,0 +1,103 @@
+package com.shimizukenta.jsonhub;
+
+import java.nio.ByteBuffer;
+
+import com.shimizukenta.jsonhub.impl.JsonHubBuildIncrementalParser;
+import com.shimizukenta.jsonhub.impl.JsonHubHandlerIncrementalParser;
+
+/**
+ * This interface is implements of non-blocking incremental parsing JSON-UTF8-bytes.
+ * 
+ * <p>
+ * Bytes are fed by fragments as they arrive, parse state is kept between calls.<br />
+ * Top-level values may follow one after another, separated by white-space or not.<br />
+ * Instances of this interface are <i>not</i> thread-safe, use one instance per connection.<br />
+ * After parse failed, instance is not usable.<br />
+ * </p>
+ * <ul>
+ * <li>To get parser building JsonHub values, {@link #newParser()}.</li>
+ * <li>To get parser firing events to handler, {@link #newParser(JsonHubHandler)}.</li>
+ * </ul>
+ * <pre>
+ * // Example of Use. on readable of SocketChannel.
+ * 
+ * buffer.clear();
+ * channel.read(buffer);
+ * buffer.flip();
+ * 
+ * parser.feed(buffer);
+ * 
+ * for ( JsonHub v; (v = parser.poll()) != null; ) {
+ *     // process v
+ * }
+ * </pre>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public interface JsonHubIncrementalParser {
+	
+	/**
+	 * Feed bytes, consumes all remaining bytes of buffer.
+	 * 
+	 * <p>
+	 * Position of buffer is moved to limit.<br />
+	 * Buffer may be reused by caller after this method returns.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes fragment
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public void feed(ByteBuffer bb);
+	
+	/**
+	 * Notify end of input.
+	 * 
+	 * <p>
+	 * Completes the top-level NUMBER or literal on end, if exist.<br />
+	 * </p>
+	 * 
+	 * @throws JsonHubParseException if value is incomplete
+	 */
+	public void endOfInput();
+	
+	/**
+	 * Returns completed top-level value and removes it, {@code null} if not exist.
+	 * 
+	 * <p>
+	 * Parser firing events to handler always returns {@code null}.<br />
+	 * </p>
+	 * 
+	 * @return completed top-level JsonHub, {@code null} if not exist
+	 */
+	public JsonHub poll();
+	
+	/**
+	 * Returns parser building JsonHub values.
+	 * 
+	 * <p>
+	 * To get completed values, {@link #poll()}.<br />
+	 * </p>
+	 * 
+	 * @return JsonHubIncrementalParser instance
+	 */
+	public static JsonHubIncrementalParser newParser() {
+		return new JsonHubBuildIncrementalParser();
+	}
+	
+	/**
+	 * Returns parser firing events to handler.
+	 * 
+	 * <p>
+	 * Events are fired as soon as each token is completed.<br />
+	 * </p>
+	 * 
+	 * @param handler the handler
+	 * @return JsonHubIncrementalParser instance
+	 * @see JsonHubHandler
+	 */
+	public static JsonHubIncrementalParser newParser(JsonHubHandler handler) {
+		return new JsonHubHandlerIncrementalParser(handler);
+	}
+	
+}
@@ -0,0 +1,90 @@
+package com.shimizukenta.jsonhub;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.shimizukenta.jsonhub.impl.JsonHubLinesWriterImpl;
+
+/**
+ * This interface is implements of NDJSON (JSON Lines) writer.
+ * 
+ * <p>
+ * Each value is written as Compact-JSON and line-feed ({@code "\n"}).<br />
+ * Values are printed into reusable buffer, buffer is written to output when filled.<br />
+ * </p>
+ * <ul>
+ * <li>To get writer to Writer, {@link #newWriter(Writer)}.</li>
+ * <li>To get writer to UTF8-bytes-stream, {@link #newWriter(OutputStream)}.</li>
+ * <li>To get writer to file, {@link #newWriter(Path, OpenOption...)}.</li>
+ * </ul>
+ * <pre>
+ * // Example of Use.
+ * 
+ * try (
+ *     JsonHubLinesWriter w = JsonHubLinesWriter.newWriter(path);
+ *     ) {
+ *     w.write(values.stream());
+ * }
+ * </pre>
+ * 
+ * @author kenta-shimizu
+ * @see JsonHub#fromJsonLines(Path)
+ *
+ */
+public interface JsonHubLinesWriter extends Closeable, Flushable {
+	
+	/**
+	 * Write value as one line.
+	 * 
+	 * @param value the JsonHub
+	 * @throws IOException if IO failed
+	 */
+	public void write(JsonHub value) throws IOException;
+	
+	/**
+	 * Write values in encounter order, each value as one line.
+	 * 
+	 * @param values stream of JsonHub
+	 * @throws IOException if IO failed
+	 */
+	public void write(Stream<? extends JsonHub> values) throws IOException;
+	
+	/**
+	 * Returns NDJSON writer to Writer.
+	 * 
+	 * @param writer output writer
+	 * @return NDJSON writer
+	 */
+	public static JsonHubLinesWriter newWriter(Writer writer) {
+		return JsonHubLinesWriterImpl.newWriter(writer);
+	}
+	
+	/**
+	 * Returns NDJSON writer to UTF8-bytes-stream.
+	 * 
+	 * @param strm output stream
+	 * @return NDJSON writer
+	 */
+	public static JsonHubLinesWriter newWriter(OutputStream strm) {
+		return JsonHubLinesWriterImpl.newWriter(strm);
+	}
+	
+	/**
+	 * Returns NDJSON writer to file.
+	 * 
+	 * @param path output file-path
+	 * @param options the File-open-options
+	 * @return NDJSON writer
+	 * @throws IOException if open failed
+	 */
+	public static JsonHubLinesWriter newWriter(Path path, OpenOption... options) throws IOException {
+		return JsonHubLinesWriterImpl.newWriter(path, options);
+	}
+	
+}
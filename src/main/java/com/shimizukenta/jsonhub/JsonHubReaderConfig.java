@@ -0,0 +1,257 @@
+package com.shimizukenta.jsonhub;
+
+import java.io.Serializable;
+
+/**
+ * This class is implements of JSON-Reader-Configuration.
+ * 
+ * <p>
+ * Used in {@link JsonHub#fromJson(CharSequence, JsonHubReaderConfig)},
+ * {@link JsonHub#fromBytes(byte[], JsonHubReaderConfig)}
+ * and {@link JsonHub#fromBytes(java.nio.ByteBuffer, JsonHubReaderConfig)}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubReaderConfig implements Serializable {
+	
+	private static final long serialVersionUID = -3870458514562287143L;
+	
+	private static final boolean defaultLazy = false;
+	private static final boolean defaultParallel = false;
+	private static final boolean defaultIndexed = false;
+	private static final boolean defaultInternNames = true;
+	private static final boolean defaultSharedNameCache = false;
+	private static final boolean defaultCacheStringJson = true;
+	
+	/**
+	 * lazy
+	 */
+	private boolean lazy;
+	
+	/**
+	 * parallel
+	 */
+	private boolean parallel;
+	
+	/**
+	 * indexed
+	 */
+	private boolean indexed;
+	
+	/**
+	 * internNames
+	 */
+	private boolean internNames;
+	
+	/**
+	 * sharedNameCache
+	 */
+	private boolean sharedNameCache;
+	
+	/**
+	 * cacheStringJson
+	 */
+	private boolean cacheStringJson;
+	
+	protected JsonHubReaderConfig() {
+		this.lazy = defaultLazy;
+		this.parallel = defaultParallel;
+		this.indexed = defaultIndexed;
+		this.internNames = defaultInternNames;
+		this.sharedNameCache = defaultSharedNameCache;
+		this.cacheStringJson = defaultCacheStringJson;
+	}
+	
+	/**
+	 * Returns default-JsonHubReaderConfig.
+	 * 
+	 * <p>
+	 * Config from this instance.<br />
+	 * </p>
+	 * 
+	 * @return default-JsonHubReaderConfig
+	 */
+	public static JsonHubReaderConfig defaultConfig() {
+		return new JsonHubReaderConfig();
+	}
+	
+	/**
+	 * Setter of lazy parsing.
+	 * 
+	 * <p>
+	 * If {@code true}, source is validated and only structural boundaries are scanned,
+	 * members of OBJECT and elements of ARRAY are parsed at first access.<br />
+	 * Unvisited values are never built.<br />
+	 * Byte source must not be modified while parsed JsonHub is in use.<br />
+	 * CharSequence source which is not String is copied by {@link CharSequence#toString()} before parsing.<br />
+	 * </p>
+	 * 
+	 * @param f set {@code true} if lazy parsing
+	 */
+	public void lazy(boolean f) {
+		synchronized ( this ) {
+			this.lazy = f;
+		}
+	}
+	
+	/**
+	 * Lazy parsing getter.
+	 * 
+	 * @return true if lazy parsing
+	 */
+	public boolean lazy() {
+		synchronized ( this ) {
+			return this.lazy;
+		}
+	}
+	
+	/**
+	 * Setter of parallel parsing.
+	 * 
+	 * <p>
+	 * If {@code true} and top-level value is large ARRAY,
+	 * element boundaries are scanned first, and elements are parsed in chunks on {@link java.util.concurrent.ForkJoinPool#commonPool()}.<br />
+	 * Small source or top-level value that is not ARRAY is parsed sequentially.<br />
+	 * If lazy parsing is also {@code true}, lazy parsing is prior.<br />
+	 * </p>
+	 * 
+	 * @param f set {@code true} if parallel parsing
+	 */
+	public void parallel(boolean f) {
+		synchronized ( this ) {
+			this.parallel = f;
+		}
+	}
+	
+	/**
+	 * Parallel parsing getter.
+	 * 
+	 * @return true if parallel parsing
+	 */
+	public boolean parallel() {
+		synchronized ( this ) {
+			return this.parallel;
+		}
+	}
+	
+	/**
+	 * Setter of two-stage parsing of JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * If {@code true}, structural characters of bytes are indexed first,
+	 * and values are built by walking the index.<br />
+	 * Parsed values are same as sequential parsing.<br />
+	 * Used in {@link JsonHub#fromBytes(byte[], JsonHubReaderConfig)}
+	 * and {@link JsonHub#fromBytes(java.nio.ByteBuffer, JsonHubReaderConfig)}, not used for CharSequence.<br />
+	 * If lazy or parallel parsing is also {@code true}, lazy or parallel parsing is prior.<br />
+	 * Default is {@code false}.<br />
+	 * </p>
+	 * 
+	 * @param f set {@code true} if two-stage parsing
+	 */
+	public void indexed(boolean f) {
+		synchronized ( this ) {
+			this.indexed = f;
+		}
+	}
+	
+	/**
+	 * Two-stage parsing getter.
+	 * 
+	 * @return true if two-stage parsing
+	 */
+	public boolean indexed() {
+		synchronized ( this ) {
+			return this.indexed;
+		}
+	}
+	
+	/**
+	 * Setter of interning OBJECT names.
+	 * 
+	 * <p>
+	 * If {@code true}, repeated OBJECT names are canonicalized by bounded cache while parsing,
+	 * and share one JsonString instance which has escaped and unescaped already computed.<br />
+	 * Not used in lazy parsing.<br />
+	 * </p>
+	 * 
+	 * @param f set {@code true} if intern OBJECT names
+	 */
+	public void internNames(boolean f) {
+		synchronized ( this ) {
+			this.internNames = f;
+		}
+	}
+	
+	/**
+	 * Interning OBJECT names getter.
+	 * 
+	 * @return true if intern OBJECT names
+	 */
+	public boolean internNames() {
+		synchronized ( this ) {
+			return this.internNames;
+		}
+	}
+	
+	/**
+	 * Setter of sharing cache of OBJECT names.
+	 * 
+	 * <p>
+	 * If {@code true}, global cache shared by all parsers is used,
+	 * names of past documents are held and cache is written by all threads.<br />
+	 * If {@code false}, new cache is used for each parsing.<br />
+	 * Default is {@code false}.<br />
+	 * Available if interning OBJECT names is {@code true}.<br />
+	 * </p>
+	 * 
+	 * @param f set {@code true} if share cache of OBJECT names
+	 */
+	public void sharedNameCache(boolean f) {
+		synchronized ( this ) {
+			this.sharedNameCache = f;
+		}
+	}
+	
+	/**
+	 * Sharing cache of OBJECT names getter.
+	 * 
+	 * @return true if share cache of OBJECT names
+	 */
+	public boolean sharedNameCache() {
+		synchronized ( this ) {
+			return this.sharedNameCache;
+		}
+	}
+	
+	/**
+	 * Setter of caching JSON of STRING values.
+	 * 
+	 * <p>
+	 * If {@code true}, parsed STRING value caches quoted escaped string at first {@link JsonHub#toJson()}.<br />
+	 * Set {@code false} for large STRING values which are printed once.<br />
+	 * Default is {@code true}.<br />
+	 * </p>
+	 * 
+	 * @param f set {@code true} if cache JSON of STRING values
+	 */
+	public void cacheStringJson(boolean f) {
+		synchronized ( this ) {
+			this.cacheStringJson = f;
+		}
+	}
+	
+	/**
+	 * Caching JSON of STRING values getter.
+	 * 
+	 * @return true if cache JSON of STRING values
+	 */
+	public boolean cacheStringJson() {
+		synchronized ( this ) {
+			return this.cacheStringJson;
+		}
+	}
+	
+}
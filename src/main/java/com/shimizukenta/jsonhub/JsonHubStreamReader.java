@@ -0,0 +1,169 @@
+package com.shimizukenta.jsonhub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+
+import com.shimizukenta.jsonhub.impl.JsonHubStreamReaderImpl;
+
+/**
+ * This interface is implements of pull-parsing JSON stream, token by token.
+ * 
+ * <p>
+ * Reads source by bounded buffer, memory usage is not depend on size of whole JSON.<br />
+ * To materialize only current value (and subtree), {@link #readValueAsJsonHub()}.<br />
+ * </p>
+ * <ul>
+ * <li>To get reader from Reader, {@link #newReader(Reader)}.</li>
+ * <li>To get reader from JSON-UTF8-bytes-stream, {@link #newReader(InputStream)}.</li>
+ * <li>To get reader from JSON-UTF8-bytes-channel, {@link #newReader(ReadableByteChannel)}.</li>
+ * </ul>
+ * <pre>
+ * // Example of Use. process huge array element by element.
+ * 
+ * try (
+ *     JsonHubStreamReader r = JsonHubStreamReader.newReader(Files.newInputStream(path));
+ *     ) {
+ * 
+ *     if ( r.next() == JsonHubStreamToken.START_ARRAY ) {
+ *         while ( r.next() != JsonHubStreamToken.END_ARRAY ) {
+ *             JsonHub element = r.readValueAsJsonHub();
+ *             // process element
+ *         }
+ *     }
+ * }
+ * </pre>
+ * 
+ * @author kenta-shimizu
+ * @see JsonHubStreamToken
+ *
+ */
+public interface JsonHubStreamReader extends Closeable {
+	
+	/**
+	 * Returns {@code true} if next token exists.
+	 * 
+	 * @return {@code true} if next token exists
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public boolean hasNext() throws IOException;
+	
+	/**
+	 * Move to next token, and returns it.
+	 * 
+	 * @return next token, {@code null} if reached end of stream
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public JsonHubStreamToken next() throws IOException;
+	
+	/**
+	 * Returns current token.
+	 * 
+	 * @return current token, {@code null} if before first token or reached end of stream
+	 */
+	public JsonHubStreamToken currentToken();
+	
+	/**
+	 * Returns name of Object pair.
+	 * 
+	 * <p>
+	 * Available if current token is FIELD_NAME or value just after FIELD_NAME.<br />
+	 * </p>
+	 * 
+	 * @return unescaped name, {@code null} otherwise
+	 */
+	public String currentName();
+	
+	/**
+	 * Returns depth of nesting, 0 if on top level.
+	 * 
+	 * @return depth of nesting
+	 */
+	public int depth();
+	
+	/**
+	 * Returns String value if current token is VALUE_STRING.
+	 * 
+	 * @return unescaped String value
+	 * @throws JsonHubUnsupportedOperationException if current token is <i>not</i> VALUE_STRING
+	 */
+	public String stringValue();
+	
+	/**
+	 * Returns Number value if current token is VALUE_NUMBER.
+	 * 
+	 * @return Number value
+	 * @throws JsonHubUnsupportedOperationException if current token is <i>not</i> VALUE_NUMBER
+	 */
+	public Number numberValue();
+	
+	/**
+	 * Returns boolean value if current token is VALUE_TRUE or VALUE_FALSE.
+	 * 
+	 * @return boolean value
+	 * @throws JsonHubUnsupportedOperationException if current token is <i>not</i> (VALUE_TRUE or VALUE_FALSE)
+	 */
+	public boolean booleanValue();
+	
+	/**
+	 * Returns JsonHub instance of current value, reads subtree if current token is START_OBJECT or START_ARRAY.
+	 * 
+	 * <p>
+	 * If current token is FIELD_NAME or before first token, move to next token before reading.<br />
+	 * After reading, current token is END_OBJECT or END_ARRAY if value is OBJECT or ARRAY.<br />
+	 * </p>
+	 * 
+	 * @return JsonHub instance of current value
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed or current token is <i>not</i> value
+	 */
+	public JsonHub readValueAsJsonHub() throws IOException;
+	
+	/**
+	 * Skip current value without materializing.
+	 * 
+	 * <p>
+	 * If current token is FIELD_NAME, move to next token before skipping.<br />
+	 * If current token is START_OBJECT or START_ARRAY, skip to END_OBJECT or END_ARRAY.<br />
+	 * </p>
+	 * 
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public void skipValue() throws IOException;
+	
+	/**
+	 * Returns JsonHubStreamReader instance from Reader.
+	 * 
+	 * @param reader the reader of JSON
+	 * @return JsonHubStreamReader instance
+	 */
+	public static JsonHubStreamReader newReader(Reader reader) {
+		return JsonHubStreamReaderImpl.newReader(reader);
+	}
+	
+	/**
+	 * Returns JsonHubStreamReader instance from JSON-UTF8-bytes-stream.
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @return JsonHubStreamReader instance
+	 */
+	public static JsonHubStreamReader newReader(InputStream strm) {
+		return JsonHubStreamReaderImpl.newReader(strm);
+	}
+	
+	/**
+	 * Returns JsonHubStreamReader instance from JSON-UTF8-bytes-channel.
+	 * 
+	 * @param channel JSON-UTF8-bytes-channel
+	 * @return JsonHubStreamReader instance
+	 */
+	public static JsonHubStreamReader newReader(ReadableByteChannel channel) {
+		return JsonHubStreamReaderImpl.newReader(channel);
+	}
+	
+}
@@ -0,0 +1,86 @@
+package com.shimizukenta.jsonhub;
+
+/**
+ * JSON stream tokens, used in {@link JsonHubStreamReader}.
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public enum JsonHubStreamToken {
+	
+	/**
+	 * {
+	 */
+	START_OBJECT,
+	
+	/**
+	 * }
+	 */
+	END_OBJECT,
+	
+	/**
+	 * [
+	 */
+	START_ARRAY,
+	
+	/**
+	 * ]
+	 */
+	END_ARRAY,
+	
+	/**
+	 * name of Object pair
+	 */
+	FIELD_NAME,
+	
+	/**
+	 * STRING
+	 */
+	VALUE_STRING,
+	
+	/**
+	 * NUMBER
+	 */
+	VALUE_NUMBER,
+	
+	/**
+	 * true
+	 */
+	VALUE_TRUE,
+	
+	/**
+	 * false
+	 */
+	VALUE_FALSE,
+	
+	/**
+	 * null
+	 */
+	VALUE_NULL,
+	;
+	
+	private JsonHubStreamToken() {
+		/* Nothing */
+	}
+	
+	/**
+	 * Returns {@code true} if token is value (STRING, NUMBER, true, false or null).
+	 * 
+	 * @return {@code true} if token is value
+	 */
+	public boolean isScalarValue() {
+		switch ( this ) {
+		case VALUE_STRING:
+		case VALUE_NUMBER:
+		case VALUE_TRUE:
+		case VALUE_FALSE:
+		case VALUE_NULL: {
+			return true;
+		}
+		default: {
+			return false;
+		}
+		}
+	}
+	
+}
@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -36,12 +38,12 @@ abstract public class AbstractJsonHub implements JsonHub, Serializable {
 	/**
 	 * toBytesCache
 	 */
-	private byte[] toBytesCache;
+	private volatile byte[] toBytesCache;
 	
 	/**
 	 * toBytesExcludeNullValueInObjectCache
 	 */
-	private byte[] toBytesExcludeNullValueInObjectCache;
+	private volatile byte[] toBytesExcludeNullValueInObjectCache;
 	
 	/**
 	 * Constructor.
@@ -53,26 +55,26 @@ abstract public class AbstractJsonHub implements JsonHub, Serializable {
 	
 	private byte[] toBytesCache() {
 		
-		synchronized ( this ) {
-			
-			if ( toBytesCache == null ) {
-				toBytesCache = toJson().getBytes(StandardCharsets.UTF_8);
-			}
-			
-			return toBytesCache;
+		byte[] bs = toBytesCache;
+		
+		if ( bs == null ) {
+			bs = toJson().getBytes(StandardCharsets.UTF_8);
+			toBytesCache = bs;
 		}
+		
+		return bs;
 	}
 	
 	private byte[] toBytesExcludeNullValueInObjectCache() {
 		
-		synchronized ( this ) {
-			
-			if ( toBytesExcludeNullValueInObjectCache == null ) {
-				toBytesExcludeNullValueInObjectCache = toJsonExcludedNullValueInObject().getBytes(StandardCharsets.UTF_8);
-			}
-			
-			return toBytesExcludeNullValueInObjectCache;
+		byte[] bs = toBytesExcludeNullValueInObjectCache;
+		
+		if ( bs == null ) {
+			bs = toJsonExcludedNullValueInObject().getBytes(StandardCharsets.UTF_8);
+			toBytesExcludeNullValueInObjectCache = bs;
 		}
+		
+		return bs;
 	}
 	
 	@Override
@@ -222,4 +224,19 @@ abstract public class AbstractJsonHub implements JsonHub, Serializable {
 		strm.write(toBytesExcludeNullValueInObjectCache());
 	}
 	
+	@Override
+	public void writeTo(OutputStream strm) throws IOException {
+		JsonUtf8Writer.write(this, strm);
+	}
+	
+	@Override
+	public void writeTo(ByteBuffer buffer) {
+		JsonUtf8Writer.write(this, buffer);
+	}
+	
+	@Override
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		JsonUtf8Writer.write(this, channel);
+	}
+	
 }
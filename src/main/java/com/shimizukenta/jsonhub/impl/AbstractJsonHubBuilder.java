@@ -31,6 +31,14 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 	private static class SingletonHolder {
 		private static final AbstractJsonHubBuilder inst = new AbstractJsonHubBuilder() {};
 		
+		private static final AbstractJsonHubBuilder notCacheStringJsonInst = new AbstractJsonHubBuilder() {
+			
+			@Override
+			protected boolean cacheStringJson() {
+				return false;
+			}
+		};
+		
 		private static final JsonStringImpl emptyString = JsonStringImpl.ofEscaped("");
 		private static final NullJsonHub nullValue = new NullJsonHub();
 		private static final TrueJsonHub trueValue = new TrueJsonHub();
@@ -53,6 +61,21 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 		return SingletonHolder.inst;
 	}
 	
+	/**
+	 * Returns Builder instance of caching quoted escaped string of STRING or not.
+	 * 
+	 * <p>
+	 * If {@code true}, returns same instance of {@link #getInstance()}.<br />
+	 * </p>
+	 * 
+	 * @param cacheStringJson set {@code false} if STRING does not cache quoted escaped string
+	 * @return builder instance
+	 * @see #cacheStringJson()
+	 */
+	public static AbstractJsonHubBuilder getInstance(boolean cacheStringJson) {
+		return cacheStringJson ? SingletonHolder.inst : SingletonHolder.notCacheStringJsonInst;
+	}
+	
 	@Override
 	public JsonHub nullValue() {
 		return SingletonHolder.nullValue;
@@ -128,11 +151,20 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 	
 	@Override
 	public JsonHub number(CharSequence cs) {
-		return new NumberJsonHub(cs);
+		return JsonNumberParser.toJsonHub(cs);
 	}
 	
 	@Override
 	public JsonHub number(Number n) {
+		
+		if ( n instanceof Long ) {
+			return new LongJsonHub(n.longValue());
+		}
+		
+		if ( n instanceof Double ) {
+			return new DoubleJsonHub(n.doubleValue());
+		}
+		
 		return new NumberJsonHub(n);
 	}
 	
@@ -143,7 +175,7 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 	
 	@Override
 	public JsonHub number(long n) {
-		return number(Long.valueOf(n));
+		return new LongJsonHub(n);
 	}
 	
 	@Override
@@ -153,7 +185,7 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 	
 	@Override
 	public JsonHub number(double n) {
-		return number(Double.valueOf(n));
+		return new DoubleJsonHub(n);
 	}
 	
 	@Override
@@ -167,7 +199,21 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 	
 	@Override
 	public JsonHub string(JsonString v) {
-		return new StringJsonHub(v);
+		return new StringJsonHub(v, cacheStringJson());
+	}
+	
+	/**
+	 * Returns {@code true} if STRING built by this builder caches quoted escaped string.
+	 * 
+	 * <p>
+	 * Subclass may override to return {@code false},
+	 * for large string values which are printed once.<br />
+	 * </p>
+	 * 
+	 * @return {@code true} if cache quoted escaped string
+	 */
+	protected boolean cacheStringJson() {
+		return true;
 	}
 	
 	@Override
@@ -177,7 +223,7 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 	
 	@Override
 	public JsonHub array(JsonHub... values) {
-		return new ArrayJsonHub(Arrays.asList(values));
+		return array(Arrays.asList(values));
 	}
 	
 	@Override
@@ -185,6 +231,26 @@ public abstract class AbstractJsonHubBuilder implements JsonHubBuilder {
 		if ( Objects.requireNonNull(values).isEmpty() ) {
 			return emptyArray();
 		} else {
+			
+			final JsonHub first = values.get(0);
+			
+			if ( first instanceof LongJsonHub ) {
+				
+				final ArrayJsonHub packed = PackedLongArrayJsonHub.pack(values);
+				
+				if ( packed != null ) {
+					return packed;
+				}
+				
+			} else if ( first instanceof DoubleJsonHub ) {
+				
+				final ArrayJsonHub packed = PackedDoubleArrayJsonHub.pack(values);
+				
+				if ( packed != null ) {
+					return packed;
+				}
+			}
+			
 			return new ArrayJsonHub(values);
 		}
 	}
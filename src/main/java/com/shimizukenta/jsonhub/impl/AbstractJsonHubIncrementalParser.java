@@ -0,0 +1,421 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubIncrementalParser;
+import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
+import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+
+/**
+ * This abstract class is super implementation class of JsonHubIncrementalParser.
+ * 
+ * <p>
+ * Byte-by-byte state machine, tokens are completed across fragments.<br />
+ * Bytes of current STRING or NUMBER token are kept until the token is completed,
+ * so multi-byte UTF-8 sequence splitted by fragments is decoded correctly.<br />
+ * Completed tokens are notified to subclass.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public abstract class AbstractJsonHubIncrementalParser implements JsonHubIncrementalParser {
+	
+	private static final byte WS = 0x20;
+	private static final byte[] BOM = new byte[]{(byte)0xEF, (byte)0xBB, (byte)0xBF};
+	
+	private static enum Expect {
+		VALUE,
+		FIRST_VALUE_OR_END_ARRAY,
+		FIRST_NAME_OR_END_OBJECT,
+		NAME,
+		SEPARATOR_NAME,
+		SEPARATOR_OR_END,
+		;
+	}
+	
+	private static enum Token {
+		NONE,
+		STRING,
+		NAME,
+		BARE,
+		;
+	}
+	
+	private Expect expect;
+	private Token token;
+	private boolean escaping;
+	
+	/**
+	 * true if container is OBJECT, false if ARRAY.
+	 */
+	private boolean[] containers;
+	private int depth;
+	
+	/**
+	 * bytes of current token.
+	 */
+	private byte[] tokenBytes;
+	private int tokenLength;
+	
+	/**
+	 * absolute index of fed bytes.
+	 */
+	private long index;
+	
+	protected AbstractJsonHubIncrementalParser() {
+		this.expect = Expect.VALUE;
+		this.token = Token.NONE;
+		this.escaping = false;
+		this.containers = new boolean[16];
+		this.depth = 0;
+		this.tokenBytes = new byte[64];
+		this.tokenLength = 0;
+		this.index = 0L;
+	}
+	
+	/**
+	 * Start of OBJECT.
+	 */
+	abstract protected void startObject();
+	
+	/**
+	 * End of OBJECT.
+	 */
+	abstract protected void endObject();
+	
+	/**
+	 * Start of ARRAY.
+	 */
+	abstract protected void startArray();
+	
+	/**
+	 * End of ARRAY.
+	 */
+	abstract protected void endArray();
+	
+	/**
+	 * Name of Object pair.
+	 * 
+	 * @param bs escaped-UTF8-bytes, owned by subclass
+	 */
+	abstract protected void name(byte[] bs);
+	
+	/**
+	 * STRING value.
+	 * 
+	 * @param bs escaped-UTF8-bytes, owned by subclass
+	 */
+	abstract protected void string(byte[] bs);
+	
+	/**
+	 * NUMBER value.
+	 * 
+	 * @param cs NUMBER character sequence, not validated
+	 */
+	abstract protected void number(String cs);
+	
+	/**
+	 * true, false or null value.
+	 * 
+	 * @param literal the literal
+	 */
+	abstract protected void literal(JsonLiteral literal);
+	
+	@Override
+	public void feed(ByteBuffer bb) {
+		
+		final int limit = bb.limit();
+		int p = bb.position();
+		
+		try {
+			
+			while ( p < limit ) {
+				
+				if ( consume(bb.get(p)) ) {
+					++ p;
+					++ index;
+				}
+			}
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
+		finally {
+			bb.position(p);
+		}
+	}
+	
+	@Override
+	public void endOfInput() {
+		
+		try {
+			
+			if ( token == Token.BARE ) {
+				completeBare();
+			}
+			
+			if ( token != Token.NONE ) {
+				throw new JsonHubParseException("Not found end-of-STRING. index: " + index);
+			}
+			
+			if ( depth > 0 ) {
+				throw new JsonHubParseException("Not found end-of-" + (containers[depth - 1] ? "OBJECT" : "ARRAY") + ". index: " + index);
+			}
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
+	}
+	
+	@Override
+	public JsonHub poll() {
+		return null;
+	}
+	
+	/**
+	 * Consume byte.
+	 * 
+	 * @param b the byte
+	 * @return true if consumed, false if byte is must be consumed again
+	 */
+	private boolean consume(byte b) {
+		
+		switch ( token ) {
+		case STRING:
+		case NAME: {
+			
+			if ( escaping ) {
+				
+				escaping = false;
+				
+			} else if ( JsonStructuralChar.ESCAPE.match(b) ) {
+				
+				escaping = true;
+				
+			} else if ( JsonStructuralChar.QUOT.match(b) ) {
+				
+				completeString();
+				return true;
+			}
+			
+			append(b);
+			return true;
+		}
+		case BARE: {
+			
+			if ( JsonStructuralChar.isEndOfValue(b) ) {
+				completeBare();
+				return false;
+			}
+			
+			append(b);
+			return true;
+		}
+		case NONE:
+		default: {
+			/* Nothing */
+		}
+		}
+		
+		if ( index < BOM.length && depth == 0 && b == BOM[(int)index] ) {
+			return true;
+		}
+		
+		if ( isWhiteSpace(b) ) {
+			return true;
+		}
+		
+		switch ( expect ) {
+		case FIRST_VALUE_OR_END_ARRAY: {
+			
+			if ( JsonStructuralChar.ARRAY_END.match(b) ) {
+				endContainer();
+			} else {
+				beginValue(b);
+			}
+			break;
+		}
+		case FIRST_NAME_OR_END_OBJECT: {
+			
+			if ( JsonStructuralChar.OBJECT_END.match(b) ) {
+				endContainer();
+			} else {
+				beginName(b);
+			}
+			break;
+		}
+		case NAME: {
+			
+			beginName(b);
+			break;
+		}
+		case SEPARATOR_NAME: {
+			
+			if ( ! JsonStructuralChar.SEPARATOR_NAME.match(b) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + index);
+			}
+			
+			expect = Expect.VALUE;
+			break;
+		}
+		case SEPARATOR_OR_END: {
+			
+			final boolean inObject = containers[depth - 1];
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				expect = inObject ? Expect.NAME : Expect.VALUE;
+				
+			} else if ( (inObject && JsonStructuralChar.OBJECT_END.match(b))
+					|| ((! inObject) && JsonStructuralChar.ARRAY_END.match(b)) ) {
+				
+				endContainer();
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + index);
+			}
+			break;
+		}
+		case VALUE:
+		default: {
+			
+			beginValue(b);
+		}
+		}
+		
+		return true;
+	}
+	
+	private void beginValue(byte b) {
+		
+		if ( JsonStructuralChar.QUOT.match(b) ) {
+			
+			token = Token.STRING;
+			tokenLength = 0;
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(b) ) {
+			
+			push(true);
+			expect = Expect.FIRST_NAME_OR_END_OBJECT;
+			startObject();
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(b) ) {
+			
+			push(false);
+			expect = Expect.FIRST_VALUE_OR_END_ARRAY;
+			startArray();
+			
+		} else if ( JsonStructuralChar.isEndOfValue(b) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + index);
+			
+		} else {
+			
+			token = Token.BARE;
+			tokenLength = 0;
+			append(b);
+		}
+	}
+	
+	private void beginName(byte b) {
+		
+		if ( ! JsonStructuralChar.QUOT.match(b) ) {
+			throw new JsonHubParseException("Not found Quot. index: " + index);
+		}
+		
+		token = Token.NAME;
+		tokenLength = 0;
+	}
+	
+	private void completeString() {
+		
+		final byte[] bs = Arrays.copyOf(tokenBytes, tokenLength);
+		
+		if ( token == Token.NAME ) {
+			
+			token = Token.NONE;
+			expect = Expect.SEPARATOR_NAME;
+			name(bs);
+			
+		} else {
+			
+			token = Token.NONE;
+			string(bs);
+			endValue();
+		}
+	}
+	
+	private void completeBare() {
+		
+		final String s = new String(tokenBytes, 0, tokenLength, StandardCharsets.US_ASCII);
+		
+		token = Token.NONE;
+		
+		if ( JsonLiteral.NULL.match(s) ) {
+			
+			literal(JsonLiteral.NULL);
+			
+		} else if ( JsonLiteral.TRUE.match(s) ) {
+			
+			literal(JsonLiteral.TRUE);
+			
+		} else if ( JsonLiteral.FALSE.match(s) ) {
+			
+			literal(JsonLiteral.FALSE);
+			
+		} else {
+			
+			number(s);
+		}
+		
+		endValue();
+	}
+	
+	private void push(boolean isObject) {
+		
+		if ( depth == containers.length ) {
+			containers = Arrays.copyOf(containers, depth * 2);
+		}
+		
+		containers[depth] = isObject;
+		++ depth;
+	}
+	
+	private void endContainer() {
+		
+		-- depth;
+		
+		if ( containers[depth] ) {
+			endObject();
+		} else {
+			endArray();
+		}
+		
+		endValue();
+	}
+	
+	private void endValue() {
+		expect = depth == 0 ? Expect.VALUE : Expect.SEPARATOR_OR_END;
+	}
+	
+	private void append(byte b) {
+		
+		if ( tokenLength == tokenBytes.length ) {
+			tokenBytes = Arrays.copyOf(tokenBytes, tokenLength * 2);
+		}
+		
+		tokenBytes[tokenLength] = b;
+		++ tokenLength;
+	}
+	
+	private static boolean isWhiteSpace(byte b) {
+		return b >= 0 && b <= WS;
+	}
+	
+}
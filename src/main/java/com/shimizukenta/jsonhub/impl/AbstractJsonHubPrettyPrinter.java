@@ -2,7 +2,6 @@ package com.shimizukenta.jsonhub.impl;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -19,6 +18,12 @@ import com.shimizukenta.jsonhub.JsonObjectPair;
 /**
  * This abstract class is super implementation class of JsoHubPrettyPrinter.
  * 
+ * <p>
+ * Printing holds no state in this instance, config is read once at start of each print,
+ * so threads print concurrently without lock.<br />
+ * {@link #print(JsonHub)} uses per-thread reusable char-buffer.<br />
+ * </p>
+ * 
  * @author kenta-shimizu
  *
  */
@@ -59,7 +64,7 @@ public abstract class AbstractJsonHubPrettyPrinter implements JsonHubPrettyPrint
 	
 	@Override
 	public void print(JsonHub v, Writer writer) throws IOException {
-		print(v, writer, 0);
+		print(v, writer, 0, new Format(config));
 	}
 	
 	@Override
@@ -87,22 +92,21 @@ public abstract class AbstractJsonHubPrettyPrinter implements JsonHubPrettyPrint
 	@Override
 	public String print(JsonHub v) {
 		
-		synchronized ( this ) {
-			
-			try (
-					StringWriter sw = new StringWriter();
-					) {
-				
-				print(v, sw);
-				return sw.toString();
-			}
-			catch ( IOException notHappen ) {
-				throw new RuntimeException(notHappen);
-			}
+		final ScratchWriter w = ScratchWriter.acquire();
+		
+		try {
+			print(v, w);
+			return w.toString();
+		}
+		catch ( IOException notHappen ) {
+			throw new RuntimeException(notHappen);
+		}
+		finally {
+			w.release();
 		}
 	}
 	
-	private void print(JsonHub v, Writer writer, int level) throws IOException {
+	private void print(JsonHub v, Writer writer, int level, Format fmt) throws IOException {
 		
 		switch ( v.type() ) {
 		case NULL:
@@ -120,30 +124,30 @@ public abstract class AbstractJsonHubPrettyPrinter implements JsonHubPrettyPrint
 			
 			if ( v.isEmpty() ) {
 				
-				writeLineSeparatorIfBlank(writer, level);
+				writeLineSeparatorIfBlank(writer, level, fmt);
 				
 			} else {
 				
 				int deepLevel = level + 1;
 				
-				writeLineSeparator(writer);
-				writeIndent(writer, deepLevel);
+				writeLineSeparator(writer, fmt);
+				writeIndent(writer, deepLevel, fmt);
 				
 				boolean f = false;
 				
 				for (JsonHub jh : v.values()) {
 					
 					if ( f ) {
-						writeValueSeparator(writer, deepLevel);
+						writeValueSeparator(writer, deepLevel, fmt);
 					} else {
 						f = true;
 					}
 					
-					print(jh, writer, deepLevel);
+					print(jh, writer, deepLevel, fmt);
 				}
 				
-				writeLineSeparator(writer);
-				writeIndent(writer, level);
+				writeLineSeparator(writer, fmt);
+				writeIndent(writer, level, fmt);
 			}
 			
 			writer.write(JsonStructuralChar.ARRAY_END.str());
@@ -156,7 +160,7 @@ public abstract class AbstractJsonHubPrettyPrinter implements JsonHubPrettyPrint
 			
 			final List<JsonObjectPair> pairs;
 			
-			if ( config.noneNullValueInObject() ) {
+			if ( fmt.noneNullValueInObject ) {
 				
 				pairs = ((ObjectJsonHub)v).objectPairs().stream()
 						.filter(p -> p.value().nonNull())
@@ -170,33 +174,33 @@ public abstract class AbstractJsonHubPrettyPrinter implements JsonHubPrettyPrint
 			
 			if ( pairs.isEmpty() ) {
 				
-				writeLineSeparatorIfBlank(writer, level);
+				writeLineSeparatorIfBlank(writer, level, fmt);
 				
 			} else {
 				
 				int deepLevel = level + 1;
 				
-				writeLineSeparator(writer);
-				writeIndent(writer, deepLevel);
+				writeLineSeparator(writer, fmt);
+				writeIndent(writer, deepLevel, fmt);
 				
 				boolean f = false;
 				
 				for ( JsonObjectPair pair : pairs ) {
 					
 					if ( f ) {
-						writeValueSeparator(writer, deepLevel);
+						writeValueSeparator(writer, deepLevel, fmt);
 					} else {
 						f = true;
 					}
 					
 					writeObjectName(writer, pair);
-					writeNameSeparator(writer);
+					writeNameSeparator(writer, fmt);
 					
-					print(pair.value(), writer, deepLevel);
+					print(pair.value(), writer, deepLevel, fmt);
 				}
 				
-				writeLineSeparator(writer);
-				writeIndent(writer, level);
+				writeLineSeparator(writer, fmt);
+				writeIndent(writer, level, fmt);
 			}
 			
 			writer.write(JsonStructuralChar.OBJECT_END.str());
@@ -206,50 +210,163 @@ public abstract class AbstractJsonHubPrettyPrinter implements JsonHubPrettyPrint
 		}
 	}
 	
-	private void writeIndent(Writer writer, int level) throws IOException {
+	private static void writeIndent(Writer writer, int level, Format fmt) throws IOException {
 		for (int i = 0; i < level; ++i) {
-			writer.write(config.indent());
+			writer.write(fmt.indent);
 		}
 	}
 	
-	private void writeLineSeparator(Writer writer) throws IOException {
-		writer.write(config.lineSeparator());
+	private static void writeLineSeparator(Writer writer, Format fmt) throws IOException {
+		writer.write(fmt.lineSeparator);
 	}
 	
-	private void writeLineSeparatorIfBlank(Writer writer, int level) throws IOException {
-		if ( config.lineSeparateIfBlank() ) {
-			writeLineSeparator(writer);
-			writeIndent(writer, level);
+	private static void writeLineSeparatorIfBlank(Writer writer, int level, Format fmt) throws IOException {
+		if ( fmt.lineSeparateIfBlank ) {
+			writeLineSeparator(writer, fmt);
+			writeIndent(writer, level, fmt);
 		}
 	}
 	
-	private void writeValueSeparator(Writer writer, int level) throws IOException {
+	private static void writeValueSeparator(Writer writer, int level, Format fmt) throws IOException {
 		
-		if ( config.lineSeparateBeforeValueSeparator() ) {
-			writeLineSeparator(writer);
-			writeIndent(writer, level);
+		if ( fmt.lineSeparateBeforeValueSeparator ) {
+			writeLineSeparator(writer, fmt);
+			writeIndent(writer, level, fmt);
 		}
 		
-		writer.write(config.prefixValueSeparator());
+		writer.write(fmt.prefixValueSeparator);
 		writer.write(JsonStructuralChar.SEPARATOR_VALUE.str());
-		writer.write(config.suffixValueSeparator());
+		writer.write(fmt.suffixValueSeparator);
 		
-		if ( config.lineSeparateAfterValueSeparator() ) {
-			writeLineSeparator(writer);
-			writeIndent(writer, level);
+		if ( fmt.lineSeparateAfterValueSeparator ) {
+			writeLineSeparator(writer, fmt);
+			writeIndent(writer, level, fmt);
 		}
 	}
 	
-	private void writeNameSeparator(Writer writer) throws IOException {
-		writer.write(config.prefixNameSeparator());
+	private static void writeNameSeparator(Writer writer, Format fmt) throws IOException {
+		writer.write(fmt.prefixNameSeparator);
 		writer.write(JsonStructuralChar.SEPARATOR_NAME.str());
-		writer.write(config.suffixNameSeparator());
+		writer.write(fmt.suffixNameSeparator);
 	}
 	
-	private void writeObjectName(Writer writer, JsonObjectPair pair) throws IOException {
+	private static void writeObjectName(Writer writer, JsonObjectPair pair) throws IOException {
 		writer.write(JsonStructuralChar.QUOT.str());
-		writer.write(pair.name().escaped());
+		JsonStringImpl.writeEscaped(pair.name(), writer);
 		writer.write(JsonStructuralChar.QUOT.str());
 	}
 	
+	/**
+	 * Snapshot of config, read once at start of print.
+	 */
+	private static final class Format {
+		
+		private final boolean noneNullValueInObject;
+		private final String indent;
+		private final String lineSeparator;
+		private final String prefixValueSeparator;
+		private final String suffixValueSeparator;
+		private final String prefixNameSeparator;
+		private final String suffixNameSeparator;
+		private final boolean lineSeparateBeforeValueSeparator;
+		private final boolean lineSeparateAfterValueSeparator;
+		private final boolean lineSeparateIfBlank;
+		
+		private Format(JsonHubPrettyPrinterConfig config) {
+			synchronized ( config ) {
+				this.noneNullValueInObject = config.noneNullValueInObject();
+				this.indent = config.indent();
+				this.lineSeparator = config.lineSeparator();
+				this.prefixValueSeparator = config.prefixValueSeparator();
+				this.suffixValueSeparator = config.suffixValueSeparator();
+				this.prefixNameSeparator = config.prefixNameSeparator();
+				this.suffixNameSeparator = config.suffixNameSeparator();
+				this.lineSeparateBeforeValueSeparator = config.lineSeparateBeforeValueSeparator();
+				this.lineSeparateAfterValueSeparator = config.lineSeparateAfterValueSeparator();
+				this.lineSeparateIfBlank = config.lineSeparateIfBlank();
+			}
+		}
+	}
+	
+	/**
+	 * Reusable char-buffer of {@link #print(JsonHub)}, one per thread, not synchronized.
+	 */
+	private static final class ScratchWriter extends Writer {
+		
+		private static final int INITIAL_CAPACITY = 256;
+		private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+		
+		private static final ThreadLocal<ScratchWriter> pool = new ThreadLocal<>();
+		
+		private final StringBuilder sb;
+		
+		private ScratchWriter() {
+			this.sb = new StringBuilder(INITIAL_CAPACITY);
+		}
+		
+		/**
+		 * Returns pooled instance of this thread, or new instance if in use.
+		 */
+		private static ScratchWriter acquire() {
+			final ScratchWriter w = pool.get();
+			if ( w == null ) {
+				return new ScratchWriter();
+			} else {
+				pool.set(null);
+				return w;
+			}
+		}
+		
+		/**
+		 * Clears and returns to pool, large buffer is not kept.
+		 */
+		private void release() {
+			if ( sb.capacity() <= MAX_POOLED_CAPACITY ) {
+				sb.setLength(0);
+				pool.set(this);
+			}
+		}
+		
+		@Override
+		public void write(int c) {
+			sb.append((char)c);
+		}
+		
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			sb.append(cbuf, off, len);
+		}
+		
+		@Override
+		public void write(String str) {
+			sb.append(str);
+		}
+		
+		@Override
+		public void write(String str, int off, int len) {
+			sb.append(str, off, off + len);
+		}
+		
+		@Override
+		public Writer append(CharSequence csq, int start, int end) {
+			sb.append(csq, start, end);
+			return this;
+		}
+		
+		@Override
+		public void flush() {
+			/* Nothing */
+		}
+		
+		@Override
+		public void close() {
+			/* Nothing */
+		}
+		
+		@Override
+		public String toString() {
+			return sb.toString();
+		}
+	}
+	
 }
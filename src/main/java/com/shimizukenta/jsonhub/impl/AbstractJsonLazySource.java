@@ -0,0 +1,531 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.Arrays;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This abstract class is source of lazy parsing, refers to JSON character or byte sequence.
+ * 
+ * <p>
+ * {@link #parse()} validates whole source once, and returns root value.<br />
+ * OBJECT and ARRAY are returned as {@link LazyObjectJsonHub} and {@link LazyArrayJsonHub},
+ * these scan only own members at first access.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public abstract class AbstractJsonLazySource {
+	
+	/**
+	 * Returned from {@link #at(int)} if reached limit.
+	 */
+	protected static final int EOF = -1;
+	
+	private static final int WS = 0x20;
+	
+	private static final int[] EMPTY = new int[0];
+	
+	private static final JsonLiteral[] literals = JsonLiteral.values();
+	
+	/**
+	 * builder of values.
+	 */
+	private final JsonHubBuilder jhb;
+	
+	protected AbstractJsonLazySource() {
+		this(JsonHubBuilder.getInstance());
+	}
+	
+	protected AbstractJsonLazySource(JsonHubBuilder builder) {
+		this.jhb = builder;
+	}
+	
+	/**
+	 * Returns character or unsigned byte at index.
+	 * 
+	 * @param index the index
+	 * @return character or unsigned byte, {@code EOF} if reached limit
+	 */
+	abstract protected int at(int index);
+	
+	/**
+	 * Returns first index of source.
+	 * 
+	 * @return first index of source
+	 */
+	abstract protected int startIndex();
+	
+	/**
+	 * Returns escaped JsonString refers to source.
+	 * 
+	 * @param fromIndex index of first character of STRING
+	 * @param toIndex index of closing quotation
+	 * @return escaped JsonString
+	 */
+	abstract protected JsonString string(int fromIndex, int toIndex);
+	
+	/**
+	 * Returns NUMBER node parsed from source directly.
+	 * 
+	 * @param fromIndex from index
+	 * @param toIndex to index
+	 * @return NUMBER node
+	 * @throws com.shimizukenta.jsonhub.JsonHubNumberFormatException if parse failed
+	 * @see JsonNumberParser#toJsonHub(CharSequence)
+	 */
+	abstract protected JsonHub number(int fromIndex, int toIndex);
+	
+	/**
+	 * Returns Number parsed from source directly.
+	 * 
+	 * @param fromIndex from index
+	 * @param toIndex to index
+	 * @return parsed Number
+	 * @throws com.shimizukenta.jsonhub.JsonHubNumberFormatException if parse failed
+	 */
+	abstract protected Number parseNumber(int fromIndex, int toIndex);
+	
+	/**
+	 * Returns {@code true} if literal starts at index.
+	 * 
+	 * @param literal the literal
+	 * @param index the index
+	 * @return {@code true} if literal starts at index
+	 */
+	abstract protected boolean matchAt(JsonLiteral literal, int index);
+	
+	/**
+	 * Returns {@code true} if STRING without escape equals to s.
+	 * 
+	 * @param fromIndex index of first character of STRING
+	 * @param toIndex index of closing quotation
+	 * @param s the String
+	 * @return {@code true} if equals
+	 */
+	abstract protected boolean plainEquals(int fromIndex, int toIndex, String s);
+	
+	/**
+	 * Returns validated root value.
+	 * 
+	 * @return root value
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public JsonHub parse() {
+		
+		final int p = seekNextIgnoreWhiteSpace(startIndex());
+		
+		if ( at(p) == EOF ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		final int end = seekNextIgnoreWhiteSpace(validateValue(p));
+		
+		if ( at(end) != EOF ) {
+			throw new JsonHubParseException("Value is not Single. index: " + end);
+		}
+		
+		return value(p);
+	}
+	
+	/**
+	 * Returns value at index, OBJECT and ARRAY are lazy.
+	 * 
+	 * @param p index of first character of value
+	 * @return value
+	 */
+	protected JsonHub value(int p) {
+		
+		final int c = at(p);
+		
+		if ( JsonStructuralChar.QUOT.match((char)c) ) {
+			
+			return jhb.string(string(p + 1, endOfString(p)));
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match((char)c) ) {
+			
+			return new LazyArrayJsonHub(this, p);
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match((char)c) ) {
+			
+			return new LazyObjectJsonHub(this, p);
+			
+		} else {
+			
+			final JsonLiteral literal = literalAt(p);
+			
+			if ( literal == JsonLiteral.NULL ) {
+				
+				return jhb.nullValue();
+				
+			} else if ( literal == JsonLiteral.TRUE ) {
+				
+				return jhb.trueValue();
+				
+			} else if ( literal == JsonLiteral.FALSE ) {
+				
+				return jhb.falseValue();
+				
+			} else {
+				
+				return number(p, endOfBare(p));
+			}
+		}
+	}
+	
+	/**
+	 * Returns first indices of elements of ARRAY.
+	 * 
+	 * @param p index of "["
+	 * @return first indices of elements
+	 */
+	protected int[] arrayElements(int p) {
+		
+		int q = seekNextIgnoreWhiteSpace(p + 1);
+		
+		if ( JsonStructuralChar.ARRAY_END.match((char)at(q)) ) {
+			return EMPTY;
+		}
+		
+		int[] r = new int[8];
+		int n = 0;
+		
+		for ( ;; ) {
+			
+			if ( n == r.length ) {
+				r = Arrays.copyOf(r, n * 2);
+			}
+			
+			r[n] = q;
+			++ n;
+			
+			q = seekNextIgnoreWhiteSpace(skipValue(q));
+			
+			if ( ! JsonStructuralChar.SEPARATOR_VALUE.match((char)at(q)) ) {
+				return Arrays.copyOf(r, n);
+			}
+			
+			q = seekNextIgnoreWhiteSpace(q + 1);
+		}
+	}
+	
+	/**
+	 * Returns members of OBJECT.
+	 * 
+	 * <p>
+	 * Member i is {@code [3i]}: first index of name, {@code [3i+1]}: closing quotation of name,
+	 * {@code [3i+2]}: first index of value.<br />
+	 * </p>
+	 * 
+	 * @param p index of "{"
+	 * @return members
+	 */
+	protected int[] objectMembers(int p) {
+		
+		int q = seekNextIgnoreWhiteSpace(p + 1);
+		
+		if ( JsonStructuralChar.OBJECT_END.match((char)at(q)) ) {
+			return EMPTY;
+		}
+		
+		int[] r = new int[24];
+		int n = 0;
+		
+		for ( ;; ) {
+			
+			if ( n == r.length ) {
+				r = Arrays.copyOf(r, n * 2);
+			}
+			
+			final int nameTo = endOfString(q);
+			
+			r[n] = q + 1;
+			r[n + 1] = nameTo;
+			
+			q = seekNextIgnoreWhiteSpace(seekNextIgnoreWhiteSpace(nameTo + 1) + 1);
+			
+			r[n + 2] = q;
+			n += 3;
+			
+			q = seekNextIgnoreWhiteSpace(skipValue(q));
+			
+			if ( ! JsonStructuralChar.SEPARATOR_VALUE.match((char)at(q)) ) {
+				return Arrays.copyOf(r, n);
+			}
+			
+			q = seekNextIgnoreWhiteSpace(q + 1);
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if STRING equals to s.
+	 * 
+	 * @param fromIndex index of first character of STRING
+	 * @param toIndex index of closing quotation
+	 * @param s the unescaped String
+	 * @return {@code true} if equals
+	 */
+	protected boolean nameEquals(int fromIndex, int toIndex, String s) {
+		
+		for ( int i = fromIndex; i < toIndex; ++i ) {
+			if ( JsonStructuralChar.ESCAPE.match((char)at(i)) ) {
+				return string(fromIndex, toIndex).unescaped().equals(s);
+			}
+		}
+		
+		return plainEquals(fromIndex, toIndex, s);
+	}
+	
+	/**
+	 * Validate value.
+	 * 
+	 * @param p index of first character of value
+	 * @return next index of value
+	 */
+	private int validateValue(int p) {
+		
+		final int c = at(p);
+		
+		if ( JsonStructuralChar.QUOT.match((char)c) ) {
+			
+			return endOfString(p) + 1;
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match((char)c) ) {
+			
+			return validateArray(p);
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match((char)c) ) {
+			
+			return validateObject(p);
+			
+		} else if ( c == EOF ) {
+			
+			throw new JsonHubParseException("Not found value. index: " + p);
+			
+		} else if ( JsonStructuralChar.isEndOfValue((char)c) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + p);
+			
+		} else {
+			
+			final JsonLiteral literal = literalAt(p);
+			
+			if ( literal != null ) {
+				return p + literal.length();
+			}
+			
+			final int q = endOfBare(p);
+			parseNumber(p, q);
+			return q;
+		}
+	}
+	
+	private int validateArray(int p) {
+		
+		final int fromIndex = p;
+		
+		int q = seekNextIgnoreWhiteSpace(p + 1);
+		
+		if ( JsonStructuralChar.ARRAY_END.match((char)at(q)) ) {
+			return q + 1;
+		}
+		
+		for ( ;; ) {
+			
+			q = seekNextIgnoreWhiteSpace(validateValue(q));
+			
+			final int c = at(q);
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match((char)c) ) {
+				
+				q = seekNextIgnoreWhiteSpace(q + 1);
+				
+			} else if ( JsonStructuralChar.ARRAY_END.match((char)c) ) {
+				
+				return q + 1;
+				
+			} else if ( c == EOF ) {
+				
+				throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + q);
+			}
+		}
+	}
+	
+	private int validateObject(int p) {
+		
+		final int fromIndex = p;
+		
+		int q = seekNextIgnoreWhiteSpace(p + 1);
+		
+		if ( JsonStructuralChar.OBJECT_END.match((char)at(q)) ) {
+			return q + 1;
+		}
+		
+		for ( ;; ) {
+			
+			if ( ! JsonStructuralChar.QUOT.match((char)at(q)) ) {
+				throw new JsonHubParseException("Not found Quot. index: " + q);
+			}
+			
+			q = seekNextIgnoreWhiteSpace(endOfString(q) + 1);
+			
+			if ( ! JsonStructuralChar.SEPARATOR_NAME.match((char)at(q)) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + q);
+			}
+			
+			q = seekNextIgnoreWhiteSpace(validateValue(seekNextIgnoreWhiteSpace(q + 1)));
+			
+			final int c = at(q);
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match((char)c) ) {
+				
+				q = seekNextIgnoreWhiteSpace(q + 1);
+				
+			} else if ( JsonStructuralChar.OBJECT_END.match((char)c) ) {
+				
+				return q + 1;
+				
+			} else if ( c == EOF ) {
+				
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + q);
+			}
+		}
+	}
+	
+	/**
+	 * Skip validated value.
+	 * 
+	 * @param p index of first character of value
+	 * @return next index of value
+	 */
+	private int skipValue(int p) {
+		
+		final int c = at(p);
+		
+		if ( JsonStructuralChar.QUOT.match((char)c) ) {
+			
+			return endOfString(p) + 1;
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match((char)c)
+				|| JsonStructuralChar.OBJECT_BIGIN.match((char)c) ) {
+					
+			int depth = 0;
+			
+			for ( int q = p; ; ++q ) {
+				
+				final int x = at(q);
+				
+				if ( JsonStructuralChar.QUOT.match((char)x) ) {
+					
+					q = endOfString(q);
+					
+				} else if ( JsonStructuralChar.ARRAY_BIGIN.match((char)x)
+						|| JsonStructuralChar.OBJECT_BIGIN.match((char)x) ) {
+							
+					++ depth;
+					
+				} else if ( JsonStructuralChar.ARRAY_END.match((char)x)
+						|| JsonStructuralChar.OBJECT_END.match((char)x) ) {
+							
+					-- depth;
+					
+					if ( depth == 0 ) {
+						return q + 1;
+					}
+				}
+			}
+			
+		} else {
+			
+			return endOfBare(p);
+		}
+	}
+	
+	/**
+	 * Returns index of closing quotation.
+	 * 
+	 * @param p index of opening quotation
+	 * @return index of closing quotation
+	 */
+	private int endOfString(int p) {
+		
+		final int fromIndex = p + 1;
+		
+		for ( int q = fromIndex; ; ++q ) {
+			
+			final int c = at(q);
+			
+			if ( JsonStructuralChar.ESCAPE.match((char)c) ) {
+				
+				++q;
+				
+			} else if ( JsonStructuralChar.QUOT.match((char)c) ) {
+				
+				return q;
+				
+			} else if ( c == EOF ) {
+				
+				throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + fromIndex);
+			}
+		}
+	}
+	
+	private int endOfBare(int p) {
+		
+		int q = p;
+		
+		for ( ;; ++q ) {
+			
+			final int c = at(q);
+			
+			if ( c == EOF || JsonStructuralChar.isEndOfValue((char)c) ) {
+				return q;
+			}
+		}
+	}
+	
+	private JsonLiteral literalAt(int p) {
+		
+		for ( JsonLiteral literal : literals ) {
+			
+			if ( matchAt(literal, p) ) {
+				
+				final int c = at(p + literal.length());
+				
+				if ( c == EOF || JsonStructuralChar.isEndOfValue((char)c) ) {
+					return literal;
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	private int seekNextIgnoreWhiteSpace(int p) {
+		
+		int q = p;
+		
+		while ( isWhiteSpace(at(q)) ) {
+			++ q;
+		}
+		
+		return q;
+	}
+	
+	private static boolean isWhiteSpace(int c) {
+		return c >= 0 && c <= WS;
+	}
+	
+}
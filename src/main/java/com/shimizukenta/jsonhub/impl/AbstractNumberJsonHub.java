@@ -0,0 +1,136 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import com.shimizukenta.jsonhub.JsonHubType;
+
+/**
+ * This abstract class is implementation of JSON value NUMBER.
+ * 
+ * <p>
+ * Subclasses hold value as Number, raw long or raw double.<br />
+ * {@link #intValue()}, {@link #longValue()} and {@link #doubleValue()} return value without Optional.<br />
+ * Integral values (Byte, Short, Integer and Long) are equal if long values are equal,
+ * other values are same as equality of {@link #optionalNubmer()} value.<br />
+ * Equality is of values, not of JSON text.
+ * {@code 1.0} and {@code 1.00} are equal and have same hash code, though printed as parsed.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+abstract public class AbstractNumberJsonHub extends AbstractJsonHub {
+	
+	private static final long serialVersionUID = 4021961418930157628L;
+	
+	/**
+	 * Constructor.
+	 */
+	public AbstractNumberJsonHub() {
+		super();
+	}
+	
+	/**
+	 * Returns value as Number.
+	 * 
+	 * @return Number
+	 */
+	abstract protected Number number();
+	
+	@Override
+	public JsonHubType type() {
+		return JsonHubType.NUMBER;
+	}
+	
+	@Override
+	abstract public int intValue();
+	
+	@Override
+	abstract public long longValue();
+	
+	@Override
+	abstract public double doubleValue();
+	
+	@Override
+	public OptionalInt optionalInt() {
+		return OptionalInt.of(intValue());
+	}
+	
+	@Override
+	public OptionalLong optionalLong() {
+		return OptionalLong.of(longValue());
+	}
+	
+	@Override
+	public OptionalDouble optionalDouble() {
+		return OptionalDouble.of(doubleValue());
+	}
+	
+	@Override
+	public Optional<Number> optionalNubmer() {
+		return Optional.of(number());
+	}
+	
+	@Override
+	public void toJson(Writer writer) throws IOException {
+		writer.write(toJson());
+	}
+	
+	@Override
+	public String toJsonExcludedNullValueInObject() {
+		return toJson();
+	}
+	
+	@Override
+	public void toJsonExcludedNullValueInObject(Writer writer) throws IOException {
+		toJson(writer);
+	}
+	
+	@Override
+	public String toString() {
+		return toJson();
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if ((o != null) && (o instanceof AbstractNumberJsonHub)) {
+			
+			final Number a = number();
+			final Number b = ((AbstractNumberJsonHub) o).number();
+			
+			if ( isIntegral(a) && isIntegral(b) ) {
+				return a.longValue() == b.longValue();
+			}
+			
+			return a.equals(b);
+			
+		} else {
+			return false;
+		}
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		final Number n = number();
+		
+		if ( isIntegral(n) ) {
+			return Long.hashCode(n.longValue());
+		}
+		
+		return n.hashCode();
+	}
+	
+	private static boolean isIntegral(Number n) {
+		return (n instanceof Long)
+				|| (n instanceof Integer)
+				|| (n instanceof Short)
+				|| (n instanceof Byte);
+	}
+	
+}
@@ -0,0 +1,226 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
+
+/**
+ * This abstract class is implementation of packed JSON value ARRAY, all elements are NUMBER.
+ * 
+ * <p>
+ * Values are stored in primitive array, each element JsonHub is built when requested.<br />
+ * JSON-String is printed from primitive array directly.<br />
+ * Instances of this class are immutable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+abstract public class AbstractPackedArrayJsonHub extends ArrayJsonHub {
+	
+	private static final long serialVersionUID = -5150183312846113528L;
+	
+	/**
+	 * Buffer size of {@link #writeJson(Writer)}.
+	 */
+	private static final int WRITE_BUFFER_SIZE = 4096;
+	
+	/**
+	 * Constructor.
+	 */
+	public AbstractPackedArrayJsonHub() {
+		super(Collections.emptyList());
+	}
+	
+	/**
+	 * Returns element JsonHub, built on demand.
+	 * 
+	 * @param index the index of element
+	 * @return element JsonHub
+	 */
+	abstract protected JsonHub element(int index);
+	
+	/**
+	 * Append text of element.
+	 * 
+	 * @param sb the StringBuilder
+	 * @param index the index of element
+	 */
+	abstract protected void appendElement(StringBuilder sb, int index);
+	
+	@Override
+	abstract public int length();
+	
+	@Override
+	protected List<JsonHub> list() {
+		return new ElementList();
+	}
+	
+	@Override
+	public JsonHub get(int index) {
+		
+		if ( index < 0 || index >= length() ) {
+			throw new JsonHubIndexOutOfBoundsException("get: " + index);
+		}
+		
+		return element(index);
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return length() == 0;
+	}
+	
+	@Override
+	protected String buildJson() {
+		
+		final int n = length();
+		final StringBuilder sb = new StringBuilder(n * 8 + 2);
+		
+		sb.append(JsonStructuralChar.ARRAY_BIGIN.str());
+		
+		for ( int i = 0; i < n; ++i ) {
+			
+			if ( i > 0 ) {
+				sb.append(JsonStructuralChar.SEPARATOR_VALUE.str());
+			}
+			
+			appendElement(sb, i);
+		}
+		
+		sb.append(JsonStructuralChar.ARRAY_END.str());
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Write Compact-JSON from primitive array directly, without building element JsonHub and cache.
+	 * 
+	 * <p>
+	 * Elements are appended to per-thread buffer, and buffer is written each {@code WRITE_BUFFER_SIZE} chars.<br />
+	 * </p>
+	 * 
+	 * @param writer the writer
+	 * @throws IOException if write failed
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		
+		final WriteBuffer wb = WriteBuffer.acquire();
+		
+		try {
+			
+			final int n = length();
+			final StringBuilder sb = wb.sb;
+			
+			sb.append(JsonStructuralChar.ARRAY_BIGIN.str());
+			
+			for ( int i = 0; i < n; ++i ) {
+				
+				if ( i > 0 ) {
+					sb.append(JsonStructuralChar.SEPARATOR_VALUE.str());
+				}
+				
+				appendElement(sb, i);
+				
+				if ( sb.length() >= WRITE_BUFFER_SIZE ) {
+					wb.writeTo(writer);
+				}
+			}
+			
+			sb.append(JsonStructuralChar.ARRAY_END.str());
+			wb.writeTo(writer);
+		}
+		finally {
+			wb.release();
+		}
+	}
+	
+	/**
+	 * Reusable buffer of {@link #writeJson(Writer)}, one per thread, not synchronized.
+	 */
+	private static final class WriteBuffer {
+		
+		private static final int CAPACITY = WRITE_BUFFER_SIZE + 64;
+		
+		private static final ThreadLocal<WriteBuffer> pool = new ThreadLocal<>();
+		
+		private final StringBuilder sb;
+		private final char[] buf;
+		
+		private WriteBuffer() {
+			this.sb = new StringBuilder(CAPACITY);
+			this.buf = new char[CAPACITY];
+		}
+		
+		/**
+		 * Returns pooled instance of this thread, or new instance if in use.
+		 */
+		private static WriteBuffer acquire() {
+			final WriteBuffer wb = pool.get();
+			if ( wb == null ) {
+				return new WriteBuffer();
+			} else {
+				pool.set(null);
+				return wb;
+			}
+		}
+		
+		/**
+		 * Clears and returns to pool.
+		 */
+		private void release() {
+			sb.setLength(0);
+			pool.set(this);
+		}
+		
+		/**
+		 * Writes appended chars, and clears.
+		 */
+		private void writeTo(Writer writer) throws IOException {
+			
+			final int len = sb.length();
+			
+			if ( len > buf.length ) {
+				writer.write(sb.toString());
+			} else {
+				sb.getChars(0, len, buf, 0);
+				writer.write(buf, 0, len);
+			}
+			
+			sb.setLength(0);
+		}
+	}
+	
+	@Override
+	protected String buildJsonExcludedNullValueInObject() {
+		return toJson();
+	}
+	
+	/**
+	 * Unmodifiable view of elements.
+	 */
+	private class ElementList extends AbstractList<JsonHub> implements RandomAccess {
+		
+		@Override
+		public JsonHub get(int index) {
+			
+			if ( index < 0 || index >= length() ) {
+				throw new IndexOutOfBoundsException("get: " + index);
+			}
+			
+			return element(index);
+		}
+		
+		@Override
+		public int size() {
+			return length();
+		}
+	}
+	
+}
@@ -21,6 +21,8 @@ import com.shimizukenta.jsonhub.JsonString;
  * This class is implements of JSON value ARRAY.
  * 
  * <p>
+ * Equality is structural, same length and each element is equal.<br />
+ * Hash code is computed from hash codes of elements, and cached.<br />
  * Instances of this class are immutable.
  * </p>
  * 
@@ -39,12 +41,17 @@ public class ArrayJsonHub extends AbstractJsonHub {
 	/**
 	 * Cache.
 	 */
-	private String toJsonCache;
+	private volatile String toJsonCache;
 	
 	/**
 	 * Cache.
 	 */
-	private String toJsonExcludedNullValueInObjectCache;
+	private volatile String toJsonExcludedNullValueInObjectCache;
+	
+	/**
+	 * Cache of hash code, 0 if not computed.
+	 */
+	private transient int hash;
 	
 	/**
 	 * Constructor.
@@ -59,24 +66,37 @@ public class ArrayJsonHub extends AbstractJsonHub {
 		this.toJsonExcludedNullValueInObjectCache = null;
 	}
 	
+	/**
+	 * Returns value.
+	 * 
+	 * <p>
+	 * Subclass may override to build values on demand.<br />
+	 * </p>
+	 * 
+	 * @return value
+	 */
+	protected List<JsonHub> list() {
+		return v;
+	}
+	
 	@Override
 	public Iterator<JsonHub> iterator() {
-		return v.iterator();
+		return list().iterator();
 	}
 	
 	@Override
 	public Spliterator<JsonHub> spliterator() {
-		return v.spliterator();
+		return list().spliterator();
 	}
 	
 	@Override
 	public void forEach(Consumer<? super JsonHub> action) {
-		v.forEach(action);
+		list().forEach(action);
 	}
 	
 	@Override
 	public void forEach(BiConsumer<? super JsonString, ? super JsonHub> action) {
-		v.forEach(x -> {
+		list().forEach(x -> {
 			action.accept(null, x);
 		});
 	}
@@ -88,19 +108,19 @@ public class ArrayJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public Stream<JsonHub> stream() {
-		return v.stream();
+		return list().stream();
 	}
 	
 	@Override
 	public List<JsonHub> values() {
-		return Collections.unmodifiableList(v);
+		return Collections.unmodifiableList(list());
 	}
 	
 	@Override
 	public JsonHub get(int index) {
 		
 		try {
-			return v.get(index);
+			return list().get(index);
 		}
 		catch ( IndexOutOfBoundsException e ) {
 			throw new JsonHubIndexOutOfBoundsException("get: " + index);
@@ -109,12 +129,12 @@ public class ArrayJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public int length() {
-		return v.size();
+		return list().size();
 	}
 	
 	@Override
 	public boolean isEmpty() {
-		return v.isEmpty();
+		return list().isEmpty();
 	}
 	
 	@Override
@@ -138,23 +158,47 @@ public class ArrayJsonHub extends AbstractJsonHub {
 	}
 	
 	private String toJsonCache() {
-		synchronized ( this ) {
-			if ( toJsonCache == null ) {
-				toJsonCache = super.toJson();
-			}
-			
-			return toJsonCache;
+		String s = toJsonCache;
+		if ( s == null ) {
+			s = buildJson();
+			toJsonCache = s;
 		}
+		return s;
 	}
 	
 	private String toJsonExcludedNullValueInObjectCache() {
-		synchronized ( this ) {
-			if ( toJsonExcludedNullValueInObjectCache == null ) {
-				toJsonExcludedNullValueInObjectCache = super.toJsonExcludedNullValueInObject();
-			}
-			
-			return toJsonExcludedNullValueInObjectCache;
+		String s = toJsonExcludedNullValueInObjectCache;
+		if ( s == null ) {
+			s = buildJsonExcludedNullValueInObject();
+			toJsonExcludedNullValueInObjectCache = s;
 		}
+		return s;
+	}
+	
+	/**
+	 * Returns Compact-JSON-String, for cache.
+	 * 
+	 * <p>
+	 * Subclass may override to print values without building JsonHub.<br />
+	 * </p>
+	 * 
+	 * @return Compact-JSON-String
+	 */
+	protected String buildJson() {
+		return super.toJson();
+	}
+	
+	/**
+	 * Returns Compact-JSON-String excluded null value in OBJECT, for cache.
+	 * 
+	 * <p>
+	 * Subclass may override to print values without building JsonHub.<br />
+	 * </p>
+	 * 
+	 * @return Compact-JSON-String excluded null value in OBJECT
+	 */
+	protected String buildJsonExcludedNullValueInObject() {
+		return super.toJsonExcludedNullValueInObject();
 	}
 	
 	@Override
@@ -164,16 +208,81 @@ public class ArrayJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public boolean equals(Object o) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		
 		if ((o != null) && (o instanceof ArrayJsonHub)) {
-			return ((ArrayJsonHub) o).toJson().equals(toJson());
+			
+			final ArrayJsonHub a = (ArrayJsonHub) o;
+			
+			if ( a.length() != length() ) {
+				return false;
+			}
+			
+			if ( hash != 0 && a.hash != 0 && hash != a.hash ) {
+				return false;
+			}
+			
+			return elementsEquals(a);
+			
 		} else {
 			return false;
 		}
 	}
 	
+	/**
+	 * Returns {@code true} if each element is equal, for equality.
+	 * 
+	 * <p>
+	 * Length is already compared.<br />
+	 * Subclass may override to compare values without building JsonHub.<br />
+	 * </p>
+	 * 
+	 * @param a the ARRAY which has same length
+	 * @return {@code true} if each element is equal
+	 */
+	protected boolean elementsEquals(ArrayJsonHub a) {
+		
+		for ( int i = 0, n = length(); i < n; ++i ) {
+			if ( ! get(i).equals(a.get(i)) ) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
 	@Override
 	public int hashCode() {
-		return toJson().hashCode();
+		int h = hash;
+		if ( h == 0 ) {
+			h = buildHashCode();
+			hash = h;
+		}
+		return h;
+	}
+	
+	/**
+	 * Returns hash code computed from hash codes of elements, for cache.
+	 * 
+	 * <p>
+	 * Same as {@link List#hashCode()} of elements.<br />
+	 * Subclass may override to compute without building JsonHub.<br />
+	 * </p>
+	 * 
+	 * @return hash code
+	 */
+	protected int buildHashCode() {
+		
+		int h = 1;
+		
+		for ( int i = 0, n = length(); i < n; ++i ) {
+			h = 31 * h + get(i).hashCode();
+		}
+		
+		return h;
 	}
 	
 }
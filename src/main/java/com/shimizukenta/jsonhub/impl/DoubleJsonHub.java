@@ -0,0 +1,159 @@
+package com.shimizukenta.jsonhub.impl;
+
+/**
+ * This class is implements of JSON value NUMBER, holds raw double.
+ * 
+ * <p>
+ * Text is produced on demand.<br />
+ * If scale is negative, text is {@link Double#toString(double)}.<br />
+ * Otherwise, text is plain decimal that has {@code scale} digits of fraction,
+ * scale is available if value is parsed from plain decimal up to 15 digits.<br />
+ * Equals to DoubleJsonHub and NumberJsonHub of same Double value, scale is not compared.<br />
+ * Instances of this class are immutable.
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class DoubleJsonHub extends AbstractNumberJsonHub {
+	
+	private static final long serialVersionUID = -3372436624722005489L;
+	
+	/**
+	 * Maximum digits of plain decimal which is reproducible from double.
+	 */
+	public static final int MAX_PLAIN_DIGITS = 15;
+	
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7,
+			1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+	};
+	
+	private final double value;
+	private final int scale;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param value the double value
+	 */
+	public DoubleJsonHub(double value) {
+		this(value, -1);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param value the double value
+	 * @param scale digits of fraction, negative if text is {@link Double#toString(double)}
+	 */
+	public DoubleJsonHub(double value, int scale) {
+		super();
+		
+		if ( scale > MAX_PLAIN_DIGITS ) {
+			throw new IllegalArgumentException("scale > " + MAX_PLAIN_DIGITS);
+		}
+		
+		this.value = value;
+		this.scale = scale;
+	}
+	
+	@Override
+	protected Number number() {
+		return Double.valueOf(value);
+	}
+	
+	@Override
+	public int intValue() {
+		return (int)value;
+	}
+	
+	@Override
+	public long longValue() {
+		return (long)value;
+	}
+	
+	@Override
+	public double doubleValue() {
+		return value;
+	}
+	
+	/**
+	 * Returns digits of fraction, negative if text is {@link Double#toString(double)}.
+	 * 
+	 * @return scale
+	 */
+	int scale() {
+		return scale;
+	}
+	
+	@Override
+	public String toJson() {
+		
+		if ( scale < 0 ) {
+			return Double.toString(value);
+		}
+		
+		final StringBuilder sb = new StringBuilder();
+		appendJson(sb, value, scale);
+		return sb.toString();
+	}
+	
+	/**
+	 * Append text of value.
+	 * 
+	 * @param sb the StringBuilder
+	 * @param value the double value
+	 * @param scale digits of fraction, negative if text is {@link Double#toString(double)}
+	 */
+	static void appendJson(StringBuilder sb, double value, int scale) {
+		
+		if ( scale < 0 ) {
+			sb.append(value);
+			return;
+		}
+		
+		/* digits < 10^15, error of multiplication is less than 0.5 */
+		final String digits = Long.toString(Math.round(Math.abs(value) * POWERS_OF_TEN[scale]));
+		final int len = digits.length();
+		
+		if ( Double.doubleToRawLongBits(value) < 0L ) {
+			sb.append('-');
+		}
+		
+		if ( len > scale ) {
+			
+			sb.append(digits, 0, (len - scale));
+			
+		} else {
+			
+			sb.append('0');
+		}
+		
+		if ( scale > 0 ) {
+			
+			sb.append('.');
+			
+			for ( int i = len; i < scale; ++i ) {
+				sb.append('0');
+			}
+			
+			sb.append(digits, Math.max(0, (len - scale)), len);
+		}
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if ((o != null) && (o instanceof DoubleJsonHub)) {
+			return Double.doubleToLongBits(((DoubleJsonHub) o).value) == Double.doubleToLongBits(value);
+		} else {
+			return super.equals(o);
+		}
+	}
+	
+	@Override
+	public int hashCode() {
+		return Double.hashCode(value);
+	}
+	
+}
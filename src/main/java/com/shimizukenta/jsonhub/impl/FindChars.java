@@ -27,6 +27,15 @@ public final class FindChars {
 	 */
 	public static FindCharResult next(CharSequence cs, int fromIndex, char... targets) {
 		if ( fromIndex>= 0 ) {
+			
+			if ( targets.length == 1 ) {
+				return next(cs, fromIndex, targets[0]);
+			}
+			
+			if ( targets.length == 2 ) {
+				return next(cs, fromIndex, targets[0], targets[1]);
+			}
+			
 			int len = cs.length();
 			for ( int p = fromIndex; p < len; ++p ) {
 				char c = cs.charAt(p);
@@ -40,6 +49,53 @@ public final class FindChars {
 		return notfound;
 	}
 	
+	/**
+	 * Seek next single character.
+	 * 
+	 * <p>
+	 * If cs is String, use {@link String#indexOf(int, int)}.<br />
+	 * </p>
+	 */
+	private static FindCharResult next(CharSequence cs, int fromIndex, char target) {
+		
+		final int p = indexOf(cs, fromIndex, target);
+		
+		if ( p >= 0 ) {
+			return new FindCharResult(target, p);
+		}
+		
+		return notfound;
+	}
+	
+	/**
+	 * Seek next of 2 characters, without loop of targets.
+	 */
+	private static FindCharResult next(CharSequence cs, int fromIndex, char t0, char t1) {
+		int len = cs.length();
+		for ( int p = fromIndex; p < len; ++p ) {
+			char c = cs.charAt(p);
+			if ( c == t0 || c == t1 ) {
+				return new FindCharResult(c, p);
+			}
+		}
+		return notfound;
+	}
+	
+	private static int indexOf(CharSequence cs, int fromIndex, char target) {
+		
+		if ( cs instanceof String ) {
+			return ((String)cs).indexOf(target, fromIndex);
+		}
+		
+		int len = cs.length();
+		for ( int p = fromIndex; p < len; ++p ) {
+			if ( cs.charAt(p) == target ) {
+				return p;
+			}
+		}
+		return -1;
+	}
+	
 	/**
 	 * Seek next character ignore white-space({@code <=0x20}).
 	 * 
@@ -70,6 +126,11 @@ public final class FindChars {
 	 */
 	public static FindCharResult nextIgnoreEscape(CharSequence cs, int fromIndex, char... targets) {
 		if ( fromIndex >= 0 ) {
+			
+			if ( targets.length == 1 && targets[0] != ESCAPE ) {
+				return nextIgnoreEscape(cs, fromIndex, targets[0]);
+			}
+			
 			int len = cs.length();
 			for ( int p = fromIndex; p < len; ++p ) {
 				char c = cs.charAt(p);
@@ -87,4 +148,35 @@ public final class FindChars {
 		return notfound;
 	}
 	
+	/**
+	 * Seek next single character ignore ESCAPE.
+	 * 
+	 * <p>
+	 * Jump to candidate by {@link #indexOf(CharSequence, int, char)},
+	 * candidate is escaped if count of preceding BACK-SLASHes (from fromIndex) is odd.<br />
+	 * </p>
+	 */
+	private static FindCharResult nextIgnoreEscape(CharSequence cs, int fromIndex, char target) {
+		
+		for ( int p = fromIndex ;; ) {
+			
+			p = indexOf(cs, p, target);
+			
+			if ( p < 0 ) {
+				return notfound;
+			}
+			
+			int escapes = 0;
+			for ( int i = p - 1; i >= fromIndex && cs.charAt(i) == ESCAPE; --i ) {
+				++ escapes;
+			}
+			
+			if ( (escapes & 0x1) == 0 ) {
+				return new FindCharResult(target, p);
+			}
+			
+			++ p;
+		}
+	}
+	
 }
@@ -0,0 +1,90 @@
+package com.shimizukenta.jsonhub.impl;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is lazy parsing source refers to JSON-CharSequence.
+ * 
+ * <p>
+ * If source is not String (e.g. StringBuilder), snapshot by {@link CharSequence#toString()} is referred,
+ * so source may be modified after parsed.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonCharSequenceLazySource extends AbstractJsonLazySource {
+	
+	private final String cs;
+	private final int length;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param cs JSON-CharSequence
+	 */
+	public JsonCharSequenceLazySource(CharSequence cs) {
+		this(cs, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @param builder builder of values
+	 */
+	public JsonCharSequenceLazySource(CharSequence cs, JsonHubBuilder builder) {
+		super(builder);
+		this.cs = cs.toString();
+		this.length = this.cs.length();
+	}
+	
+	@Override
+	protected int at(int index) {
+		return index < length ? cs.charAt(index) : EOF;
+	}
+	
+	@Override
+	protected int startIndex() {
+		return 0;
+	}
+	
+	@Override
+	protected JsonString string(int fromIndex, int toIndex) {
+		return JsonCharSequenceStringImpl.ofEscaped(cs, fromIndex, (toIndex - fromIndex), true);
+	}
+	
+	@Override
+	protected JsonHub number(int fromIndex, int toIndex) {
+		return JsonNumberParser.toJsonHub(cs, fromIndex, toIndex);
+	}
+	
+	@Override
+	protected Number parseNumber(int fromIndex, int toIndex) {
+		return JsonNumberParser.parse(cs, fromIndex, toIndex);
+	}
+	
+	@Override
+	protected boolean matchAt(JsonLiteral literal, int index) {
+		return literal.matchAt(cs, index);
+	}
+	
+	@Override
+	protected boolean plainEquals(int fromIndex, int toIndex, String s) {
+		
+		if ( (toIndex - fromIndex) != s.length() ) {
+			return false;
+		}
+		
+		for ( int i = fromIndex, j = 0; i < toIndex; ++i, ++j ) {
+			if ( cs.charAt(i) != s.charAt(j) ) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+}
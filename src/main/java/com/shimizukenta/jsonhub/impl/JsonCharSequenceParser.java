@@ -0,0 +1,586 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubHandler;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is single-pass recursive-descent parser, from JSON-CharSequence to JsonHub instance.
+ * 
+ * <p>
+ * Walks the CharSequence once with a cursor, and builds values from character offsets.<br />
+ * No intermediate substring is created except for STRING and NUMBER values.<br />
+ * </p>
+ * <p>
+ * To parse, {@link #parse(CharSequence)}.<br />
+ * To fire events without building JsonHub, {@link #parse(CharSequence, JsonHubHandler)}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonCharSequenceParser {
+	
+	private static final char NOTFOUND = 0;
+	private static final char WS = ' ';
+	
+	private final CharSequence cs;
+	private final int length;
+	
+	/**
+	 * cache of OBJECT names, {@code null} if not cached.
+	 */
+	private final JsonNameCache names;
+	
+	/**
+	 * builder of values.
+	 */
+	private final JsonHubBuilder jhb;
+	
+	/**
+	 * cursor.
+	 */
+	private int pos;
+	
+	/**
+	 * {@code true} if last seeked STRING has escape sequence.
+	 */
+	private boolean escapes;
+	
+	private JsonCharSequenceParser(CharSequence cs, JsonNameCache names, JsonHubBuilder jhb) {
+		this.cs = cs;
+		this.length = cs.length();
+		this.names = names;
+		this.jhb = jhb;
+		this.escapes = false;
+		this.pos = 0;
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-CharSequence.
+	 * 
+	 * <p>
+	 * OBJECT names are canonicalized by new cache for this parsing.<br />
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(CharSequence cs) {
+		return parse(cs, JsonNameCache.newCache());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-CharSequence.
+	 * 
+	 * <p>
+	 * Not accept {@code null} JSON-CharSequence.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(CharSequence cs, JsonNameCache names) {
+		return parse(cs, names, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-CharSequence, built by builder.
+	 * 
+	 * <p>
+	 * Not accept {@code null} source and builder.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @param builder builder of values
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(CharSequence cs, JsonNameCache names, JsonHubBuilder builder) {
+		return new JsonCharSequenceParser(cs, names, builder).parseSingleValue();
+	}
+	
+	/**
+	 * Parse JSON-CharSequence, and fire events to handler.
+	 * 
+	 * <p>
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(CharSequence cs, JsonHubHandler handler) {
+		new JsonCharSequenceParser(cs, null, JsonHubBuilder.getInstance()).fireSingleValue(handler);
+	}
+	
+	private JsonHub parseSingleValue() {
+		
+		if ( seekNextIgnoreWhiteSpace() == NOTFOUND ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		JsonHub v = parseValue();
+		
+		if ( seekNextIgnoreWhiteSpace() != NOTFOUND ) {
+			throw new JsonHubParseException("Value is not Single. index: " + pos);
+		}
+		
+		return v;
+	}
+	
+	private JsonHub parseValue() {
+		
+		final char c = seekNextIgnoreWhiteSpace();
+		
+		if ( JsonStructuralChar.QUOT.match(c) ) {
+			
+			return jhb.string(parseString());
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(c) ) {
+			
+			return parseArray();
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(c) ) {
+			
+			return parseObject();
+			
+		} else if ( c == NOTFOUND ) {
+			
+			throw new JsonHubParseException("Not found value. index: " + pos);
+			
+		} else if ( JsonStructuralChar.isEndOfValue(c) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + pos);
+			
+		} else if ( matchLiteral(JsonLiteral.NULL) ) {
+			
+			return jhb.nullValue();
+			
+		} else if ( matchLiteral(JsonLiteral.TRUE) ) {
+			
+			return jhb.trueValue();
+			
+		} else if ( matchLiteral(JsonLiteral.FALSE) ) {
+			
+			return jhb.falseValue();
+			
+		} else {
+			
+			return parseNumber();
+		}
+	}
+	
+	private JsonHub parseArray() {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		final List<JsonHub> ll = new ArrayList<>();
+		
+		if ( JsonStructuralChar.ARRAY_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			return jhb.array(ll);
+		}
+		
+		for ( ;; ) {
+			
+			ll.add(parseValue());
+			
+			final char c = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(c) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.ARRAY_END.match(c) ) {
+				
+				++ pos;
+				return jhb.array(ll);
+				
+			} else if ( c == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	private JsonHub parseObject() {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		final List<JsonObjectPair> pairs = new ArrayList<>();
+		
+		if ( JsonStructuralChar.OBJECT_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			return jhb.object(pairs);
+		}
+		
+		for ( ;; ) {
+			
+			if ( ! JsonStructuralChar.QUOT.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found Quot. index: " + pos);
+			}
+			
+			final JsonString name = parseName();
+			
+			if ( ! JsonStructuralChar.SEPARATOR_NAME.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + pos);
+			}
+			
+			++ pos;
+			
+			pairs.add(jhb.pair(name, parseValue()));
+			
+			final char c = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(c) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.OBJECT_END.match(c) ) {
+				
+				++ pos;
+				return object(pairs);
+				
+			} else if ( c == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	/**
+	 * Returns OBJECT, shape is interned in cache of names if cached.
+	 */
+	private JsonHub object(List<JsonObjectPair> pairs) {
+		if ( names == null ) {
+			return jhb.object(pairs);
+		} else {
+			return names.object(pairs);
+		}
+	}
+	
+	/**
+	 * Parse OBJECT name, cursor is on the opening quotation.
+	 * 
+	 * @return escaped JsonString, from cache if cached
+	 */
+	private JsonString parseName() {
+		
+		if ( names == null ) {
+			return parseString();
+		}
+		
+		final int fromIndex = pos + 1;
+		final int toIndex = seekEndOfString();
+		
+		return names.name(cs, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Parse STRING, cursor is on the opening quotation.
+	 * 
+	 * <p>
+	 * If source is String, returns JsonString refers to source without copy.<br />
+	 * </p>
+	 * 
+	 * @return escaped JsonString
+	 */
+	private JsonString parseString() {
+		
+		final int fromIndex = pos + 1;
+		final int toIndex = seekEndOfString();
+		
+		if ( cs instanceof String ) {
+			return JsonCharSequenceStringImpl.ofEscaped((String)cs, fromIndex, (toIndex - fromIndex), escapes);
+		}
+		
+		return JsonString.ofEscaped(cs.subSequence(fromIndex, toIndex));
+	}
+	
+	/**
+	 * Parse STRING, cursor is on the opening quotation.
+	 * 
+	 * @return unescaped String
+	 */
+	private String parseUnescapedString() {
+		
+		final int fromIndex = pos + 1;
+		final int toIndex = seekEndOfString();
+		
+		final String s = cs.subSequence(fromIndex, toIndex).toString();
+		
+		if ( ! escapes ) {
+			return s;
+		}
+		
+		return JsonStringCoder.unescape(s);
+	}
+	
+	/**
+	 * Move cursor to next of closing quotation, cursor is on the opening quotation.
+	 * 
+	 * @return index of closing quotation
+	 */
+	private int seekEndOfString() {
+		
+		final int fromIndex = pos + 1;
+		
+		escapes = false;
+		
+		for ( int p = fromIndex; p < length; ++p ) {
+			
+			final char c = cs.charAt(p);
+			
+			if ( JsonStructuralChar.ESCAPE.match(c) ) {
+				
+				escapes = true;
+				++p;
+				
+			} else if ( JsonStructuralChar.QUOT.match(c) ) {
+				
+				pos = p + 1;
+				return p;
+			}
+		}
+		
+		throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + fromIndex);
+	}
+	
+	/**
+	 * Parse NUMBER from source directly, text is copied only if not held by primitive value.
+	 */
+	private JsonHub parseNumber() {
+		
+		final int fromIndex = pos;
+		
+		while ( pos < length && ! JsonStructuralChar.isEndOfValue(cs.charAt(pos)) ) {
+			++ pos;
+		}
+		
+		return JsonNumberParser.toJsonHub(cs, fromIndex, pos);
+	}
+	
+	private Number scanNumber() {
+		
+		final int fromIndex = pos;
+		
+		while ( pos < length && ! JsonStructuralChar.isEndOfValue(cs.charAt(pos)) ) {
+			++ pos;
+		}
+		
+		return JsonNumberParser.parse(cs, fromIndex, pos);
+	}
+	
+	private void fireSingleValue(JsonHubHandler handler) {
+		
+		if ( seekNextIgnoreWhiteSpace() == NOTFOUND ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		fireValue(handler);
+		
+		if ( seekNextIgnoreWhiteSpace() != NOTFOUND ) {
+			throw new JsonHubParseException("Value is not Single. index: " + pos);
+		}
+	}
+	
+	private void fireValue(JsonHubHandler handler) {
+		
+		final char c = seekNextIgnoreWhiteSpace();
+		
+		if ( JsonStructuralChar.QUOT.match(c) ) {
+			
+			handler.stringValue(parseUnescapedString());
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(c) ) {
+			
+			fireArray(handler);
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(c) ) {
+			
+			fireObject(handler);
+			
+		} else if ( c == NOTFOUND ) {
+			
+			throw new JsonHubParseException("Not found value. index: " + pos);
+			
+		} else if ( JsonStructuralChar.isEndOfValue(c) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + pos);
+			
+		} else if ( matchLiteral(JsonLiteral.NULL) ) {
+			
+			handler.nullValue();
+			
+		} else if ( matchLiteral(JsonLiteral.TRUE) ) {
+			
+			handler.booleanValue(true);
+			
+		} else if ( matchLiteral(JsonLiteral.FALSE) ) {
+			
+			handler.booleanValue(false);
+			
+		} else {
+			
+			handler.numberValue(scanNumber());
+		}
+	}
+	
+	private void fireArray(JsonHubHandler handler) {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		handler.startArray();
+		
+		if ( JsonStructuralChar.ARRAY_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			handler.endArray();
+			return;
+		}
+		
+		for ( ;; ) {
+			
+			fireValue(handler);
+			
+			final char c = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(c) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.ARRAY_END.match(c) ) {
+				
+				++ pos;
+				handler.endArray();
+				return;
+				
+			} else if ( c == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	private void fireObject(JsonHubHandler handler) {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		handler.startObject();
+		
+		if ( JsonStructuralChar.OBJECT_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			handler.endObject();
+			return;
+		}
+		
+		for ( ;; ) {
+			
+			if ( ! JsonStructuralChar.QUOT.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found Quot. index: " + pos);
+			}
+			
+			final String name = parseUnescapedString();
+			
+			if ( ! JsonStructuralChar.SEPARATOR_NAME.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + pos);
+			}
+			
+			++ pos;
+			
+			handler.name(name);
+			fireValue(handler);
+			
+			final char c = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(c) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.OBJECT_END.match(c) ) {
+				
+				++ pos;
+				handler.endObject();
+				return;
+				
+			} else if ( c == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	private boolean matchLiteral(JsonLiteral literal) {
+		
+		final int endIndex = pos + literal.length();
+		
+		if ( endIndex > length ) {
+			return false;
+		}
+		
+		if ( ! literal.matchAt(cs, pos) ) {
+			return false;
+		}
+		
+		if ( endIndex < length && ! JsonStructuralChar.isEndOfValue(cs.charAt(endIndex)) ) {
+			return false;
+		}
+		
+		pos = endIndex;
+		return true;
+	}
+	
+	/**
+	 * Move cursor to next character ignore white-space({@code <=0x20}).
+	 * 
+	 * @return character on cursor, {@code NOTFOUND} if reached end
+	 */
+	private char seekNextIgnoreWhiteSpace() {
+		
+		for ( ; pos < length; ++pos ) {
+			char c = cs.charAt(pos);
+			if ( c > WS ) {
+				return c;
+			}
+		}
+		
+		return NOTFOUND;
+	}
+	
+}
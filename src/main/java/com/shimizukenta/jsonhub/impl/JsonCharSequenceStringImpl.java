@@ -0,0 +1,97 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.Writer;
+
+/**
+ * This class is implements of JSON-String refers to chars of source String.
+ * 
+ * <p>
+ * Records only position, length and whether escape sequence exists in source,
+ * copies to String at first access of {@link #escaped()} or {@link #unescaped()}.<br />
+ * Until copied, {@link #writeEscaped(Writer)} writes source chars verbatim.<br />
+ * If no escape sequence, unescaped is same instance as escaped.<br />
+ * Source is immutable String, mutable CharSequence is not accepted.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonCharSequenceStringImpl extends JsonStringImpl {
+	
+	private static final long serialVersionUID = -6391650185623347150L;
+	
+	/**
+	 * Source, released after copied.
+	 */
+	private transient volatile String src;
+	
+	private final int offset;
+	private final int length;
+	private final boolean hasEscapes;
+	
+	private JsonCharSequenceStringImpl(String src, int offset, int length, boolean hasEscapes) {
+		super();
+		this.src = src;
+		this.offset = offset;
+		this.length = length;
+		this.hasEscapes = hasEscapes;
+	}
+	
+	/**
+	 * Returns JsonString instance refers to escaped chars.
+	 * 
+	 * <p>
+	 * Not accept null.<br />
+	 * </p>
+	 * 
+	 * @param src source
+	 * @param offset index of first char in source
+	 * @param length chars length
+	 * @param hasEscapes set {@code false} if chars have no escape sequence
+	 * @return JsonString instance
+	 */
+	public static JsonCharSequenceStringImpl ofEscaped(String src, int offset, int length, boolean hasEscapes) {
+		return new JsonCharSequenceStringImpl(src, offset, length, hasEscapes);
+	}
+	
+	@Override
+	protected String decodeEscaped() {
+		
+		final String s = src;
+		
+		if ( s == null ) {
+			return escaped();
+		}
+		
+		return s.substring(offset, offset + length);
+	}
+	
+	@Override
+	protected void releaseSource() {
+		src = null;
+	}
+	
+	@Override
+	protected boolean hasEscapes() {
+		return hasEscapes;
+	}
+	
+	@Override
+	public void writeEscaped(Writer writer) throws IOException {
+		
+		final String s = src;
+		
+		if ( s == null ) {
+			super.writeEscaped(writer);
+		} else {
+			writer.write(s, offset, length);
+		}
+	}
+	
+	private Object writeReplace() throws ObjectStreamException {
+		return JsonStringImpl.ofEscaped(escaped());
+	}
+	
+}
@@ -0,0 +1,136 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is implements of JsonHubIncrementalParser, builds JsonHub values.
+ * 
+ * <p>
+ * Completed top-level values are queued, to get, {@link #poll()}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubBuildIncrementalParser extends AbstractJsonHubIncrementalParser {
+	
+	private static final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+	
+	/**
+	 * ARRAY or OBJECT on building.
+	 */
+	private static class Container {
+		
+		private final List<JsonHub> values;
+		private final List<JsonObjectPair> pairs;
+		private JsonString name;
+		
+		private Container(boolean isObject) {
+			this.values = isObject ? null : new ArrayList<>();
+			this.pairs = isObject ? new ArrayList<>() : null;
+			this.name = null;
+		}
+	}
+	
+	private final Deque<Container> containers;
+	private final Deque<JsonHub> completed;
+	
+	/**
+	 * Constructor.
+	 */
+	public JsonHubBuildIncrementalParser() {
+		super();
+		this.containers = new ArrayDeque<>();
+		this.completed = new ArrayDeque<>();
+	}
+	
+	@Override
+	public JsonHub poll() {
+		return completed.pollFirst();
+	}
+	
+	@Override
+	protected void startObject() {
+		containers.push(new Container(true));
+	}
+	
+	@Override
+	protected void endObject() {
+		add(jhb.object(containers.pop().pairs));
+	}
+	
+	@Override
+	protected void startArray() {
+		containers.push(new Container(false));
+	}
+	
+	@Override
+	protected void endArray() {
+		add(jhb.array(containers.pop().values));
+	}
+	
+	@Override
+	protected void name(byte[] bs) {
+		containers.peek().name = toJsonString(bs);
+	}
+	
+	@Override
+	protected void string(byte[] bs) {
+		add(jhb.string(toJsonString(bs)));
+	}
+	
+	@Override
+	protected void number(String cs) {
+		add(jhb.number(cs));
+	}
+	
+	@Override
+	protected void literal(JsonLiteral literal) {
+		
+		if ( literal == JsonLiteral.TRUE ) {
+			
+			add(jhb.trueValue());
+			
+		} else if ( literal == JsonLiteral.FALSE ) {
+			
+			add(jhb.falseValue());
+			
+		} else {
+			
+			add(jhb.nullValue());
+		}
+	}
+	
+	private void add(JsonHub v) {
+		
+		final Container c = containers.peek();
+		
+		if ( c == null ) {
+			
+			completed.addLast(v);
+			
+		} else if ( c.values != null ) {
+			
+			c.values.add(v);
+			
+		} else {
+			
+			c.pairs.add(jhb.pair(c.name, v));
+			c.name = null;
+		}
+	}
+	
+	private static JsonString toJsonString(byte[] bs) {
+		return JsonUtf8StringImpl.ofEscaped(ByteBuffer.wrap(bs), 0, bs.length);
+	}
+	
+}
@@ -12,6 +12,10 @@ import com.shimizukenta.jsonhub.JsonObjectPair;
 /**
  * This class provides Compact-JSON-pretty-printer, no line-separate and no space.
  * 
+ * <p>
+ * Printing holds no state in this instance, so threads print concurrently without lock.<br />
+ * </p>
+ * 
  * @author kenta-shimizu
  *
  */
@@ -40,10 +44,7 @@ public class JsonHubCompactPrettyPrinter extends AbstractJsonHubPrettyPrinter {
 	
 	@Override
 	public void print(JsonHub v, Writer writer) throws IOException {
-		
-		synchronized ( this ) {
-			_print(v, writer);
-		}
+		_print(v, writer);
 	}
 	
 	private void _print(JsonHub v, Writer writer) throws IOException {
@@ -60,6 +61,13 @@ public class JsonHubCompactPrettyPrinter extends AbstractJsonHubPrettyPrinter {
 		}
 		case ARRAY: {
 			
+			if ( v instanceof AbstractPackedArrayJsonHub ) {
+				
+				/* print from primitive array, not build element JsonHub */
+				((AbstractPackedArrayJsonHub)v).writeJson(writer);
+				break;
+			}
+			
 			writer.write(JsonStructuralChar.ARRAY_BIGIN.str());
 			
 			boolean f = false;
@@ -95,7 +103,7 @@ public class JsonHubCompactPrettyPrinter extends AbstractJsonHubPrettyPrinter {
 				}
 				
 				writer.write(JsonStructuralChar.QUOT.str());
-				writer.write(pair.name().escaped());
+				JsonStringImpl.writeEscaped(pair.name(), writer);
 				writer.write(JsonStructuralChar.QUOT.str());
 				writer.write(JsonStructuralChar.SEPARATOR_NAME.str());
 				
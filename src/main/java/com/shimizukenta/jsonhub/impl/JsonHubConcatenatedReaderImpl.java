@@ -0,0 +1,228 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubConcatenatedReader;
+import com.shimizukenta.jsonhub.JsonHubIncrementalParser;
+
+/**
+ * This class is implements of JsonHubConcatenatedReader.
+ * 
+ * <p>
+ * Source bytes are read by fixed-size buffer, and fed to {@link JsonHubBuildIncrementalParser}.<br />
+ * Source is not read ahead while completed values remain.<br />
+ * Reader source is encoded to UTF-8 by fixed-size buffer.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubConcatenatedReaderImpl implements JsonHubConcatenatedReader {
+	
+	private static final int BUFFER_SIZE = 8 * 1024;
+	
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final JsonHubIncrementalParser parser;
+	
+	private JsonHub nextValue;
+	private boolean eof;
+	
+	protected JsonHubConcatenatedReaderImpl(ReadableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		this.parser = new JsonHubBuildIncrementalParser();
+		this.nextValue = null;
+		this.eof = false;
+	}
+	
+	/**
+	 * Returns JsonHubConcatenatedReaderImpl instance from Reader.
+	 * 
+	 * @param reader the reader of JSON values
+	 * @return JsonHubConcatenatedReaderImpl instance
+	 */
+	public static JsonHubConcatenatedReaderImpl newReader(Reader reader) {
+		return new JsonHubConcatenatedReaderImpl(new EncodingChannel(reader));
+	}
+	
+	/**
+	 * Returns JsonHubConcatenatedReaderImpl instance from JSON-UTF8-bytes-stream.
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @return JsonHubConcatenatedReaderImpl instance
+	 */
+	public static JsonHubConcatenatedReaderImpl newReader(InputStream strm) {
+		return new JsonHubConcatenatedReaderImpl(Channels.newChannel(strm));
+	}
+	
+	/**
+	 * Returns JsonHubConcatenatedReaderImpl instance from JSON-UTF8-bytes-channel.
+	 * 
+	 * @param channel JSON-UTF8-bytes-channel
+	 * @return JsonHubConcatenatedReaderImpl instance
+	 */
+	public static JsonHubConcatenatedReaderImpl newReader(ReadableByteChannel channel) {
+		return new JsonHubConcatenatedReaderImpl(channel);
+	}
+	
+	@Override
+	public boolean hasNext() throws IOException {
+		
+		synchronized ( this ) {
+			
+			while ( nextValue == null ) {
+				
+				nextValue = parser.poll();
+				
+				if ( nextValue != null ) {
+					break;
+				}
+				
+				if ( eof ) {
+					return false;
+				}
+				
+				buffer.clear();
+				
+				int r = channel.read(buffer);
+				
+				buffer.flip();
+				
+				if ( r < 0 ) {
+					
+					eof = true;
+					parser.endOfInput();
+					
+				} else {
+					
+					parser.feed(buffer);
+				}
+			}
+			
+			return true;
+		}
+	}
+	
+	@Override
+	public JsonHub next() throws IOException {
+		
+		synchronized ( this ) {
+			
+			if ( hasNext() ) {
+				
+				final JsonHub v = nextValue;
+				nextValue = null;
+				return v;
+				
+			} else {
+				
+				return null;
+			}
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Channel of UTF-8 bytes encoded from Reader.
+	 */
+	private static final class EncodingChannel implements ReadableByteChannel {
+		
+		private final Reader reader;
+		private final CharBuffer chars;
+		private final CharsetEncoder encoder;
+		private boolean eof;
+		private boolean flushing;
+		private boolean flushed;
+		private boolean open;
+		
+		private EncodingChannel(Reader reader) {
+			this.reader = reader;
+			this.chars = CharBuffer.allocate(BUFFER_SIZE);
+			this.chars.flip();
+			this.encoder = StandardCharsets.UTF_8.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			this.eof = false;
+			this.flushing = false;
+			this.flushed = false;
+			this.open = true;
+		}
+		
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			
+			final int start = dst.position();
+			
+			for ( ;; ) {
+				
+				if ( flushed ) {
+					
+					final int n = dst.position() - start;
+					return n > 0 ? n : -1;
+				}
+				
+				if ( ! flushing ) {
+					
+					if ( encoder.encode(chars, dst, eof).isOverflow() ) {
+						return dst.position() - start;
+					}
+					
+					flushing = eof;
+				}
+				
+				if ( flushing ) {
+					
+					if ( encoder.flush(dst).isOverflow() ) {
+						return dst.position() - start;
+					}
+					
+					flushed = true;
+					continue;
+				}
+				
+				if ( dst.position() > start ) {
+					return dst.position() - start;
+				}
+				
+				chars.compact();
+				
+				try {
+					
+					if ( reader.read(chars) < 0 ) {
+						eof = true;
+					}
+				}
+				finally {
+					chars.flip();
+				}
+			}
+		}
+		
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			open = false;
+			reader.close();
+		}
+	}
+	
+}
@@ -0,0 +1,85 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import com.shimizukenta.jsonhub.JsonHubHandler;
+
+/**
+ * This class is implements of JsonHubIncrementalParser, fires events to JsonHubHandler.
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubHandlerIncrementalParser extends AbstractJsonHubIncrementalParser {
+	
+	private final JsonHubHandler handler;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param handler the handler
+	 */
+	public JsonHubHandlerIncrementalParser(JsonHubHandler handler) {
+		super();
+		this.handler = Objects.requireNonNull(handler);
+	}
+	
+	@Override
+	protected void startObject() {
+		handler.startObject();
+	}
+	
+	@Override
+	protected void endObject() {
+		handler.endObject();
+	}
+	
+	@Override
+	protected void startArray() {
+		handler.startArray();
+	}
+	
+	@Override
+	protected void endArray() {
+		handler.endArray();
+	}
+	
+	@Override
+	protected void name(byte[] bs) {
+		handler.name(unescape(bs));
+	}
+	
+	@Override
+	protected void string(byte[] bs) {
+		handler.stringValue(unescape(bs));
+	}
+	
+	@Override
+	protected void number(String cs) {
+		handler.numberValue(NumberJsonHub.toNumber(cs));
+	}
+	
+	@Override
+	protected void literal(JsonLiteral literal) {
+		
+		if ( literal == JsonLiteral.TRUE ) {
+			
+			handler.booleanValue(true);
+			
+		} else if ( literal == JsonLiteral.FALSE ) {
+			
+			handler.booleanValue(false);
+			
+		} else {
+			
+			handler.nullValue();
+		}
+	}
+	
+	private static String unescape(byte[] bs) {
+		
+		return JsonStringCoder.unescape(new String(bs, StandardCharsets.UTF_8));
+	}
+	
+}
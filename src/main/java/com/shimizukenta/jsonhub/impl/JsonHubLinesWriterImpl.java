@@ -0,0 +1,200 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubLinesWriter;
+import com.shimizukenta.jsonhub.JsonHubPrettyPrinter;
+
+/**
+ * This class is implements of JsonHubLinesWriter.
+ * 
+ * <p>
+ * Values are printed by compact-printer into reusable char-buffer,
+ * so JSON-String of value is not cached.<br />
+ * Buffer is written to output when exceeds {@code FLUSH_SIZE}, flushed or closed.<br />
+ * Buffer is fixed size, if large value overflows buffer, buffer is written to output while printing.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubLinesWriterImpl implements JsonHubLinesWriter {
+	
+	private static final int FLUSH_SIZE = 64 * 1024;
+	private static final char LF = '\n';
+	
+	private static final JsonHubPrettyPrinter printer = JsonHubPrettyPrinter.getCompactPrinter();
+	
+	private final Writer out;
+	private final LineBuffer buffer;
+	
+	protected JsonHubLinesWriterImpl(Writer out) {
+		this.out = out;
+		this.buffer = new LineBuffer(out);
+	}
+	
+	/**
+	 * Returns NDJSON writer to Writer.
+	 * 
+	 * @param writer output writer
+	 * @return NDJSON writer
+	 */
+	public static JsonHubLinesWriterImpl newWriter(Writer writer) {
+		return new JsonHubLinesWriterImpl(writer);
+	}
+	
+	/**
+	 * Returns NDJSON writer to UTF8-bytes-stream.
+	 * 
+	 * @param strm output stream
+	 * @return NDJSON writer
+	 */
+	public static JsonHubLinesWriterImpl newWriter(OutputStream strm) {
+		return new JsonHubLinesWriterImpl(new OutputStreamWriter(strm, StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Returns NDJSON writer to file.
+	 * 
+	 * @param path output file-path
+	 * @param options the File-open-options
+	 * @return NDJSON writer
+	 * @throws IOException if open failed
+	 */
+	public static JsonHubLinesWriterImpl newWriter(Path path, OpenOption... options) throws IOException {
+		return newWriter(Files.newOutputStream(path, options));
+	}
+	
+	@Override
+	public void write(JsonHub value) throws IOException {
+		
+		synchronized ( this ) {
+			
+			printer.print(value, buffer);
+			buffer.write(LF);
+			
+			if ( buffer.length >= FLUSH_SIZE ) {
+				buffer.writeTo();
+			}
+		}
+	}
+	
+	@Override
+	public void write(Stream<? extends JsonHub> values) throws IOException {
+		
+		final Iterator<? extends JsonHub> iter = values.sequential().iterator();
+		
+		while ( iter.hasNext() ) {
+			write(iter.next());
+		}
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		
+		synchronized ( this ) {
+			buffer.writeTo();
+			out.flush();
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		
+		synchronized ( this ) {
+			
+			try {
+				buffer.writeTo();
+			}
+			finally {
+				out.close();
+			}
+		}
+	}
+	
+	/**
+	 * Reusable fixed size char-buffer, not synchronized.
+	 */
+	private static final class LineBuffer extends Writer {
+		
+		private final Writer out;
+		private final char[] chars;
+		private int length;
+		
+		private LineBuffer(Writer out) {
+			this.out = out;
+			this.chars = new char[FLUSH_SIZE * 2];
+			this.length = 0;
+		}
+		
+		private void writeTo() throws IOException {
+			
+			if ( length > 0 ) {
+				out.write(chars, 0, length);
+				length = 0;
+			}
+		}
+		
+		/**
+		 * Returns {@code true} if len chars are buffered, otherwise buffer is written and {@code false}.
+		 */
+		private boolean ensure(int len) throws IOException {
+			
+			if ( (length + len) <= chars.length ) {
+				return true;
+			}
+			
+			writeTo();
+			
+			return len <= chars.length;
+		}
+		
+		@Override
+		public void write(int c) throws IOException {
+			ensure(1);
+			chars[length] = (char)c;
+			++ length;
+		}
+		
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			if ( ensure(len) ) {
+				System.arraycopy(cbuf, off, chars, length, len);
+				length += len;
+			} else {
+				out.write(cbuf, off, len);
+			}
+		}
+		
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			if ( ensure(len) ) {
+				str.getChars(off, (off + len), chars, length);
+				length += len;
+			} else {
+				out.write(str, off, len);
+			}
+		}
+		
+		@Override
+		public void flush() {
+			/* Nothing */
+		}
+		
+		@Override
+		public void close() {
+			/* Nothing */
+		}
+	}
+	
+}
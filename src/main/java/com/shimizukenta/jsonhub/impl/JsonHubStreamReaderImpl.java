@@ -0,0 +1,718 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubHandler;
+import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonHubStreamReader;
+import com.shimizukenta.jsonhub.JsonHubStreamToken;
+import com.shimizukenta.jsonhub.JsonHubUnsupportedOperationException;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is implements of JsonHubStreamReader.
+ * 
+ * <p>
+ * Reads source by fixed size buffer.<br />
+ * Memory usage grows only with the largest single STRING or NUMBER token, and depth of nesting.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubStreamReaderImpl implements JsonHubStreamReader {
+	
+	private static final int BUFFER_SIZE = 8 * 1024;
+	private static final int EOF = -1;
+	private static final char WS = ' ';
+	private static final char BOM = '\uFEFF';
+	
+	private static final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+	
+	private static enum Expect {
+		VALUE,
+		FIRST_VALUE_OR_END_ARRAY,
+		FIRST_NAME_OR_END_OBJECT,
+		NAME,
+		SEPARATOR_OR_END,
+		END_OF_STREAM,
+		;
+	}
+	
+	private final Reader reader;
+	
+	/**
+	 * true if leading BOM is not checked yet, decoded from UTF-8 bytes.
+	 */
+	private boolean skipBom;
+	
+	private final char[] buffer;
+	private int bufferPos;
+	private int bufferLen;
+	
+	/**
+	 * absolute index of buffer[0].
+	 */
+	private long bufferOffset;
+	
+	/**
+	 * true if container is OBJECT, false if ARRAY.
+	 */
+	private boolean[] containers;
+	private int depth;
+	
+	private Expect expect;
+	private JsonHubStreamToken token;
+	private JsonString name;
+	private JsonHub value;
+	
+	private final StringBuilder text;
+	
+	protected JsonHubStreamReaderImpl(Reader reader) {
+		this(reader, false);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param reader the reader of JSON
+	 * @param skipBom set {@code true} if reader decodes UTF-8 bytes, and leading BOM is skipped
+	 */
+	protected JsonHubStreamReaderImpl(Reader reader, boolean skipBom) {
+		this.reader = reader;
+		this.skipBom = skipBom;
+		this.buffer = new char[BUFFER_SIZE];
+		this.bufferPos = 0;
+		this.bufferLen = 0;
+		this.bufferOffset = 0L;
+		this.containers = new boolean[16];
+		this.depth = 0;
+		this.expect = Expect.VALUE;
+		this.token = null;
+		this.name = null;
+		this.value = null;
+		this.text = new StringBuilder();
+	}
+	
+	/**
+	 * Returns JsonHubStreamReader instance from Reader.
+	 * 
+	 * @param reader the reader of JSON
+	 * @return JsonHubStreamReader instance
+	 */
+	public static JsonHubStreamReaderImpl newReader(Reader reader) {
+		return new JsonHubStreamReaderImpl(reader);
+	}
+	
+	/**
+	 * Returns JsonHubStreamReader instance from JSON-UTF8-bytes-stream.
+	 * 
+	 * <p>
+	 * Leading UTF-8 BOM is skipped.<br />
+	 * </p>
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @return JsonHubStreamReader instance
+	 */
+	public static JsonHubStreamReaderImpl newReader(InputStream strm) {
+		return new JsonHubStreamReaderImpl(new InputStreamReader(strm, StandardCharsets.UTF_8), true);
+	}
+	
+	/**
+	 * Returns JsonHubStreamReader instance from JSON-UTF8-bytes-channel.
+	 * 
+	 * <p>
+	 * Leading UTF-8 BOM is skipped.<br />
+	 * </p>
+	 * 
+	 * @param channel JSON-UTF8-bytes-channel
+	 * @return JsonHubStreamReader instance
+	 */
+	public static JsonHubStreamReaderImpl newReader(ReadableByteChannel channel) {
+		return new JsonHubStreamReaderImpl(Channels.newReader(channel,
+				StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE),
+				-1), true);
+	}
+	
+	/**
+	 * Parse single JSON value from Reader, and fire events to handler.
+	 * 
+	 * <p>
+	 * Reader is <i>not</i> closed.<br />
+	 * </p>
+	 * 
+	 * @param reader the reader of JSON
+	 * @param handler the handler
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(Reader reader, JsonHubHandler handler) throws IOException {
+		parse(new JsonHubStreamReaderImpl(reader), handler);
+	}
+	
+	/**
+	 * Parse single JSON value from JSON-UTF8-bytes-stream, and fire events to handler.
+	 * 
+	 * <p>
+	 * Leading UTF-8 BOM is skipped.<br />
+	 * Stream is <i>not</i> closed.<br />
+	 * </p>
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @param handler the handler
+	 * @throws IOException if IO failed
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(InputStream strm, JsonHubHandler handler) throws IOException {
+		parse(newReader(strm), handler);
+	}
+	
+	private static void parse(JsonHubStreamReaderImpl r, JsonHubHandler handler) throws IOException {
+		
+		if ( r.next() == null ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		r.fire(handler);
+		
+		while ( r.depth > 0 ) {
+			r.next();
+			r.fire(handler);
+		}
+		
+		r.next();
+	}
+	
+	private void fire(JsonHubHandler handler) {
+		
+		switch ( token ) {
+		case START_OBJECT: {
+			handler.startObject();
+			break;
+		}
+		case END_OBJECT: {
+			handler.endObject();
+			break;
+		}
+		case START_ARRAY: {
+			handler.startArray();
+			break;
+		}
+		case END_ARRAY: {
+			handler.endArray();
+			break;
+		}
+		case FIELD_NAME: {
+			handler.name(currentName());
+			break;
+		}
+		case VALUE_STRING: {
+			handler.stringValue(stringValue());
+			break;
+		}
+		case VALUE_NUMBER: {
+			handler.numberValue(numberValue());
+			break;
+		}
+		case VALUE_TRUE: {
+			handler.booleanValue(true);
+			break;
+		}
+		case VALUE_FALSE: {
+			handler.booleanValue(false);
+			break;
+		}
+		case VALUE_NULL:
+		default: {
+			handler.nullValue();
+		}
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+	
+	@Override
+	public boolean hasNext() throws IOException {
+		
+		if ( expect == Expect.END_OF_STREAM || (expect == Expect.VALUE && depth == 0) ) {
+			return peekNextIgnoreWhiteSpace() != EOF;
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public JsonHubStreamToken next() throws IOException {
+		
+		if ( token != JsonHubStreamToken.FIELD_NAME ) {
+			name = null;
+		}
+		
+		value = null;
+		
+		for ( ;; ) {
+			
+			final int c = peekNextIgnoreWhiteSpace();
+			
+			switch ( expect ) {
+			case VALUE: {
+				
+				if ( c == EOF && depth == 0 ) {
+					token = null;
+					return null;
+				}
+				
+				return readValueToken(c);
+			}
+			case FIRST_VALUE_OR_END_ARRAY: {
+				
+				if ( JsonStructuralChar.ARRAY_END.match((char)c) ) {
+					++ bufferPos;
+					return endContainer(JsonHubStreamToken.END_ARRAY);
+				}
+				
+				return readValueToken(c);
+			}
+			case FIRST_NAME_OR_END_OBJECT: {
+				
+				if ( JsonStructuralChar.OBJECT_END.match((char)c) ) {
+					++ bufferPos;
+					return endContainer(JsonHubStreamToken.END_OBJECT);
+				}
+				
+				return readNameToken(c);
+			}
+			case NAME: {
+				
+				return readNameToken(c);
+			}
+			case SEPARATOR_OR_END: {
+				
+				final boolean inObject = containers[depth - 1];
+				
+				if ( JsonStructuralChar.SEPARATOR_VALUE.match((char)c) ) {
+					
+					++ bufferPos;
+					expect = inObject ? Expect.NAME : Expect.VALUE;
+					break;
+					
+				} else if ( (! inObject) && JsonStructuralChar.ARRAY_END.match((char)c) ) {
+					
+					++ bufferPos;
+					return endContainer(JsonHubStreamToken.END_ARRAY);
+					
+				} else if ( inObject && JsonStructuralChar.OBJECT_END.match((char)c) ) {
+					
+					++ bufferPos;
+					return endContainer(JsonHubStreamToken.END_OBJECT);
+					
+				} else if ( c == EOF ) {
+					
+					throw new JsonHubParseException("Not found end-of-" + (inObject ? "OBJECT" : "ARRAY") + ". index: " + index());
+					
+				} else {
+					
+					throw new JsonHubParseException("Not found end-of-value. index: " + index());
+				}
+			}
+			case END_OF_STREAM:
+			default: {
+				
+				if ( c == EOF ) {
+					token = null;
+					return null;
+				}
+				
+				throw new JsonHubParseException("Value is not Single. index: " + index());
+			}
+			}
+		}
+	}
+	
+	@Override
+	public JsonHubStreamToken currentToken() {
+		return token;
+	}
+	
+	@Override
+	public String currentName() {
+		return name == null ? null : name.unescaped();
+	}
+	
+	@Override
+	public int depth() {
+		return depth;
+	}
+	
+	@Override
+	public String stringValue() {
+		if ( token == JsonHubStreamToken.VALUE_STRING ) {
+			return value.toString();
+		}
+		throw new JsonHubUnsupportedOperationException(token + " not support #stringValue");
+	}
+	
+	@Override
+	public Number numberValue() {
+		if ( token == JsonHubStreamToken.VALUE_NUMBER ) {
+			return value.optionalNubmer().get();
+		}
+		throw new JsonHubUnsupportedOperationException(token + " not support #numberValue");
+	}
+	
+	@Override
+	public boolean booleanValue() {
+		if ( token == JsonHubStreamToken.VALUE_TRUE || token == JsonHubStreamToken.VALUE_FALSE ) {
+			return value.booleanValue();
+		}
+		throw new JsonHubUnsupportedOperationException(token + " not support #booleanValue");
+	}
+	
+	@Override
+	public JsonHub readValueAsJsonHub() throws IOException {
+		
+		if ( token == null || token == JsonHubStreamToken.FIELD_NAME ) {
+			if ( next() == null ) {
+				throw new JsonHubParseException("Not found value. index: " + index());
+			}
+		}
+		
+		return readCurrentValue();
+	}
+	
+	@Override
+	public void skipValue() throws IOException {
+		
+		if ( token == null || token == JsonHubStreamToken.FIELD_NAME ) {
+			if ( next() == null ) {
+				return;
+			}
+		}
+		
+		if ( token == JsonHubStreamToken.START_OBJECT || token == JsonHubStreamToken.START_ARRAY ) {
+			
+			final int d = depth;
+			
+			while ( depth >= d ) {
+				if ( next() == null ) {
+					break;
+				}
+			}
+		}
+	}
+	
+	private JsonHub readCurrentValue() throws IOException {
+		
+		switch ( token ) {
+		case START_OBJECT: {
+			
+			final List<JsonObjectPair> pairs = new ArrayList<>();
+			
+			for ( ;; ) {
+				
+				if ( next() == JsonHubStreamToken.END_OBJECT ) {
+					return jhb.object(pairs);
+				}
+				
+				final JsonString n = name;
+				next();
+				pairs.add(jhb.pair(n, readCurrentValue()));
+			}
+		}
+		case START_ARRAY: {
+			
+			final List<JsonHub> ll = new ArrayList<>();
+			
+			for ( ;; ) {
+				
+				if ( next() == JsonHubStreamToken.END_ARRAY ) {
+					return jhb.array(ll);
+				}
+				
+				ll.add(readCurrentValue());
+			}
+		}
+		case END_OBJECT:
+		case END_ARRAY:
+		case FIELD_NAME: {
+			
+			throw new JsonHubParseException("Current token is not value. " + token);
+		}
+		default: {
+			
+			return value;
+		}
+		}
+	}
+	
+	private JsonHubStreamToken readValueToken(int c) throws IOException {
+		
+		if ( c == EOF ) {
+			
+			throw new JsonHubParseException("Not found value. index: " + index());
+			
+		} else if ( JsonStructuralChar.QUOT.match((char)c) ) {
+			
+			++ bufferPos;
+			value = jhb.string(readString());
+			return endValue(JsonHubStreamToken.VALUE_STRING);
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match((char)c) ) {
+			
+			++ bufferPos;
+			push(true);
+			expect = Expect.FIRST_NAME_OR_END_OBJECT;
+			token = JsonHubStreamToken.START_OBJECT;
+			return token;
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match((char)c) ) {
+			
+			++ bufferPos;
+			push(false);
+			expect = Expect.FIRST_VALUE_OR_END_ARRAY;
+			token = JsonHubStreamToken.START_ARRAY;
+			return token;
+			
+		} else if ( JsonStructuralChar.isEndOfValue((char)c) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + index());
+			
+		} else {
+			
+			readBareToken();
+			
+			if ( JsonLiteral.NULL.match(text) ) {
+				
+				value = jhb.nullValue();
+				return endValue(JsonHubStreamToken.VALUE_NULL);
+				
+			} else if ( JsonLiteral.TRUE.match(text) ) {
+				
+				value = jhb.trueValue();
+				return endValue(JsonHubStreamToken.VALUE_TRUE);
+				
+			} else if ( JsonLiteral.FALSE.match(text) ) {
+				
+				value = jhb.falseValue();
+				return endValue(JsonHubStreamToken.VALUE_FALSE);
+				
+			} else {
+				
+				try {
+					value = jhb.number(text.toString());
+				}
+				catch ( JsonHubNumberFormatException e ) {
+					throw new JsonHubParseException(e);
+				}
+				
+				return endValue(JsonHubStreamToken.VALUE_NUMBER);
+			}
+		}
+	}
+	
+	private JsonHubStreamToken readNameToken(int c) throws IOException {
+		
+		if ( ! JsonStructuralChar.QUOT.match((char)c) ) {
+			throw new JsonHubParseException("Not found Quot. index: " + index());
+		}
+		
+		++ bufferPos;
+		name = readString();
+		
+		if ( ! JsonStructuralChar.SEPARATOR_NAME.match((char)peekNextIgnoreWhiteSpace()) ) {
+			throw new JsonHubParseException("Not found \":\" index: " + index());
+		}
+		
+		++ bufferPos;
+		expect = Expect.VALUE;
+		token = JsonHubStreamToken.FIELD_NAME;
+		return token;
+	}
+	
+	private JsonHubStreamToken endValue(JsonHubStreamToken t) {
+		expect = (depth == 0) ? Expect.END_OF_STREAM : Expect.SEPARATOR_OR_END;
+		token = t;
+		return t;
+	}
+	
+	private JsonHubStreamToken endContainer(JsonHubStreamToken t) {
+		-- depth;
+		return endValue(t);
+	}
+	
+	private void push(boolean isObject) {
+		
+		if ( depth == containers.length ) {
+			containers = Arrays.copyOf(containers, depth * 2);
+		}
+		
+		containers[depth] = isObject;
+		++ depth;
+	}
+	
+	/**
+	 * Read STRING, cursor is next of the opening quotation.
+	 * 
+	 * @return escaped JsonString
+	 * @throws IOException if IO-Exception
+	 */
+	private JsonString readString() throws IOException {
+		
+		final long fromIndex = index();
+		
+		text.setLength(0);
+		
+		boolean escaped = false;
+		
+		for ( ;; ) {
+			
+			final int start = bufferPos;
+			
+			for ( ; bufferPos < bufferLen; ++bufferPos ) {
+				
+				final char c = buffer[bufferPos];
+				
+				if ( escaped ) {
+					
+					escaped = false;
+					
+				} else if ( JsonStructuralChar.ESCAPE.match(c) ) {
+					
+					escaped = true;
+					
+				} else if ( JsonStructuralChar.QUOT.match(c) ) {
+					
+					text.append(buffer, start, (bufferPos - start));
+					++ bufferPos;
+					return JsonString.ofEscaped(text);
+				}
+			}
+			
+			text.append(buffer, start, (bufferPos - start));
+			
+			if ( ! fill() ) {
+				throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + fromIndex);
+			}
+		}
+	}
+	
+	/**
+	 * Read literal or NUMBER token to text.
+	 * 
+	 * @throws IOException if IO-Exception
+	 */
+	private void readBareToken() throws IOException {
+		
+		text.setLength(0);
+		
+		for ( ;; ) {
+			
+			final int start = bufferPos;
+			
+			for ( ; bufferPos < bufferLen; ++bufferPos ) {
+				if ( JsonStructuralChar.isEndOfValue(buffer[bufferPos]) ) {
+					text.append(buffer, start, (bufferPos - start));
+					return;
+				}
+			}
+			
+			text.append(buffer, start, (bufferPos - start));
+			
+			if ( ! fill() ) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Move cursor to next character ignore white-space({@code <=0x20}), without consuming.
+	 * 
+	 * @return character on cursor, {@code EOF} if reached end of stream
+	 * @throws IOException if IO-Exception
+	 */
+	private int peekNextIgnoreWhiteSpace() throws IOException {
+		
+		for ( ;; ) {
+			
+			for ( ; bufferPos < bufferLen; ++bufferPos ) {
+				char c = buffer[bufferPos];
+				if ( c > WS ) {
+					return c;
+				}
+			}
+			
+			if ( ! fill() ) {
+				return EOF;
+			}
+		}
+	}
+	
+	/**
+	 * Read next chunk to buffer, all characters in buffer must be consumed.
+	 * 
+	 * @return {@code false} if reached end of stream
+	 * @throws IOException if IO-Exception
+	 */
+	private boolean fill() throws IOException {
+		
+		bufferOffset += bufferLen;
+		bufferPos = 0;
+		bufferLen = 0;
+		
+		for ( ;; ) {
+			
+			int r = reader.read(buffer, 0, buffer.length);
+			
+			if ( r < 0 ) {
+				return false;
+			}
+			
+			if ( r > 0 ) {
+				
+				bufferLen = r;
+				
+				if ( skipBom ) {
+					
+					skipBom = false;
+					
+					if ( buffer[0] == BOM ) {
+						
+						if ( r == 1 ) {
+							bufferOffset += 1;
+							bufferLen = 0;
+							continue;
+						}
+						
+						bufferPos = 1;
+					}
+				}
+				
+				return true;
+			}
+		}
+	}
+	
+	private long index() {
+		return bufferOffset + bufferPos;
+	}
+	
+}
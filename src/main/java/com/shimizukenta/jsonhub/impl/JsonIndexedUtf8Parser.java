@@ -0,0 +1,372 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is two-stage parser, from JSON-UTF-8-bytes to JsonHub instance.
+ * 
+ * <p>
+ * Stage-1 builds {@link JsonStructuralIndex}, stage-2 builds values by walking positions of index.<br />
+ * Bytes in STRING and white-space are not inspected in stage-2.<br />
+ * STRING values and Object names refer to source-buffer, and are decoded at first access.<br />
+ * Source-buffer must not be modified while parsed JsonHub is alive.<br />
+ * Parsed values are same as {@link JsonUtf8Parser}.<br />
+ * </p>
+ * <p>
+ * To parse, {@link #parse(ByteBuffer)}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonIndexedUtf8Parser {
+	
+	private final ByteBuffer bb;
+	private final int limit;
+	private final int[] positions;
+	private final int size;
+	
+	/**
+	 * cache of OBJECT names, {@code null} if not cached.
+	 */
+	private final JsonNameCache names;
+	
+	/**
+	 * builder of values.
+	 */
+	private final JsonHubBuilder jhb;
+	
+	/**
+	 * cursor, index of positions.
+	 */
+	private int k;
+	
+	private JsonIndexedUtf8Parser(ByteBuffer bb, int fromIndex, JsonNameCache names, JsonHubBuilder jhb) {
+		this.bb = bb;
+		this.limit = bb.limit();
+		this.names = names;
+		this.jhb = jhb;
+		
+		final JsonStructuralIndex index = JsonStructuralIndex.build(bb, fromIndex);
+		this.positions = index.positions();
+		this.size = index.size();
+		
+		this.k = 0;
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * OBJECT names are canonicalized by new cache for this parsing.<br />
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb) {
+		return parse(bb, JsonNameCache.newCache());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * Not accept {@code null} buffer.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb, JsonNameCache names) {
+		return parse(bb, names, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes, built by builder.
+	 * 
+	 * <p>
+	 * Not accept {@code null} source and builder.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @param builder builder of values
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb, JsonNameCache names, JsonHubBuilder builder) {
+		return new JsonIndexedUtf8Parser(bb, skipByteOrderMark(bb), names, builder).parseSingleValue();
+	}
+	
+	private JsonHub parseSingleValue() {
+		
+		if ( size == 0 ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		JsonHub v = parseValue();
+		
+		if ( k < size ) {
+			throw new JsonHubParseException("Value is not Single. index: " + positions[k]);
+		}
+		
+		return v;
+	}
+	
+	private JsonHub parseValue() {
+		
+		if ( k >= size ) {
+			throw new JsonHubParseException("Not found value. index: " + limit);
+		}
+		
+		final int p = positions[k];
+		final byte b = bb.get(p);
+		
+		if ( JsonStructuralChar.QUOT.match(b) ) {
+			
+			return jhb.string(parseString());
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(b) ) {
+			
+			return parseArray();
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(b) ) {
+			
+			return parseObject();
+			
+		} else if ( JsonStructuralChar.isEndOfValue(b) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + p);
+			
+		} else {
+			
+			++ k;
+			
+			if ( matchLiteral(JsonLiteral.NULL, p) ) {
+				
+				return jhb.nullValue();
+				
+			} else if ( matchLiteral(JsonLiteral.TRUE, p) ) {
+				
+				return jhb.trueValue();
+				
+			} else if ( matchLiteral(JsonLiteral.FALSE, p) ) {
+				
+				return jhb.falseValue();
+				
+			} else {
+				
+				return parseNumber(p);
+			}
+		}
+	}
+	
+	private JsonHub parseArray() {
+		
+		final int fromIndex = positions[k];
+		
+		++ k;
+		
+		final List<JsonHub> ll = new ArrayList<>();
+		
+		if ( k < size && JsonStructuralChar.ARRAY_END.match(bb.get(positions[k])) ) {
+			++ k;
+			return jhb.array(ll);
+		}
+		
+		for ( ;; ) {
+			
+			ll.add(parseValue());
+			
+			if ( k >= size ) {
+				throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex);
+			}
+			
+			final byte b = bb.get(positions[k]);
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				++ k;
+				
+			} else if ( JsonStructuralChar.ARRAY_END.match(b) ) {
+				
+				++ k;
+				return jhb.array(ll);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + positions[k]);
+			}
+		}
+	}
+	
+	private JsonHub parseObject() {
+		
+		final int fromIndex = positions[k];
+		
+		++ k;
+		
+		final List<JsonObjectPair> pairs = new ArrayList<>();
+		
+		if ( k < size && JsonStructuralChar.OBJECT_END.match(bb.get(positions[k])) ) {
+			++ k;
+			return jhb.object(pairs);
+		}
+		
+		for ( ;; ) {
+			
+			if ( k >= size ) {
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+			}
+			
+			if ( ! JsonStructuralChar.QUOT.match(bb.get(positions[k])) ) {
+				throw new JsonHubParseException("Not found Quot. index: " + positions[k]);
+			}
+			
+			final JsonString name = parseName();
+			
+			if ( k >= size || ! JsonStructuralChar.SEPARATOR_NAME.match(bb.get(positions[k])) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + (k < size ? positions[k] : limit));
+			}
+			
+			++ k;
+			
+			pairs.add(jhb.pair(name, parseValue()));
+			
+			if ( k >= size ) {
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+			}
+			
+			final byte b = bb.get(positions[k]);
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				++ k;
+				
+			} else if ( JsonStructuralChar.OBJECT_END.match(b) ) {
+				
+				++ k;
+				return object(pairs);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + positions[k]);
+			}
+		}
+	}
+	
+	/**
+	 * Returns OBJECT, shape is interned in cache of names if cached.
+	 */
+	private JsonHub object(List<JsonObjectPair> pairs) {
+		if ( names == null ) {
+			return jhb.object(pairs);
+		} else {
+			return names.object(pairs);
+		}
+	}
+	
+	/**
+	 * Parse STRING, cursor is on the opening quotation, next position is the closing quotation.
+	 * 
+	 * @return escaped JsonString refers to source-buffer
+	 */
+	private JsonString parseString() {
+		
+		final int fromIndex = positions[k] + 1;
+		final int toIndex = seekEndOfString();
+		
+		return JsonUtf8StringImpl.ofEscaped(bb, fromIndex, (toIndex - fromIndex));
+	}
+	
+	/**
+	 * Parse OBJECT name, cursor is on the opening quotation.
+	 * 
+	 * @return escaped JsonString, from cache if cached
+	 */
+	private JsonString parseName() {
+		
+		if ( names == null ) {
+			return parseString();
+		}
+		
+		final int fromIndex = positions[k] + 1;
+		final int toIndex = seekEndOfString();
+		
+		return names.name(bb, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Move cursor to next of closing quotation, cursor is on the opening quotation.
+	 * 
+	 * @return index of closing quotation
+	 */
+	private int seekEndOfString() {
+		
+		if ( (k + 1) >= size ) {
+			throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + (positions[k] + 1));
+		}
+		
+		final int toIndex = positions[k + 1];
+		
+		k += 2;
+		
+		return toIndex;
+	}
+	
+	/**
+	 * Parse NUMBER from source directly, text is copied only if not held by primitive value.
+	 */
+	private JsonHub parseNumber(int fromIndex) {
+		
+		int p = fromIndex;
+		
+		while ( p < limit && ! JsonStructuralChar.isEndOfValue(bb.get(p)) ) {
+			++ p;
+		}
+		
+		return JsonNumberParser.toJsonHub(bb, fromIndex, p);
+	}
+	
+	private boolean matchLiteral(JsonLiteral literal, int p) {
+		
+		final int endIndex = p + literal.length();
+		
+		if ( ! literal.matchAt(bb, p) ) {
+			return false;
+		}
+		
+		return endIndex >= limit || JsonStructuralChar.isEndOfValue(bb.get(endIndex));
+	}
+	
+	private static int skipByteOrderMark(ByteBuffer bb) {
+		
+		final int p = bb.position();
+		
+		if ( (p + 2) < bb.limit()
+				&& bb.get(p) == (byte)0xEF
+				&& bb.get(p + 1) == (byte)0xBB
+				&& bb.get(p + 2) == (byte)0xBF ) {
+					
+			return p + 3;
+		}
+		
+		return p;
+	}
+	
+}
@@ -0,0 +1,104 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+
+/**
+ * NDJSON (JSON Lines) reader to JsonHub stream.
+ * 
+ * <p>
+ * Each line is parsed as one JSON value, blank lines are skipped.<br />
+ * Lines are parsed in map-operation of stream,
+ * so if {@link JsonHubReaderConfig#parallel()} is {@code true}, lines are parsed in parallel.<br />
+ * One cache of OBJECT names is used by all lines of stream.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonLinesReader {
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final char WS = ' ';
+	
+	private JsonLinesReader() {
+		/* Nothing */
+	}
+	
+	/**
+	 * Returns JsonHub stream from NDJSON file.
+	 * 
+	 * @param path NDJSON file path
+	 * @param config the config
+	 * @return JsonHub stream, must be closed
+	 * @throws IOException if open failed
+	 */
+	public static Stream<JsonHub> lines(Path path, JsonHubReaderConfig config) throws IOException {
+		return lines(Files.newInputStream(path), config);
+	}
+	
+	/**
+	 * Returns JsonHub stream from NDJSON-UTF8-bytes-stream.
+	 * 
+	 * @param strm NDJSON-UTF8-bytes-stream
+	 * @param config the config
+	 * @return JsonHub stream, closing stream closes {@code strm}
+	 */
+	public static Stream<JsonHub> lines(InputStream strm, JsonHubReaderConfig config) {
+		return lines(new InputStreamReader(strm, StandardCharsets.UTF_8), config);
+	}
+	
+	/**
+	 * Returns JsonHub stream from NDJSON-Reader.
+	 * 
+	 * @param reader NDJSON-Reader
+	 * @param config the config
+	 * @return JsonHub stream, closing stream closes {@code reader}
+	 */
+	public static Stream<JsonHub> lines(Reader reader, JsonHubReaderConfig config) {
+		
+		final BufferedReader br = new BufferedReader(reader, BUFFER_SIZE);
+		final JsonNameCache names = JsonReader.nameCache(config);
+		
+		final Stream<JsonHub> s = br.lines()
+				.filter(JsonLinesReader::isNotBlank)
+				.map(line -> JsonReader.fromJson(line, config, names))
+				.onClose(() -> {
+					try {
+						br.close();
+					}
+					catch ( IOException e ) {
+						throw new UncheckedIOException(e);
+					}
+				});
+		
+		if ( config.parallel() ) {
+			return s.parallel();
+		}
+		
+		return s;
+	}
+	
+	private static boolean isNotBlank(String line) {
+		
+		for ( int i = 0, m = line.length(); i < m; ++i ) {
+			if ( line.charAt(i) > WS ) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+}
@@ -1,5 +1,7 @@
 package com.shimizukenta.jsonhub.impl;
 
+import java.nio.ByteBuffer;
+
 /**
  * JSON Literals.
  * 
@@ -40,6 +42,63 @@ public enum JsonLiteral {
 		return this.s.contentEquals(cs);
 	}
 	
+	/**
+	 * Matcher at position, without creating sub-sequence.
+	 * 
+	 * @param cs the character sequence
+	 * @param fromIndex from index of cs
+	 * @return true if literal starts at fromIndex
+	 */
+	public boolean matchAt(CharSequence cs, int fromIndex) {
+		
+		final int len = this.s.length();
+		
+		if ( fromIndex < 0 || (fromIndex + len) > cs.length() ) {
+			return false;
+		}
+		
+		for ( int i = 0; i < len; ++i ) {
+			if ( cs.charAt(fromIndex + i) != this.s.charAt(i) ) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Matcher at position of ASCII-bytes, without decoding.
+	 * 
+	 * @param bb the bytes buffer
+	 * @param fromIndex absolute index of bb
+	 * @return true if literal starts at fromIndex
+	 */
+	public boolean matchAt(ByteBuffer bb, int fromIndex) {
+		
+		final int len = this.s.length();
+		
+		if ( fromIndex < 0 || (fromIndex + len) > bb.limit() ) {
+			return false;
+		}
+		
+		for ( int i = 0; i < len; ++i ) {
+			if ( bb.get(fromIndex + i) != this.s.charAt(i) ) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns length of literal.
+	 * 
+	 * @return length of literal
+	 */
+	public int length() {
+		return this.s.length();
+	}
+	
 	@Override
 	public String toString() {
 		return this.s;
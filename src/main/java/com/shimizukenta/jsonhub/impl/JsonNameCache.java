@@ -0,0 +1,267 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is canonicalization cache of OBJECT names, used by parsers.
+ * 
+ * <p>
+ * By default, new small cache is used for each parsing, see {@link #newCache()}.<br />
+ * Shared cache of {@link #getShared()} is used only if configured.<br />
+ * </p>
+ * <p>
+ * Names are looked up by escaped text on source (CharSequence or UTF-8 bytes),
+ * without creating substring.<br />
+ * Cached JsonString has both escaped and unescaped computed,
+ * so repeated names share one instance.<br />
+ * </p>
+ * <p>
+ * Cache is fixed-size direct-mapped table of immutable entries, colliding entry is replaced.<br />
+ * Names longer than {@code MAX_NAME_LENGTH} are not cached.<br />
+ * Thread-safe without lock, a racing lookup may miss and create another instance, but never returns wrong name.<br />
+ * </p>
+ * <p>
+ * Shapes of OBJECTs built by {@link #object(List)} are interned in table of this cache,
+ * so lifetime of shapes is same as cached names.<br />
+ * Only shapes whose names all are cached names are interned,
+ * names refer to source (longer than {@code MAX_NAME_LENGTH}) are not held by table.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonNameCache {
+	
+	private static final int DEFAULT_SIZE = 1024;
+	private static final int NEW_CACHE_SIZE = 256;
+	private static final int MAX_NAME_LENGTH = 64;
+	
+	private static class SingletonHolder {
+		private static final JsonNameCache inst = new JsonNameCache(DEFAULT_SIZE);
+	}
+	
+	private final Entry[] entries;
+	private final int mask;
+	
+	/**
+	 * Interned shapes, see {@link JsonObjectShape#intern(JsonObjectShape[], JsonString[])}.
+	 */
+	private final JsonObjectShape[] shapes;
+	
+	private JsonNameCache(int size) {
+		this.entries = new Entry[size];
+		this.mask = size - 1;
+		this.shapes = new JsonObjectShape[size];
+	}
+	
+	/**
+	 * Returns shared cache instance.
+	 * 
+	 * @return shared cache instance
+	 */
+	public static JsonNameCache getShared() {
+		return SingletonHolder.inst;
+	}
+	
+	/**
+	 * Returns new cache instance, not shared.
+	 * 
+	 * <p>
+	 * Table is smaller than shared cache, because created for each parsing.<br />
+	 * </p>
+	 * 
+	 * @return new cache instance
+	 */
+	public static JsonNameCache newCache() {
+		return new JsonNameCache(NEW_CACHE_SIZE);
+	}
+	
+	private static final class Entry {
+		
+		private final int hash;
+		private final String escaped;
+		
+		/**
+		 * escaped UTF-8 bytes, {@code null} if created from CharSequence.
+		 */
+		private final byte[] utf8;
+		private final JsonString name;
+		
+		private Entry(int hash, String escaped, byte[] utf8) {
+			this.hash = hash;
+			this.escaped = escaped;
+			this.utf8 = utf8;
+			
+			final JsonString s = new CachedName(escaped);
+			s.unescaped();
+			this.name = s;
+		}
+	}
+	
+	/**
+	 * Name created by cache, not refers to source.
+	 */
+	private static final class CachedName extends JsonStringImpl {
+		
+		private static final long serialVersionUID = 2416795284372041635L;
+		
+		private final String text;
+		
+		private CachedName(String escaped) {
+			super();
+			this.text = escaped;
+		}
+		
+		@Override
+		protected String decodeEscaped() {
+			return text;
+		}
+	}
+	
+	private int slot(int h) {
+		return (h ^ (h >>> 16)) & mask;
+	}
+	
+	/**
+	 * Returns name of escaped text in range of CharSequence.
+	 * 
+	 * @param cs the source
+	 * @param fromIndex start index, inclusive
+	 * @param toIndex end index, exclusive
+	 * @return name
+	 */
+	public JsonString name(CharSequence cs, int fromIndex, int toIndex) {
+		
+		final int len = toIndex - fromIndex;
+		
+		if ( len > MAX_NAME_LENGTH ) {
+			return JsonStringImpl.ofEscaped(cs.subSequence(fromIndex, toIndex));
+		}
+		
+		int h = 0;
+		
+		for ( int i = fromIndex; i < toIndex; ++i ) {
+			h = 31 * h + cs.charAt(i);
+		}
+		
+		final int slot = slot(h);
+		final Entry e = entries[slot];
+		
+		if ( e != null && e.hash == h && e.escaped.length() == len ) {
+			
+			final String s = e.escaped;
+			boolean eq = true;
+			
+			for ( int i = 0; i < len; ++i ) {
+				if ( s.charAt(i) != cs.charAt(fromIndex + i) ) {
+					eq = false;
+					break;
+				}
+			}
+			
+			if ( eq ) {
+				return e.name;
+			}
+		}
+		
+		final Entry created = new Entry(h, cs.subSequence(fromIndex, toIndex).toString(), null);
+		entries[slot] = created;
+		return created.name;
+	}
+	
+	/**
+	 * Returns name of escaped UTF-8 bytes in range of buffer.
+	 * 
+	 * @param bb the source
+	 * @param fromIndex start absolute index, inclusive
+	 * @param toIndex end absolute index, exclusive
+	 * @return name
+	 */
+	public JsonString name(ByteBuffer bb, int fromIndex, int toIndex) {
+		
+		final int len = toIndex - fromIndex;
+		
+		if ( len > MAX_NAME_LENGTH ) {
+			return JsonUtf8StringImpl.ofEscaped(bb, fromIndex, len);
+		}
+		
+		int h = 0;
+		
+		for ( int i = fromIndex; i < toIndex; ++i ) {
+			h = 31 * h + (bb.get(i) & 0xFF);
+		}
+		
+		final int slot = slot(h);
+		final Entry e = entries[slot];
+		
+		if ( e != null && e.hash == h && e.utf8 != null && e.utf8.length == len ) {
+			
+			final byte[] bs = e.utf8;
+			boolean eq = true;
+			
+			for ( int i = 0; i < len; ++i ) {
+				if ( bs[i] != bb.get(fromIndex + i) ) {
+					eq = false;
+					break;
+				}
+			}
+			
+			if ( eq ) {
+				return e.name;
+			}
+		}
+		
+		final byte[] bs = new byte[len];
+		
+		for ( int i = 0; i < len; ++i ) {
+			bs[i] = bb.get(fromIndex + i);
+		}
+		
+		final Entry created = new Entry(h, new String(bs, StandardCharsets.UTF_8), bs);
+		entries[slot] = created;
+		return created.name;
+	}
+	
+	/**
+	 * Returns OBJECT of pairs, shape is interned in this cache if all names are cached names.
+	 * 
+	 * <p>
+	 * Not accept empty pairs.<br />
+	 * </p>
+	 * 
+	 * @param pairs the pairs, names from {@link #name(CharSequence, int, int)} or {@link #name(ByteBuffer, int, int)}
+	 * @return OBJECT
+	 */
+	public JsonHub object(List<? extends JsonObjectPair> pairs) {
+		
+		final int n = pairs.size();
+		final JsonString[] nn = new JsonString[n];
+		final JsonHub[] values = new JsonHub[n];
+		boolean cached = true;
+		
+		for ( int i = 0; i < n; ++i ) {
+			
+			final JsonObjectPair p = pairs.get(i);
+			
+			nn[i] = p.name();
+			values[i] = p.value();
+			
+			if ( ! (nn[i] instanceof CachedName) ) {
+				cached = false;
+			}
+		}
+		
+		if ( cached ) {
+			return new ObjectJsonHub(JsonObjectShape.intern(shapes, nn), values);
+		} else {
+			return new ObjectJsonHub(JsonObjectShape.of(nn), values);
+		}
+	}
+	
+}
@@ -0,0 +1,810 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
+
+/**
+ * This class is parser of NUMBER, reads digits directly from source.
+ * 
+ * <p>
+ * Format is {@code [-+]? digits ( "." digits )? ( [eE] [-+]? digits )?}.<br />
+ * If no fraction and no exponent, returns Long, or BigDecimal if exceeds range of long.<br />
+ * Otherwise returns Double.<br />
+ * </p>
+ * <p>
+ * Double is computed by
+ * </p>
+ * <ol>
+ * <li>Clinger's fast path, if mantissa is exact in double and power of ten is exact in double.</li>
+ * <li>Eisel-Lemire algorithm, by 128-bit approximation of power of five.</li>
+ * <li>{@link Double#valueOf(String)}, if both are not decidable (more than 19 digits, subnormal, or ambiguous rounding).</li>
+ * </ol>
+ * <p>
+ * Result of all paths is correctly rounded, same as {@link Double#valueOf(String)}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonNumberParser {
+	
+	private static final int MAX_DIGITS = 19;
+	private static final int MAX_EXPONENT_DIGITS_VALUE = 100000;
+	private static final int MAX_CANONICAL_LONG_DIGITS = 18;
+	
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	private static final int MAX_EXACT_POWER_OF_TEN = 22;
+	
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+			1e21, 1e22
+	};
+	
+	static final int SMALLEST_POWER_OF_TEN = -342;
+	static final int LARGEST_POWER_OF_TEN = 308;
+	
+	private static final long INFINITY_BITS = 0x7FF0000000000000L;
+	static final long NOT_DECIDED = -1L;
+	
+	/**
+	 * 128-bit truncated powers of five, (high, low) pairs from 5^-342 to 5^308.
+	 * 
+	 * <p>
+	 * Package-private for test, must not be modified.<br />
+	 * </p>
+	 */
+	static final long[] POWERS_OF_FIVE_128 = powersOfFive128();
+	
+	private JsonNumberParser() {
+		/* Nothing */
+	}
+	
+	/**
+	 * Returns Number parsed from NUMBER character sequence.
+	 * 
+	 * @param cs the character sequence
+	 * @return Long, BigDecimal or Double
+	 * @throws JsonHubNumberFormatException if parse failed
+	 */
+	public static Number parse(CharSequence cs) {
+		return parse(cs, 0, cs.length());
+	}
+	
+	/**
+	 * Returns NUMBER node parsed from NUMBER character sequence.
+	 * 
+	 * <p>
+	 * If text is reproducible from primitive value, returns node which holds primitive value.<br />
+	 * </p>
+	 * <ul>
+	 * <li>Canonical integer up to 18 digits, returns LongJsonHub.</li>
+	 * <li>Canonical plain decimal up to 15 digits, returns DoubleJsonHub.</li>
+	 * <li>Otherwise, returns NumberJsonHub which holds text.</li>
+	 * </ul>
+	 * 
+	 * @param cs the character sequence
+	 * @return NUMBER node
+	 * @throws JsonHubNumberFormatException if parse failed
+	 */
+	public static AbstractNumberJsonHub toJsonHub(CharSequence cs) {
+		return toJsonHub(cs, 0, cs.length());
+	}
+	
+	/**
+	 * Returns NUMBER node parsed from range of character sequence, scans source directly.
+	 * 
+	 * <p>
+	 * Text is copied only if returns NumberJsonHub.<br />
+	 * </p>
+	 * 
+	 * @param cs the character sequence
+	 * @param fromIndex start index, inclusive
+	 * @param toIndex end index, exclusive
+	 * @return NUMBER node
+	 * @throws JsonHubNumberFormatException if parse failed
+	 * @see #toJsonHub(CharSequence)
+	 */
+	public static AbstractNumberJsonHub toJsonHub(CharSequence cs, int fromIndex, int toIndex) {
+		
+		int p = fromIndex;
+		boolean negative = false;
+		
+		if ( p < toIndex && cs.charAt(p) == '-' ) {
+			negative = true;
+			++ p;
+		}
+		
+		final int start = p;
+		long w = 0L;
+		
+		for ( ; p < toIndex; ++p ) {
+			
+			final int d = cs.charAt(p) - '0';
+			
+			if ( d < 0 || d > 9 ) {
+				break;
+			}
+			
+			w = w * 10L + d;
+			
+			if ( p - start >= MAX_CANONICAL_LONG_DIGITS ) {
+				return fallback(cs, fromIndex, toIndex);
+			}
+		}
+		
+		final int intDigits = p - start;
+		
+		if ( intDigits == 0 || (intDigits > 1 && cs.charAt(start) == '0') ) {
+			return fallback(cs, fromIndex, toIndex);
+		}
+		
+		if ( p == toIndex ) {
+			
+			if ( negative && w == 0L ) {
+				return fallback(cs, fromIndex, toIndex);
+			}
+			
+			return new LongJsonHub(negative ? -w : w);
+		}
+		
+		if ( cs.charAt(p) != '.' ) {
+			return fallback(cs, fromIndex, toIndex);
+		}
+		
+		final int fracStart = ++p;
+		
+		for ( ; p < toIndex; ++p ) {
+			
+			final int d = cs.charAt(p) - '0';
+			
+			if ( d < 0 || d > 9 ) {
+				return fallback(cs, fromIndex, toIndex);
+			}
+			
+			w = w * 10L + d;
+			
+			if ( p - start > DoubleJsonHub.MAX_PLAIN_DIGITS ) {
+				return fallback(cs, fromIndex, toIndex);
+			}
+		}
+		
+		final int scale = p - fracStart;
+		
+		if ( scale == 0 ) {
+			return fallback(cs, fromIndex, toIndex);
+		}
+		
+		/* Clinger's fast path, w < 10^15 and scale <= 15 */
+		final double v = (double)w / POWERS_OF_TEN[scale];
+		
+		return new DoubleJsonHub((negative ? -v : v), scale);
+	}
+	
+	/**
+	 * Returns NUMBER node parsed from range of ASCII bytes, scans source directly.
+	 * 
+	 * <p>
+	 * Text is copied only if returns NumberJsonHub.<br />
+	 * </p>
+	 * 
+	 * @param bb the bytes buffer
+	 * @param fromIndex start absolute index, inclusive
+	 * @param toIndex end absolute index, exclusive
+	 * @return NUMBER node
+	 * @throws JsonHubNumberFormatException if parse failed
+	 * @see #toJsonHub(CharSequence)
+	 */
+	public static AbstractNumberJsonHub toJsonHub(ByteBuffer bb, int fromIndex, int toIndex) {
+		
+		int p = fromIndex;
+		boolean negative = false;
+		
+		if ( p < toIndex && bb.get(p) == '-' ) {
+			negative = true;
+			++ p;
+		}
+		
+		final int start = p;
+		long w = 0L;
+		
+		for ( ; p < toIndex; ++p ) {
+			
+			final int d = bb.get(p) - '0';
+			
+			if ( d < 0 || d > 9 ) {
+				break;
+			}
+			
+			w = w * 10L + d;
+			
+			if ( p - start >= MAX_CANONICAL_LONG_DIGITS ) {
+				return fallback(bb, fromIndex, toIndex);
+			}
+		}
+		
+		final int intDigits = p - start;
+		
+		if ( intDigits == 0 || (intDigits > 1 && bb.get(start) == '0') ) {
+			return fallback(bb, fromIndex, toIndex);
+		}
+		
+		if ( p == toIndex ) {
+			
+			if ( negative && w == 0L ) {
+				return fallback(bb, fromIndex, toIndex);
+			}
+			
+			return new LongJsonHub(negative ? -w : w);
+		}
+		
+		if ( bb.get(p) != '.' ) {
+			return fallback(bb, fromIndex, toIndex);
+		}
+		
+		final int fracStart = ++p;
+		
+		for ( ; p < toIndex; ++p ) {
+			
+			final int d = bb.get(p) - '0';
+			
+			if ( d < 0 || d > 9 ) {
+				return fallback(bb, fromIndex, toIndex);
+			}
+			
+			w = w * 10L + d;
+			
+			if ( p - start > DoubleJsonHub.MAX_PLAIN_DIGITS ) {
+				return fallback(bb, fromIndex, toIndex);
+			}
+		}
+		
+		final int scale = p - fracStart;
+		
+		if ( scale == 0 ) {
+			return fallback(bb, fromIndex, toIndex);
+		}
+		
+		/* Clinger's fast path, w < 10^15 and scale <= 15 */
+		final double v = (double)w / POWERS_OF_TEN[scale];
+		
+		return new DoubleJsonHub((negative ? -v : v), scale);
+	}
+	
+	private static AbstractNumberJsonHub fallback(CharSequence cs, int fromIndex, int toIndex) {
+		return new NumberJsonHub(cs.subSequence(fromIndex, toIndex));
+	}
+	
+	private static AbstractNumberJsonHub fallback(ByteBuffer bb, int fromIndex, int toIndex) {
+		return new NumberJsonHub(ascii(bb, fromIndex, toIndex));
+	}
+	
+	/**
+	 * Returns Number parsed from range of character sequence.
+	 * 
+	 * @param cs the character sequence
+	 * @param fromIndex start index, inclusive
+	 * @param toIndex end index, exclusive
+	 * @return Long, BigDecimal or Double
+	 * @throws JsonHubNumberFormatException if parse failed
+	 */
+	public static Number parse(CharSequence cs, int fromIndex, int toIndex) {
+		
+		int p = fromIndex;
+		boolean negative = false;
+		
+		if ( p < toIndex ) {
+			
+			final char c = cs.charAt(p);
+			
+			if ( c == '-' ) {
+				negative = true;
+				++ p;
+			} else if ( c == '+' ) {
+				++ p;
+			}
+		}
+		
+		long w = 0L;
+		int significant = 0;
+		int q = 0;
+		boolean truncated = false;
+		boolean integral = true;
+		
+		int start = p;
+		
+		for ( ; p < toIndex; ++p ) {
+			
+			final int d = cs.charAt(p) - '0';
+			
+			if ( d < 0 || d > 9 ) {
+				break;
+			}
+			
+			if ( significant < MAX_DIGITS ) {
+				
+				w = w * 10L + d;
+				
+				if ( w != 0L ) {
+					++ significant;
+				}
+				
+			} else {
+				
+				++ q;
+				truncated |= (d != 0);
+			}
+		}
+		
+		if ( p == start ) {
+			throw notNumber(cs, fromIndex, toIndex);
+		}
+		
+		if ( p < toIndex && cs.charAt(p) == '.' ) {
+			
+			integral = false;
+			start = ++p;
+			
+			for ( ; p < toIndex; ++p ) {
+				
+				final int d = cs.charAt(p) - '0';
+				
+				if ( d < 0 || d > 9 ) {
+					break;
+				}
+				
+				if ( significant < MAX_DIGITS ) {
+					
+					w = w * 10L + d;
+					-- q;
+					
+					if ( w != 0L ) {
+						++ significant;
+					}
+					
+				} else {
+					
+					truncated |= (d != 0);
+				}
+			}
+			
+			if ( p == start ) {
+				throw notNumber(cs, fromIndex, toIndex);
+			}
+		}
+		
+		if ( p < toIndex && (cs.charAt(p) == 'e' || cs.charAt(p) == 'E') ) {
+			
+			integral = false;
+			++ p;
+			
+			boolean negativeExponent = false;
+			
+			if ( p < toIndex ) {
+				
+				final char c = cs.charAt(p);
+				
+				if ( c == '-' ) {
+					negativeExponent = true;
+					++ p;
+				} else if ( c == '+' ) {
+					++ p;
+				}
+			}
+			
+			int e = 0;
+			start = p;
+			
+			for ( ; p < toIndex; ++p ) {
+				
+				final int d = cs.charAt(p) - '0';
+				
+				if ( d < 0 || d > 9 ) {
+					break;
+				}
+				
+				if ( e < MAX_EXPONENT_DIGITS_VALUE ) {
+					e = e * 10 + d;
+				}
+			}
+			
+			if ( p == start ) {
+				throw notNumber(cs, fromIndex, toIndex);
+			}
+			
+			q += negativeExponent ? -e : e;
+		}
+		
+		if ( p != toIndex ) {
+			throw notNumber(cs, fromIndex, toIndex);
+		}
+		
+		final Number n = toNumber(negative, w, q, truncated, integral);
+		
+		if ( n == null ) {
+			return slowPath(cs.subSequence(fromIndex, toIndex).toString(), integral);
+		}
+		
+		return n;
+	}
+	
+	/**
+	 * Returns Number parsed from range of ASCII bytes.
+	 * 
+	 * @param bb the bytes buffer
+	 * @param fromIndex start absolute index, inclusive
+	 * @param toIndex end absolute index, exclusive
+	 * @return Long, BigDecimal or Double
+	 * @throws JsonHubNumberFormatException if parse failed
+	 */
+	public static Number parse(ByteBuffer bb, int fromIndex, int toIndex) {
+		
+		int p = fromIndex;
+		boolean negative = false;
+		
+		if ( p < toIndex ) {
+			
+			final byte c = bb.get(p);
+			
+			if ( c == '-' ) {
+				negative = true;
+				++ p;
+			} else if ( c == '+' ) {
+				++ p;
+			}
+		}
+		
+		long w = 0L;
+		int significant = 0;
+		int q = 0;
+		boolean truncated = false;
+		boolean integral = true;
+		
+		int start = p;
+		
+		for ( ; p < toIndex; ++p ) {
+			
+			final int d = bb.get(p) - '0';
+			
+			if ( d < 0 || d > 9 ) {
+				break;
+			}
+			
+			if ( significant < MAX_DIGITS ) {
+				
+				w = w * 10L + d;
+				
+				if ( w != 0L ) {
+					++ significant;
+				}
+				
+			} else {
+				
+				++ q;
+				truncated |= (d != 0);
+			}
+		}
+		
+		if ( p == start ) {
+			throw notNumber(bb, fromIndex, toIndex);
+		}
+		
+		if ( p < toIndex && bb.get(p) == '.' ) {
+			
+			integral = false;
+			start = ++p;
+			
+			for ( ; p < toIndex; ++p ) {
+				
+				final int d = bb.get(p) - '0';
+				
+				if ( d < 0 || d > 9 ) {
+					break;
+				}
+				
+				if ( significant < MAX_DIGITS ) {
+					
+					w = w * 10L + d;
+					-- q;
+					
+					if ( w != 0L ) {
+						++ significant;
+					}
+					
+				} else {
+					
+					truncated |= (d != 0);
+				}
+			}
+			
+			if ( p == start ) {
+				throw notNumber(bb, fromIndex, toIndex);
+			}
+		}
+		
+		if ( p < toIndex && (bb.get(p) == 'e' || bb.get(p) == 'E') ) {
+			
+			integral = false;
+			++ p;
+			
+			boolean negativeExponent = false;
+			
+			if ( p < toIndex ) {
+				
+				final byte c = bb.get(p);
+				
+				if ( c == '-' ) {
+					negativeExponent = true;
+					++ p;
+				} else if ( c == '+' ) {
+					++ p;
+				}
+			}
+			
+			int e = 0;
+			start = p;
+			
+			for ( ; p < toIndex; ++p ) {
+				
+				final int d = bb.get(p) - '0';
+				
+				if ( d < 0 || d > 9 ) {
+					break;
+				}
+				
+				if ( e < MAX_EXPONENT_DIGITS_VALUE ) {
+					e = e * 10 + d;
+				}
+			}
+			
+			if ( p == start ) {
+				throw notNumber(bb, fromIndex, toIndex);
+			}
+			
+			q += negativeExponent ? -e : e;
+		}
+		
+		if ( p != toIndex ) {
+			throw notNumber(bb, fromIndex, toIndex);
+		}
+		
+		final Number n = toNumber(negative, w, q, truncated, integral);
+		
+		if ( n == null ) {
+			return slowPath(ascii(bb, fromIndex, toIndex), integral);
+		}
+		
+		return n;
+	}
+	
+	/**
+	 * Returns Number from decimal mantissa and power of ten, or {@code null} if slow-path is required.
+	 * 
+	 * @param negative true if negative
+	 * @param w unsigned decimal mantissa, up to 19 digits
+	 * @param q power of ten
+	 * @param truncated true if nonzero digits were dropped from w
+	 * @param integral true if no fraction and no exponent
+	 * @return Long, Double or {@code null}
+	 */
+	private static Number toNumber(boolean negative, long w, int q, boolean truncated, boolean integral) {
+		
+		if ( integral ) {
+			
+			if ( q != 0 || truncated ) {
+				return null;
+			}
+			
+			if ( w >= 0L ) {
+				return Long.valueOf(negative ? -w : w);
+			}
+			
+			if ( negative && w == Long.MIN_VALUE ) {
+				return Long.valueOf(Long.MIN_VALUE);
+			}
+			
+			return null;
+		}
+		
+		if ( truncated ) {
+			return null;
+		}
+		
+		if ( w >= 0L && w <= MAX_EXACT_MANTISSA && q >= -MAX_EXACT_POWER_OF_TEN && q <= MAX_EXACT_POWER_OF_TEN ) {
+			
+			double d = (double)w;
+			
+			if ( q < 0 ) {
+				d /= POWERS_OF_TEN[-q];
+			} else {
+				d *= POWERS_OF_TEN[q];
+			}
+			
+			return Double.valueOf(negative ? -d : d);
+		}
+		
+		final long bits = eiselLemire(w, q);
+		
+		if ( bits == NOT_DECIDED ) {
+			return null;
+		}
+		
+		final double d = Double.longBitsToDouble(bits);
+		
+		return Double.valueOf(negative ? -d : d);
+	}
+	
+	private static Number slowPath(String s, boolean integral) {
+		
+		try {
+			
+			if ( integral ) {
+				return new BigDecimal(s);
+			} else {
+				return Double.valueOf(s);
+			}
+		}
+		catch ( NumberFormatException e ) {
+			throw new JsonHubNumberFormatException(e.getMessage());
+		}
+	}
+	
+	/**
+	 * Eisel-Lemire algorithm.
+	 * 
+	 * @param w unsigned decimal mantissa
+	 * @param q power of ten
+	 * @return bits of positive double, or {@code NOT_DECIDED}
+	 */
+	static long eiselLemire(long w, int q) {
+		
+		if ( w == 0L || q < SMALLEST_POWER_OF_TEN ) {
+			return 0L;
+		}
+		
+		if ( q > LARGEST_POWER_OF_TEN ) {
+			return INFINITY_BITS;
+		}
+		
+		final int lz = Long.numberOfLeadingZeros(w);
+		final long x = w << lz;
+		
+		final int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+		
+		long hi = unsignedMultiplyHigh(x, POWERS_OF_FIVE_128[index]);
+		long lo = x * POWERS_OF_FIVE_128[index];
+		
+		if ( (hi & 0x1FFL) == 0x1FFL ) {
+			
+			final long secondHi = unsignedMultiplyHigh(x, POWERS_OF_FIVE_128[index + 1]);
+			
+			lo += secondHi;
+			
+			if ( Long.compareUnsigned(secondHi, lo) > 0 ) {
+				++ hi;
+			}
+		}
+		
+		if ( lo == -1L && (q < -27 || q > 55) ) {
+			return NOT_DECIDED;
+		}
+		
+		final int upperbit = (int)(hi >>> 63);
+		final int shift = upperbit + 64 - 52 - 3;
+		
+		long mantissa = hi >>> shift;
+		int power2 = (int)(((152170L + 65536L) * q) >> 16) + 63 + upperbit - lz + 1023;
+		
+		if ( power2 <= 0 ) {
+			/* subnormal */
+			return NOT_DECIDED;
+		}
+		
+		/* exactly halfway, round to even */
+		if ( (lo == 0L || lo == 1L) && q >= -4 && q <= 23 && (mantissa & 0x3L) == 1L ) {
+			
+			if ( (mantissa << shift) == hi ) {
+				mantissa &= ~1L;
+			}
+		}
+		
+		mantissa += (mantissa & 0x1L);
+		mantissa >>>= 1;
+		
+		if ( mantissa >= (2L << 52) ) {
+			mantissa = 1L << 52;
+			++ power2;
+		}
+		
+		mantissa &= ~(1L << 52);
+		
+		if ( power2 >= 0x7FF ) {
+			return INFINITY_BITS;
+		}
+		
+		return mantissa | (((long)power2) << 52);
+	}
+	
+	private static long unsignedMultiplyHigh(long x, long y) {
+		
+		final long x0 = x & 0xFFFFFFFFL;
+		final long x1 = x >>> 32;
+		final long y0 = y & 0xFFFFFFFFL;
+		final long y1 = y >>> 32;
+		
+		final long p01 = x0 * y1;
+		final long p10 = x1 * y0;
+		
+		final long middle = ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+		
+		return (x1 * y1) + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+	}
+	
+	private static long[] powersOfFive128() {
+		
+		final long[] table = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+		final BigInteger five = BigInteger.valueOf(5L);
+		final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+		
+		for ( int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; ++q ) {
+			
+			BigInteger v;
+			
+			if ( q >= 0 ) {
+				
+				v = five.pow(q);
+				
+				final int bits = v.bitLength();
+				
+				if ( bits < 128 ) {
+					v = v.shiftLeft(128 - bits);
+				} else {
+					v = v.shiftRight(bits - 128);
+				}
+				
+			} else {
+				
+				final BigInteger p5 = five.pow(-q);
+				final int z = p5.bitLength();
+				final int b = (q >= -27) ? (z + 127) : (2 * z + 128);
+				
+				v = BigInteger.ONE.shiftLeft(b).divide(p5).add(BigInteger.ONE);
+				
+				while ( v.compareTo(two128) >= 0 ) {
+					v = v.shiftRight(1);
+				}
+			}
+			
+			final int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+			
+			table[index] = v.shiftRight(64).longValue();
+			table[index + 1] = v.longValue();
+		}
+		
+		return table;
+	}
+	
+	private static String ascii(ByteBuffer bb, int fromIndex, int toIndex) {
+		
+		final byte[] bs = new byte[toIndex - fromIndex];
+		
+		for ( int i = 0; i < bs.length; ++i ) {
+			bs[i] = bb.get(fromIndex + i);
+		}
+		
+		return new String(bs, StandardCharsets.US_ASCII);
+	}
+	
+	private static JsonHubNumberFormatException notNumber(CharSequence cs, int fromIndex, int toIndex) {
+		return new JsonHubNumberFormatException("Not NUMBER \"" + cs.subSequence(fromIndex, toIndex) + "\"");
+	}
+	
+	private static JsonHubNumberFormatException notNumber(ByteBuffer bb, int fromIndex, int toIndex) {
+		return new JsonHubNumberFormatException("Not NUMBER \"" + ascii(bb, fromIndex, toIndex) + "\"");
+	}
+	
+}
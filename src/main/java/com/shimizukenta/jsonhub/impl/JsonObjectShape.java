@@ -0,0 +1,267 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.Serializable;
+
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is shape of OBJECT, ordered names and member index.
+ * 
+ * <p>
+ * {@link #of(JsonString[])} returns shape not shared.<br />
+ * Parsers intern shapes in {@link JsonNameCache}, OBJECTs which have same ordered name instances
+ * from the cache share one shape, and hold only values array.<br />
+ * Names are compared by identity, and held as given, not escaped nor unescaped on intern.<br />
+ * </p>
+ * <p>
+ * Interned shapes are held in fixed-size direct-mapped table of the cache, colliding shape is replaced.<br />
+ * Shapes up to {@code MAX_INTERN_MEMBERS} members are interned, other shapes are not shared.<br />
+ * Thread-safe without lock, a racing lookup may miss and create another shape,
+ * shapes are published by final fields.<br />
+ * </p>
+ * <p>
+ * Index of names is built on first lookup by name.<br />
+ * If members are more than {@code LINEAR_SCAN_MAX}, open-addressing hash table
+ * (linear probing, power-of-two size, load factor up to 0.5) of positions is built.<br />
+ * Otherwise names are compared one by one.<br />
+ * If same name appears more than once, first member is found.<br />
+ * Lookup by String does not allocate.<br />
+ * Instances of this class are immutable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonObjectShape implements Serializable {
+	
+	private static final long serialVersionUID = 3719558213874109412L;
+	
+	/**
+	 * Members up to this are compared one by one, without hash table.
+	 */
+	static final int LINEAR_SCAN_MAX = 8;
+	
+	private static final int MAX_INTERN_MEMBERS = 64;
+	
+	private static final JsonObjectShape emptyShape = new JsonObjectShape(new JsonString[0], 0);
+	
+	private final JsonString[] names;
+	private final transient int identityHash;
+	
+	/**
+	 * Cache of index, {@code null} if not built.
+	 */
+	private transient volatile Index index;
+	
+	private JsonObjectShape(JsonString[] names, int identityHash) {
+		this.names = names;
+		this.identityHash = identityHash;
+		this.index = null;
+	}
+	
+	/**
+	 * Returns shape of names, not interned.
+	 * 
+	 * <p>
+	 * {@code names} array is held by shape, caller must not modify it after.<br />
+	 * </p>
+	 * 
+	 * @param names the ordered names
+	 * @return shape
+	 */
+	public static JsonObjectShape of(JsonString[] names) {
+		
+		if ( names.length == 0 ) {
+			return emptyShape;
+		}
+		
+		return new JsonObjectShape(names, 0);
+	}
+	
+	/**
+	 * Returns shape of names interned in table.
+	 * 
+	 * <p>
+	 * {@code table} is owned by {@link JsonNameCache}, size is power of two.<br />
+	 * {@code names} array is held by shape, caller must not modify it after.<br />
+	 * </p>
+	 * 
+	 * @param table the table of interned shapes
+	 * @param names the ordered names
+	 * @return shape
+	 */
+	static JsonObjectShape intern(JsonObjectShape[] table, JsonString[] names) {
+		
+		final int n = names.length;
+		
+		if ( n == 0 ) {
+			return emptyShape;
+		}
+		
+		if ( n > MAX_INTERN_MEMBERS ) {
+			return new JsonObjectShape(names, 0);
+		}
+		
+		int h = 1;
+		
+		for ( int i = 0; i < n; ++i ) {
+			h = 31 * h + System.identityHashCode(names[i]);
+		}
+		
+		final int slot = (h ^ (h >>> 16)) & (table.length - 1);
+		final JsonObjectShape shape = table[slot];
+		
+		if ( shape != null && shape.identityHash == h && shape.sameNames(names) ) {
+			return shape;
+		}
+		
+		final JsonObjectShape created = new JsonObjectShape(names, h);
+		table[slot] = created;
+		return created;
+	}
+	
+	private boolean sameNames(JsonString[] other) {
+		
+		final int n = names.length;
+		
+		if ( n != other.length ) {
+			return false;
+		}
+		
+		for ( int i = 0; i < n; ++i ) {
+			if ( names[i] != other[i] ) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private static int hash(String key) {
+		final int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+	
+	/**
+	 * Returns count of members.
+	 * 
+	 * @return count of members
+	 */
+	public int length() {
+		return names.length;
+	}
+	
+	/**
+	 * Returns name of position.
+	 * 
+	 * @param index the position
+	 * @return name
+	 */
+	public JsonString name(int index) {
+		return names[index];
+	}
+	
+	/**
+	 * Returns position of first member which has name.
+	 * 
+	 * @param name the unescaped name
+	 * @return position, -1 if not found
+	 */
+	public int indexOf(String name) {
+		
+		Index x = this.index;
+		
+		if ( x == null ) {
+			x = new Index(names);
+			this.index = x;
+		}
+		
+		final String[] keys = x.keys;
+		final int[] slots = x.slots;
+		final int mask = x.mask;
+		
+		if ( slots == null ) {
+			
+			for ( int i = 0, n = keys.length; i < n; ++i ) {
+				if ( keys[i].equals(name) ) {
+					return i;
+				}
+			}
+			
+			return -1;
+			
+		} else {
+			
+			for ( int h = hash(name) & mask; ; h = (h + 1) & mask ) {
+				
+				final int s = slots[h];
+				
+				if ( s == 0 ) {
+					return -1;
+				}
+				
+				if ( keys[s - 1].equals(name) ) {
+					return s - 1;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Unescaped names and hash table of positions, immutable.
+	 */
+	private static final class Index {
+		
+		private final String[] keys;
+		
+		/**
+		 * slot is (position + 1), 0 is empty, {@code null} if linear scan.
+		 */
+		private final int[] slots;
+		private final int mask;
+		
+		private Index(JsonString[] names) {
+			
+			final int n = names.length;
+			
+			this.keys = new String[n];
+			
+			for ( int i = 0; i < n; ++i ) {
+				this.keys[i] = names[i].unescaped();
+			}
+			
+			if ( n <= LINEAR_SCAN_MAX ) {
+				
+				this.slots = null;
+				this.mask = 0;
+				
+			} else {
+				
+				final int size = Integer.highestOneBit(n - 1) << 2;
+				
+				this.slots = new int[size];
+				this.mask = size - 1;
+				
+				for ( int i = 0; i < n; ++i ) {
+					
+					final String key = keys[i];
+					
+					for ( int h = hash(key) & mask; ; h = (h + 1) & mask ) {
+						
+						final int s = slots[h];
+						
+						if ( s == 0 ) {
+							slots[h] = i + 1;
+							break;
+						}
+						
+						if ( keys[s - 1].equals(key) ) {
+							break;
+						}
+					}
+				}
+			}
+		}
+	}
+	
+}
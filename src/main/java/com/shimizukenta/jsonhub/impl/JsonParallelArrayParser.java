@@ -0,0 +1,448 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+
+/**
+ * This class is parallel parser of large top-level ARRAY.
+ * 
+ * <p>
+ * First, boundaries of elements (separators at depth 1) are scanned.<br />
+ * Next, elements are splitted to chunks, and chunks are parsed on {@link ForkJoinPool#commonPool()}.<br />
+ * Finally, parsed elements are assembled to one ARRAY in source order.<br />
+ * </p>
+ * <p>
+ * If source is small, top-level value is not ARRAY, or boundaries are not found,
+ * source is parsed sequentially.<br />
+ * If parsing an element failed, source is re-parsed sequentially,
+ * so exception (type, message and index in source) is same as sequential parser.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonParallelArrayParser {
+	
+	/**
+	 * Source length to parse in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1024 * 1024;
+	
+	/**
+	 * Source length of a chunk, chunk is not splitted below this.
+	 */
+	private static final int CHUNK_SIZE = 64 * 1024;
+	
+	private static final char WS = ' ';
+	
+	private JsonParallelArrayParser() {
+		/* Nothing */
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-CharSequence.
+	 * 
+	 * <p>
+	 * OBJECT names are canonicalized by new cache for this parsing.<br />
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(CharSequence cs) {
+		return parse(cs, JsonNameCache.newCache());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-CharSequence.
+	 * 
+	 * <p>
+	 * Not accept {@code null} JSON-CharSequence.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(CharSequence cs, JsonNameCache names) {
+		return parse(cs, names, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-CharSequence, built by builder.
+	 * 
+	 * <p>
+	 * Not accept {@code null} source and builder.<br />
+	 * </p>
+	 * 
+	 * @param cs JSON-CharSequence
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @param builder builder of values
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(CharSequence cs, JsonNameCache names, JsonHubBuilder builder) {
+		
+		if ( cs.length() >= PARALLEL_THRESHOLD ) {
+			
+			final CharSequenceBoundaries b = CharSequenceBoundaries.scan(cs, builder);
+			
+			if ( b != null ) {
+				try {
+					return b.parse(names);
+				}
+				catch ( RuntimeException e ) {
+					/* re-parse sequentially, to report error of source index */
+				}
+			}
+		}
+		
+		return JsonCharSequenceParser.parse(cs, names, builder);
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * STRING values refer to {@code bb}, {@code bb} must not be modified after parsed.<br />
+	 * OBJECT names are canonicalized by new cache for this parsing.<br />
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb) {
+		return parse(bb, JsonNameCache.newCache());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * STRING values refer to {@code bb}, {@code bb} must not be modified after parsed.<br />
+	 * Not accept {@code null} buffer.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb, JsonNameCache names) {
+		return parse(bb, names, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes, built by builder.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * STRING values refer to {@code bb}, {@code bb} must not be modified after parsed.<br />
+	 * Not accept {@code null} source and builder.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @param builder builder of values
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb, JsonNameCache names, JsonHubBuilder builder) {
+		
+		if ( bb.remaining() >= PARALLEL_THRESHOLD ) {
+			
+			final Utf8Boundaries b = Utf8Boundaries.scan(bb, builder);
+			
+			if ( b != null ) {
+				try {
+					return b.parse(names);
+				}
+				catch ( RuntimeException e ) {
+					/* re-parse sequentially, to report error of source index */
+				}
+			}
+		}
+		
+		return JsonUtf8Parser.parse(bb, names, builder);
+	}
+	
+	/**
+	 * Boundaries of elements.
+	 * 
+	 * <p>
+	 * bounds[0] is index of "[", bounds[count] is index of "]",
+	 * others are indices of "," at depth 1.<br />
+	 * Element i is from (bounds[i] + 1) to bounds[i + 1].<br />
+	 * </p>
+	 */
+	private static abstract class AbstractBoundaries {
+		
+		private final int[] bounds;
+		private final int count;
+		
+		/**
+		 * builder of values.
+		 */
+		protected final JsonHubBuilder builder;
+		
+		protected AbstractBoundaries(int[] bounds, int count, JsonHubBuilder builder) {
+			this.bounds = bounds;
+			this.count = count;
+			this.builder = builder;
+		}
+		
+		abstract protected JsonHub parseElement(int fromIndex, int toIndex, JsonNameCache names);
+		
+		public JsonHub parse(JsonNameCache names) {
+			
+			final JsonHub[] values = new JsonHub[count];
+			
+			ForkJoinPool.commonPool().invoke(new ChunkAction(this, names, values, 0, count));
+			
+			return builder.array(values);
+		}
+	}
+	
+	private static final class ChunkAction extends RecursiveAction {
+		
+		private static final long serialVersionUID = -6045263014817286413L;
+		
+		private final AbstractBoundaries b;
+		private final JsonNameCache names;
+		private final JsonHub[] values;
+		private final int from;
+		private final int to;
+		
+		private ChunkAction(AbstractBoundaries b, JsonNameCache names, JsonHub[] values, int from, int to) {
+			this.b = b;
+			this.names = names;
+			this.values = values;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			
+			if ( (to - from) > 1 && (b.bounds[to] - b.bounds[from]) > CHUNK_SIZE ) {
+				
+				final int mid = (from + to) >>> 1;
+				
+				invokeAll(
+						new ChunkAction(b, names, values, from, mid),
+						new ChunkAction(b, names, values, mid, to));
+				
+			} else {
+				
+				for ( int i = from; i < to; ++i ) {
+					values[i] = b.parseElement(b.bounds[i] + 1, b.bounds[i + 1], names);
+				}
+			}
+		}
+	}
+	
+	private static final class CharSequenceBoundaries extends AbstractBoundaries {
+		
+		private final CharSequence cs;
+		
+		private CharSequenceBoundaries(CharSequence cs, int[] bounds, int count, JsonHubBuilder builder) {
+			super(bounds, count, builder);
+			this.cs = cs;
+		}
+		
+		@Override
+		protected JsonHub parseElement(int fromIndex, int toIndex, JsonNameCache names) {
+			return JsonCharSequenceParser.parse(cs.subSequence(fromIndex, toIndex), names, builder);
+		}
+		
+		/**
+		 * Returns boundaries, or {@code null} if top-level value is not ARRAY or not well-formed.
+		 */
+		private static CharSequenceBoundaries scan(CharSequence cs, JsonHubBuilder builder) {
+			
+			final int len = cs.length();
+			int p = 0;
+			
+			while ( p < len && cs.charAt(p) <= WS ) {
+				++ p;
+			}
+			
+			if ( p >= len || ! JsonStructuralChar.ARRAY_BIGIN.match(cs.charAt(p)) ) {
+				return null;
+			}
+			
+			final Bounds bs = new Bounds(p);
+			
+			int depth = 1;
+			
+			for ( ++ p; p < len; ++ p ) {
+				
+				final char c = cs.charAt(p);
+				
+				if ( JsonStructuralChar.QUOT.match(c) ) {
+					
+					for ( ++ p; p < len; ++ p ) {
+						
+						final char x = cs.charAt(p);
+						
+						if ( JsonStructuralChar.ESCAPE.match(x) ) {
+							
+							++ p;
+							
+						} else if ( JsonStructuralChar.QUOT.match(x) ) {
+							
+							break;
+						}
+					}
+					
+				} else if ( JsonStructuralChar.ARRAY_BIGIN.match(c) || JsonStructuralChar.OBJECT_BIGIN.match(c) ) {
+					
+					++ depth;
+					
+				} else if ( JsonStructuralChar.ARRAY_END.match(c) || JsonStructuralChar.OBJECT_END.match(c) ) {
+					
+					-- depth;
+					
+					if ( depth == 0 ) {
+						break;
+					}
+					
+				} else if ( depth == 1 && JsonStructuralChar.SEPARATOR_VALUE.match(c) ) {
+					
+					bs.add(p);
+				}
+			}
+			
+			if ( p >= len || ! JsonStructuralChar.ARRAY_END.match(cs.charAt(p)) || bs.size == 1 ) {
+				return null;
+			}
+			
+			bs.add(p);
+			
+			for ( ++ p; p < len; ++ p ) {
+				if ( cs.charAt(p) > WS ) {
+					return null;
+				}
+			}
+			
+			return new CharSequenceBoundaries(cs, bs.bounds, bs.size - 1, builder);
+		}
+	}
+	
+	private static final class Utf8Boundaries extends AbstractBoundaries {
+		
+		private final ByteBuffer bb;
+		
+		private Utf8Boundaries(ByteBuffer bb, int[] bounds, int count, JsonHubBuilder builder) {
+			super(bounds, count, builder);
+			this.bb = bb;
+		}
+		
+		@Override
+		protected JsonHub parseElement(int fromIndex, int toIndex, JsonNameCache names) {
+			final ByteBuffer dup = bb.duplicate();
+			dup.limit(toIndex).position(fromIndex);
+			return JsonUtf8Parser.parse(dup, names, builder);
+		}
+		
+		/**
+		 * Returns boundaries from {@link JsonStructuralIndex}, or {@code null} if top-level value is not ARRAY or not well-formed.
+		 */
+		private static Utf8Boundaries scan(ByteBuffer bb, JsonHubBuilder builder) {
+			
+			int fromIndex = bb.position();
+			
+			if ( bb.remaining() >= 3
+					&& bb.get(fromIndex) == (byte)0xEF
+					&& bb.get(fromIndex + 1) == (byte)0xBB
+					&& bb.get(fromIndex + 2) == (byte)0xBF ) {
+				
+				fromIndex += 3;
+			}
+			
+			final JsonStructuralIndex index = JsonStructuralIndex.build(bb, fromIndex);
+			final int[] positions = index.positions();
+			final int size = index.size();
+			
+			if ( size == 0 || ! JsonStructuralChar.ARRAY_BIGIN.match(bb.get(positions[0])) ) {
+				return null;
+			}
+			
+			final Bounds bs = new Bounds(positions[0]);
+			
+			int depth = 1;
+			int k = 1;
+			
+			for ( ; k < size; ++ k ) {
+				
+				final byte b = bb.get(positions[k]);
+				
+				if ( JsonStructuralChar.QUOT.match(b) ) {
+					
+					/* skip closing quotation */
+					++ k;
+					
+				} else if ( JsonStructuralChar.ARRAY_BIGIN.match(b) || JsonStructuralChar.OBJECT_BIGIN.match(b) ) {
+					
+					++ depth;
+					
+				} else if ( JsonStructuralChar.ARRAY_END.match(b) || JsonStructuralChar.OBJECT_END.match(b) ) {
+					
+					-- depth;
+					
+					if ( depth == 0 ) {
+						break;
+					}
+					
+				} else if ( depth == 1 && JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+					
+					bs.add(positions[k]);
+				}
+			}
+			
+			if ( (k + 1) != size || ! JsonStructuralChar.ARRAY_END.match(bb.get(positions[k])) || bs.size == 1 ) {
+				return null;
+			}
+			
+			bs.add(positions[k]);
+			
+			return new Utf8Boundaries(bb, bs.bounds, bs.size - 1, builder);
+		}
+	}
+	
+	private static final class Bounds {
+		
+		private int[] bounds;
+		private int size;
+		
+		private Bounds(int first) {
+			this.bounds = new int[1024];
+			this.bounds[0] = first;
+			this.size = 1;
+		}
+		
+		private void add(int p) {
+			
+			if ( size == bounds.length ) {
+				bounds = Arrays.copyOf(bounds, size * 2);
+			}
+			
+			bounds[size] = p;
+			++ size;
+		}
+	}
+	
+}
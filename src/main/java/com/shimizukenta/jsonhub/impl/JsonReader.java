@@ -1,25 +1,23 @@
 package com.shimizukenta.jsonhub.impl;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
-import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 import com.shimizukenta.jsonhub.JsonHub;
 import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubHandler;
+import com.shimizukenta.jsonhub.JsonHubIncrementalParser;
 import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
 import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
 import com.shimizukenta.jsonhub.JsonHubParseException;
-import com.shimizukenta.jsonhub.JsonObjectPair;
-import com.shimizukenta.jsonhub.JsonString;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
 
 /**
  * JSON reader to JsonHub.
@@ -45,13 +43,88 @@ public final class JsonReader {
 	 */
 	public static JsonHub fromJson(CharSequence json) {
 		try {
-			String s = json.toString();
+			return JsonCharSequenceParser.parse(json);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
+	}
+	
+	/**
+	 * Returns JsonHub instance parsing from JSON-String with config.
+	 * 
+	 * @param json the charsequence
+	 * @param config the config
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromJson(CharSequence json, JsonHubReaderConfig config) {
+		return fromJson(json, config, nameCache(config));
+	}
+	
+	/**
+	 * Returns JsonHub instance parsing from JSON-String with config and cache of OBJECT names.
+	 * 
+	 * @param json the charsequence
+	 * @param config the config
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	static JsonHub fromJson(CharSequence json, JsonHubReaderConfig config, JsonNameCache names) {
+		
+		final JsonHubBuilder builder = builder(config);
+		
+		if ( config.lazy() ) {
+			return parseLazy(new JsonCharSequenceLazySource(json, builder));
+		}
+		
+		try {
 			
-			if ( s.trim().isEmpty() ) {
-				throw new JsonHubParseException("JSON is empty");
+			if ( config.parallel() ) {
+				return JsonParallelArrayParser.parse(json, names, builder);
+			} else {
+				return JsonCharSequenceParser.parse(json, names, builder);
 			}
-			
-			return parse(s);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
+	}
+	
+	/**
+	 * Returns cache of OBJECT names for one parsing, {@code null} if not cached.
+	 * 
+	 * @param config the config
+	 * @return cache of OBJECT names, {@code null} if not cached
+	 */
+	static JsonNameCache nameCache(JsonHubReaderConfig config) {
+		
+		if ( ! config.internNames() ) {
+			return null;
+		}
+		
+		if ( config.sharedNameCache() ) {
+			return JsonNameCache.getShared();
+		} else {
+			return JsonNameCache.newCache();
+		}
+	}
+	
+	/**
+	 * Returns builder of values for config.
+	 * 
+	 * @param config the config
+	 * @return builder of values
+	 * @see JsonHubReaderConfig#cacheStringJson()
+	 */
+	static JsonHubBuilder builder(JsonHubReaderConfig config) {
+		return AbstractJsonHubBuilder.getInstance(config.cacheStringJson());
+	}
+	
+	private static JsonHub parseLazy(AbstractJsonLazySource src) {
+		try {
+			return src.parse();
 		}
 		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
 			throw new JsonHubParseException(e);
@@ -61,26 +134,33 @@ public final class JsonReader {
 	/**
 	 * Returns parsed JaonHub from Reader.
 	 * 
+	 * <p>
+	 * Read chars are made String once, STRING values refer to the String.<br />
+	 * </p>
+	 * 
 	 * @param reader the reader of JSON
 	 * @return parsed JsonHub instance
 	 * @throws IOException if IO-Exception
 	 * @throws JsonHubParseException if parse failed
 	 */
 	public static JsonHub fromJson(Reader reader) throws IOException {
-		try (
-				CharArrayWriter writer = new CharArrayWriter();
-				) {
+		
+		char[] buffer = new char[INITIAL_BUFFER_SIZE];
+		int len = 0;
+		
+		for ( ;; ) {
+			
+			if ( len == buffer.length ) {
+				buffer = Arrays.copyOf(buffer, nextBufferSize(len));
+			}
+			
+			int r = reader.read(buffer, len, (buffer.length - len));
 			
-			for ( ;; ) {
-				
-				int r = reader.read();
-				
-				if ( r < 0 ) {
-					return fromJson(writer.toString());
-				}
-				
-				writer.write(r);
+			if ( r < 0 ) {
+				return fromJson(new String(buffer, 0, len));
 			}
+			
+			len += r;
 		}
 	}
 	
@@ -94,381 +174,302 @@ public final class JsonReader {
 	 */
 	public static JsonHub fromFile(Path path) throws IOException {
 		try (
-				BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+				InputStream strm = Files.newInputStream(path);
 				) {
-			return fromJson(br);
+			return fromBytes(readAllBytes(strm, Files.size(path)));
 		}
 	}
 	
 	/**
-	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-array.
+	 * Returns parsed JsonHub instance from memory-mapped file.
 	 * 
-	 * @param bs JSON-UTF8-bytes-array
+	 * <p>
+	 * File of size up to 2GB is mapped at once, and parsed from mapped buffer directly.<br />
+	 * STRING values refer to mapped buffer, and are decoded at first access.<br />
+	 * Larger file is mapped by windows of {@code MAPPED_WINDOW_SIZE},
+	 * and windows are fed to incremental parser in order.<br />
+	 * File must not be modified while parsed JsonHub is in use.<br />
+	 * </p>
+	 * 
+	 * @param path JSON file path
 	 * @return parsed JsonHub instance
+	 * @throws IOException if IO-Exception
 	 * @throws JsonHubParseException if parse failed
 	 */
-	public static JsonHub fromBytes(byte[] bs) {
-		return fromJson(new String(bs, StandardCharsets.UTF_8));
+	public static JsonHub fromMappedFile(Path path) throws IOException {
+		try (
+				FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+				) {
+			
+			final long size = channel.size();
+			
+			if ( size <= MAX_BUFFER_SIZE ) {
+				return fromBytes(channel.map(FileChannel.MapMode.READ_ONLY, 0L, size));
+			}
+			
+			return fromMappedWindows(channel, size, MAPPED_WINDOW_SIZE);
+		}
 	}
 	
+	private static final long MAPPED_WINDOW_SIZE = 256L * 1024L * 1024L;
+	
 	/**
-	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-stream.
+	 * Returns parsed JsonHub instance from memory-mapped file, always mapped by windows.
 	 * 
-	 * @param strm JSON-UTF8-bytes-stream
+	 * @param path JSON file path
+	 * @param windowSize bytes size of each window
 	 * @return parsed JsonHub instance
 	 * @throws IOException if IO-Exception
 	 * @throws JsonHubParseException if parse failed
 	 */
-	public static JsonHub fromBytes(InputStream strm) throws IOException {
-		
+	static JsonHub fromMappedFile(Path path, long windowSize) throws IOException {
 		try (
-				ByteArrayOutputStream os = new ByteArrayOutputStream();
-				){
-			
-			for ( ;; ) {
-				
-				int r = strm.read();
-				
-				if ( r < 0 ) {
-					break;
-				}
-				
-				os.write(r);
-			}
-			
-			return fromBytes(os.toByteArray());
+				FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+				) {
+			return fromMappedWindows(channel, channel.size(), windowSize);
 		}
 	}
 	
-	private static class SeekValueResult {
+	private static JsonHub fromMappedWindows(FileChannel channel, long size, long windowSize) throws IOException {
 		
-		private final JsonHub value;
-		private final int endIndex;
+		final JsonHubIncrementalParser parser = new JsonHubBuildIncrementalParser();
 		
-		private SeekValueResult(JsonHub v, int index) {
-			this.value = v;
-			this.endIndex = index;
+		for ( long pos = 0L; pos < size; pos += windowSize ) {
+			parser.feed(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(windowSize, (size - pos))));
 		}
-	}
-	
-	private static JsonHub parse(String str) {
 		
-		FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, 0);
+		parser.endOfInput();
 		
-		SeekValueResult vr;
+		final JsonHub v = parser.poll();
 		
-		if ( JsonStructuralChar.QUOT.match(r.c) ) {
-			
-			vr = parseStringValue(str, r.pos);
-			
-		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(r.c) ) {
-			
-			vr = parseArrayValue(str, r.pos);
-			
-		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(r.c) ) {
-			
-			vr = parseObjectValue(str, r.pos);
-			
-		} else {
-			
-			vr = parseNotStructuralValue(str, r.pos);
-			
-			if ( vr.endIndex < 0 ) {
-				
-				return vr.value;
-				
-			} else {
-				
-				throw new JsonHubParseException("Value is not Single \"" + str + "\"");
-			}
+		if ( v == null ) {
+			throw new JsonHubParseException("JSON is empty");
 		}
 		
-		if ( FindChars.nextIgnoreWhiteSpace(str, vr.endIndex).pos < 0 ) {
-			
-			return vr.value;
-			
+		if ( parser.poll() != null ) {
+			throw new JsonHubParseException("Value is not Single");
+		}
+		
+		return v;
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-array.
+	 * 
+	 * <p>
+	 * {@code bs} is copied, STRING values refer to the copy, {@code bs} may be modified after parsed.<br />
+	 * </p>
+	 * 
+	 * @param bs JSON-UTF8-bytes-array
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromBytes(byte[] bs) {
+		return fromBytes(ByteBuffer.wrap(bs.clone()));
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-array with config.
+	 * 
+	 * <p>
+	 * If lazy parsing, parsed JsonHub refers to {@code bs}, {@code bs} must not be modified after parsed.<br />
+	 * Otherwise {@code bs} is copied, {@code bs} may be modified after parsed.<br />
+	 * </p>
+	 * 
+	 * @param bs JSON-UTF8-bytes-array
+	 * @param config the config
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromBytes(byte[] bs, JsonHubReaderConfig config) {
+		
+		if ( config.lazy() ) {
+			return fromBytes(ByteBuffer.wrap(bs), config);
 		} else {
-			
-			throw new JsonHubParseException("Value is not Single \"" + str + "\"");
+			return fromBytes(ByteBuffer.wrap(bs.clone()), config);
 		}
 	}
 	
-	private static SeekValueResult parseNotStructuralValue(String str, int fromIndex) {
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-buffer.
+	 * 
+	 * <p>
+	 * Parse from position to limit, position of buffer is not changed.<br />
+	 * STRING values refer to {@code bb}, {@code bb} must not be modified after parsed.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes-buffer
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromBytes(ByteBuffer bb) {
+		try {
+			return JsonUtf8Parser.parse(bb);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-buffer with config.
+	 * 
+	 * <p>
+	 * Parse from position to limit, position of buffer is not changed.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes-buffer
+	 * @param config the config
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromBytes(ByteBuffer bb, JsonHubReaderConfig config) {
 		
-		FindCharResult r = FindChars.next(str, fromIndex,
-				JsonStructuralChar.SEPARATOR_VALUE.chr(),
-				JsonStructuralChar.ARRAY_END.chr(),
-				JsonStructuralChar.OBJECT_END.chr());
+		final JsonHubBuilder builder = builder(config);
 		
-		String s;
+		if ( config.lazy() ) {
+			return parseLazy(new JsonUtf8LazySource(bb, builder));
+		}
 		
-		if ( r.pos < 0 ) {
-			
-			if ( fromIndex >= 0 ) {
-				
-				s = str.substring(fromIndex).trim();
+		try {
 			
+			if ( config.parallel() ) {
+				return JsonParallelArrayParser.parse(bb, nameCache(config), builder);
+			} else if ( config.indexed() ) {
+				return JsonIndexedUtf8Parser.parse(bb, nameCache(config), builder);
 			} else {
-				
-				throw new JsonHubIndexOutOfBoundsException();
+				return JsonUtf8Parser.parse(bb, nameCache(config), builder);
 			}
-			
-		} else {
-			
-			s = str.substring(fromIndex, r.pos).trim();
 		}
-		
-		if ( JsonLiteral.NULL.match(s) ) {
-			
-			return new SeekValueResult(
-					JsonHubBuilder.getInstance().nullValue()
-					, r.pos);
-			
-		} else if ( JsonLiteral.TRUE.match(s) ) {
-			
-			return new SeekValueResult(
-					JsonHubBuilder.getInstance().trueValue()
-					, r.pos);
-			
-		} else if ( JsonLiteral.FALSE.match(s) ) {
-			
-			return new SeekValueResult(
-					JsonHubBuilder.getInstance().falseValue()
-					, r.pos);
-			
-		} else {
-			
-			return new SeekValueResult(
-					parseNumberValue(s)
-					, r.pos);
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
 		}
 	}
 	
-	private static JsonString parseString(String str) {
-		String s = str.trim();
-		return JsonString.ofEscaped(s.substring(1, (s.length() - 1)));
-	}
-	
-	private static SeekValueResult parseStringValue(String str, int fromIndex) {
-		
-		int endIndex = seekEndIndexOfString(str, fromIndex + 1);
-		return new SeekValueResult(
-				JsonHubBuilder.getInstance().string(
-						parseString(str.substring(fromIndex, endIndex)))
-				, endIndex);
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF8-bytes-stream.
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @return parsed JsonHub instance
+	 * @throws IOException if IO-Exception
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromBytes(InputStream strm) throws IOException {
+		return fromBytes(readAllBytes(strm, strm.available()));
 	}
 	
-	private static SeekValueResult parseArrayValue(String str, int fromIndex) {
-		
-		final List<JsonHub> ll = new ArrayList<>();
-		
-		boolean first = true;
-		
-		for (int i = (fromIndex + 1), len = str.length(); i < len;) {
-			
-			{
-				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
-				
-				if ( first ) {
-					
-					first = false;
-					
-					if ( JsonStructuralChar.ARRAY_END.match(r.c) ) {
-						
-						return new SeekValueResult(
-								JsonHubBuilder.getInstance().array(ll)
-								, r.pos + 1);
-						
-					}
-				}
-				
-				if ( JsonStructuralChar.QUOT.match(r.c) ) {
-					
-					SeekValueResult vr = parseStringValue(str, r.pos);
-					ll.add(vr.value);
-					i = vr.endIndex;
-					
-				} else if ( JsonStructuralChar.ARRAY_BIGIN.match(r.c) ) {
-					
-					SeekValueResult vr = parseArrayValue(str, r.pos);
-					ll.add(vr.value);
-					i = vr.endIndex;
-					
-				} else if ( JsonStructuralChar.OBJECT_BIGIN.match(r.c) ) {
-					
-					SeekValueResult vr = parseObjectValue(str, r.pos);
-					ll.add(vr.value);
-					i = vr.endIndex;
-					
-				} else if (JsonStructuralChar.SEPARATOR_NAME.match(r.c) || JsonStructuralChar.SEPARATOR_VALUE.match(r.c)) {
-					
-					throw new JsonHubParseException("Value is empty \"" + str + "\"");
-					
-				} else {
-					
-					SeekValueResult vr = parseNotStructuralValue(str, r.pos);
-					
-					if ( vr.endIndex < 0 ) {
-						
-						throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
-						
-					} else {
-						
-						ll.add(vr.value);
-						i = vr.endIndex;
-					}
-				}
-			}
-			
-			{
-				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
-				
-				if ( JsonStructuralChar.SEPARATOR_VALUE.match(r.c) ) {
-					
-					i = r.pos + 1;
-					
-				} else if ( JsonStructuralChar.ARRAY_END.match(r.c) ) {
-					
-					return new SeekValueResult(
-							JsonHubBuilder.getInstance().array(ll)
-							, r.pos + 1);
-					
-				} else {
-					
-					throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
-				}
-			}
+	/**
+	 * Parse JSON-String, and fire events to handler.
+	 * 
+	 * @param json the charsequence
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(CharSequence json, JsonHubHandler handler) {
+		try {
+			JsonCharSequenceParser.parse(json, handler);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
 		}
-		
-		throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex + " \"" + str + "\"");
 	}
 	
-	private static SeekValueResult parseObjectValue(String str, int fromIndex) {
-		
-		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
-		
-		final Collection<JsonObjectPair> pairs = new ArrayList<>();
-		
-		boolean first = true;
-		
-		for (int i = (fromIndex + 1), len = str.length(); i < len;) {
-			
-			if ( first ) {
-				
-				first = false;
-				
-				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
-				
-				if ( JsonStructuralChar.OBJECT_END.match(r.c) ) {
-					return new SeekValueResult(jhb.object(pairs), r.pos + 1);
-				}
-				
-				i = r.pos;
-			}
-			
-			int nameStartIndex = seekIndexOfNextQuot(str, i);
-			int nameEndIndex = seekEndIndexOfString(str, nameStartIndex + 1);
-			
-			JsonString js = parseString(str.substring(nameStartIndex, nameEndIndex));
-			
-			i = seekIndexOfNextColon(str, nameEndIndex) + 1;
-			
-			{
-				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
-				
-				if ( JsonStructuralChar.QUOT.match(r.c) ) {
-					
-					SeekValueResult vr = parseStringValue(str, r.pos);
-					pairs.add(jhb.pair(js, vr.value));
-					i = vr.endIndex;
-					
-				} else if ( JsonStructuralChar.ARRAY_BIGIN.match(r.c) ) {
-					
-					SeekValueResult vr = parseArrayValue(str, r.pos);
-					pairs.add(jhb.pair(js, vr.value));
-					i = vr.endIndex;
-					
-				} else if ( JsonStructuralChar.OBJECT_BIGIN.match(r.c) ) {
-					
-					SeekValueResult vr = parseObjectValue(str, r.pos);
-					pairs.add(jhb.pair(js, vr.value));
-					i = vr.endIndex;
-					
-				} else if (JsonStructuralChar.SEPARATOR_NAME.match(r.c) || JsonStructuralChar.SEPARATOR_VALUE.match(r.c)) {
-					
-					throw new JsonHubParseException("Value is empty. index: " + r.pos + " \"" + str + "\"");
-					
-				} else {
-					
-					SeekValueResult vr = parseNotStructuralValue(str, r.pos);
-					
-					if ( vr.endIndex < 0 ) {
-						
-						throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
-						
-					} else {
-						
-						pairs.add(jhb.pair(js, vr.value));
-						i = vr.endIndex;
-					}
-				}
-			}
-			
-			{
-				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
-				
-				if ( JsonStructuralChar.SEPARATOR_VALUE.match(r.c) ) {
-					
-					i = r.pos + 1;
-					
-				} else if ( JsonStructuralChar.OBJECT_END.match(r.c) ) {
-					
-					return new SeekValueResult(
-							jhb.object(pairs)
-							, r.pos + 1);
-					
-				} else {
-					
-					throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
-				}
-			}
+	/**
+	 * Parse JSON from Reader by bounded buffer, and fire events to handler.
+	 * 
+	 * @param reader the reader of JSON
+	 * @param handler the handler
+	 * @throws IOException if IO-Exception
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(Reader reader, JsonHubHandler handler) throws IOException {
+		try {
+			JsonHubStreamReaderImpl.parse(reader, handler);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
 		}
-		
-		throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex + " \"" + str + "\"");
 	}
 	
-	private static JsonHub parseNumberValue(String str) {
-		
-		
-		//TODO
-		return JsonHubBuilder.getInstance().number(str);
+	/**
+	 * Parse JSON-UTF8-bytes-buffer, and fire events to handler.
+	 * 
+	 * <p>
+	 * Parse from position to limit, position of buffer is not changed.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF8-bytes-buffer
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(ByteBuffer bb, JsonHubHandler handler) {
+		try {
+			JsonUtf8Parser.parse(bb, handler);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
 	}
 	
-	private static int seekIndexOfNextQuot(String str, int fromIndex) {
-		FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, fromIndex);
-		if ((r.pos >= 0) && JsonStructuralChar.QUOT.match(r.c) ) {
-			return r.pos;
-		} else {
-			throw new JsonHubParseException("Not found Quot. fromIndex: " + fromIndex + " \"" + str + "\"");
+	/**
+	 * Parse JSON-UTF8-bytes-stream by bounded buffer, and fire events to handler.
+	 * 
+	 * @param strm JSON-UTF8-bytes-stream
+	 * @param handler the handler
+	 * @throws IOException if IO-Exception
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(InputStream strm, JsonHubHandler handler) throws IOException {
+		try {
+			JsonHubStreamReaderImpl.parse(strm, handler);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
 		}
 	}
 	
-	private static int seekIndexOfNextColon(String str, int fromIndex) {
-		FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, fromIndex);
-		if ((r.pos >= 0) && JsonStructuralChar.SEPARATOR_NAME.match(r.c)) {
-			return r.pos;
-		} else {
-			throw new JsonHubParseException("Not found \":\" fromIndex: " + fromIndex + " \"" + str + "\"");
+	private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+	private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+	
+	private static int nextBufferSize(int len) {
+		
+		if ( len >= MAX_BUFFER_SIZE ) {
+			throw new OutOfMemoryError("JSON is too large");
 		}
+		
+		return (int)Math.min(((long)len << 1), (long)MAX_BUFFER_SIZE);
 	}
 	
-	private static int seekEndIndexOfString(String str, int fromIndex) {
+	/**
+	 * Read stream to end by chunks directly into one growing buffer.
+	 * 
+	 * <p>
+	 * Returned buffer is owned by caller, and wraps read bytes from position 0 to limit.<br />
+	 * </p>
+	 * 
+	 * @param strm the InputStream
+	 * @param sizeHint expected size, used as initial capacity
+	 * @return read bytes buffer
+	 * @throws IOException if IO-Exception
+	 */
+	private static ByteBuffer readAllBytes(InputStream strm, long sizeHint) throws IOException {
 		
-		FindCharResult r = FindChars.nextIgnoreEscape(str, fromIndex, JsonStructuralChar.QUOT.chr());
-		if ( r.pos < 0 ) {
-			throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + fromIndex + " \"" + str + "\"");
-		} else {
-			return r.pos + 1;
+		byte[] buffer = new byte[(int)Math.min(Math.max(sizeHint + 1, INITIAL_BUFFER_SIZE), MAX_BUFFER_SIZE)];
+		int len = 0;
+		
+		for ( ;; ) {
+			
+			if ( len == buffer.length ) {
+				buffer = Arrays.copyOf(buffer, nextBufferSize(len));
+			}
+			
+			int r = strm.read(buffer, len, (buffer.length - len));
+			
+			if ( r < 0 ) {
+				return ByteBuffer.wrap(buffer, 0, len);
+			}
+			
+			len += r;
 		}
 	}
 	
@@ -1,8 +1,7 @@
 package com.shimizukenta.jsonhub.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.Writer;
 
 import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
 import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
@@ -10,58 +9,94 @@ import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
 /**
  * This class is JSON-String to escape or unescape.
  * 
+ * <p>
+ * Escape and unescape work on chars with 128-entry lookup tables.<br />
+ * If nothing to escape or unescape, input String is returned without copy.<br />
+ * </p>
+ * 
  * @author kenta-shimizu
  *
  */
 public final class JsonStringCoder {
-
+	
 	private JsonStringCoder() {
 	}
 	
-	private static final byte BACKSLASH = 0x5C;	/* \ */
-	private static final byte UNICODE = 0x75;	/* u */
+	private static final char BACKSLASH = '\\';
+	private static final char UNICODE = 'u';
 	
 	private static enum EscapeSets {
 		
-		BS(0x08, 0x62),	/* b */
-		HT(0x09, 0x74),	/* t */
-		LF(0x0A, 0x6E),	/* n */
-		FF(0x0C, 0x66),	/* f */
-		CR(0x0D, 0x72),	/* r */
-		QUOT(0x22, 0x22),	/* " */
-		SLASH(0x2F, 0x2F),	/* / */
-		BSLASH(BACKSLASH, BACKSLASH), /* \ */
+		BS(0x08, 'b'),
+		HT(0x09, 't'),
+		LF(0x0A, 'n'),
+		FF(0x0C, 'f'),
+		CR(0x0D, 'r'),
+		QUOT('"', '"'),
+		SLASH('/', '/'),
+		BSLASH(BACKSLASH, BACKSLASH),
 		;
 		
-		private byte a;
-		private byte b;
+		private final char a;
+		private final char b;
 		
-		private EscapeSets(int a, int b) {
-			this.a = (byte)a;
-			this.b = (byte)b;
+		private EscapeSets(int a, char b) {
+			this.a = (char)a;
+			this.b = b;
+		}
+	}
+	
+	/**
+	 * Escape char of ASCII char, 0 if not escaped.
+	 */
+	private static final char[] escapeTable = new char[128];
+	
+	/**
+	 * Unescaped ASCII char of escape char, 0 if not escape char.
+	 */
+	private static final char[] unescapeTable = new char[128];
+	
+	static {
+		for ( EscapeSets x : EscapeSets.values() ) {
+			escapeTable[x.a] = x.b;
+			unescapeTable[x.b] = x.a;
 		}
+	}
+	
+	private static boolean isEscaped(char c) {
+		return c < 128 && escapeTable[c] != 0;
+	}
+	
+	/**
+	 * Returns index of first char to escape, -1 if nothing to escape.
+	 */
+	private static int indexOfEscaped(CharSequence cs, int len) {
 		
-		private static Byte escape(byte b) {
-			
-			for ( EscapeSets x : values() ) {
-				if ( x.a == b ) {
-					return Byte.valueOf(x.b);
-				}
+		for ( int i = 0; i < len; ++i ) {
+			if ( isEscaped(cs.charAt(i)) ) {
+				return i;
 			}
-			
-			return null;
 		}
 		
-		private static Byte unescape(byte b) {
-			
-			for ( EscapeSets x : values() ) {
-				if ( x.b == b ) {
-					return Byte.valueOf(x.a);
-				}
+		return -1;
+	}
+	
+	/**
+	 * Returns index of first back-slash, -1 if nothing to unescape.
+	 */
+	private static int indexOfBackslash(CharSequence cs, int len) {
+		
+		if ( cs instanceof String ) {
+			return ((String)cs).indexOf(BACKSLASH);
+		}
+		
+		for ( int i = 0; i < len; ++i ) {
+			if ( cs.charAt(i) == BACKSLASH ) {
+				return i;
 			}
-			
-			return null;
 		}
+		
+		return -1;
 	}
 	
 	/**
@@ -76,33 +111,101 @@ public final class JsonStringCoder {
 	 */
 	public static String escape(CharSequence cs) {
 		
-		String v = cs.toString();
+		final int len = cs.length();
+		final int i = indexOfEscaped(cs, len);
+		
+		if ( i < 0 ) {
+			return cs.toString();
+		}
 		
-		try (
-				ByteArrayOutputStream strm = new ByteArrayOutputStream();
-				) {
+		/* unchanged head, found escape, and room for one in four of tail */
+		final StringBuilder sb = new StringBuilder(len + 1 + ((len - i) >> 2));
+		sb.append(cs, 0, i);
+		escape(cs, i, len, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends escaped JSON-String to StringBuilder.
+	 * 
+	 * <p>
+	 * Not Accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param cs unescaped-JSON-Stirng
+	 * @param sb the StringBuilder to append
+	 */
+	public static void escape(CharSequence cs, StringBuilder sb) {
+		escape(cs, 0, cs.length(), sb);
+	}
+	
+	/**
+	 * Writes escaped JSON-String to Writer.
+	 * 
+	 * <p>
+	 * Unchanged runs are written in bulk, escaped String is not built.<br />
+	 * Not Accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param cs unescaped-JSON-Stirng
+	 * @param writer the Writer to write
+	 * @throws IOException if write failed
+	 */
+	public static void escape(CharSequence cs, Writer writer) throws IOException {
+		
+		final String s = cs.toString();
+		final int len = s.length();
+		final int first = indexOfEscaped(s, len);
+		
+		if ( first < 0 ) {
+			writer.write(s);
+			return;
+		}
+		
+		int start = 0;
+		
+		for ( int i = first; i < len; ++i ) {
 			
-			byte[] bb = v.getBytes(StandardCharsets.UTF_8);
+			final char c = s.charAt(i);
 			
-			for (byte b : bb) {
-				
-				Byte x = EscapeSets.escape(b);
+			if ( isEscaped(c) ) {
 				
-				if ( x == null ) {
-					
-					strm.write(b);
-					
-				} else {
-					
-					strm.write(BACKSLASH);
-					strm.write(x.byteValue());
+				if ( start < i ) {
+					writer.write(s, start, i - start);
 				}
+				
+				writer.write(BACKSLASH);
+				writer.write(escapeTable[c]);
+				start = i + 1;
 			}
+		}
+		
+		if ( start < len ) {
+			writer.write(s, start, len - start);
+		}
+	}
+	
+	private static void escape(CharSequence cs, int fromIndex, int toIndex, StringBuilder sb) {
+		
+		int start = fromIndex;
+		
+		for ( int i = fromIndex; i < toIndex; ++i ) {
+			
+			final char c = cs.charAt(i);
 			
-			return new String(strm.toByteArray(), StandardCharsets.UTF_8);
+			if ( isEscaped(c) ) {
+				
+				if ( start < i ) {
+					sb.append(cs, start, i);
+				}
+				
+				sb.append(BACKSLASH).append(escapeTable[c]);
+				start = i + 1;
+			}
 		}
-		catch ( IOException notHappen ) {
-			throw new RuntimeException(notHappen);
+		
+		if ( start < toIndex ) {
+			sb.append(cs, start, toIndex);
 		}
 	}
 	
@@ -118,82 +221,85 @@ public final class JsonStringCoder {
 	 */
 	public static String unescape(CharSequence cs) {
 		
-		String v = cs.toString();
+		final int len = cs.length();
+		final int i = indexOfBackslash(cs, len);
+		
+		if ( i < 0 ) {
+			return cs.toString();
+		}
+		
+		/* each escape sequence shortens at least one char */
+		final StringBuilder sb = new StringBuilder(len - 1);
+		sb.append(cs, 0, i);
+		
+		try {
+			unescape(cs, i, len, sb);
+		}
+		catch ( IndexOutOfBoundsException e ) {
+			throw new JsonHubIndexOutOfBoundsException("unescape failed \"" + cs.toString() + "\"");
+		}
 		
-		try (
-				ByteArrayOutputStream strm = new ByteArrayOutputStream();
-				) {
+		return sb.toString();
+	}
+	
+	private static void unescape(CharSequence cs, int fromIndex, int toIndex, StringBuilder sb) {
+		
+		for ( int i = fromIndex; i < toIndex; ++i ) {
 			
-			byte[] bb = v.getBytes(StandardCharsets.UTF_8);
+			final char c = cs.charAt(i);
 			
-			for (int i = 0, len = bb.length; i < len; ++i) {
+			if ( c == BACKSLASH ) {
 				
-				byte b = bb[i];
+				++ i;
 				
-				if ( b == BACKSLASH ) {
-					
-					++i;
-					
-					byte b2 = bb[i];
+				final char c2 = cs.charAt(i);
+				
+				if ( c2 == UNICODE ) {
 					
-					if ( b2 == UNICODE ) {
-						
-						byte[] xx = unescapeUnicode(new byte[]{bb[i + 1], bb[i + 2], bb[i + 3], bb[i + 4]});
-						
-						strm.write(xx);
-						
-						i += 4;
-						
-					} else {
-						
-						Byte x = EscapeSets.unescape(b2);
-						
-						if ( x != null ) {
-							strm.write(x.byteValue());
-						}
-					}
+					sb.append(unescapeUnicode(cs, i + 1));
+					i += 4;
 					
-				} else {
+				} else if ( c2 < 128 && unescapeTable[c2] != 0 ) {
 					
-					strm.write(b);
+					sb.append(unescapeTable[c2]);
 				}
+				
+			} else {
+				
+				sb.append(c);
 			}
-			
-			return new String(strm.toByteArray(), StandardCharsets.UTF_8);
-		}
-		catch ( IOException notHappen ) {
-			throw new RuntimeException(notHappen);
-		}
-		catch ( IndexOutOfBoundsException e ) {
-			throw new JsonHubIndexOutOfBoundsException("unescape failed \"" + cs.toString() + "\"");
 		}
 	}
 	
-	private static byte[] unescapeUnicode(byte[] bb) {
+	private static char unescapeUnicode(CharSequence cs, int fromIndex) {
 		
-		String s1 = new String(new byte[]{bb[0], bb[1]}, StandardCharsets.UTF_8);
-		String s2 = new String(new byte[]{bb[2], bb[3]}, StandardCharsets.UTF_8);
+		int v = 0;
 		
-		byte b = decodeXXtoByte(s1);
-		
-		if ( b == 0x00 ) {
+		for ( int i = fromIndex, end = fromIndex + 4; i < end; ++i ) {
 			
-			return new byte[] {decodeXXtoByte(s2)};
+			final int d = hexDigit(cs.charAt(i));
 			
-		} else {
+			if ( d < 0 ) {
+				throw new JsonHubNumberFormatException(cs.subSequence(fromIndex, end).toString());
+			}
 			
-			return new byte[] {b, decodeXXtoByte(s2)};
+			v = (v << 4) | d;
 		}
+		
+		return (char)v;
 	}
 	
-	private static byte decodeXXtoByte(String s) {
-		
-		try {
-			return Byte.parseByte(s, 16);
+	private static int hexDigit(char c) {
+		if ( c >= '0' && c <= '9' ) {
+			return c - '0';
+		}
+		if ( c >= 'a' && c <= 'f' ) {
+			return c - 'a' + 10;
 		}
-		catch ( NumberFormatException e ) {
-			throw new JsonHubNumberFormatException(s);
+		if ( c >= 'A' && c <= 'F' ) {
+			return c - 'A' + 10;
 		}
+		return -1;
 	}
 	
 }
@@ -1,12 +1,19 @@
 package com.shimizukenta.jsonhub.impl;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 
 import com.shimizukenta.jsonhub.JsonString;
 
 /**
  * This class is implements of escape/unescape JSON-String.
  * 
+ * <p>
+ * Escaped and unescaped are computed lazily and cached without lock.<br />
+ * Racing threads may compute same value more than once, but always read completed String.<br />
+ * </p>
+ * 
  * @author kenta-shimizu
  *
  */
@@ -17,14 +24,22 @@ public class JsonStringImpl implements Serializable, JsonString {
 	/**
 	 * Cache escaped.
 	 */
-	private String escaped;
+	private volatile String escaped;
 	
 	/**
 	 * Cache unescaped.
 	 */
-	private String unescaped;
+	private volatile String unescaped;
 	
-	private JsonStringImpl() {
+	/**
+	 * Constructor.
+	 * 
+	 * <p>
+	 * Both caches are empty, subclasses referring to a source buffer
+	 * must override {@link #decodeEscaped()}.<br />
+	 * </p>
+	 */
+	protected JsonStringImpl() {
 		escaped = null;
 		unescaped = null;
 	}
@@ -64,27 +79,126 @@ public class JsonStringImpl implements Serializable, JsonString {
 	@Override
 	public String escaped() {
 		
-		synchronized ( this ) {
+		String s = this.escaped;
+		
+		if ( s == null ) {
+			
+			final String u = this.unescaped;
 			
-			if ( this.escaped == null ) {
-				this.escaped = JsonStringCoder.escape(unescaped);
+			if ( u == null ) {
+				s = decodeEscaped();
+			} else {
+				s = JsonStringCoder.escape(u);
 			}
 			
-			return this.escaped;
+			this.escaped = s;
+			releaseSource();
 		}
+		
+		return s;
 	}
 	
 	@Override
 	public String unescaped() {
 		
-		synchronized ( this ) {
+		String s = this.unescaped;
+		
+		if ( s == null ) {
 			
-			if ( this.unescaped == null ) {
-				this.unescaped = JsonStringCoder.unescape(escaped);
+			final String e = escaped();
+			
+			if ( hasEscapes() ) {
+				s = JsonStringCoder.unescape(e);
+			} else {
+				s = e;
 			}
 			
-			return this.unescaped;
+			this.unescaped = s;
 		}
+		
+		return s;
+	}
+	
+	/**
+	 * Writes escaped string to Writer.
+	 * 
+	 * <p>
+	 * If escaped is not cached and unescaped is cached,
+	 * unescaped is escaped into Writer directly, escaped is not cached.<br />
+	 * </p>
+	 * 
+	 * @param writer the Writer to write
+	 * @throws IOException if write failed
+	 */
+	public void writeEscaped(Writer writer) throws IOException {
+		
+		final String e = this.escaped;
+		
+		if ( e != null ) {
+			writer.write(e);
+			return;
+		}
+		
+		final String u = this.unescaped;
+		
+		if ( u != null ) {
+			JsonStringCoder.escape(u, writer);
+		} else {
+			writer.write(escaped());
+		}
+	}
+	
+	/**
+	 * Writes escaped string of JsonString to Writer.
+	 * 
+	 * @param s the JsonString
+	 * @param writer the Writer to write
+	 * @throws IOException if write failed
+	 */
+	public static void writeEscaped(JsonString s, Writer writer) throws IOException {
+		if ( s instanceof JsonStringImpl ) {
+			((JsonStringImpl) s).writeEscaped(writer);
+		} else {
+			writer.write(s.escaped());
+		}
+	}
+	
+	/**
+	 * Returns {@code false} if escaped has no escape sequence, then unescaped is same as escaped.
+	 * 
+	 * <p>
+	 * Subclasses which know it from source may override.<br />
+	 * </p>
+	 * 
+	 * @return {@code false} if escaped has no escape sequence
+	 */
+	protected boolean hasEscapes() {
+		return true;
+	}
+	
+	/**
+	 * Returns escaped string decoded from source.
+	 * 
+	 * <p>
+	 * Called once, only if neither escaped nor unescaped is cached.<br />
+	 * </p>
+	 * 
+	 * @return escaped string
+	 */
+	protected String decodeEscaped() {
+		throw new IllegalStateException("JsonString has no source");
+	}
+	
+	/**
+	 * Releases source, called after escaped is cached.
+	 * 
+	 * <p>
+	 * Racing {@link #decodeEscaped()} which finds source released
+	 * may return {@link #escaped()}, it is already cached.<br />
+	 * </p>
+	 */
+	protected void releaseSource() {
+		/* Nothing */
 	}
 	
 	@Override
@@ -52,6 +52,22 @@ public enum JsonStructuralChar {
 	private final String str;
 	private final char chr;
 	
+	/**
+	 * ASCII chars which terminate NUMBER or literal.
+	 */
+	private static final boolean[] endOfValueTable = new boolean[128];
+	
+	static {
+		for ( int c = 0; c <= 0x20; ++c ) {
+			endOfValueTable[c] = true;
+		}
+		for ( JsonStructuralChar x : values() ) {
+			if ( x != ESCAPE ) {
+				endOfValueTable[x.chr] = true;
+			}
+		}
+	}
+	
 	private JsonStructuralChar(String s) {
 		this.str = s;
 		this.chr = s.charAt(0);
@@ -95,4 +111,40 @@ public enum JsonStructuralChar {
 		return chr == c;
 	}
 	
+	/**
+	 * Returns true if is equals UTF-8 byte b.
+	 * 
+	 * @param b the byte
+	 * @return true if is equals b
+	 */
+	public boolean match(byte b) {
+		return chr == b;
+	}
+	
+	/**
+	 * Returns true if c terminates NUMBER or literal.
+	 * 
+	 * <p>
+	 * White-space({@code <=0x20}), structural chars and quotation terminate NUMBER or literal.<br />
+	 * All parsers use this rule, so {@code 1"a"} is NUMBER and STRING, not one bad token.<br />
+	 * </p>
+	 * 
+	 * @param c the character
+	 * @return true if c terminates NUMBER or literal
+	 */
+	public static boolean isEndOfValue(char c) {
+		return c < 128 && endOfValueTable[c];
+	}
+	
+	/**
+	 * Returns true if UTF-8 byte b terminates NUMBER or literal.
+	 * 
+	 * @param b the byte
+	 * @return true if b terminates NUMBER or literal
+	 * @see #isEndOfValue(char)
+	 */
+	public static boolean isEndOfValue(byte b) {
+		return b >= 0 && endOfValueTable[b];
+	}
+	
 }
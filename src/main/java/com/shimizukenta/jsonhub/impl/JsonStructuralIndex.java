@@ -0,0 +1,302 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * This class is stage-1 structural index of JSON-UTF-8-bytes.
+ * 
+ * <p>
+ * Scans bytes by 64-bytes blocks, 8-bytes word at a time (SWAR, SIMD-Within-A-Register),
+ * and builds bitmaps of quotations, back-slashes, structural characters and white-spaces.<br />
+ * From bitmaps, positions of
+ * </p>
+ * <ul>
+ * <li>structural characters ("{", "}", "[", "]", ":", ",") outside of STRING</li>
+ * <li>opening and closing quotations of STRING</li>
+ * <li>first byte of NUMBER and literal (and any other bare token)</li>
+ * </ul>
+ * <p>
+ * are recorded in ascending order.<br />
+ * Stage-2 builds values by walking these positions, without inspecting bytes in STRING or white-space.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonStructuralIndex {
+	
+	private static final int BLOCK_SIZE = 64;
+	
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGHS = 0x8080808080808080L;
+	private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+	
+	/**
+	 * Multiplier of gathering high-bit of each byte into one byte.
+	 */
+	private static final long GATHER = 0x0102040810204080L;
+	
+	private static final long QUOT = ONES * 0x22;	/* " */
+	private static final long ESCAPE = ONES * 0x5C;	/* \ */
+	private static final long COLON = ONES * 0x3A;	/* : */
+	private static final long COMMA = ONES * 0x2C;	/* , */
+	private static final long CASE = ONES * 0x20;
+	private static final long BRACE_BIGIN = ONES * 0x7B;	/* { and [ (0x5B | 0x20) */
+	private static final long BRACE_END = ONES * 0x7D;	/* } and ] (0x5D | 0x20) */
+	private static final long WS_BOUND = ONES * (0x7F - 0x20);
+	
+	private final int[] positions;
+	private final int size;
+	
+	private JsonStructuralIndex(int[] positions, int size) {
+		this.positions = positions;
+		this.size = size;
+	}
+	
+	/**
+	 * Returns positions array, valid from 0 to {@link #size()}.
+	 * 
+	 * @return positions array
+	 */
+	public int[] positions() {
+		return positions;
+	}
+	
+	/**
+	 * Returns count of positions.
+	 * 
+	 * @return count of positions
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Build structural index.
+	 * 
+	 * <p>
+	 * Scans from fromIndex to limit of buffer, position of buffer is not changed.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param fromIndex absolute index of first byte
+	 * @return structural index
+	 */
+	public static JsonStructuralIndex build(ByteBuffer bb, int fromIndex) {
+		
+		final ByteBuffer src = bb.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		final int limit = src.limit();
+		
+		int[] positions = new int[Math.max(16, (limit - fromIndex) / 8)];
+		int size = 0;
+		
+		/* carries between blocks */
+		boolean escapeNext = false;
+		long inString = 0L;
+		long separated = 1L;
+		
+		final long[] words = new long[BLOCK_SIZE / 8];
+		
+		for ( int base = fromIndex; base < limit; base += BLOCK_SIZE ) {
+			
+			load(src, base, limit, words);
+			
+			long quot = 0L;
+			long escape = 0L;
+			long structural = 0L;
+			long ws = 0L;
+			
+			for ( int w = 0; w < words.length; ++w ) {
+				
+				final long x = words[w];
+				final int shift = w * 8;
+				final long lower = x | CASE;
+				
+				quot |= gather(equal(x, QUOT)) << shift;
+				escape |= gather(equal(x, ESCAPE)) << shift;
+				structural |= gather(equal(lower, BRACE_BIGIN)
+						| equal(lower, BRACE_END)
+						| equal(x, COLON)
+						| equal(x, COMMA)) << shift;
+				ws |= gather(whiteSpace(x)) << shift;
+			}
+			
+			/* escaped bytes, back-slashes are rare, walk bits */
+			long escaped = escapeNext ? 1L : 0L;
+			escapeNext = false;
+			
+			for ( long bits = escape & ~escaped; bits != 0L; ) {
+				
+				final int i = Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1L;
+				
+				if ( i == 63 ) {
+					
+					escapeNext = true;
+					
+				} else {
+					
+					escaped |= 1L << (i + 1);
+					bits &= ~(1L << (i + 1));
+				}
+			}
+			
+			quot &= ~escaped;
+			
+			/* bits from opening quotation (inclusive) to closing quotation (exclusive) */
+			final long inside = prefixXor(quot) ^ inString;
+			inString = (inside >> 63);
+			
+			final long outside = ~inside;
+			final long structuralOutside = structural & outside;
+			final long sep = structuralOutside | (ws & outside) | quot;
+			final long bare = outside & ~ws & ~structural & ~quot & ((sep << 1) | separated);
+			separated = sep >>> 63;
+			
+			long bits = structuralOutside | quot | bare;
+			
+			final int count = Long.bitCount(bits);
+			
+			if ( (size + count) > positions.length ) {
+				positions = Arrays.copyOf(positions, Math.max(positions.length * 2, size + count));
+			}
+			
+			for ( ; bits != 0L; bits &= bits - 1L ) {
+				positions[size] = base + Long.numberOfTrailingZeros(bits);
+				++ size;
+			}
+		}
+		
+		return new JsonStructuralIndex(positions, size);
+	}
+	
+	/**
+	 * Load 64-bytes block into words, bytes after limit are filled with white-space.
+	 */
+	private static void load(ByteBuffer src, int base, int limit, long[] words) {
+		
+		if ( (base + BLOCK_SIZE) <= limit ) {
+			
+			for ( int w = 0; w < words.length; ++w ) {
+				words[w] = src.getLong(base + w * 8);
+			}
+			
+		} else {
+			
+			for ( int w = 0; w < words.length; ++w ) {
+				
+				long x = 0L;
+				
+				for ( int i = 7; i >= 0; --i ) {
+					final int p = base + w * 8 + i;
+					x = (x << 8) | (p < limit ? (src.get(p) & 0xFFL) : 0x20L);
+				}
+				
+				words[w] = x;
+			}
+		}
+	}
+	
+	/**
+	 * Returns index of first quotation or back-slash, scans 8-bytes word at a time.
+	 * 
+	 * <p>
+	 * Used to seek end of STRING.<br />
+	 * </p>
+	 * 
+	 * @param le buffer in {@link ByteOrder#LITTLE_ENDIAN}
+	 * @param fromIndex absolute index to start
+	 * @param limit absolute index to stop
+	 * @return absolute index, {@code limit} if not found
+	 */
+	public static int indexOfQuotOrEscape(ByteBuffer le, int fromIndex, int limit) {
+		
+		int p = fromIndex;
+		
+		for ( final int end = limit - 8; p <= end; p += 8 ) {
+			
+			final long x = le.getLong(p);
+			final long m = equal(x, QUOT) | equal(x, ESCAPE);
+			
+			if ( m != 0L ) {
+				return p + (Long.numberOfTrailingZeros(m) >>> 3);
+			}
+		}
+		
+		for ( ; p < limit; ++p ) {
+			final byte b = le.get(p);
+			if ( JsonStructuralChar.QUOT.match(b) || JsonStructuralChar.ESCAPE.match(b) ) {
+				return p;
+			}
+		}
+		
+		return limit;
+	}
+	
+	/**
+	 * Returns index of first byte which is not white-space (0x00-0x20), scans 8-bytes word at a time.
+	 * 
+	 * @param le buffer in {@link ByteOrder#LITTLE_ENDIAN}
+	 * @param fromIndex absolute index to start
+	 * @param limit absolute index to stop
+	 * @return absolute index, {@code limit} if not found
+	 */
+	public static int indexOfNotWhiteSpace(ByteBuffer le, int fromIndex, int limit) {
+		
+		int p = fromIndex;
+		
+		for ( final int end = limit - 8; p <= end; p += 8 ) {
+			
+			final long m = ~whiteSpace(le.getLong(p)) & HIGHS;
+			
+			if ( m != 0L ) {
+				return p + (Long.numberOfTrailingZeros(m) >>> 3);
+			}
+		}
+		
+		for ( ; p < limit; ++p ) {
+			final byte b = le.get(p);
+			if ( b < 0 || b > 0x20 ) {
+				return p;
+			}
+		}
+		
+		return limit;
+	}
+	
+	/**
+	 * Returns high-bit set on each byte of x equals to byte of c.
+	 */
+	private static long equal(long x, long c) {
+		final long t = x ^ c;
+		return ~(((t & LOWS) + LOWS) | t) & HIGHS;
+	}
+	
+	/**
+	 * Returns high-bit set on each byte of x is white-space (0x00-0x20).
+	 */
+	private static long whiteSpace(long x) {
+		return ~(((x & LOWS) + WS_BOUND) | x) & HIGHS;
+	}
+	
+	/**
+	 * Gather high-bit of each byte, byte i to bit i.
+	 */
+	private static long gather(long highs) {
+		return ((highs >>> 7) * GATHER) >>> 56;
+	}
+	
+	private static long prefixXor(long x) {
+		long y = x;
+		y ^= y << 1;
+		y ^= y << 2;
+		y ^= y << 4;
+		y ^= y << 8;
+		y ^= y << 16;
+		y ^= y << 32;
+		return y;
+	}
+	
+}
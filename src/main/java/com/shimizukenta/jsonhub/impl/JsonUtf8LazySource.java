@@ -0,0 +1,110 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is lazy parsing source refers to JSON-UTF-8-bytes.
+ * 
+ * <p>
+ * Source from position to limit of buffer, position of buffer is not changed.<br />
+ * Buffer must not be modified while parsed JsonHub is in use.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonUtf8LazySource extends AbstractJsonLazySource {
+	
+	private final ByteBuffer bb;
+	private final int position;
+	private final int limit;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 */
+	public JsonUtf8LazySource(ByteBuffer bb) {
+		this(bb, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param builder builder of values
+	 */
+	public JsonUtf8LazySource(ByteBuffer bb, JsonHubBuilder builder) {
+		super(builder);
+		this.bb = bb;
+		this.position = bb.position();
+		this.limit = bb.limit();
+	}
+	
+	@Override
+	protected int at(int index) {
+		return index < limit ? (bb.get(index) & 0xFF) : EOF;
+	}
+	
+	@Override
+	protected int startIndex() {
+		
+		if ( (position + 2) < limit
+				&& bb.get(position) == (byte)0xEF
+				&& bb.get(position + 1) == (byte)0xBB
+				&& bb.get(position + 2) == (byte)0xBF ) {
+					
+			return position + 3;
+		}
+		
+		return position;
+	}
+	
+	@Override
+	protected JsonString string(int fromIndex, int toIndex) {
+		return JsonUtf8StringImpl.ofEscaped(bb, fromIndex, (toIndex - fromIndex));
+	}
+	
+	@Override
+	protected JsonHub number(int fromIndex, int toIndex) {
+		return JsonNumberParser.toJsonHub(bb, fromIndex, toIndex);
+	}
+	
+	@Override
+	protected Number parseNumber(int fromIndex, int toIndex) {
+		return JsonNumberParser.parse(bb, fromIndex, toIndex);
+	}
+	
+	@Override
+	protected boolean matchAt(JsonLiteral literal, int index) {
+		return literal.matchAt(bb, index);
+	}
+	
+	@Override
+	protected boolean plainEquals(int fromIndex, int toIndex, String s) {
+		
+		final int len = s.length();
+		
+		for ( int i = fromIndex, j = 0; i < toIndex; ++i, ++j ) {
+			
+			final byte b = bb.get(i);
+			
+			if ( b < 0 ) {
+				
+				/* multi-byte sequence */
+				return string(fromIndex, toIndex).unescaped().equals(s);
+			}
+			
+			if ( j >= len || s.charAt(j) != b ) {
+				return false;
+			}
+		}
+		
+		return (toIndex - fromIndex) == len;
+	}
+	
+}
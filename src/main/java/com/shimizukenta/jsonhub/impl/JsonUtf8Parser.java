@@ -0,0 +1,638 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubHandler;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is single-pass recursive-descent parser, from JSON-UTF-8-bytes to JsonHub instance.
+ * 
+ * <p>
+ * Tokenizes bytes directly, the whole payload is never decoded to String.<br />
+ * STRING values and Object names refer to source-buffer, and are decoded at first access.<br />
+ * Source-buffer must not be modified while parsed JsonHub is alive.<br />
+ * White-space and end of STRING are seeked 8-bytes word at a time (SWAR),
+ * by {@link JsonStructuralIndex#indexOfNotWhiteSpace(ByteBuffer, int, int)}
+ * and {@link JsonStructuralIndex#indexOfQuotOrEscape(ByteBuffer, int, int)}.<br />
+ * </p>
+ * <p>
+ * To parse, {@link #parse(ByteBuffer)}.<br />
+ * To fire events without building JsonHub, {@link #parse(ByteBuffer, JsonHubHandler)}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonUtf8Parser {
+	
+	private static final byte NOTFOUND = 0;
+	private static final byte WS = 0x20;
+	
+	private final ByteBuffer bb;
+	private final int limit;
+	
+	/**
+	 * view of bb in little-endian, to scan 8-bytes word at a time.
+	 */
+	private final ByteBuffer words;
+	
+	/**
+	 * cache of OBJECT names, {@code null} if not cached.
+	 */
+	private final JsonNameCache names;
+	
+	/**
+	 * builder of values.
+	 */
+	private final JsonHubBuilder jhb;
+	
+	/**
+	 * cursor, absolute index of bb.
+	 */
+	private int pos;
+	
+	/**
+	 * {@code true} if last seeked STRING has escape sequence.
+	 */
+	private boolean escapes;
+	
+	private JsonUtf8Parser(ByteBuffer bb, JsonNameCache names, JsonHubBuilder jhb) {
+		this.bb = bb;
+		this.limit = bb.limit();
+		this.words = bb.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		this.names = names;
+		this.jhb = jhb;
+		this.escapes = false;
+		this.pos = bb.position();
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * OBJECT names are canonicalized by new cache for this parsing.<br />
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb) {
+		return parse(bb, JsonNameCache.newCache());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * Not accept {@code null} buffer.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb, JsonNameCache names) {
+		return parse(bb, names, JsonHubBuilder.getInstance());
+	}
+	
+	/**
+	 * Returns parsed JsonHub instance from JSON-UTF-8-bytes, built by builder.
+	 * 
+	 * <p>
+	 * Not accept {@code null} source and builder.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param names cache of OBJECT names, {@code null} if not cached
+	 * @param builder builder of values
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub parse(ByteBuffer bb, JsonNameCache names, JsonHubBuilder builder) {
+		return new JsonUtf8Parser(bb, names, builder).parseSingleValue();
+	}
+	
+	/**
+	 * Parse JSON-UTF-8-bytes, and fire events to handler.
+	 * 
+	 * <p>
+	 * Parse from position to limit of buffer, position of buffer is not changed.<br />
+	 * Not accept {@code null}.<br />
+	 * </p>
+	 * 
+	 * @param bb JSON-UTF-8-bytes buffer
+	 * @param handler the handler
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static void parse(ByteBuffer bb, JsonHubHandler handler) {
+		new JsonUtf8Parser(bb, null, JsonHubBuilder.getInstance()).fireSingleValue(handler);
+	}
+	
+	private JsonHub parseSingleValue() {
+		
+		skipByteOrderMark();
+		
+		if ( seekNextIgnoreWhiteSpace() == NOTFOUND ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		JsonHub v = parseValue();
+		
+		if ( seekNextIgnoreWhiteSpace() != NOTFOUND ) {
+			throw new JsonHubParseException("Value is not Single. index: " + pos);
+		}
+		
+		return v;
+	}
+	
+	private JsonHub parseValue() {
+		
+		final byte b = seekNextIgnoreWhiteSpace();
+		
+		if ( JsonStructuralChar.QUOT.match(b) ) {
+			
+			return jhb.string(parseString());
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(b) ) {
+			
+			return parseArray();
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(b) ) {
+			
+			return parseObject();
+			
+		} else if ( b == NOTFOUND ) {
+			
+			throw new JsonHubParseException("Not found value. index: " + pos);
+			
+		} else if ( JsonStructuralChar.isEndOfValue(b) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + pos);
+			
+		} else if ( matchLiteral(JsonLiteral.NULL) ) {
+			
+			return jhb.nullValue();
+			
+		} else if ( matchLiteral(JsonLiteral.TRUE) ) {
+			
+			return jhb.trueValue();
+			
+		} else if ( matchLiteral(JsonLiteral.FALSE) ) {
+			
+			return jhb.falseValue();
+			
+		} else {
+			
+			return parseNumber();
+		}
+	}
+	
+	private JsonHub parseArray() {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		final List<JsonHub> ll = new ArrayList<>();
+		
+		if ( JsonStructuralChar.ARRAY_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			return jhb.array(ll);
+		}
+		
+		for ( ;; ) {
+			
+			ll.add(parseValue());
+			
+			final byte b = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.ARRAY_END.match(b) ) {
+				
+				++ pos;
+				return jhb.array(ll);
+				
+			} else if ( b == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	private JsonHub parseObject() {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		final List<JsonObjectPair> pairs = new ArrayList<>();
+		
+		if ( JsonStructuralChar.OBJECT_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			return jhb.object(pairs);
+		}
+		
+		for ( ;; ) {
+			
+			if ( ! JsonStructuralChar.QUOT.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found Quot. index: " + pos);
+			}
+			
+			final JsonString name = parseName();
+			
+			if ( ! JsonStructuralChar.SEPARATOR_NAME.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + pos);
+			}
+			
+			++ pos;
+			
+			pairs.add(jhb.pair(name, parseValue()));
+			
+			final byte b = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.OBJECT_END.match(b) ) {
+				
+				++ pos;
+				return object(pairs);
+				
+			} else if ( b == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	/**
+	 * Returns OBJECT, shape is interned in cache of names if cached.
+	 */
+	private JsonHub object(List<JsonObjectPair> pairs) {
+		if ( names == null ) {
+			return jhb.object(pairs);
+		} else {
+			return names.object(pairs);
+		}
+	}
+	
+	/**
+	 * Parse OBJECT name, cursor is on the opening quotation.
+	 * 
+	 * @return escaped JsonString, from cache if cached
+	 */
+	private JsonString parseName() {
+		
+		if ( names == null ) {
+			return parseString();
+		}
+		
+		final int fromIndex = pos + 1;
+		final int toIndex = seekEndOfString();
+		
+		return names.name(bb, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Parse STRING, cursor is on the opening quotation.
+	 * 
+	 * @return escaped JsonString refers to source-buffer
+	 */
+	private JsonString parseString() {
+		
+		final int fromIndex = pos + 1;
+		final int toIndex = seekEndOfString();
+		
+		return JsonUtf8StringImpl.ofEscaped(bb, fromIndex, (toIndex - fromIndex), escapes);
+	}
+	
+	/**
+	 * Parse STRING, cursor is on the opening quotation.
+	 * 
+	 * @return decoded and unescaped String
+	 */
+	private String parseUnescapedString() {
+		
+		final int fromIndex = pos + 1;
+		final int toIndex = seekEndOfString();
+		
+		final String s = decode(fromIndex, toIndex, StandardCharsets.UTF_8);
+		
+		if ( ! escapes ) {
+			return s;
+		}
+		
+		return JsonStringCoder.unescape(s);
+	}
+	
+	/**
+	 * Move cursor to next of closing quotation, cursor is on the opening quotation.
+	 * 
+	 * <p>
+	 * Multi-byte UTF-8 sequence never contains ASCII bytes,
+	 * so seeking quotation and escape bytes in words is safe.<br />
+	 * </p>
+	 * 
+	 * @return index of closing quotation
+	 */
+	private int seekEndOfString() {
+		
+		final int fromIndex = pos + 1;
+		
+		escapes = false;
+		
+		for ( int p = fromIndex; ; p += 2 ) {
+			
+			p = JsonStructuralIndex.indexOfQuotOrEscape(words, p, limit);
+			
+			if ( p >= limit ) {
+				break;
+			}
+			
+			if ( JsonStructuralChar.QUOT.match(bb.get(p)) ) {
+				pos = p + 1;
+				return p;
+			}
+			
+			escapes = true;
+		}
+		
+		throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + fromIndex);
+	}
+	
+	/**
+	 * Parse NUMBER from source directly, text is copied only if not held by primitive value.
+	 */
+	private JsonHub parseNumber() {
+		
+		final int fromIndex = pos;
+		
+		while ( pos < limit && ! JsonStructuralChar.isEndOfValue(bb.get(pos)) ) {
+			++ pos;
+		}
+		
+		return JsonNumberParser.toJsonHub(bb, fromIndex, pos);
+	}
+	
+	private Number scanNumber() {
+		
+		final int fromIndex = pos;
+		
+		while ( pos < limit && ! JsonStructuralChar.isEndOfValue(bb.get(pos)) ) {
+			++ pos;
+		}
+		
+		return JsonNumberParser.parse(bb, fromIndex, pos);
+	}
+	
+	private String decode(int fromIndex, int toIndex, Charset charset) {
+		
+		final int len = toIndex - fromIndex;
+		
+		if ( bb.hasArray() ) {
+			return new String(bb.array(), bb.arrayOffset() + fromIndex, len, charset);
+		}
+		
+		byte[] bs = new byte[len];
+		
+		for ( int i = 0; i < len; ++i ) {
+			bs[i] = bb.get(fromIndex + i);
+		}
+		
+		return new String(bs, charset);
+	}
+	
+	private void fireSingleValue(JsonHubHandler handler) {
+		
+		skipByteOrderMark();
+		
+		if ( seekNextIgnoreWhiteSpace() == NOTFOUND ) {
+			throw new JsonHubParseException("JSON is empty");
+		}
+		
+		fireValue(handler);
+		
+		if ( seekNextIgnoreWhiteSpace() != NOTFOUND ) {
+			throw new JsonHubParseException("Value is not Single. index: " + pos);
+		}
+	}
+	
+	private void fireValue(JsonHubHandler handler) {
+		
+		final byte b = seekNextIgnoreWhiteSpace();
+		
+		if ( JsonStructuralChar.QUOT.match(b) ) {
+			
+			handler.stringValue(parseUnescapedString());
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(b) ) {
+			
+			fireArray(handler);
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(b) ) {
+			
+			fireObject(handler);
+			
+		} else if ( b == NOTFOUND ) {
+			
+			throw new JsonHubParseException("Not found value. index: " + pos);
+			
+		} else if ( JsonStructuralChar.isEndOfValue(b) ) {
+			
+			throw new JsonHubParseException("Value is empty. index: " + pos);
+			
+		} else if ( matchLiteral(JsonLiteral.NULL) ) {
+			
+			handler.nullValue();
+			
+		} else if ( matchLiteral(JsonLiteral.TRUE) ) {
+			
+			handler.booleanValue(true);
+			
+		} else if ( matchLiteral(JsonLiteral.FALSE) ) {
+			
+			handler.booleanValue(false);
+			
+		} else {
+			
+			handler.numberValue(scanNumber());
+		}
+	}
+	
+	private void fireArray(JsonHubHandler handler) {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		handler.startArray();
+		
+		if ( JsonStructuralChar.ARRAY_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			handler.endArray();
+			return;
+		}
+		
+		for ( ;; ) {
+			
+			fireValue(handler);
+			
+			final byte b = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.ARRAY_END.match(b) ) {
+				
+				++ pos;
+				handler.endArray();
+				return;
+				
+			} else if ( b == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	private void fireObject(JsonHubHandler handler) {
+		
+		final int fromIndex = pos;
+		
+		++ pos;
+		
+		handler.startObject();
+		
+		if ( JsonStructuralChar.OBJECT_END.match(seekNextIgnoreWhiteSpace()) ) {
+			++ pos;
+			handler.endObject();
+			return;
+		}
+		
+		for ( ;; ) {
+			
+			if ( ! JsonStructuralChar.QUOT.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found Quot. index: " + pos);
+			}
+			
+			final String name = parseUnescapedString();
+			
+			if ( ! JsonStructuralChar.SEPARATOR_NAME.match(seekNextIgnoreWhiteSpace()) ) {
+				throw new JsonHubParseException("Not found \":\" index: " + pos);
+			}
+			
+			++ pos;
+			
+			handler.name(name);
+			fireValue(handler);
+			
+			final byte b = seekNextIgnoreWhiteSpace();
+			
+			if ( JsonStructuralChar.SEPARATOR_VALUE.match(b) ) {
+				
+				++ pos;
+				
+			} else if ( JsonStructuralChar.OBJECT_END.match(b) ) {
+				
+				++ pos;
+				handler.endObject();
+				return;
+				
+			} else if ( b == NOTFOUND ) {
+				
+				throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex);
+				
+			} else {
+				
+				throw new JsonHubParseException("Not found end-of-value. index: " + pos);
+			}
+		}
+	}
+	
+	private boolean matchLiteral(JsonLiteral literal) {
+		
+		final int endIndex = pos + literal.length();
+		
+		if ( ! literal.matchAt(bb, pos) ) {
+			return false;
+		}
+		
+		if ( endIndex < limit && ! JsonStructuralChar.isEndOfValue(bb.get(endIndex)) ) {
+			return false;
+		}
+		
+		pos = endIndex;
+		return true;
+	}
+	
+	private static boolean isWhiteSpace(byte b) {
+		return b >= 0 && b <= WS;
+	}
+	
+	private void skipByteOrderMark() {
+		if ( (pos + 2) < limit
+				&& bb.get(pos) == (byte)0xEF
+				&& bb.get(pos + 1) == (byte)0xBB
+				&& bb.get(pos + 2) == (byte)0xBF ) {
+			pos += 3;
+		}
+	}
+	
+	/**
+	 * Move cursor to next byte ignore white-space({@code <=0x20}).
+	 * 
+	 * @return byte on cursor, {@code NOTFOUND} if reached limit
+	 */
+	private byte seekNextIgnoreWhiteSpace() {
+		
+		if ( pos < limit ) {
+			
+			final byte b = bb.get(pos);
+			
+			if ( ! isWhiteSpace(b) ) {
+				return b;
+			}
+			
+			pos = JsonStructuralIndex.indexOfNotWhiteSpace(words, pos + 1, limit);
+			
+			if ( pos < limit ) {
+				return bb.get(pos);
+			}
+		}
+		
+		return NOTFOUND;
+	}
+	
+}
@@ -0,0 +1,135 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class is implements of JSON-String refers to UTF-8 bytes of source.
+ * 
+ * <p>
+ * Records only position and length in source-buffer,
+ * decodes to String at first access of {@link #escaped()} or {@link #unescaped()}.<br />
+ * If no escape sequence, unescaped is same instance as escaped.<br />
+ * Source-buffer must not be modified while this instance is alive.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonUtf8StringImpl extends JsonStringImpl {
+	
+	private static final long serialVersionUID = 3412906713841402563L;
+	
+	/**
+	 * Source-buffer, released after decoded.
+	 */
+	private transient volatile ByteBuffer src;
+	
+	private final int offset;
+	private final int length;
+	private final boolean hasEscapes;
+	
+	private JsonUtf8StringImpl(ByteBuffer src, int offset, int length, boolean hasEscapes) {
+		super();
+		this.src = src;
+		this.offset = offset;
+		this.length = length;
+		this.hasEscapes = hasEscapes;
+	}
+	
+	/**
+	 * Returns JsonString instance refers to escaped-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Not accept null.<br />
+	 * </p>
+	 * 
+	 * @param src source-buffer
+	 * @param offset absolute index of first byte in source-buffer
+	 * @param length bytes length
+	 * @return JsonString instance
+	 */
+	public static JsonUtf8StringImpl ofEscaped(ByteBuffer src, int offset, int length) {
+		return new JsonUtf8StringImpl(src, offset, length, true);
+	}
+	
+	/**
+	 * Returns JsonString instance refers to escaped-UTF-8-bytes.
+	 * 
+	 * <p>
+	 * Not accept null.<br />
+	 * </p>
+	 * 
+	 * @param src source-buffer
+	 * @param offset absolute index of first byte in source-buffer
+	 * @param length bytes length
+	 * @param hasEscapes set {@code false} if bytes have no escape sequence
+	 * @return JsonString instance
+	 */
+	public static JsonUtf8StringImpl ofEscaped(ByteBuffer src, int offset, int length, boolean hasEscapes) {
+		return new JsonUtf8StringImpl(src, offset, length, hasEscapes);
+	}
+	
+	@Override
+	protected String decodeEscaped() {
+		
+		final ByteBuffer bb = src;
+		
+		if ( bb == null ) {
+			return escaped();
+		}
+		
+		if ( bb.hasArray() ) {
+			
+			return new String(bb.array(), bb.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+			
+		} else {
+			
+			byte[] bs = new byte[length];
+			ByteBuffer dup = bb.duplicate();
+			dup.position(offset);
+			dup.get(bs);
+			return new String(bs, StandardCharsets.UTF_8);
+		}
+	}
+	
+	@Override
+	protected void releaseSource() {
+		src = null;
+	}
+	
+	/**
+	 * Writes escaped string to Writer.
+	 * 
+	 * <p>
+	 * If Writer is {@link JsonUtf8Writer} and not decoded yet, source bytes are written verbatim.<br />
+	 * </p>
+	 * 
+	 * @param writer the Writer to write
+	 * @throws IOException if write failed
+	 */
+	@Override
+	public void writeEscaped(Writer writer) throws IOException {
+		
+		final ByteBuffer bb = src;
+		
+		if ( bb != null && (writer instanceof JsonUtf8Writer) ) {
+			((JsonUtf8Writer) writer).writeUtf8(bb, offset, length);
+		} else {
+			super.writeEscaped(writer);
+		}
+	}
+	
+	@Override
+	protected boolean hasEscapes() {
+		return hasEscapes;
+	}
+	
+	private Object writeReplace() throws ObjectStreamException {
+		return JsonStringImpl.ofEscaped(escaped());
+	}
+	
+}
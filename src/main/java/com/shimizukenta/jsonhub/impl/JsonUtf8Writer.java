@@ -0,0 +1,310 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubPrettyPrinter;
+
+/**
+ * This class is Writer encodes chars to UTF-8 bytes directly, without String.
+ * 
+ * <p>
+ * Encoded bytes are stored in per-thread pooled buffer, and written to destination when buffer is full.<br />
+ * Unpaired surrogate is encoded as {@code '?'}, same as {@link String#getBytes(java.nio.charset.Charset)}.<br />
+ * UTF-8 bytes of source (e.g. STRING refers to source-buffer) are copied verbatim by {@link #writeUtf8(ByteBuffer, int, int)}.<br />
+ * Instances of this class are not thread-safe.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonUtf8Writer extends Writer {
+	
+	private static final int BUFFER_SIZE = 8192;
+	
+	private static final ThreadLocal<byte[]> pool = new ThreadLocal<>();
+	
+	private static interface Sink {
+		public void write(byte[] bs, int length) throws IOException;
+	}
+	
+	private final Sink sink;
+	private byte[] buffer;
+	private int count;
+	
+	/**
+	 * high surrogate waiting for low surrogate, 0 if none.
+	 */
+	private char pendingHigh;
+	
+	private JsonUtf8Writer(Sink sink) {
+		this.sink = sink;
+		this.count = 0;
+		this.pendingHigh = 0;
+		
+		final byte[] bs = pool.get();
+		
+		if ( bs == null ) {
+			this.buffer = new byte[BUFFER_SIZE];
+		} else {
+			pool.set(null);
+			this.buffer = bs;
+		}
+	}
+	
+	/**
+	 * Writes Compact-JSON UTF-8 bytes of JsonHub to OutputStream.
+	 * 
+	 * <p>
+	 * OutputStream is not flushed and not closed.<br />
+	 * </p>
+	 * 
+	 * @param v the JsonHub
+	 * @param strm the OutputStream
+	 * @throws IOException if write failed
+	 */
+	public static void write(JsonHub v, OutputStream strm) throws IOException {
+		write(v, new JsonUtf8Writer((bs, len) -> strm.write(bs, 0, len)));
+	}
+	
+	/**
+	 * Writes Compact-JSON UTF-8 bytes of JsonHub to ByteBuffer.
+	 * 
+	 * <p>
+	 * Bytes are put from position of ByteBuffer, and position is advanced.<br />
+	 * </p>
+	 * 
+	 * @param v the JsonHub
+	 * @param bb the ByteBuffer
+	 * @throws java.nio.BufferOverflowException if remaining of ByteBuffer is not enough
+	 */
+	public static void write(JsonHub v, ByteBuffer bb) {
+		try {
+			write(v, new JsonUtf8Writer((bs, len) -> bb.put(bs, 0, len)));
+		}
+		catch ( IOException notHappen ) {
+			throw new RuntimeException(notHappen);
+		}
+	}
+	
+	/**
+	 * Writes Compact-JSON UTF-8 bytes of JsonHub to WritableByteChannel.
+	 * 
+	 * <p>
+	 * Channel must be blocking mode.<br />
+	 * Channel is not closed.<br />
+	 * </p>
+	 * 
+	 * @param v the JsonHub
+	 * @param channel the WritableByteChannel
+	 * @throws IOException if write failed
+	 */
+	public static void write(JsonHub v, WritableByteChannel channel) throws IOException {
+		write(v, new JsonUtf8Writer((bs, len) -> {
+			final ByteBuffer bb = ByteBuffer.wrap(bs, 0, len);
+			while ( bb.hasRemaining() ) {
+				channel.write(bb);
+			}
+		}));
+	}
+	
+	private static void write(JsonHub v, JsonUtf8Writer writer) throws IOException {
+		try {
+			JsonHubPrettyPrinter.getCompactPrinter().print(v, writer);
+			writer.writePendingHigh();
+			writer.drain();
+		}
+		finally {
+			writer.release();
+		}
+	}
+	
+	private void drain() throws IOException {
+		if ( count > 0 ) {
+			sink.write(buffer, count);
+			count = 0;
+		}
+	}
+	
+	private void ensure(int n) throws IOException {
+		if ( count + n > buffer.length ) {
+			drain();
+		}
+	}
+	
+	private void writePendingHigh() throws IOException {
+		if ( pendingHigh != 0 ) {
+			pendingHigh = 0;
+			ensure(1);
+			buffer[count++] = (byte)'?';
+		}
+	}
+	
+	private void encode(char c) throws IOException {
+		
+		if ( pendingHigh != 0 ) {
+			
+			if ( Character.isLowSurrogate(c) ) {
+				
+				final int cp = Character.toCodePoint(pendingHigh, c);
+				pendingHigh = 0;
+				
+				ensure(4);
+				buffer[count++] = (byte)(0xF0 | (cp >> 18));
+				buffer[count++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buffer[count++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buffer[count++] = (byte)(0x80 | (cp & 0x3F));
+				return;
+			}
+			
+			writePendingHigh();
+		}
+		
+		if ( c < 0x80 ) {
+			
+			ensure(1);
+			buffer[count++] = (byte)c;
+			
+		} else if ( c < 0x800 ) {
+			
+			ensure(2);
+			buffer[count++] = (byte)(0xC0 | (c >> 6));
+			buffer[count++] = (byte)(0x80 | (c & 0x3F));
+			
+		} else if ( Character.isHighSurrogate(c) ) {
+			
+			pendingHigh = c;
+			
+		} else if ( Character.isLowSurrogate(c) ) {
+			
+			ensure(1);
+			buffer[count++] = (byte)'?';
+			
+		} else {
+			
+			ensure(3);
+			buffer[count++] = (byte)(0xE0 | (c >> 12));
+			buffer[count++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			buffer[count++] = (byte)(0x80 | (c & 0x3F));
+		}
+	}
+	
+	@Override
+	public void write(int c) throws IOException {
+		encode((char)c);
+	}
+	
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		for ( int i = off, end = off + len; i < end; ++i ) {
+			encode(cbuf[i]);
+		}
+	}
+	
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		
+		final byte[] bs = buffer;
+		final int end = off + len;
+		int i = off;
+		
+		while ( i < end ) {
+			
+			/* ASCII run */
+			if ( pendingHigh == 0 ) {
+				
+				int n = count;
+				final int limit = Math.min(end, i + (bs.length - n));
+				
+				while ( i < limit ) {
+					final char c = str.charAt(i);
+					if ( c >= 0x80 ) {
+						break;
+					}
+					bs[n++] = (byte)c;
+					++ i;
+				}
+				
+				count = n;
+				
+				if ( i >= end ) {
+					break;
+				}
+				
+				if ( n == bs.length ) {
+					drain();
+					continue;
+				}
+			}
+			
+			encode(str.charAt(i));
+			++ i;
+		}
+	}
+	
+	/**
+	 * Writes UTF-8 bytes of source verbatim.
+	 * 
+	 * @param src the source-buffer
+	 * @param offset absolute index of first byte in source-buffer
+	 * @param length bytes length
+	 * @throws IOException if write failed
+	 */
+	public void writeUtf8(ByteBuffer src, int offset, int length) throws IOException {
+		
+		writePendingHigh();
+		
+		final ByteBuffer dup = src.duplicate();
+		dup.limit(offset + length);
+		dup.position(offset);
+		
+		while ( dup.hasRemaining() ) {
+			
+			if ( count == buffer.length ) {
+				drain();
+			}
+			
+			final int n = Math.min(dup.remaining(), buffer.length - count);
+			dup.get(buffer, count, n);
+			count += n;
+		}
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		drain();
+	}
+	
+	/**
+	 * Writes remaining bytes and releases pooled buffer.
+	 * 
+	 * <p>
+	 * Destination is not closed.<br />
+	 * </p>
+	 */
+	@Override
+	public void close() throws IOException {
+		if ( buffer != null ) {
+			try {
+				writePendingHigh();
+				drain();
+			}
+			finally {
+				release();
+			}
+		}
+	}
+	
+	private void release() {
+		final byte[] bs = buffer;
+		if ( bs != null ) {
+			buffer = null;
+			pool.set(bs);
+		}
+	}
+	
+}
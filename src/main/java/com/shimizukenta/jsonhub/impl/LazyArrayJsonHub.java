@@ -0,0 +1,149 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ObjectStreamException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
+
+/**
+ * This class is implements of lazy JSON value ARRAY.
+ * 
+ * <p>
+ * Elements are scanned at first access, and each element is built at first access of it.<br />
+ * Caches are published without lock, racing threads may scan elements or build an element twice,
+ * built elements are equal.<br />
+ * Instances of this class are immutable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class LazyArrayJsonHub extends ArrayJsonHub {
+	
+	private static final long serialVersionUID = 6125807931645416396L;
+	
+	private final transient AbstractJsonLazySource src;
+	private final transient int fromIndex;
+	
+	/**
+	 * Cache of scanned elements, {@code null} if not scanned.
+	 */
+	private transient volatile Elements elements;
+	
+	/**
+	 * cache.
+	 */
+	private transient volatile List<JsonHub> list;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param src the source
+	 * @param fromIndex index of "["
+	 */
+	public LazyArrayJsonHub(AbstractJsonLazySource src, int fromIndex) {
+		super(Collections.emptyList());
+		
+		this.src = src;
+		this.fromIndex = fromIndex;
+		this.elements = null;
+		this.list = null;
+	}
+	
+	/**
+	 * Scanned elements and built values.
+	 */
+	private static final class Elements {
+		
+		/**
+		 * first indices of elements.
+		 */
+		private final int[] indices;
+		private final AtomicReferenceArray<JsonHub> values;
+		
+		private Elements(int[] indices) {
+			this.indices = indices;
+			this.values = new AtomicReferenceArray<>(indices.length);
+		}
+	}
+	
+	private Elements elements() {
+		
+		Elements e = this.elements;
+		
+		if ( e == null ) {
+			e = new Elements(src.arrayElements(fromIndex));
+			this.elements = e;
+		}
+		
+		return e;
+	}
+	
+	private JsonHub value(int index) {
+		
+		final Elements e = elements();
+		final JsonHub v = e.values.get(index);
+		
+		if ( v != null ) {
+			return v;
+		}
+		
+		final JsonHub created = src.value(e.indices[index]);
+		
+		if ( e.values.compareAndSet(index, null, created) ) {
+			return created;
+		}
+		
+		return e.values.get(index);
+	}
+	
+	@Override
+	protected List<JsonHub> list() {
+		
+		List<JsonHub> c = this.list;
+		
+		if ( c == null ) {
+			
+			final int n = length();
+			final List<JsonHub> ll = new ArrayList<>(n);
+			
+			for ( int i = 0; i < n; ++i ) {
+				ll.add(value(i));
+			}
+			
+			c = ll;
+			this.list = c;
+		}
+		
+		return c;
+	}
+	
+	@Override
+	public JsonHub get(int index) {
+		
+		if ( index < 0 || index >= length() ) {
+			throw new JsonHubIndexOutOfBoundsException("get: " + index);
+		}
+		
+		return value(index);
+	}
+	
+	@Override
+	public int length() {
+		return elements().indices.length;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return length() == 0;
+	}
+	
+	private Object writeReplace() throws ObjectStreamException {
+		return new ArrayJsonHub(list());
+	}
+	
+}
@@ -0,0 +1,240 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is implements of lazy JSON value OBJECT.
+ * 
+ * <p>
+ * Members are scanned at first access, and each value is built at first access of it.<br />
+ * {@link #get(CharSequence)} builds only found value.<br />
+ * If members are up to {@code JsonObjectShape.LINEAR_SCAN_MAX}, names are compared on source one by one.<br />
+ * Otherwise, index of names ({@link JsonObjectShape}) is built at first lookup by name, and reused.<br />
+ * Caches are published without lock, racing threads may scan members or build a value twice,
+ * built values are equal.<br />
+ * Instances of this class are immutable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class LazyObjectJsonHub extends ObjectJsonHub {
+	
+	private static final long serialVersionUID = -4466031585307356532L;
+	
+	private static final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+	
+	private final transient AbstractJsonLazySource src;
+	private final transient int fromIndex;
+	
+	/**
+	 * Cache of scanned members, {@code null} if not scanned.
+	 */
+	private transient volatile Members members;
+	
+	/**
+	 * cache.
+	 */
+	private transient volatile Collection<JsonObjectPair> pairs;
+	
+	/**
+	 * Cache of index of names, {@code null} if not built.
+	 */
+	private transient volatile JsonObjectShape index;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param src the source
+	 * @param fromIndex index of "{"
+	 */
+	public LazyObjectJsonHub(AbstractJsonLazySource src, int fromIndex) {
+		super(Collections.emptyList());
+		
+		this.src = src;
+		this.fromIndex = fromIndex;
+		this.members = null;
+		this.pairs = null;
+		this.index = null;
+	}
+	
+	/**
+	 * Scanned members and built names and values.
+	 */
+	private static final class Members {
+		
+		/**
+		 * see {@link AbstractJsonLazySource#objectMembers(int)}.
+		 */
+		private final int[] indices;
+		private final AtomicReferenceArray<JsonString> names;
+		private final AtomicReferenceArray<JsonHub> values;
+		
+		private Members(int[] indices) {
+			this.indices = indices;
+			this.names = new AtomicReferenceArray<>(indices.length / 3);
+			this.values = new AtomicReferenceArray<>(indices.length / 3);
+		}
+	}
+	
+	private Members members() {
+		
+		Members m = this.members;
+		
+		if ( m == null ) {
+			m = new Members(src.objectMembers(fromIndex));
+			this.members = m;
+		}
+		
+		return m;
+	}
+	
+	@Override
+	protected JsonString name(int index) {
+		
+		final Members m = members();
+		final JsonString s = m.names.get(index);
+		
+		if ( s != null ) {
+			return s;
+		}
+		
+		final int[] mm = m.indices;
+		final JsonString created = src.string(mm[index * 3], mm[index * 3 + 1]);
+		
+		if ( m.names.compareAndSet(index, null, created) ) {
+			return created;
+		}
+		
+		return m.names.get(index);
+	}
+	
+	@Override
+	protected JsonHub value(int index) {
+		
+		final Members m = members();
+		final JsonHub v = m.values.get(index);
+		
+		if ( v != null ) {
+			return v;
+		}
+		
+		final JsonHub created = src.value(m.indices[index * 3 + 2]);
+		
+		if ( m.values.compareAndSet(index, null, created) ) {
+			return created;
+		}
+		
+		return m.values.get(index);
+	}
+	
+	private int indexOf(CharSequence name) {
+		
+		final String s = name.toString();
+		final int[] mm = members().indices;
+		final int n = mm.length / 3;
+		
+		if ( n > JsonObjectShape.LINEAR_SCAN_MAX ) {
+			return index(n).indexOf(s);
+		}
+		
+		for ( int i = 0; i < n; ++i ) {
+			if ( src.nameEquals(mm[i * 3], mm[i * 3 + 1], s) ) {
+				return i;
+			}
+		}
+		
+		return -1;
+	}
+	
+	private JsonObjectShape index(int n) {
+		
+		JsonObjectShape x = this.index;
+		
+		if ( x == null ) {
+			
+			final JsonString[] nn = new JsonString[n];
+			
+			for ( int i = 0; i < n; ++i ) {
+				nn[i] = name(i);
+			}
+			
+			x = JsonObjectShape.of(nn);
+			this.index = x;
+		}
+		
+		return x;
+	}
+	
+	@Override
+	protected Collection<JsonObjectPair> pairs() {
+		
+		Collection<JsonObjectPair> c = this.pairs;
+		
+		if ( c == null ) {
+			
+			final int n = length();
+			final List<JsonObjectPair> ll = new ArrayList<>(n);
+			
+			for ( int i = 0; i < n; ++i ) {
+				ll.add(jhb.pair(name(i), value(i)));
+			}
+			
+			c = ll;
+			this.pairs = c;
+		}
+		
+		return c;
+	}
+	
+	@Override
+	public Set<JsonString> keySet() {
+		
+		final Set<JsonString> s = new HashSet<>();
+		
+		for ( int i = 0, n = length(); i < n; ++i ) {
+			s.add(name(i));
+		}
+		
+		return s;
+	}
+	
+	@Override
+	public boolean containsKey(CharSequence name) {
+		return indexOf(name) >= 0;
+	}
+	
+	@Override
+	public JsonHub getOrDefault(CharSequence name, JsonHub defaultValue) {
+		
+		final int i = indexOf(name);
+		
+		if ( i < 0 ) {
+			return defaultValue;
+		}
+		
+		return value(i);
+	}
+	
+	@Override
+	public int length() {
+		return members().indices.length / 3;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return length() == 0;
+	}
+	
+}
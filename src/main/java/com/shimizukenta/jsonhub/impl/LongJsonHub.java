@@ -0,0 +1,71 @@
+package com.shimizukenta.jsonhub.impl;
+
+/**
+ * This class is implements of JSON value NUMBER, holds raw long.
+ * 
+ * <p>
+ * Text is produced on demand.<br />
+ * Equals to NumberJsonHub of same Long value.<br />
+ * Instances of this class are immutable.
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class LongJsonHub extends AbstractNumberJsonHub {
+	
+	private static final long serialVersionUID = 6262497744962536815L;
+	
+	private final long value;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param value the long value
+	 */
+	public LongJsonHub(long value) {
+		super();
+		
+		this.value = value;
+	}
+	
+	@Override
+	protected Number number() {
+		return Long.valueOf(value);
+	}
+	
+	@Override
+	public int intValue() {
+		return (int)value;
+	}
+	
+	@Override
+	public long longValue() {
+		return value;
+	}
+	
+	@Override
+	public double doubleValue() {
+		return (double)value;
+	}
+	
+	@Override
+	public String toJson() {
+		return Long.toString(value);
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if ((o != null) && (o instanceof LongJsonHub)) {
+			return ((LongJsonHub) o).value == value;
+		} else {
+			return super.equals(o);
+		}
+	}
+	
+	@Override
+	public int hashCode() {
+		return Long.hashCode(value);
+	}
+	
+}
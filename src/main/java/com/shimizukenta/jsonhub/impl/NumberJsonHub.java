@@ -3,13 +3,8 @@ package com.shimizukenta.jsonhub.impl;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.OptionalInt;
-import java.util.OptionalLong;
 
 import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
-import com.shimizukenta.jsonhub.JsonHubType;
 
 /**
  * This class is implements of JSON value NUMBER.
@@ -21,7 +16,7 @@ import com.shimizukenta.jsonhub.JsonHubType;
  * @author kenta-shimizu
  *
  */
-public class NumberJsonHub extends AbstractJsonHub {
+public class NumberJsonHub extends AbstractNumberJsonHub {
 	
 	private static final long serialVersionUID = -2924637446448005150L;
 	
@@ -44,17 +39,19 @@ public class NumberJsonHub extends AbstractJsonHub {
 		super();
 		
 		this.str = Objects.requireNonNull(cs).toString();
-		
-		try {
-			if ( this.str.contains(".") ) {
-				this.num = Double.valueOf(this.str);
-			} else {
-				this.num = Long.valueOf(this.str);
-			}
-		}
-		catch ( NumberFormatException e ) {
-			throw new JsonHubNumberFormatException(e.getMessage());
-		}
+		this.num = toNumber(this.str);
+	}
+	
+	/**
+	 * Returns Number parsed from NUMBER character sequence.
+	 * 
+	 * @param cs the character sequence
+	 * @return Double if contains fraction or exponent, otherwise Long (BigDecimal if exceeds range of long)
+	 * @throws JsonHubNumberFormatException if parse failed
+	 * @see JsonNumberParser
+	 */
+	public static Number toNumber(CharSequence cs) {
+		return JsonNumberParser.parse(cs);
 	}
 	
 	/**
@@ -70,28 +67,23 @@ public class NumberJsonHub extends AbstractJsonHub {
 	}
 	
 	@Override
-	public JsonHubType type() {
-		return JsonHubType.NUMBER;
+	protected Number number() {
+		return num;
 	}
 	
 	@Override
-	public OptionalInt optionalInt() {
-		return OptionalInt.of(num.intValue());
+	public int intValue() {
+		return num.intValue();
 	}
 	
 	@Override
-	public OptionalLong optionalLong() {
-		return OptionalLong.of(num.longValue());
+	public long longValue() {
+		return num.longValue();
 	}
 	
 	@Override
-	public OptionalDouble optionalDouble() {
-		return OptionalDouble.of(num.doubleValue());
-	}
-	
-	@Override
-	public Optional<Number> optionalNubmer() {
-		return Optional.of(num);
+	public double doubleValue() {
+		return num.doubleValue();
 	}
 	
 	@Override
@@ -104,33 +96,4 @@ public class NumberJsonHub extends AbstractJsonHub {
 		writer.write(str);
 	}
 	
-	@Override
-	public String toJsonExcludedNullValueInObject() {
-		return toJson();
-	}
-	
-	@Override
-	public void toJsonExcludedNullValueInObject(Writer writer) throws IOException {
-		toJson(writer);
-	}
-	
-	@Override
-	public String toString() {
-		return str;
-	}
-	
-	@Override
-	public boolean equals(Object o) {
-		if ((o != null) && (o instanceof NumberJsonHub)) {
-			return ((NumberJsonHub) o).num.equals(num);
-		} else {
-			return false;
-		}
-	}
-	
-	@Override
-	public int hashCode() {
-		return num.hashCode();
-	}
-	
 }
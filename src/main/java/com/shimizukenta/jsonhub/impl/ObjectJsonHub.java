@@ -1,8 +1,12 @@
 package com.shimizukenta.jsonhub.impl;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -10,6 +14,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
@@ -26,8 +31,15 @@ import com.shimizukenta.jsonhub.JsonString;
  * This class is implements of JSON value OBJECT.
  * 
  * <p>
+ * Names are held by shared {@link JsonObjectShape}, values are held by array.<br />
+ * Equality is structural, same ordered names and each value is equal.<br />
+ * Hash code is computed from hash codes of names and values, and cached.<br />
  * Instances of this class are immutable.
  * </p>
+ * <p>
+ * Serialized by proxy of names and values array.<br />
+ * Serialized form of pairs collection (older version) is also readable.<br />
+ * </p>
  * 
  * @author kenta-shimizu
  *
@@ -37,19 +49,34 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	private static final long serialVersionUID = 6707336078321312442L;
 	
 	/**
-	 * value.
+	 * names.
 	 */
-	private final Collection<JsonObjectPair> v;
+	private final JsonObjectShape shape;
+	
+	/**
+	 * values.
+	 */
+	private final JsonHub[] values;
 	
 	/**
 	 * cache.
 	 */
-	private String toJsonCache;
+	private volatile String toJsonCache;
 	
 	/**
 	 * cache.
 	 */
-	private String toJsonExcludedNullValueInObjectCache;
+	private volatile String toJsonExcludedNullValueInObjectCache;
+	
+	/**
+	 * Cache of hash code, 0 if not computed.
+	 */
+	private transient int hash;
+	
+	/**
+	 * Pairs read from serialized form of older version, {@code null} otherwise.
+	 */
+	private transient Collection<? extends JsonObjectPair> serializedPairs;
 	
 	/**
 	 * Constructor.
@@ -59,11 +86,92 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	public ObjectJsonHub(Collection<? extends JsonObjectPair> v) {
 		super();
 		
-		this.v = new ArrayList<>(Objects.requireNonNull(v));
+		final int n = Objects.requireNonNull(v).size();
+		final JsonString[] nn = new JsonString[n];
+		this.values = new JsonHub[n];
+		
+		int i = 0;
+		
+		for ( JsonObjectPair p : v ) {
+			nn[i] = p.name();
+			this.values[i] = p.value();
+			++ i;
+		}
+		
+		this.shape = JsonObjectShape.of(nn);
+		this.toJsonCache = null;
+		this.toJsonExcludedNullValueInObjectCache = null;
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * <p>
+	 * {@code values} array is held, caller must not modify it after.<br />
+	 * </p>
+	 * 
+	 * @param shape the shape of names
+	 * @param values the values, same length as shape
+	 */
+	protected ObjectJsonHub(JsonObjectShape shape, JsonHub[] values) {
+		super();
+		
+		this.shape = Objects.requireNonNull(shape);
+		this.values = Objects.requireNonNull(values);
 		this.toJsonCache = null;
 		this.toJsonExcludedNullValueInObjectCache = null;
 	}
 	
+	/**
+	 * Returns value.
+	 * 
+	 * <p>
+	 * Subclass may override to build pairs on demand.<br />
+	 * </p>
+	 * 
+	 * @return value
+	 */
+	protected Collection<JsonObjectPair> pairs() {
+		return new PairList();
+	}
+	
+	/**
+	 * Returns name of position.
+	 * 
+	 * <p>
+	 * Subclass which overrides {@link #pairs()} must override.<br />
+	 * </p>
+	 * 
+	 * @param index the position
+	 * @return name
+	 */
+	protected JsonString name(int index) {
+		return shape.name(index);
+	}
+	
+	/**
+	 * Returns shape of names.
+	 * 
+	 * @return shape of names
+	 */
+	JsonObjectShape shape() {
+		return shape;
+	}
+	
+	/**
+	 * Returns value of position.
+	 * 
+	 * <p>
+	 * Subclass which overrides {@link #pairs()} must override.<br />
+	 * </p>
+	 * 
+	 * @param index the position
+	 * @return value
+	 */
+	protected JsonHub value(int index) {
+		return values[index];
+	}
+	
 	@Override
 	public Iterator<JsonHub> iterator() {
 		return stream().iterator();
@@ -81,7 +189,7 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public void forEach(BiConsumer<? super JsonString, ? super JsonHub> action) {
-		v.forEach(x -> {
+		pairs().forEach(x -> {
 			action.accept(x.name(), x.value());
 		});
 	}
@@ -94,16 +202,16 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public Stream<JsonHub> stream() {
-		return v.stream().map(x -> x.value());
+		return pairs().stream().map(x -> x.value());
 	}
 	
 	@Override
 	public Set<JsonString> keySet() {
-		return v.stream().map(x -> x.name()).collect(Collectors.toSet());
+		return pairs().stream().map(x -> x.name()).collect(Collectors.toSet());
 	}
 	
 	protected Collection<JsonObjectPair> objectPairs() {
-		return Collections.unmodifiableCollection(v);
+		return Collections.unmodifiableCollection(pairs());
 	}
 	
 	@Override
@@ -113,10 +221,7 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public boolean containsKey(CharSequence name) {
-		String s = name.toString();
-		return v.stream()
-				.map(x -> x.name().unescaped())
-				.anyMatch(x ->  x.equals(s));
+		return shape.indexOf(name.toString()) >= 0;
 	}
 	
 	@Override
@@ -156,22 +261,24 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public JsonHub getOrDefault(CharSequence name, JsonHub defaultValue) {
-		String s = name.toString();
-		return v.stream()
-				.filter(x -> x.name().unescaped().equals(s))
-				.findFirst()
-				.map(x -> x.value())
-				.orElse(defaultValue);
+		
+		final int i = shape.indexOf(name.toString());
+		
+		if ( i < 0 ) {
+			return defaultValue;
+		}
+		
+		return values[i];
 	}
 	
 	@Override
 	public int length() {
-		return v.size();
+		return pairs().size();
 	}
 	
 	@Override
 	public boolean isEmpty() {
-		return v.isEmpty();
+		return pairs().isEmpty();
 	}
 	
 	@Override
@@ -195,23 +302,21 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	}
 	
 	private String toJsonCache() {
-		synchronized ( this ) {
-			if ( toJsonCache == null ) {
-				toJsonCache = super.toJson();
-			}
-			
-			return toJsonCache;
+		String s = toJsonCache;
+		if ( s == null ) {
+			s = super.toJson();
+			toJsonCache = s;
 		}
+		return s;
 	}
 	
 	private String toJsonExcludedNullValueInObjectCache() {
-		synchronized ( this ) {
-			if ( toJsonExcludedNullValueInObjectCache == null ) {
-				toJsonExcludedNullValueInObjectCache = super.toJsonExcludedNullValueInObject();
-			}
-			
-			return toJsonExcludedNullValueInObjectCache;
+		String s = toJsonExcludedNullValueInObjectCache;
+		if ( s == null ) {
+			s = super.toJsonExcludedNullValueInObject();
+			toJsonExcludedNullValueInObjectCache = s;
 		}
+		return s;
 	}
 	
 	@Override
@@ -221,8 +326,40 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public boolean equals(Object o) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		
 		if ((o != null) && (o instanceof ObjectJsonHub)) {
-			return ((ObjectJsonHub) o).toJson().equals(toJson());
+			
+			final ObjectJsonHub a = (ObjectJsonHub) o;
+			final int n = length();
+			
+			if ( a.length() != n ) {
+				return false;
+			}
+			
+			if ( hash != 0 && a.hash != 0 && hash != a.hash ) {
+				return false;
+			}
+			
+			/* same interned shape, names are equal */
+			final boolean sameShape = (shape == a.shape) && (shape.length() == n);
+			
+			for ( int i = 0; i < n; ++i ) {
+				
+				if ( ! sameShape && ! name(i).equals(a.name(i)) ) {
+					return false;
+				}
+				
+				if ( ! value(i).equals(a.value(i)) ) {
+					return false;
+				}
+			}
+			
+			return true;
+			
 		} else {
 			return false;
 		}
@@ -230,7 +367,97 @@ public class ObjectJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public int hashCode() {
-		return toJson().hashCode();
+		int h = hash;
+		if ( h == 0 ) {
+			h = 1;
+			for ( int i = 0, n = length(); i < n; ++i ) {
+				h = 31 * h + (name(i).hashCode() ^ value(i).hashCode());
+			}
+			hash = h;
+		}
+		return h;
+	}
+	
+	/**
+	 * Returns serialization proxy, names and values are built if lazy.
+	 * 
+	 * @return serialization proxy
+	 * @throws ObjectStreamException never
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		
+		final int n = length();
+		final JsonString[] nn = new JsonString[n];
+		final JsonHub[] vv = new JsonHub[n];
+		
+		for ( int i = 0; i < n; ++i ) {
+			nn[i] = name(i);
+			vv[i] = value(i);
+		}
+		
+		return new SerializedForm(nn, vv);
+	}
+	
+	/**
+	 * Reads serialized form of older version, field {@code v} is pairs collection.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		
+		final ObjectInputStream.GetField fields = in.readFields();
+		final Object v = fields.get("v", null);
+		
+		if ( ! (v instanceof Collection) ) {
+			throw new InvalidObjectException("ObjectJsonHub requires serialization proxy");
+		}
+		
+		@SuppressWarnings("unchecked")
+		final Collection<? extends JsonObjectPair> c = (Collection<? extends JsonObjectPair>)v;
+		this.serializedPairs = c;
+	}
+	
+	private Object readResolve() throws ObjectStreamException {
+		return new ObjectJsonHub(serializedPairs);
+	}
+	
+	/**
+	 * Serialization proxy of OBJECT.
+	 */
+	private static final class SerializedForm implements Serializable {
+		
+		private static final long serialVersionUID = -3106478843046216412L;
+		
+		private final JsonString[] names;
+		private final JsonHub[] values;
+		
+		private SerializedForm(JsonString[] names, JsonHub[] values) {
+			this.names = names;
+			this.values = values;
+		}
+		
+		private Object readResolve() throws ObjectStreamException {
+			
+			if ( names == null || values == null || names.length != values.length ) {
+				throw new InvalidObjectException("ObjectJsonHub names and values");
+			}
+			
+			return new ObjectJsonHub(JsonObjectShape.of(names), values);
+		}
+	}
+	
+	/**
+	 * Unmodifiable view of pairs.
+	 */
+	private class PairList extends AbstractList<JsonObjectPair> implements RandomAccess {
+		
+		@Override
+		public JsonObjectPair get(int index) {
+			return new JsonObjectPairImpl(shape.name(index), values[index]);
+		}
+		
+		@Override
+		public int size() {
+			return values.length;
+		}
 	}
 	
 }
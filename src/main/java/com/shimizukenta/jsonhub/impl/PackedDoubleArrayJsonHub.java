@@ -0,0 +1,120 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+import com.shimizukenta.jsonhub.JsonHub;
+
+/**
+ * This class is implements of packed JSON value ARRAY, values are stored in double[].
+ * 
+ * <p>
+ * Each element is DoubleJsonHub, scale of each element is kept to print same text.<br />
+ * Equality compares values only, scales are not compared, same as DoubleJsonHub.<br />
+ * Instances of this class are immutable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class PackedDoubleArrayJsonHub extends AbstractPackedArrayJsonHub {
+	
+	private static final long serialVersionUID = -1874039541297436066L;
+	
+	private final double[] values;
+	private final byte[] scales;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param values the double values, not copied
+	 * @param scales the scales of values, not copied
+	 */
+	protected PackedDoubleArrayJsonHub(double[] values, byte[] scales) {
+		super();
+		
+		this.values = values;
+		this.scales = scales;
+	}
+	
+	/**
+	 * Returns packed ARRAY if all elements are DoubleJsonHub.
+	 * 
+	 * @param elements the JsonHub list
+	 * @return packed ARRAY, {@code null} if not all elements are DoubleJsonHub
+	 */
+	public static PackedDoubleArrayJsonHub pack(List<? extends JsonHub> elements) {
+		
+		final int n = elements.size();
+		final double[] vv = new double[n];
+		final byte[] ss = new byte[n];
+		int i = 0;
+		
+		for ( JsonHub jh : elements ) {
+			
+			if ( ! (jh instanceof DoubleJsonHub) ) {
+				return null;
+			}
+			
+			vv[i] = jh.doubleValue();
+			ss[i] = (byte)(((DoubleJsonHub)jh).scale());
+			++ i;
+		}
+		
+		return new PackedDoubleArrayJsonHub(vv, ss);
+	}
+	
+	@Override
+	protected JsonHub element(int index) {
+		return new DoubleJsonHub(values[index], scales[index]);
+	}
+	
+	@Override
+	protected void appendElement(StringBuilder sb, int index) {
+		DoubleJsonHub.appendJson(sb, values[index], scales[index]);
+	}
+	
+	@Override
+	public int length() {
+		return values.length;
+	}
+	
+	@Override
+	protected boolean elementsEquals(ArrayJsonHub a) {
+		if ( a instanceof PackedDoubleArrayJsonHub ) {
+			return Arrays.equals(values, ((PackedDoubleArrayJsonHub) a).values);
+		} else {
+			return super.elementsEquals(a);
+		}
+	}
+	
+	@Override
+	protected int buildHashCode() {
+		
+		int h = 1;
+		
+		for ( double v : values ) {
+			h = 31 * h + Double.hashCode(v);
+		}
+		
+		return h;
+	}
+	
+	@Override
+	public LongStream longStream() {
+		return Arrays.stream(values).mapToLong(v -> (long)v);
+	}
+	
+	@Override
+	public DoubleStream doubleStream() {
+		return Arrays.stream(values);
+	}
+	
+	@Override
+	public double[] toDoubleArray() {
+		return values.clone();
+	}
+	
+}
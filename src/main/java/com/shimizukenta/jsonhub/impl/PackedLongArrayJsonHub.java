@@ -0,0 +1,113 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+import com.shimizukenta.jsonhub.JsonHub;
+
+/**
+ * This class is implements of packed JSON value ARRAY, values are stored in long[].
+ * 
+ * <p>
+ * Each element is LongJsonHub.<br />
+ * Instances of this class are immutable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class PackedLongArrayJsonHub extends AbstractPackedArrayJsonHub {
+	
+	private static final long serialVersionUID = 2383311659101432517L;
+	
+	private final long[] values;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param values the long values, not copied
+	 */
+	protected PackedLongArrayJsonHub(long[] values) {
+		super();
+		
+		this.values = values;
+	}
+	
+	/**
+	 * Returns packed ARRAY if all elements are LongJsonHub.
+	 * 
+	 * @param elements the JsonHub list
+	 * @return packed ARRAY, {@code null} if not all elements are LongJsonHub
+	 */
+	public static PackedLongArrayJsonHub pack(List<? extends JsonHub> elements) {
+		
+		final long[] vv = new long[elements.size()];
+		int i = 0;
+		
+		for ( JsonHub jh : elements ) {
+			
+			if ( ! (jh instanceof LongJsonHub) ) {
+				return null;
+			}
+			
+			vv[i] = jh.longValue();
+			++ i;
+		}
+		
+		return new PackedLongArrayJsonHub(vv);
+	}
+	
+	@Override
+	protected JsonHub element(int index) {
+		return new LongJsonHub(values[index]);
+	}
+	
+	@Override
+	protected void appendElement(StringBuilder sb, int index) {
+		sb.append(values[index]);
+	}
+	
+	@Override
+	public int length() {
+		return values.length;
+	}
+	
+	@Override
+	protected boolean elementsEquals(ArrayJsonHub a) {
+		if ( a instanceof PackedLongArrayJsonHub ) {
+			return Arrays.equals(values, ((PackedLongArrayJsonHub) a).values);
+		} else {
+			return super.elementsEquals(a);
+		}
+	}
+	
+	@Override
+	protected int buildHashCode() {
+		
+		int h = 1;
+		
+		for ( long v : values ) {
+			h = 31 * h + Long.hashCode(v);
+		}
+		
+		return h;
+	}
+	
+	@Override
+	public LongStream longStream() {
+		return Arrays.stream(values);
+	}
+	
+	@Override
+	public DoubleStream doubleStream() {
+		return Arrays.stream(values).asDoubleStream();
+	}
+	
+	@Override
+	public long[] toLongArray() {
+		return values.clone();
+	}
+	
+}
@@ -12,6 +12,8 @@ import com.shimizukenta.jsonhub.JsonString;
  * This class is implements of JSON value STRING.
  * 
  * <p>
+ * Printers write quoted escaped string into Writer directly, without cache.<br />
+ * Quoted escaped string of {@link #toJson()} is cached if enabled.<br />
  * Instances of this class are immutable.
  * </p>
  * 
@@ -30,7 +32,12 @@ public class StringJsonHub extends AbstractJsonHub {
 	/**
 	 * Proxy.
 	 */
-	private String toJsonProxy;
+	private volatile String toJsonProxy;
+	
+	/**
+	 * Cache Proxy if {@code true}.
+	 */
+	private final boolean cacheJson;
 	
 	/**
 	 * Constructor.
@@ -38,10 +45,21 @@ public class StringJsonHub extends AbstractJsonHub {
 	 * @param v the JsonString
 	 */
 	public StringJsonHub(JsonString v) {
+		this(v, true);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param v the JsonString
+	 * @param cacheJson set {@code false} if not cache quoted escaped string of {@link #toJson()}
+	 */
+	public StringJsonHub(JsonString v, boolean cacheJson) {
 		super();
 		
 		this.v = Objects.requireNonNull(v);
 		this.toJsonProxy = null;
+		this.cacheJson = cacheJson;
 	}
 	
 	@Override
@@ -71,7 +89,16 @@ public class StringJsonHub extends AbstractJsonHub {
 	
 	@Override
 	public void toJson(Writer writer) throws IOException {
-		writer.write(toJsonProxy());
+		
+		final String s = toJsonProxy;
+		
+		if ( s == null ) {
+			writer.write(JsonStructuralChar.QUOT.str());
+			JsonStringImpl.writeEscaped(v, writer);
+			writer.write(JsonStructuralChar.QUOT.str());
+		} else {
+			writer.write(s);
+		}
 	}
 	
 	@Override
@@ -86,16 +113,19 @@ public class StringJsonHub extends AbstractJsonHub {
 	
 	private String toJsonProxy() {
 		
-		synchronized ( this ) {
+		String s = toJsonProxy;
+		
+		if ( s == null ) {
+			s = JsonStructuralChar.QUOT.str()
+					+ v.escaped()
+					+ JsonStructuralChar.QUOT.str();
 			
-			if ( toJsonProxy == null ) {
-				toJsonProxy = JsonStructuralChar.QUOT.str()
-						+ v.escaped()
-						+ JsonStructuralChar.QUOT.str();
+			if ( cacheJson ) {
+				toJsonProxy = s;
 			}
-			
-			return toJsonProxy;
 		}
+		
+		return s;
 	}
 	
 	@Override
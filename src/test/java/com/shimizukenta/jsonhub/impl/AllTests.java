@@ -0,0 +1,69 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is runner of all test cases.
+ * 
+ * <p>
+ * Exit status is {@code 1} if any test failed.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class AllTests {
+	
+	private AllTests() {
+	}
+	
+	private static List<JsonHubTestCase> cases() {
+		return Arrays.asList(
+				new JsonStringCoderTest(),
+				new JsonCharSequenceStringImplTest(),
+				new JsonStructuralIndexTest(),
+				new JsonIndexedUtf8ParserTest(),
+				new JsonReaderTest(),
+				new JsonUtf8WriterTest(),
+				new JsonHubIncrementalParserTest(),
+				new JsonNumberParserTest(),
+				new LongJsonHubTest(),
+				new DoubleJsonHubTest(),
+				new JsonObjectShapeTest(),
+				new ObjectJsonHubTest(),
+				new PackedArrayJsonHubTest(),
+				new JsonHubEqualityTest(),
+				new LazyObjectJsonHubTest(),
+				new JsonBareTokenTest(),
+				new JsonEngineParityTest()
+				);
+	}
+	
+	public static void main(String[] args) {
+		
+		int failed = 0;
+		
+		for ( JsonHubTestCase c : cases() ) {
+			
+			final long start = System.nanoTime();
+			final List<String> failures = c.run();
+			final long ms = (System.nanoTime() - start) / 1000000L;
+			
+			System.out.println(c.getClass().getSimpleName()
+					+ ": " + c.assertions() + " assertions, "
+					+ failures.size() + " failures (" + ms + " ms)");
+			
+			for ( String s : failures ) {
+				System.out.println("    " + s);
+			}
+			
+			failed += failures.size();
+		}
+		
+		if ( failed > 0 ) {
+			System.exit(1);
+		}
+	}
+	
+}
@@ -0,0 +1,385 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
+import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is baseline JSON reader, for parity tests and benchmarks.
+ * 
+ * <p>
+ * Copy of String-based parser of JsonReader before cursor-based parsers were added.<br />
+ * Values are built by {@link JsonHubBuilder#getInstance()}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class BaselineJsonReader {
+	
+	private BaselineJsonReader() {
+	}
+	
+	/**
+	 * Returns JsonHub instance parsing from JSON-String.
+	 * 
+	 * @param json the charsequence
+	 * @return parsed JsonHub instance
+	 * @throws JsonHubParseException if parse failed
+	 */
+	public static JsonHub fromJson(CharSequence json) {
+		try {
+			String s = json.toString();
+			
+			if ( s.trim().isEmpty() ) {
+				throw new JsonHubParseException("JSON is empty");
+			}
+			
+			return parse(s);
+		}
+		catch ( JsonHubIndexOutOfBoundsException | JsonHubNumberFormatException e ) {
+			throw new JsonHubParseException(e);
+		}
+	}
+	
+	private static class SeekValueResult {
+		
+		private final JsonHub value;
+		private final int endIndex;
+		
+		private SeekValueResult(JsonHub v, int index) {
+			this.value = v;
+			this.endIndex = index;
+		}
+	}
+	
+	private static JsonHub parse(String str) {
+		
+		FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, 0);
+		
+		SeekValueResult vr;
+		
+		if ( JsonStructuralChar.QUOT.match(r.c) ) {
+			
+			vr = parseStringValue(str, r.pos);
+			
+		} else if ( JsonStructuralChar.ARRAY_BIGIN.match(r.c) ) {
+			
+			vr = parseArrayValue(str, r.pos);
+			
+		} else if ( JsonStructuralChar.OBJECT_BIGIN.match(r.c) ) {
+			
+			vr = parseObjectValue(str, r.pos);
+			
+		} else {
+			
+			vr = parseNotStructuralValue(str, r.pos);
+			
+			if ( vr.endIndex < 0 ) {
+				
+				return vr.value;
+				
+			} else {
+				
+				throw new JsonHubParseException("Value is not Single \"" + str + "\"");
+			}
+		}
+		
+		if ( FindChars.nextIgnoreWhiteSpace(str, vr.endIndex).pos < 0 ) {
+			
+			return vr.value;
+			
+		} else {
+			
+			throw new JsonHubParseException("Value is not Single \"" + str + "\"");
+		}
+	}
+	
+	private static SeekValueResult parseNotStructuralValue(String str, int fromIndex) {
+		
+		FindCharResult r = FindChars.next(str, fromIndex,
+				JsonStructuralChar.SEPARATOR_VALUE.chr(),
+				JsonStructuralChar.ARRAY_END.chr(),
+				JsonStructuralChar.OBJECT_END.chr());
+				
+		String s;
+		
+		if ( r.pos < 0 ) {
+			
+			if ( fromIndex >= 0 ) {
+				
+				s = str.substring(fromIndex).trim();
+				
+			} else {
+				
+				throw new JsonHubIndexOutOfBoundsException();
+			}
+			
+		} else {
+			
+			s = str.substring(fromIndex, r.pos).trim();
+		}
+		
+		if ( JsonLiteral.NULL.match(s) ) {
+			
+			return new SeekValueResult(
+					JsonHubBuilder.getInstance().nullValue()
+					, r.pos);
+					
+		} else if ( JsonLiteral.TRUE.match(s) ) {
+			
+			return new SeekValueResult(
+					JsonHubBuilder.getInstance().trueValue()
+					, r.pos);
+					
+		} else if ( JsonLiteral.FALSE.match(s) ) {
+			
+			return new SeekValueResult(
+					JsonHubBuilder.getInstance().falseValue()
+					, r.pos);
+					
+		} else {
+			
+			return new SeekValueResult(
+					parseNumberValue(s)
+					, r.pos);
+		}
+	}
+	
+	private static JsonString parseString(String str) {
+		String s = str.trim();
+		return JsonString.ofEscaped(s.substring(1, (s.length() - 1)));
+	}
+	
+	private static SeekValueResult parseStringValue(String str, int fromIndex) {
+		
+		int endIndex = seekEndIndexOfString(str, fromIndex + 1);
+		return new SeekValueResult(
+				JsonHubBuilder.getInstance().string(
+						parseString(str.substring(fromIndex, endIndex)))
+				, endIndex);
+	}
+	
+	private static SeekValueResult parseArrayValue(String str, int fromIndex) {
+		
+		final List<JsonHub> ll = new ArrayList<>();
+		
+		boolean first = true;
+		
+		for (int i = (fromIndex + 1), len = str.length(); i < len;) {
+			
+			{
+				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
+				
+				if ( first ) {
+					
+					first = false;
+					
+					if ( JsonStructuralChar.ARRAY_END.match(r.c) ) {
+						
+						return new SeekValueResult(
+								JsonHubBuilder.getInstance().array(ll)
+								, r.pos + 1);
+								
+					}
+				}
+				
+				if ( JsonStructuralChar.QUOT.match(r.c) ) {
+					
+					SeekValueResult vr = parseStringValue(str, r.pos);
+					ll.add(vr.value);
+					i = vr.endIndex;
+					
+				} else if ( JsonStructuralChar.ARRAY_BIGIN.match(r.c) ) {
+					
+					SeekValueResult vr = parseArrayValue(str, r.pos);
+					ll.add(vr.value);
+					i = vr.endIndex;
+					
+				} else if ( JsonStructuralChar.OBJECT_BIGIN.match(r.c) ) {
+					
+					SeekValueResult vr = parseObjectValue(str, r.pos);
+					ll.add(vr.value);
+					i = vr.endIndex;
+					
+				} else if (JsonStructuralChar.SEPARATOR_NAME.match(r.c) || JsonStructuralChar.SEPARATOR_VALUE.match(r.c)) {
+					
+					throw new JsonHubParseException("Value is empty \"" + str + "\"");
+					
+				} else {
+					
+					SeekValueResult vr = parseNotStructuralValue(str, r.pos);
+					
+					if ( vr.endIndex < 0 ) {
+						
+						throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
+						
+					} else {
+						
+						ll.add(vr.value);
+						i = vr.endIndex;
+					}
+				}
+			}
+			
+			{
+				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
+				
+				if ( JsonStructuralChar.SEPARATOR_VALUE.match(r.c) ) {
+					
+					i = r.pos + 1;
+					
+				} else if ( JsonStructuralChar.ARRAY_END.match(r.c) ) {
+					
+					return new SeekValueResult(
+							JsonHubBuilder.getInstance().array(ll)
+							, r.pos + 1);
+							
+				} else {
+					
+					throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
+				}
+			}
+		}
+		
+		throw new JsonHubParseException("Not found end-of-ARRAY. fromIndex: " + fromIndex + " \"" + str + "\"");
+	}
+	
+	private static SeekValueResult parseObjectValue(String str, int fromIndex) {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		
+		final Collection<JsonObjectPair> pairs = new ArrayList<>();
+		
+		boolean first = true;
+		
+		for (int i = (fromIndex + 1), len = str.length(); i < len;) {
+			
+			if ( first ) {
+				
+				first = false;
+				
+				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
+				
+				if ( JsonStructuralChar.OBJECT_END.match(r.c) ) {
+					return new SeekValueResult(jhb.object(pairs), r.pos + 1);
+				}
+				
+				i = r.pos;
+			}
+			
+			int nameStartIndex = seekIndexOfNextQuot(str, i);
+			int nameEndIndex = seekEndIndexOfString(str, nameStartIndex + 1);
+			
+			JsonString js = parseString(str.substring(nameStartIndex, nameEndIndex));
+			
+			i = seekIndexOfNextColon(str, nameEndIndex) + 1;
+			
+			{
+				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
+				
+				if ( JsonStructuralChar.QUOT.match(r.c) ) {
+					
+					SeekValueResult vr = parseStringValue(str, r.pos);
+					pairs.add(jhb.pair(js, vr.value));
+					i = vr.endIndex;
+					
+				} else if ( JsonStructuralChar.ARRAY_BIGIN.match(r.c) ) {
+					
+					SeekValueResult vr = parseArrayValue(str, r.pos);
+					pairs.add(jhb.pair(js, vr.value));
+					i = vr.endIndex;
+					
+				} else if ( JsonStructuralChar.OBJECT_BIGIN.match(r.c) ) {
+					
+					SeekValueResult vr = parseObjectValue(str, r.pos);
+					pairs.add(jhb.pair(js, vr.value));
+					i = vr.endIndex;
+					
+				} else if (JsonStructuralChar.SEPARATOR_NAME.match(r.c) || JsonStructuralChar.SEPARATOR_VALUE.match(r.c)) {
+					
+					throw new JsonHubParseException("Value is empty. index: " + r.pos + " \"" + str + "\"");
+					
+				} else {
+					
+					SeekValueResult vr = parseNotStructuralValue(str, r.pos);
+					
+					if ( vr.endIndex < 0 ) {
+						
+						throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
+						
+					} else {
+						
+						pairs.add(jhb.pair(js, vr.value));
+						i = vr.endIndex;
+					}
+				}
+			}
+			
+			{
+				FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, i);
+				
+				if ( JsonStructuralChar.SEPARATOR_VALUE.match(r.c) ) {
+					
+					i = r.pos + 1;
+					
+				} else if ( JsonStructuralChar.OBJECT_END.match(r.c) ) {
+					
+					return new SeekValueResult(
+							jhb.object(pairs)
+							, r.pos + 1);
+							
+				} else {
+					
+					throw new JsonHubParseException("Not found end-of-value. index: " + r.pos + " \"" + str + "\"");
+				}
+			}
+		}
+		
+		throw new JsonHubParseException("Not found end-of-OBJECT. fromIndex: " + fromIndex + " \"" + str + "\"");
+	}
+	
+	private static JsonHub parseNumberValue(String str) {
+		
+		
+		//TODO
+		return JsonHubBuilder.getInstance().number(str);
+	}
+	
+	private static int seekIndexOfNextQuot(String str, int fromIndex) {
+		FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, fromIndex);
+		if ((r.pos >= 0) && JsonStructuralChar.QUOT.match(r.c) ) {
+			return r.pos;
+		} else {
+			throw new JsonHubParseException("Not found Quot. fromIndex: " + fromIndex + " \"" + str + "\"");
+		}
+	}
+	
+	private static int seekIndexOfNextColon(String str, int fromIndex) {
+		FindCharResult r = FindChars.nextIgnoreWhiteSpace(str, fromIndex);
+		if ((r.pos >= 0) && JsonStructuralChar.SEPARATOR_NAME.match(r.c)) {
+			return r.pos;
+		} else {
+			throw new JsonHubParseException("Not found \":\" fromIndex: " + fromIndex + " \"" + str + "\"");
+		}
+	}
+	
+	private static int seekEndIndexOfString(String str, int fromIndex) {
+		
+		FindCharResult r = FindChars.nextIgnoreEscape(str, fromIndex, JsonStructuralChar.QUOT.chr());
+		if ( r.pos < 0 ) {
+			throw new JsonHubParseException("Not found end-of-STRING. fromIndex: " + fromIndex + " \"" + str + "\"");
+		} else {
+			return r.pos + 1;
+		}
+	}
+	
+}
@@ -0,0 +1,158 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubType;
+
+/**
+ * This class is test of {@link DoubleJsonHub}.
+ * 
+ * <p>
+ * Values, equality and hash code are compared with NumberJsonHub of Double.<br />
+ * Text of parsed plain decimal is same as parsed, by scale.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class DoubleJsonHubTest extends JsonHubTestCase {
+	
+	private static final int RANDOM_VALUES = 5000;
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final double[] fixed = {
+				0.0D, -0.0D, 1.0D, -1.5D, 0.1D, 1e-7D, 1e21D, 123456.789D,
+				Double.MIN_VALUE, Double.MAX_VALUE, (double)Long.MAX_VALUE
+		};
+		
+		for ( double v : fixed ) {
+			assertDouble(v);
+		}
+		
+		final Random r = new Random(14L);
+		
+		for ( int i = 0; i < RANDOM_VALUES; ++i ) {
+			assertDouble(Double.longBitsToDouble(r.nextLong()));
+			assertPlain(r);
+		}
+		
+		testScale();
+		testBuilder();
+	}
+	
+	private static JsonHub serialize(JsonHub v) throws IOException, ClassNotFoundException {
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		
+		try (
+				ObjectOutputStream oos = new ObjectOutputStream(baos);
+				) {
+			oos.writeObject(v);
+		}
+		
+		try (
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+				) {
+			return (JsonHub)ois.readObject();
+		}
+	}
+	
+	private void assertDouble(double v) throws Exception {
+		
+		if ( Double.isNaN(v) || Double.isInfinite(v) ) {
+			return;
+		}
+		
+		final DoubleJsonHub jh = new DoubleJsonHub(v);
+		final NumberJsonHub boxed = new NumberJsonHub(Double.valueOf(v));
+		final String tag = " " + v;
+		
+		assertEquals(JsonHubType.NUMBER, jh.type(), "type" + tag);
+		assertEquals(Double.toString(v), jh.toJson(), "toJson" + tag);
+		assertEquals((int)v, jh.intValue(), "intValue" + tag);
+		assertEquals((long)v, jh.longValue(), "longValue" + tag);
+		assertEquals(v, jh.doubleValue(), "doubleValue" + tag);
+		assertEquals(boxed.optionalInt(), jh.optionalInt(), "optionalInt" + tag);
+		assertEquals(boxed.optionalLong(), jh.optionalLong(), "optionalLong" + tag);
+		assertEquals(boxed.optionalDouble(), jh.optionalDouble(), "optionalDouble" + tag);
+		assertEquals(boxed.optionalNubmer(), jh.optionalNubmer(), "optionalNubmer" + tag);
+		
+		assertEquals(boxed, jh, "equals boxed" + tag);
+		assertEquals(jh, boxed, "boxed equals" + tag);
+		assertEquals(boxed.hashCode(), jh.hashCode(), "hashCode" + tag);
+		assertEquals(jh, JsonHub.fromJson(jh.toJson()), "reparse" + tag);
+		assertEquals(jh, serialize(jh), "serialize" + tag);
+	}
+	
+	/**
+	 * Random plain decimal up to 15 digits, parsed to DoubleJsonHub which prints same text.
+	 */
+	private void assertPlain(Random r) throws Exception {
+		
+		final int digits = 2 + r.nextInt(DoubleJsonHub.MAX_PLAIN_DIGITS - 1);
+		final int scale = 1 + r.nextInt(digits - 1);
+		final int intDigits = digits - scale;
+		final StringBuilder sb = new StringBuilder();
+		
+		if ( r.nextBoolean() ) {
+			sb.append('-');
+		}
+		
+		for ( int i = 0; i < digits; ++i ) {
+			
+			if ( i == intDigits ) {
+				sb.append('.');
+			}
+			
+			/* no leading zero of integer part */
+			sb.append((char)('0' + (i == 0 && intDigits > 1 ? 1 + r.nextInt(9) : r.nextInt(10))));
+		}
+		
+		final String s = sb.toString();
+		final JsonHub v = JsonHub.fromJson(s);
+		
+		assertTrue(v instanceof DoubleJsonHub, "plain DoubleJsonHub " + s);
+		assertEquals(s, v.toJson(), "plain toJson " + s);
+		assertEquals(Double.parseDouble(s), v.doubleValue(), "plain doubleValue " + s);
+		assertEquals(new BigDecimal(s).scale(), ((DoubleJsonHub)v).scale(), "plain scale " + s);
+		assertEquals(s, serialize(v).toJson(), "plain serialize " + s);
+	}
+	
+	private void testScale() {
+		
+		assertEquals("1.500", new DoubleJsonHub(1.5D, 3).toJson(), "scale 3");
+		assertEquals("123", new DoubleJsonHub(123.0D, 0).toJson(), "scale 0");
+		assertEquals("0.001", new DoubleJsonHub(0.001D, 3).toJson(), "scale small");
+		assertEquals("-0.0", new DoubleJsonHub(-0.0D, 1).toJson(), "scale negative zero");
+		assertEquals("-0.25", new DoubleJsonHub(-0.25D, 2).toJson(), "scale negative");
+		assertEquals("1.0", new DoubleJsonHub(1.0D, -1).toJson(), "no scale");
+		
+		/* scale is not compared */
+		assertEquals(JsonHub.fromJson("1.0"), JsonHub.fromJson("1.00"), "equals scale");
+		assertEquals(JsonHub.fromJson("1.0").hashCode(), JsonHub.fromJson("1.00").hashCode(), "hashCode scale");
+		assertTrue(! JsonHub.fromJson("0.0").equals(JsonHub.fromJson("-0.0")), "signed zero");
+		
+		assertThrows(IllegalArgumentException.class, () -> new DoubleJsonHub(1.0D, DoubleJsonHub.MAX_PLAIN_DIGITS + 1), "scale > max");
+	}
+	
+	private void testBuilder() {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		
+		assertTrue(jhb.number(1.5D) instanceof DoubleJsonHub, "number(double)");
+		assertTrue(jhb.number(Double.valueOf(1.5D)) instanceof DoubleJsonHub, "number(Double)");
+		assertEquals("1.5", jhb.number(1.5D).toJson(), "number(double) toJson");
+		assertEquals(jhb.number(1.5D), jhb.number("1.50"), "number(CharSequence)");
+	}
+	
+}
@@ -0,0 +1,108 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubConcatenatedReader;
+import com.shimizukenta.jsonhub.JsonHubIncrementalParser;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+
+/**
+ * This class is test of end of NUMBER and literal tokens in stream parsers.
+ * 
+ * <p>
+ * Top-level values which are not separated by white-space are parsed by
+ * {@link JsonHubIncrementalParser} and {@link JsonHubConcatenatedReader}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonBareTokenTest extends JsonHubTestCase {
+	
+	private static final String[][] CONCATENATED = {
+			{"1[2]", "1", "[2]"},
+			{"true{}", "true", "{}"},
+			{"1\"a\"", "1", "\"a\""},
+			{"null\"x\"false[]-1.5e3{\"a\":1}", "null", "\"x\"", "false", "[]", "-1.5e3", "{\"a\":1}"},
+			{"[1,true]2", "[1,true]", "2"},
+			{"{\"a\":null}3 4", "{\"a\":null}", "3", "4"}
+	};
+	
+	private static final String[] ERRORS = {
+			"[1[2]]",
+			"[true{}]",
+			"[1\"a\"]",
+			"{\"a\":1:2}",
+			"{\"a\":1\"b\":2}",
+			":"
+	};
+	
+	@Override
+	protected void test() throws Exception {
+		
+		for ( String[] c : CONCATENATED ) {
+			
+			final List<String> expected = new ArrayList<>();
+			
+			for ( int i = 1; i < c.length; ++i ) {
+				expected.add(JsonHub.fromJson(c[i]).toJson());
+			}
+			
+			assertEquals(expected, incremental(c[0], 1), "incremental(1) " + c[0]);
+			assertEquals(expected, incremental(c[0], c[0].length()), "incremental(all) " + c[0]);
+			assertEquals(expected, concatenated(c[0]), "concatenated " + c[0]);
+		}
+		
+		for ( String s : ERRORS ) {
+			assertThrows(JsonHubParseException.class, () -> incremental(s, 1), "incremental " + s);
+			assertThrows(JsonHubParseException.class, () -> concatenated(s), "concatenated " + s);
+		}
+	}
+	
+	private static List<String> incremental(String json, int chunk) {
+		
+		final byte[] bs = json.getBytes(StandardCharsets.UTF_8);
+		final JsonHubIncrementalParser p = JsonHubIncrementalParser.newParser();
+		final List<String> ll = new ArrayList<>();
+		
+		for ( int i = 0; i < bs.length; i += chunk ) {
+			
+			p.feed(ByteBuffer.wrap(bs, i, Math.min(chunk, bs.length - i)));
+			
+			for ( JsonHub v; (v = p.poll()) != null; ) {
+				ll.add(v.toJson());
+			}
+		}
+		
+		p.endOfInput();
+		
+		for ( JsonHub v; (v = p.poll()) != null; ) {
+			ll.add(v.toJson());
+		}
+		
+		return ll;
+	}
+	
+	private static List<String> concatenated(String json) throws IOException {
+		
+		final List<String> ll = new ArrayList<>();
+		
+		try (
+				JsonHubConcatenatedReader r = JsonHubConcatenatedReader.newReader(new StringReader(json));
+				) {
+			
+			while ( r.hasNext() ) {
+				ll.add(r.next().toJson());
+			}
+		}
+		
+		return ll;
+	}
+	
+}
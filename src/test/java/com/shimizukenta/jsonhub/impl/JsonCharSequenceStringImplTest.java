@@ -0,0 +1,139 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is test of {@link JsonCharSequenceStringImpl}.
+ * 
+ * <p>
+ * Slices of source String, with and without escape sequence,
+ * are compared with {@link JsonString#ofUnescaped(CharSequence)}.<br />
+ * Mutable source is copied before parsing.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonCharSequenceStringImplTest extends JsonHubTestCase {
+	
+	private static final String[] UNESCAPED = {
+			"",
+			"a",
+			"abc def",
+			"\u3042\u3044\u3046",
+			"\uD83D\uDE00 emoji",
+			"quot \" back \\ slash /",
+			"ctrl \b\f\n\r\t \u0001 \u001F",
+			"line1\nline2\n"
+	};
+	
+	@Override
+	protected void test() throws Exception {
+		
+		for ( String u : UNESCAPED ) {
+			testSlice(u);
+			testParsed(u);
+		}
+		
+		testMutableSource();
+	}
+	
+	private static JsonStringImpl slice(String escaped) {
+		final String src = "[\"" + escaped + "\"]";
+		return JsonCharSequenceStringImpl.ofEscaped(src, 2, escaped.length(), (escaped.indexOf('\\') >= 0));
+	}
+	
+	private static String write(JsonStringImpl s) throws IOException {
+		final StringWriter w = new StringWriter();
+		s.writeEscaped(w);
+		return w.toString();
+	}
+	
+	private static Object serialize(Object v) throws IOException, ClassNotFoundException {
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		
+		try (
+				ObjectOutputStream oos = new ObjectOutputStream(baos);
+				) {
+			oos.writeObject(v);
+		}
+		
+		try (
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+				) {
+			return ois.readObject();
+		}
+	}
+	
+	private void testSlice(String u) throws Exception {
+		
+		final JsonString expected = JsonString.ofUnescaped(u);
+		final String e = expected.escaped();
+		final String tag = " " + e;
+		
+		/* written from source, before copied */
+		final JsonStringImpl w = slice(e);
+		assertEquals(e, write(w), "writeEscaped source" + tag);
+		assertEquals(e, w.escaped(), "escaped after write" + tag);
+		assertEquals(e, write(w), "writeEscaped copied" + tag);
+		
+		final JsonStringImpl s = slice(e);
+		assertEquals(e, s.escaped(), "escaped" + tag);
+		assertEquals(u, s.unescaped(), "unescaped" + tag);
+		assertEquals(u, s.toString(), "toString" + tag);
+		assertEquals(u.length(), s.length(), "length" + tag);
+		assertEquals(u.isEmpty(), s.isEmpty(), "isEmpty" + tag);
+		
+		if ( e.indexOf('\\') < 0 ) {
+			assertTrue(s.escaped() == s.unescaped(), "same instance if no escape" + tag);
+		}
+		
+		/* unescaped first */
+		assertEquals(u, slice(e).unescaped(), "unescaped first" + tag);
+		
+		assertEquals(expected, s, "equals ofUnescaped" + tag);
+		assertEquals(s, expected, "ofUnescaped equals" + tag);
+		assertEquals(expected.hashCode(), s.hashCode(), "hashCode" + tag);
+		assertEquals(JsonString.ofEscaped(e), slice(e), "equals ofEscaped" + tag);
+		
+		final Object copy = serialize(slice(e));
+		assertEquals(expected, copy, "serialize" + tag);
+		assertEquals(JsonStringImpl.class, copy.getClass(), "serialize class" + tag);
+	}
+	
+	private void testParsed(String u) {
+		
+		final String doc = "{\"k\":\"" + JsonString.ofUnescaped(u).escaped() + "\",\"n\":[\"x\",1]}";
+		final String tag = " " + doc;
+		
+		for ( JsonHub v : new JsonHub[] {JsonCharSequenceParser.parse(doc), JsonHub.fromJson(doc)} ) {
+			assertEquals(u, v.get("k").optionalString().get(), "parsed optionalString" + tag);
+			assertEquals(BaselineJsonReader.fromJson(doc), v, "parsed equals" + tag);
+			assertEquals(doc, v.toJson(), "parsed toJson" + tag);
+		}
+	}
+	
+	private void testMutableSource() {
+		
+		final StringBuilder sb = new StringBuilder("[\"abc\",\"d\\ne\"]");
+		final JsonHub v = JsonHub.fromJson(sb);
+		
+		/* source changed after parsed */
+		sb.setLength(0);
+		sb.append("[\"xyz\",\"0\\t1\"]");
+		
+		assertEquals("abc", v.get(0).optionalString().get(), "StringBuilder copied");
+		assertEquals("d\ne", v.get(1).optionalString().get(), "StringBuilder copied escaped");
+		assertEquals("[\"abc\",\"d\\ne\"]", v.toJson(), "StringBuilder copied toJson");
+	}
+	
+}
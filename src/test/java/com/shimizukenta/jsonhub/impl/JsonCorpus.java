@@ -0,0 +1,296 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class is shared corpus of JSON documents for tests and benchmarks.
+ * 
+ * <p>
+ * All documents are valid JSON.<br />
+ * Random documents are generated from fixed seed, corpus is same in each run.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public final class JsonCorpus {
+	
+	private JsonCorpus() {
+	}
+	
+	private static final List<String> fixed = Collections.unmodifiableList(Arrays.asList(
+			"null",
+			"true",
+			"false",
+			"0",
+			"-0",
+			"123",
+			"-1.5",
+			"1e5",
+			"1E-400",
+			"-2.5e-3",
+			"3.14159265358979323846264338327950288",
+			"9223372036854775807",
+			"-9223372036854775808",
+			"9223372036854775808",
+			"123456789012345678901234567890",
+			"4.9e-324",
+			"1.7976931348623157e308",
+			"\"\"",
+			"\"abc\"",
+			"\"a\\\"b\"",
+			"\"\\/\\\\\\b\\f\\n\\r\\t\"",
+			"\"\\u3042\\u0041\\u00e9\"",
+			"\"\u3042\u3044\u3046\"",
+			"\"\uD83D\uDE00 \\uD83D\\uDE00\"",
+			"{}",
+			"[]",
+			" { } ",
+			"[ ]",
+			"\t\r\n [ 1 ,\t2 ,\n3 ] \r\n",
+			"{\"a\":1,\"b\":[1,2,{\"c\":null}],\"d\":\"x\\ny\",\"e\":true,\"f\":false}",
+			"[1, 2 ,3 , \"x\" , [ ] , { } ]",
+			"{ \"k\" : { \"k2\" : [ true , false , null ] } }",
+			"{\"\u3042\":\"\u3044\",\"\\u3046\":\"\\\"\"}",
+			"[-0, 0.5, 100000000000, 3.25]",
+			"[1E+2,-2.5e-3,1e5,0.1,1.0,1.50]",
+			"[1,2,3,4,5,6,7,8,9,10]",
+			"[1.5,2.25,-3.125,0.0]",
+			"[1,2.5,3]",
+			"[1,\"2\",3]",
+			"[9223372036854775807,-9223372036854775808]",
+			"[[1,2],[3,4],[5.5,6.5]]",
+			"[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"c\"}]",
+			"[{\"id\":1,\"name\":\"a\"},{\"name\":\"b\",\"id\":2},{\"id\":3}]",
+			"{\"a\":{\"a\":{\"a\":{\"a\":[[[[]]]]}}}}",
+			"{\"dup\":1,\"dup\":2}"
+			));
+			
+	/**
+	 * Returns fixed documents.
+	 * 
+	 * @return fixed documents
+	 */
+	public static List<String> fixed() {
+		return fixed;
+	}
+	
+	/**
+	 * Returns fixed and random documents.
+	 * 
+	 * @param count count of random documents
+	 * @return documents
+	 */
+	public static List<String> documents(int count) {
+		final List<String> ll = new ArrayList<>(fixed);
+		final Random r = new Random(20241018L);
+		for ( int i = 0; i < count; ++i ) {
+			final StringBuilder sb = new StringBuilder();
+			value(sb, r, 0);
+			ll.add(sb.toString());
+		}
+		return ll;
+	}
+	
+	/**
+	 * Returns large ARRAY of records, for parallel parsing and benchmarks.
+	 * 
+	 * @param minLength minimum length of chars
+	 * @return large ARRAY
+	 */
+	public static String largeArray(int minLength) {
+		final Random r = new Random(7L);
+		final StringBuilder sb = new StringBuilder(minLength + 1024);
+		sb.append('[');
+		for ( int i = 0; sb.length() < minLength; ++i ) {
+			if ( i > 0 ) {
+				sb.append(',');
+			}
+			record(sb, r, i);
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends one record object, same shape in every call.
+	 * 
+	 * @param sb the StringBuilder
+	 * @param r the Random
+	 * @param id the id
+	 */
+	public static void record(StringBuilder sb, Random r, int id) {
+		sb.append("{\"id\":").append(id)
+		.append(",\"name\":\"user").append(id).append('"')
+		.append(",\"score\":").append(r.nextInt(1000000) / 100.0)
+		.append(",\"active\":").append(r.nextBoolean())
+		.append(",\"tags\":[\"a\",\"b\\n\",\"\u3042\"]")
+		.append(",\"point\":[").append(r.nextInt(1000)).append(',').append(r.nextInt(1000)).append(']')
+		.append(",\"note\":null}");
+	}
+	
+	private static final String[] names = {
+			"id", "name", "value", "a", "b", "\u3042", "x\\ny", "\\u0041", "\\\"q\\\"", "long_name_of_member"
+	};
+	
+	private static void value(StringBuilder sb, Random r, int depth) {
+		
+		final int k = r.nextInt(depth < 4 ? 10 : 7);
+		
+		switch ( k ) {
+		case 0: {
+			sb.append("null");
+			break;
+		}
+		case 1: {
+			sb.append(r.nextBoolean());
+			break;
+		}
+		case 2: {
+			number(sb, r);
+			break;
+		}
+		case 3:
+		case 4: {
+			string(sb, r);
+			break;
+		}
+		case 5: {
+			numberArray(sb, r);
+			break;
+		}
+		case 6: {
+			sb.append(ws(r)).append("[]").append(ws(r));
+			break;
+		}
+		case 7:
+		case 8: {
+			final int n = r.nextInt(6);
+			sb.append('[');
+			for ( int i = 0; i < n; ++i ) {
+				if ( i > 0 ) {
+					sb.append(',');
+				}
+				sb.append(ws(r));
+				value(sb, r, depth + 1);
+				sb.append(ws(r));
+			}
+			sb.append(']');
+			break;
+		}
+		default: {
+			final int n = r.nextInt(6);
+			sb.append('{');
+			for ( int i = 0; i < n; ++i ) {
+				if ( i > 0 ) {
+					sb.append(',');
+				}
+				sb.append(ws(r)).append('"').append(names[r.nextInt(names.length)]).append('"')
+				.append(ws(r)).append(':').append(ws(r));
+				value(sb, r, depth + 1);
+				sb.append(ws(r));
+			}
+			sb.append('}');
+		}
+		}
+	}
+	
+	private static String ws(Random r) {
+		switch ( r.nextInt(8) ) {
+		case 0: {
+			return " ";
+		}
+		case 1: {
+			return "\n\t";
+		}
+		case 2: {
+			return "\r\n  ";
+		}
+		default: {
+			return "";
+		}
+		}
+	}
+	
+	/**
+	 * Appends random NUMBER.
+	 * 
+	 * @param sb the StringBuilder
+	 * @param r the Random
+	 */
+	public static void number(StringBuilder sb, Random r) {
+		switch ( r.nextInt(9) ) {
+		case 0: {
+			sb.append(r.nextInt());
+			break;
+		}
+		case 1: {
+			sb.append(r.nextLong());
+			break;
+		}
+		case 2: {
+			sb.append(r.nextDouble() * 1000.0);
+			break;
+		}
+		case 3: {
+			sb.append(Double.longBitsToDouble(r.nextLong() & 0x7FEFFFFFFFFFFFFFL));
+			break;
+		}
+		case 4: {
+			sb.append(r.nextInt(100)).append('e').append(r.nextInt(40) - 20);
+			break;
+		}
+		case 5: {
+			sb.append('-').append(r.nextInt(10)).append('.').append(r.nextInt(1000000)).append("E+").append(r.nextInt(30));
+			break;
+		}
+		case 6: {
+			sb.append(Long.MAX_VALUE).append(r.nextInt(1000));
+			break;
+		}
+		case 7: {
+			sb.append("0.").append(Math.abs(r.nextLong())).append(Math.abs(r.nextLong()));
+			break;
+		}
+		default: {
+			sb.append(r.nextInt(10));
+		}
+		}
+	}
+	
+	private static void numberArray(StringBuilder sb, Random r) {
+		final int n = 1 + r.nextInt(8);
+		final boolean decimal = r.nextBoolean();
+		sb.append('[');
+		for ( int i = 0; i < n; ++i ) {
+			if ( i > 0 ) {
+				sb.append(',');
+			}
+			if ( decimal ) {
+				sb.append(r.nextInt(10000) / 100.0);
+			} else {
+				sb.append(r.nextInt(2000) - 1000);
+			}
+		}
+		sb.append(']');
+	}
+	
+	private static final String[] fragments = {
+			"a", "xyz", " ", "\\n", "\\t", "\\\"", "\\\\", "\\/", "\\b\\f\\r",
+			"\\u0041", "\\u3042", "\\uD83D\\uDE00", "\u3042\u3044", "\u00e9", "\uD83D\uDE00", "0123456789"
+	};
+	
+	private static void string(StringBuilder sb, Random r) {
+		final int n = r.nextInt(6);
+		sb.append('"');
+		for ( int i = 0; i < n; ++i ) {
+			sb.append(fragments[r.nextInt(fragments.length)]);
+		}
+		sb.append('"');
+	}
+	
+}
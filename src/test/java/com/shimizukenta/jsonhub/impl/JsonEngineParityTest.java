@@ -0,0 +1,725 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubConcatenatedReader;
+import com.shimizukenta.jsonhub.JsonHubHandler;
+import com.shimizukenta.jsonhub.JsonHubIncrementalParser;
+import com.shimizukenta.jsonhub.JsonHubLinesWriter;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonHubPrettyPrinter;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+import com.shimizukenta.jsonhub.JsonHubStreamReader;
+import com.shimizukenta.jsonhub.JsonHubType;
+
+/**
+ * This class is test of parity between parsing engines and baseline engine.
+ * 
+ * <p>
+ * Each document of {@link JsonCorpus} is parsed by {@link BaselineJsonReader},
+ * and by each engine, results must be {@code equals}, same {@code hashCode} and same {@code toJson}.<br />
+ * Event engines ({@link JsonHubHandler}) must fire same events as walking baseline tree.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonEngineParityTest extends JsonHubTestCase {
+	
+	private static final int RANDOM_DOCUMENTS = 2000;
+	
+	private static interface Engine {
+		public JsonHub parse(String json) throws Exception;
+	}
+	
+	private static interface EventEngine {
+		public void parse(String json, JsonHubHandler handler) throws Exception;
+	}
+	
+	private static JsonHubReaderConfig config(boolean lazy, boolean parallel, boolean internNames) {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.lazy(lazy);
+		c.parallel(parallel);
+		c.internNames(internNames);
+		return c;
+	}
+	
+	private static JsonHubReaderConfig indexed() {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.indexed(true);
+		return c;
+	}
+	
+	private static byte[] utf8(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private static ByteBuffer direct(String json) {
+		final byte[] bs = utf8(json);
+		final ByteBuffer bb = ByteBuffer.allocateDirect(bs.length + 6);
+		bb.put("xyz".getBytes(StandardCharsets.US_ASCII));
+		bb.put(bs);
+		bb.put("abc".getBytes(StandardCharsets.US_ASCII));
+		bb.flip();
+		bb.position(3);
+		bb.limit(3 + bs.length);
+		return bb;
+	}
+	
+	private static JsonHub incremental(String json, int chunk) {
+		final byte[] bs = utf8(json);
+		final JsonHubIncrementalParser p = JsonHubIncrementalParser.newParser();
+		for ( int i = 0; i < bs.length; i += chunk ) {
+			p.feed(ByteBuffer.wrap(bs, i, Math.min(chunk, bs.length - i)));
+		}
+		p.endOfInput();
+		return p.poll();
+	}
+	
+	private static JsonHub streamReader(JsonHubStreamReader r) throws IOException {
+		try {
+			return r.readValueAsJsonHub();
+		}
+		finally {
+			r.close();
+		}
+	}
+	
+	private static final List<String> engineNames = new ArrayList<>();
+	private static final List<Engine> engines = new ArrayList<>();
+	
+	private static void engine(String name, Engine e) {
+		engineNames.add(name);
+		engines.add(e);
+	}
+	
+	static {
+		engine("cursor(String)", JsonHub::fromJson);
+		engine("cursor(StringBuilder)", s -> JsonHub.fromJson(new StringBuilder(s)));
+		engine("cursor(Reader)", s -> JsonHub.fromJson(new StringReader(s)));
+		engine("cursor(no-intern)", s -> JsonHub.fromJson(s, config(false, false, false)));
+		engine("utf8(byte[])", s -> JsonHub.fromBytes(utf8(s)));
+		engine("utf8(direct)", s -> JsonHub.fromBytes(direct(s)));
+		engine("utf8(InputStream)", s -> JsonHub.fromBytes(new ByteArrayInputStream(utf8(s))));
+		engine("utf8(no-intern)", s -> JsonHub.fromBytes(utf8(s), config(false, false, false)));
+		engine("indexed(utf8)", s -> JsonHub.fromBytes(utf8(s), indexed()));
+		engine("lazy(String)", s -> JsonHub.fromJson(s, config(true, false, true)));
+		engine("lazy(StringBuilder)", s -> JsonHub.fromJson(new StringBuilder(s), config(true, false, true)));
+		engine("lazy(utf8)", s -> JsonHub.fromBytes(direct(s), config(true, false, true)));
+		engine("parallel(String)", s -> JsonHub.fromJson(s, config(false, true, true)));
+		engine("parallel(utf8)", s -> JsonHub.fromBytes(utf8(s), config(false, true, true)));
+		engine("incremental(1)", s -> incremental(s, 1));
+		engine("incremental(7)", s -> incremental(s, 7));
+		engine("incremental(all)", s -> incremental(s, Integer.MAX_VALUE));
+		engine("stream(Reader)", s -> streamReader(JsonHubStreamReader.newReader(new StringReader(s))));
+		engine("stream(InputStream)", s -> streamReader(JsonHubStreamReader.newReader(new ByteArrayInputStream(utf8(s)))));
+		engine("stream(Channel)", s -> streamReader(JsonHubStreamReader.newReader(Channels.newChannel(new ByteArrayInputStream(utf8(s))))));
+	}
+	
+	private static final List<String> eventEngineNames = new ArrayList<>();
+	private static final List<EventEngine> eventEngines = new ArrayList<>();
+	
+	private static void eventEngine(String name, EventEngine e) {
+		eventEngineNames.add(name);
+		eventEngines.add(e);
+	}
+	
+	static {
+		eventEngine("handler(String)", JsonHub::parse);
+		eventEngine("handler(byte[])", (s, h) -> JsonHub.parse(utf8(s), h));
+		eventEngine("handler(direct)", (s, h) -> JsonHub.parse(direct(s), h));
+		eventEngine("handler(Reader)", (s, h) -> JsonHub.parse(new StringReader(s), h));
+		eventEngine("handler(InputStream)", (s, h) -> JsonHub.parse(new ByteArrayInputStream(utf8(s)), h));
+		eventEngine("handler(incremental)", (s, h) -> {
+			final JsonHubIncrementalParser p = JsonHubIncrementalParser.newParser(h);
+			p.feed(ByteBuffer.wrap(utf8(s)));
+			p.endOfInput();
+		});
+	}
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final List<String> docs = JsonCorpus.documents(RANDOM_DOCUMENTS);
+		final List<JsonHub> baselines = new ArrayList<>();
+		
+		for ( String doc : docs ) {
+			baselines.add(BaselineJsonReader.fromJson(doc));
+		}
+		
+		for ( int i = 0, n = docs.size(); i < n; ++i ) {
+			testDocument(docs.get(i), baselines.get(i));
+		}
+		
+		testConcatenated(docs, baselines);
+		testJsonLines(baselines);
+		testLargeArray();
+		testLargeArrayErrors();
+		testEndOfBareToken();
+		testShapes();
+		testBytesCopied();
+		testCacheStringJson();
+		testBom();
+	}
+	
+	private void testDocument(String doc, JsonHub expected) throws Exception {
+		
+		for ( int i = 0, n = engines.size(); i < n; ++i ) {
+			
+			final String name = engineNames.get(i);
+			
+			try {
+				assertParity(name, doc, expected, engines.get(i).parse(doc));
+			}
+			catch ( Exception e ) {
+				fail(name + " " + abbr(doc) + " thrown " + e);
+			}
+		}
+		
+		final String events = events(expected);
+		
+		for ( int i = 0, n = eventEngines.size(); i < n; ++i ) {
+			
+			final String name = eventEngineNames.get(i);
+			final EventRecorder h = new EventRecorder();
+			
+			try {
+				eventEngines.get(i).parse(doc, h);
+				assertEquals(events, h.toString(), name + " " + abbr(doc));
+			}
+			catch ( Exception e ) {
+				fail(name + " " + abbr(doc) + " thrown " + e);
+			}
+		}
+		
+		testWriters(doc, expected, JsonHub.fromBytes(utf8(doc)));
+	}
+	
+	private void testWriters(String doc, JsonHub expected, JsonHub v) throws IOException {
+		
+		final String json = expected.toJson();
+		final byte[] bs = utf8(json);
+		
+		final StringWriter sw = new StringWriter();
+		v.toJson(sw);
+		assertEquals(json, sw.toString(), "toJson(Writer) " + abbr(doc));
+		
+		final ByteArrayOutputStream strm = new ByteArrayOutputStream();
+		v.writeTo(strm);
+		assertTrue(Arrays.equals(bs, strm.toByteArray()), "writeTo(OutputStream) " + abbr(doc));
+		
+		final ByteBuffer bb = ByteBuffer.allocate(bs.length);
+		v.writeTo(bb);
+		assertTrue(Arrays.equals(bs, bb.array()), "writeTo(ByteBuffer) " + abbr(doc));
+		
+		assertTrue(Arrays.equals(bs, v.getBytes()), "getBytes " + abbr(doc));
+		assertEquals(expected.prettyPrint(), v.prettyPrint(), "prettyPrint " + abbr(doc));
+		assertEquals(expected.toJsonExcludedNullValueInObject(), v.toJsonExcludedNullValueInObject(), "toJsonExcludedNullValueInObject " + abbr(doc));
+	}
+	
+	private void testConcatenated(List<String> docs, List<JsonHub> baselines) throws IOException {
+		
+		final String src = String.join(" ", docs);
+		
+		try (
+				JsonHubConcatenatedReader r = JsonHubConcatenatedReader.newReader(new StringReader(src));
+				) {
+			assertConcatenated("concatenated(Reader)", r, baselines);
+		}
+		
+		try (
+				JsonHubConcatenatedReader r = JsonHubConcatenatedReader.newReader(new ByteArrayInputStream(utf8(src)));
+				) {
+			assertConcatenated("concatenated(InputStream)", r, baselines);
+		}
+	}
+	
+	private void assertConcatenated(String name, JsonHubConcatenatedReader r, List<JsonHub> baselines) throws IOException {
+		
+		int i = 0;
+		
+		while ( r.hasNext() ) {
+			
+			final JsonHub v = r.next();
+			
+			if ( i < baselines.size() ) {
+				assertParity(name, "#" + i, baselines.get(i), v);
+			}
+			
+			++ i;
+		}
+		
+		assertEquals(baselines.size(), i, name + " count");
+	}
+	
+	private void testJsonLines(List<JsonHub> baselines) throws IOException {
+		
+		final StringWriter sw = new StringWriter();
+		
+		try (
+				JsonHubLinesWriter w = JsonHubLinesWriter.newWriter(sw);
+				) {
+			w.write(baselines.stream());
+		}
+		
+		final String lines = sw.toString();
+		
+		assertEquals(
+				baselines.stream().map(JsonHub::toJson).collect(Collectors.joining("\n", "", "\n")),
+				lines,
+				"linesWriter");
+				
+		assertJsonLines("jsonLines(Reader)", JsonHub.fromJsonLines(new StringReader(lines)), baselines);
+		assertJsonLines("jsonLines(InputStream)", JsonHub.fromJsonLines(new ByteArrayInputStream(utf8(lines))), baselines);
+		assertJsonLines("jsonLines(parallel)", JsonHub.fromJsonLines(new StringReader(lines), config(false, true, true)), baselines);
+		
+		final Path path = Files.createTempFile("jsonhub-test", ".ndjson");
+		
+		try {
+			Files.write(path, utf8(lines));
+			assertJsonLines("jsonLines(Path)", JsonHub.fromJsonLines(path), baselines);
+		}
+		finally {
+			Files.deleteIfExists(path);
+		}
+	}
+	
+	private void assertJsonLines(String name, Stream<JsonHub> stream, List<JsonHub> baselines) {
+		
+		final List<JsonHub> ll;
+		
+		try (
+				Stream<JsonHub> s = stream;
+				) {
+			ll = s.collect(Collectors.toList());
+		}
+		
+		assertEquals(baselines.size(), ll.size(), name + " count");
+		
+		for ( int i = 0, n = Math.min(baselines.size(), ll.size()); i < n; ++i ) {
+			assertParity(name, "#" + i, baselines.get(i), ll.get(i));
+		}
+	}
+	
+	private void testLargeArray() throws Exception {
+		
+		final String doc = JsonCorpus.largeArray(2 * 1024 * 1024);
+		final JsonHub expected = BaselineJsonReader.fromJson(doc);
+		
+		assertParity("parallel(String)", "largeArray", expected, JsonHub.fromJson(doc, config(false, true, true)));
+		assertParity("parallel(StringBuilder)", "largeArray", expected, JsonHub.fromJson(new StringBuilder(doc), config(false, true, true)));
+		assertParity("parallel(utf8)", "largeArray", expected, JsonHub.fromBytes(utf8(doc), config(false, true, true)));
+		assertParity("parallel(direct)", "largeArray", expected, JsonHub.fromBytes(direct(doc), config(false, true, false)));
+		assertParity("lazy(utf8)", "largeArray", expected, JsonHub.fromBytes(utf8(doc), config(true, false, true)));
+		testLazyConcurrent(doc, expected);
+		
+		final Path path = Files.createTempFile("jsonhub-test", ".json");
+		
+		try {
+			Files.write(path, utf8(doc));
+			assertParity("fromFile", "largeArray", expected, JsonHub.fromFile(path));
+			assertParity("fromMappedFile", "largeArray", expected, JsonHub.fromMappedFile(path));
+		}
+		finally {
+			Files.deleteIfExists(path);
+		}
+		
+		testWriters("largeArray", expected, JsonHub.fromJson(doc));
+		
+		/* value larger than buffer of lines-writer */
+		final StringWriter sw = new StringWriter();
+		
+		try (
+				JsonHubLinesWriter w = JsonHubLinesWriter.newWriter(sw);
+				) {
+			w.write(JsonHub.fromJson("[1]"));
+			w.write(JsonHub.fromJson(doc));
+			w.write(JsonHub.fromJson("{}"));
+		}
+		
+		assertEquals("[1]\n" + expected.toJson() + "\n{}\n", sw.toString(), "linesWriter(largeArray)");
+	}
+	
+	/**
+	 * Threads access same lazy values at once, from different positions.
+	 */
+	private void testLazyConcurrent(String doc, JsonHub expected) throws Exception {
+		
+		final JsonHub lazy = JsonHub.fromJson(doc, config(true, false, true));
+		final int threads = 4;
+		final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> tt = new ArrayList<>();
+		
+		for ( int t = 0; t < threads; ++t ) {
+			
+			final int offset = t;
+			
+			final Thread th = new Thread(() -> {
+				
+				try {
+					start.await();
+					
+					for ( int i = 0, n = expected.length(); i < n; ++i ) {
+						
+						final int k = (i + offset * n / threads) % n;
+						final JsonHub v = lazy.get(k);
+						
+						if ( ! expected.get(k).equals(v) || ! expected.get(k).toJson().equals(v.toJson()) ) {
+							failures.add("lazy concurrent #" + k);
+						}
+					}
+				}
+				catch ( Throwable e ) {
+					failures.add("lazy concurrent thrown " + e);
+				}
+			});
+			
+			tt.add(th);
+			th.start();
+		}
+		
+		start.countDown();
+		
+		for ( Thread th : tt ) {
+			th.join();
+		}
+		
+		assertEquals(Collections.emptyList(), failures, "lazy concurrent");
+		assertParity("lazy concurrent", "largeArray", expected, lazy);
+	}
+	
+	private void testLargeArrayErrors() {
+		
+		final String head = JsonCorpus.largeArray(2 * 1024 * 1024);
+		final String prefix = head.substring(0, head.length() - 1) + ",";
+		
+		final String[] docs = {
+				prefix + "1,,2]",
+				prefix + "1,x,2]",
+				prefix + "{\"a\":}]",
+				prefix + "1 2]"
+		};
+		
+		for ( String doc : docs ) {
+			
+			final String tail = abbr(doc.substring(prefix.length()));
+			final String expected = error(() -> JsonCharSequenceParser.parse(doc, (JsonNameCache)null));
+			final String expectedUtf8 = error(() -> JsonUtf8Parser.parse(ByteBuffer.wrap(utf8(doc)), (JsonNameCache)null));
+			
+			assertTrue(expected != null, "sequential not thrown " + tail);
+			assertEquals(expected, error(() -> JsonParallelArrayParser.parse(doc, (JsonNameCache)null)), "parallel(String) error " + tail);
+			assertEquals(expectedUtf8, error(() -> JsonParallelArrayParser.parse(ByteBuffer.wrap(utf8(doc)), (JsonNameCache)null)), "parallel(utf8) error " + tail);
+		}
+	}
+	
+	/**
+	 * NUMBER and literal end at white-space, structural char or quotation in all engines.
+	 */
+	private void testEndOfBareToken() {
+		
+		final String[] docs = {
+				"[1\"a\"]",
+				"[true\"a\"]",
+				"[1[2]]",
+				"[null[]]",
+				"[1{}]",
+				"[false{}]",
+				"{\"a\":1:2}",
+				"{\"a\":true:2}",
+				"{\"a\":1\"b\":2}",
+				"[-1.5e3\"x\"]"
+		};
+		
+		for ( String doc : docs ) {
+			
+			final String expected = error(() -> JsonCharSequenceParser.parse(doc, (JsonNameCache)null));
+			
+			assertTrue(expected != null && expected.startsWith(JsonHubParseException.class.getName()), "cursor error " + doc + " " + expected);
+			assertEquals(expected, error(() -> JsonUtf8Parser.parse(ByteBuffer.wrap(utf8(doc)), (JsonNameCache)null)), "utf8 error " + doc);
+			assertEquals(expected, error(() -> JsonIndexedUtf8Parser.parse(ByteBuffer.wrap(utf8(doc)), (JsonNameCache)null)), "indexed error " + doc);
+			
+			for ( int i = 0, n = engines.size(); i < n; ++i ) {
+				final Engine e = engines.get(i);
+				assertThrows(JsonHubParseException.class, () -> e.parse(doc), engineNames.get(i) + " error " + doc);
+			}
+		}
+	}
+	
+	private static String error(Executable e) {
+		try {
+			e.execute();
+			return null;
+		}
+		catch ( Exception t ) {
+			return t.toString();
+		}
+	}
+	
+	private void testShapes() {
+		
+		final String doc = "[{\"a\":1,\"b\":[2]},{\"a\":3,\"b\":[4]},{\"b\":[4],\"a\":3},{\"a\":1,\"b\":[2]}]";
+		final JsonHub v = JsonHub.fromJson(doc);
+		final JsonHub baseline = BaselineJsonReader.fromJson(doc);
+		
+		assertParity("shapes", doc, baseline, v);
+		assertParity("shapes-same-object", doc, v.get(0), v.get(3));
+		assertTrue(! v.get(0).equals(v.get(1)), "shapes differ values");
+		assertEquals(v.get(1).get("a"), v.get(2).get("a"), "shapes get by name");
+		assertEquals(baseline.get(2).keySet(), v.get(2).keySet(), "shapes keySet");
+	}
+	
+	private void testBytesCopied() {
+		
+		final String doc = "{\"name\":\"value\",\"a\":[\"x\",\"y\"]}";
+		
+		final byte[] bs = utf8(doc);
+		final JsonHub v = JsonHub.fromBytes(bs);
+		Arrays.fill(bs, (byte)'z');
+		assertEquals(doc, v.toJson(), "fromBytes(byte[]) copied");
+		
+		final byte[] bs2 = utf8(doc);
+		final JsonHub v2 = JsonHub.fromBytes(bs2, config(false, false, true));
+		Arrays.fill(bs2, (byte)'z');
+		assertEquals(doc, v2.toJson(), "fromBytes(byte[], config) copied");
+		
+		final StringBuilder sb = new StringBuilder(doc);
+		final JsonHub v3 = JsonHub.fromJson(sb, config(true, false, true));
+		sb.setLength(0);
+		sb.append(doc.replace('a', 'z').replace('x', 'z'));
+		assertEquals(doc, v3.toJson(), "lazy(StringBuilder) copied");
+		
+		final StringBuilder sb2 = new StringBuilder(doc);
+		final JsonHub v4 = JsonHub.fromJson(sb2);
+		sb2.setLength(0);
+		sb2.append(doc.replace('a', 'z').replace('x', 'z'));
+		assertEquals(doc, v4.toJson(), "cursor(StringBuilder) copied");
+	}
+	
+	private static String compact(JsonHub v) {
+		
+		final StringWriter w = new StringWriter();
+		
+		try {
+			JsonHubPrettyPrinter.getCompactPrinter().print(v, w);
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException(e);
+		}
+		
+		return w.toString();
+	}
+	
+	private void testCacheStringJson() {
+		
+		final String doc = "[\"value\",{\"a\":\"x\\ny\"}]";
+		
+		for ( boolean lazy : new boolean[] {false, true} ) {
+			for ( boolean parallel : new boolean[] {false, true} ) {
+				
+				final JsonHubReaderConfig c = config(lazy, parallel, true);
+				final String mode = "cacheStringJson lazy=" + lazy + ", parallel=" + parallel;
+				
+				assertTrue(c.cacheStringJson(), "default cacheStringJson");
+				assertCacheStringJson(mode, doc, true, JsonHub.fromJson(doc, c));
+				assertCacheStringJson(mode + " utf8", doc, true, JsonHub.fromBytes(utf8(doc), c));
+				
+				c.cacheStringJson(false);
+				assertCacheStringJson(mode, doc, false, JsonHub.fromJson(doc, c));
+				assertCacheStringJson(mode + " utf8", doc, false, JsonHub.fromBytes(utf8(doc), c));
+			}
+		}
+	}
+	
+	private void assertCacheStringJson(String mode, String doc, boolean cached, JsonHub v) {
+		
+		assertEquals(doc, v.toJson(), mode + " toJson");
+		
+		for ( JsonHub s : new JsonHub[] {v.get(0), v.get(1).get("a")} ) {
+			assertTrue(s instanceof StringJsonHub, mode + " STRING");
+			assertEquals(s.toJson(), s.toJson(), mode + " STRING toJson");
+			assertTrue((s.toJson() == s.toJson()) == cached, mode + " STRING cached " + cached);
+		}
+	}
+	
+	private void testBom() throws Exception {
+		
+		for ( String doc : JsonCorpus.fixed() ) {
+			
+			final JsonHub expected = BaselineJsonReader.fromJson(doc);
+			final byte[] body = utf8(doc);
+			final byte[] bs = new byte[body.length + 3];
+			bs[0] = (byte)0xEF;
+			bs[1] = (byte)0xBB;
+			bs[2] = (byte)0xBF;
+			System.arraycopy(body, 0, bs, 3, body.length);
+			
+			assertParity("bom utf8(byte[])", doc, expected, JsonHub.fromBytes(bs));
+			assertParity("bom utf8(InputStream)", doc, expected, JsonHub.fromBytes(new ByteArrayInputStream(bs)));
+			assertParity("bom lazy(utf8)", doc, expected, JsonHub.fromBytes(bs, config(true, false, true)));
+			assertParity("bom stream(InputStream)", doc, expected, streamReader(JsonHubStreamReader.newReader(new ByteArrayInputStream(bs))));
+			assertParity("bom stream(Channel)", doc, expected, streamReader(JsonHubStreamReader.newReader(Channels.newChannel(new ByteArrayInputStream(bs)))));
+			
+			final EventRecorder h = new EventRecorder();
+			JsonHub.parse(new ByteArrayInputStream(bs), h);
+			assertEquals(events(expected), h.toString(), "bom handler(InputStream) " + abbr(doc));
+			
+			final JsonHubIncrementalParser p = JsonHubIncrementalParser.newParser();
+			p.feed(ByteBuffer.wrap(bs));
+			p.endOfInput();
+			assertParity("bom incremental", doc, expected, p.poll());
+		}
+	}
+	
+	private void assertParity(String engine, String doc, JsonHub expected, JsonHub actual) {
+		
+		final String msg = engine + " " + abbr(doc);
+		
+		if ( actual == null ) {
+			fail(msg + " returned null");
+			return;
+		}
+		
+		assertEquals(expected.type(), actual.type(), msg + " type");
+		assertEquals(expected.toJson(), actual.toJson(), msg + " toJson");
+		assertTrue(expected.equals(actual), msg + " expected.equals(actual)");
+		assertTrue(actual.equals(expected), msg + " actual.equals(expected)");
+		assertEquals(expected.hashCode(), actual.hashCode(), msg + " hashCode");
+	}
+	
+	private static String abbr(String doc) {
+		final String s = doc.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+		return "<" + (s.length() > 80 ? (s.substring(0, 77) + "...") : s) + ">";
+	}
+	
+	/**
+	 * Returns events of walking JsonHub, same format as {@link EventRecorder}.
+	 * 
+	 * @param v the JsonHub
+	 * @return events
+	 */
+	private static String events(JsonHub v) {
+		final EventRecorder h = new EventRecorder();
+		walk(v, h);
+		return h.toString();
+	}
+	
+	private static void walk(JsonHub v, JsonHubHandler h) {
+		
+		final JsonHubType type = v.type();
+		
+		switch ( type ) {
+		case NULL: {
+			h.nullValue();
+			break;
+		}
+		case TRUE:
+		case FALSE: {
+			h.booleanValue(v.booleanValue());
+			break;
+		}
+		case NUMBER: {
+			h.numberValue(v.optionalNubmer().get());
+			break;
+		}
+		case STRING: {
+			h.stringValue(v.optionalString().get());
+			break;
+		}
+		case ARRAY: {
+			h.startArray();
+			for ( JsonHub e : v ) {
+				walk(e, h);
+			}
+			h.endArray();
+			break;
+		}
+		case OBJECT: {
+			h.startObject();
+			v.forEach((name, value) -> {
+				h.name(name.unescaped());
+				walk(value, h);
+			});
+			h.endObject();
+			break;
+		}
+		}
+	}
+	
+	/**
+	 * Records events as text.
+	 *
+	 */
+	private static class EventRecorder implements JsonHubHandler {
+		
+		private final StringBuilder sb = new StringBuilder();
+		
+		@Override
+		public void startObject() {
+			sb.append("{ ");
+		}
+		
+		@Override
+		public void endObject() {
+			sb.append("} ");
+		}
+		
+		@Override
+		public void startArray() {
+			sb.append("[ ");
+		}
+		
+		@Override
+		public void endArray() {
+			sb.append("] ");
+		}
+		
+		@Override
+		public void name(String name) {
+			sb.append("name:").append(name).append(' ');
+		}
+		
+		@Override
+		public void stringValue(String v) {
+			sb.append("string:").append(v).append(' ');
+		}
+		
+		@Override
+		public void numberValue(Number v) {
+			sb.append("number:").append(v.getClass().getSimpleName()).append(':').append(v).append(' ');
+		}
+		
+		@Override
+		public void booleanValue(boolean v) {
+			sb.append("boolean:").append(v).append(' ');
+		}
+		
+		@Override
+		public void nullValue() {
+			sb.append("null ");
+		}
+		
+		@Override
+		public String toString() {
+			return sb.toString();
+		}
+	}
+	
+}
@@ -0,0 +1,284 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+
+/**
+ * This class is test of equals and hashCode of ARRAY and OBJECT.
+ * 
+ * <p>
+ * Values are compared by children, without printing JSON.<br />
+ * Values parsed by each engine, built by builder, packed and lazy are compared each other.<br />
+ * Hash code is consistent with equals, so values are usable as keys of HashMap.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubEqualityTest extends JsonHubTestCase {
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final List<String> docs = new ArrayList<>(JsonCorpus.fixed());
+		docs.addAll(JsonCorpus.documents(200));
+		
+		for ( String doc : docs ) {
+			testEngines(doc);
+		}
+		
+		testPairs(docs);
+		testHashMap(docs);
+		testNotPrinted();
+		testShortCircuit();
+		testPacked();
+		testNested();
+	}
+	
+	private static JsonHubReaderConfig lazy() {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.lazy(true);
+		return c;
+	}
+	
+	private static String abbr(String doc) {
+		return doc.length() > 40 ? (doc.substring(0, 40) + "...") : doc;
+	}
+	
+	/**
+	 * NUMBER which counts calls of equals and printing.
+	 */
+	private static final class CountingNumberJsonHub extends NumberJsonHub {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private static int equalsCount;
+		private static int printCount;
+		
+		private CountingNumberJsonHub(long v) {
+			super(Long.valueOf(v));
+		}
+		
+		private static void reset() {
+			equalsCount = 0;
+			printCount = 0;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			++ equalsCount;
+			return super.equals(o);
+		}
+		
+		@Override
+		public String toJson() {
+			++ printCount;
+			return super.toJson();
+		}
+		
+		@Override
+		public void toJson(Writer writer) throws IOException {
+			++ printCount;
+			super.toJson(writer);
+		}
+	}
+	
+	private static JsonHub countingArray(long... vv) {
+		
+		final List<JsonHub> ll = new ArrayList<>();
+		
+		for ( long v : vv ) {
+			ll.add(new CountingNumberJsonHub(v));
+		}
+		
+		return new ArrayJsonHub(ll);
+	}
+	
+	private static JsonHub countingObject(long... vv) {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		final List<JsonObjectPair> pairs = new ArrayList<>();
+		
+		for ( int i = 0; i < vv.length; ++i ) {
+			pairs.add(jhb.pair("k" + i, new CountingNumberJsonHub(vv[i])));
+		}
+		
+		return new ObjectJsonHub(pairs);
+	}
+	
+	private void testEngines(String doc) {
+		
+		final String tag = abbr(doc);
+		final byte[] bs = doc.getBytes(StandardCharsets.UTF_8);
+		final JsonHub expected = JsonHub.fromJson(doc);
+		
+		final JsonHub[] vv = {
+				BaselineJsonReader.fromJson(doc),
+				JsonHub.fromBytes(bs),
+				JsonHub.fromJson(doc, lazy()),
+				JsonHub.fromBytes(bs, lazy()),
+				JsonHub.fromJson(expected.toJson())
+		};
+		
+		for ( int i = 0; i < vv.length; ++i ) {
+			assertEquals(expected, vv[i], "equals #" + i + " " + tag);
+			assertEquals(vv[i], expected, "equals reverse #" + i + " " + tag);
+			assertEquals(expected.hashCode(), vv[i].hashCode(), "hashCode #" + i + " " + tag);
+		}
+	}
+	
+	/**
+	 * Equal if same text, and equal values have same hash code.
+	 */
+	private void testPairs(List<String> docs) {
+		
+		final List<JsonHub> vv = new ArrayList<>();
+		
+		for ( String doc : docs ) {
+			vv.add(JsonHub.fromJson(doc));
+		}
+		
+		for ( int i = 0, n = vv.size(); i < n; ++i ) {
+			for ( int j = 0; j < n; ++j ) {
+				
+				final JsonHub a = vv.get(i);
+				final JsonHub b = vv.get(j);
+				final boolean eq = a.equals(b);
+				
+				assertEquals(eq, b.equals(a), "symmetric " + i + " " + j);
+				
+				if ( a.toJson().equals(b.toJson()) ) {
+					assertTrue(eq, "same text equals " + i + " " + j);
+				}
+				
+				if ( eq ) {
+					assertEquals(a.hashCode(), b.hashCode(), "equal hashCode " + i + " " + j);
+				}
+			}
+		}
+	}
+	
+	private void testHashMap(List<String> docs) {
+		
+		final Map<JsonHub, String> map = new HashMap<>();
+		
+		for ( String doc : docs ) {
+			map.put(JsonHub.fromJson(doc), doc);
+		}
+		
+		for ( String doc : docs ) {
+			
+			final JsonHub key = JsonHub.fromBytes(doc.getBytes(StandardCharsets.UTF_8), lazy());
+			final String found = map.get(key);
+			
+			assertTrue(found != null, "HashMap get " + abbr(doc));
+			
+			if ( found != null ) {
+				assertEquals(JsonHub.fromJson(found), key, "HashMap key " + abbr(doc));
+			}
+		}
+	}
+	
+	private void testNotPrinted() {
+		
+		final long[] vv = {1L, 2L, 3L, 4L, 5L};
+		
+		CountingNumberJsonHub.reset();
+		assertEquals(countingArray(vv), countingArray(vv), "ARRAY equals");
+		assertEquals(countingArray(vv).hashCode(), countingArray(vv).hashCode(), "ARRAY hashCode");
+		assertEquals(countingArray(vv).hashCode(), JsonHub.fromJson("[1,2,3,4,5]").hashCode(), "ARRAY hashCode parsed");
+		assertEquals(countingObject(vv), countingObject(vv), "OBJECT equals");
+		assertEquals(countingObject(vv).hashCode(), countingObject(vv).hashCode(), "OBJECT hashCode");
+		assertEquals(0, CountingNumberJsonHub.printCount, "not printed");
+		assertTrue(CountingNumberJsonHub.equalsCount > 0, "children compared");
+	}
+	
+	private void testShortCircuit() {
+		
+		/* length differs, children are not compared */
+		CountingNumberJsonHub.reset();
+		assertTrue(! countingArray(1L, 2L, 3L).equals(countingArray(1L, 2L)), "ARRAY length");
+		assertTrue(! countingObject(1L, 2L, 3L).equals(countingObject(1L, 2L)), "OBJECT length");
+		assertEquals(0, CountingNumberJsonHub.equalsCount, "length compared first");
+		
+		/* returns at first mismatch */
+		CountingNumberJsonHub.reset();
+		assertTrue(! countingArray(1L, 9L, 3L, 4L, 5L).equals(countingArray(1L, 2L, 3L, 4L, 5L)), "ARRAY mismatch");
+		assertEquals(2, CountingNumberJsonHub.equalsCount, "ARRAY first mismatch");
+		
+		CountingNumberJsonHub.reset();
+		assertTrue(! countingObject(1L, 9L, 3L, 4L, 5L).equals(countingObject(1L, 2L, 3L, 4L, 5L)), "OBJECT mismatch");
+		assertEquals(2, CountingNumberJsonHub.equalsCount, "OBJECT first mismatch");
+		
+		/* names differ, values are not compared */
+		CountingNumberJsonHub.reset();
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		final JsonHub a = jhb.object(jhb.pair("a", new CountingNumberJsonHub(1L)));
+		final JsonHub b = jhb.object(jhb.pair("b", new CountingNumberJsonHub(1L)));
+		assertTrue(! a.equals(b), "OBJECT name");
+		assertEquals(0, CountingNumberJsonHub.equalsCount, "OBJECT name compared first");
+		
+		/* cached hash codes differ */
+		final JsonHub c = countingArray(1L, 2L, 3L);
+		final JsonHub d = countingArray(1L, 2L, 4L);
+		c.hashCode();
+		d.hashCode();
+		CountingNumberJsonHub.reset();
+		assertTrue(! c.equals(d), "ARRAY hash");
+		assertEquals(0, CountingNumberJsonHub.equalsCount, "ARRAY hash compared");
+	}
+	
+	private void testPacked() {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		
+		final JsonHub longs = JsonHub.fromJson("[1,2,3]");
+		final JsonHub ints = new ArrayJsonHub(Arrays.asList(jhb.number(1), jhb.number(2), jhb.number(3)));
+		final JsonHub doubles = JsonHub.fromJson("[1.5,-2.25]");
+		final JsonHub boxed = new ArrayJsonHub(Arrays.asList(new NumberJsonHub(Double.valueOf(1.5D)), new NumberJsonHub(Double.valueOf(-2.25D))));
+		
+		assertTrue(longs instanceof AbstractPackedArrayJsonHub, "packed long");
+		assertTrue(doubles instanceof AbstractPackedArrayJsonHub, "packed double");
+		
+		assertEquals(ints, longs, "packed long equals plain");
+		assertEquals(longs, ints, "plain equals packed long");
+		assertEquals(ints.hashCode(), longs.hashCode(), "packed long hashCode");
+		assertEquals(JsonHub.fromJson("[1.5,-2.25]", lazy()), doubles, "packed double equals lazy");
+		assertEquals(boxed, doubles, "packed double equals plain");
+		assertEquals(doubles, boxed, "plain equals packed double");
+		assertEquals(boxed.hashCode(), doubles.hashCode(), "packed double hashCode");
+		assertTrue(! longs.equals(JsonHub.fromJson("[1.0,2.0,3.0]")), "long not equal double");
+	}
+	
+	private void testNested() {
+		
+		final String doc = "{\"a\":[1,{\"b\":[2.5,\"x\",null,true]},[]],\"c\":{\"d\":{}}}";
+		final JsonHub v = JsonHub.fromJson(doc);
+		final JsonHub w = JsonHub.fromBytes(doc.getBytes(StandardCharsets.UTF_8), lazy());
+		
+		assertEquals(v, w, "nested equals");
+		assertEquals(v.hashCode(), w.hashCode(), "nested hashCode");
+		
+		for ( String other : new String[] {
+				"{\"a\":[1,{\"b\":[2.5,\"x\",null,false]},[]],\"c\":{\"d\":{}}}",
+				"{\"a\":[1,{\"b\":[2.5,\"y\",null,true]},[]],\"c\":{\"d\":{}}}",
+				"{\"a\":[1,{\"b\":[2.5,\"x\",null,true]},[0]],\"c\":{\"d\":{}}}",
+				"{\"a\":[1,{\"b\":[2.5,\"x\",null,true]},[]],\"c\":{\"e\":{}}}",
+				"{\"c\":{\"d\":{}},\"a\":[1,{\"b\":[2.5,\"x\",null,true]},[]]}"
+		} ) {
+			assertTrue(! v.equals(JsonHub.fromJson(other)), "nested not equals " + other);
+		}
+	}
+	
+}
@@ -0,0 +1,337 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubHandler;
+import com.shimizukenta.jsonhub.JsonHubIncrementalParser;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+
+/**
+ * This class is test of {@link JsonHubBuildIncrementalParser} and {@link JsonHubHandlerIncrementalParser}.
+ * 
+ * <p>
+ * Bytes are fed by fragments of 1, 7 and all bytes, so tokens and UTF-8 sequences are split.<br />
+ * Polled values are compared with parsing whole JSON,
+ * and events are compared with walking parsed value.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonHubIncrementalParserTest extends JsonHubTestCase {
+	
+	private static final int ALL = Integer.MAX_VALUE;
+	private static final int[] CHUNKS = {1, 7, ALL};
+	private static final String[] SEPARATORS = {"\n", " ", "\r\n", "\t \n"};
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final List<String> docs = new ArrayList<>(JsonCorpus.fixed());
+		docs.addAll(JsonCorpus.documents(100));
+		docs.add("[\"\u3042\uD83D\uDE00\u00E9\",{\"k\u00E9\":\"\uD83D\uDE00\"},\"\\u3042\\uD83D\\uDE00\"]");
+		docs.add("12345678901234567890");
+		docs.add("-1.5e-3");
+		docs.add("true");
+		docs.add("null");
+		
+		testStream(docs);
+		
+		for ( String doc : docs ) {
+			testEvents(doc);
+		}
+		
+		testNoSeparator();
+		testEndOfInput();
+		testByteOrderMark();
+		testErrors();
+	}
+	
+	/**
+	 * Feed bytes by fragments, from one reused buffer.
+	 */
+	private static void feed(JsonHubIncrementalParser parser, byte[] bs, int chunk, List<JsonHub> polled) {
+		
+		final ByteBuffer bb = ByteBuffer.allocate(Math.min(chunk, bs.length) + 2);
+		
+		for ( int p = 0; p < bs.length; ) {
+			
+			final int n = Math.min(chunk, bs.length - p);
+			
+			bb.clear();
+			bb.put((byte)'x');
+			bb.put(bs, p, n);
+			bb.flip();
+			bb.position(1);
+			
+			parser.feed(bb);
+			
+			if ( bb.hasRemaining() ) {
+				throw new IllegalStateException("not consumed");
+			}
+			
+			p += n;
+			
+			/* overwrite fed bytes, not retained by parser */
+			bb.clear();
+			while ( bb.hasRemaining() ) {
+				bb.put((byte)'#');
+			}
+			
+			poll(parser, polled);
+		}
+	}
+	
+	private static void poll(JsonHubIncrementalParser parser, List<JsonHub> polled) {
+		for ( JsonHub v; (v = parser.poll()) != null; ) {
+			polled.add(v);
+		}
+	}
+	
+	private static List<JsonHub> parseAll(byte[] bs, int chunk) {
+		final JsonHubIncrementalParser parser = JsonHubIncrementalParser.newParser();
+		final List<JsonHub> polled = new ArrayList<>();
+		feed(parser, bs, chunk, polled);
+		parser.endOfInput();
+		poll(parser, polled);
+		return polled;
+	}
+	
+	private static byte[] utf8(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private void testStream(List<String> docs) {
+		
+		final StringBuilder sb = new StringBuilder();
+		final List<JsonHub> expected = new ArrayList<>();
+		
+		for ( int i = 0, n = docs.size(); i < n; ++i ) {
+			sb.append(docs.get(i)).append(SEPARATORS[i % SEPARATORS.length]);
+			expected.add(JsonHub.fromJson(docs.get(i)));
+		}
+		
+		final byte[] bs = utf8(sb.toString());
+		
+		for ( int chunk : CHUNKS ) {
+			
+			final List<JsonHub> polled = parseAll(bs, chunk);
+			
+			assertEquals(expected.size(), polled.size(), "stream size chunk " + chunk);
+			
+			for ( int i = 0, n = Math.min(expected.size(), polled.size()); i < n; ++i ) {
+				assertEquals(expected.get(i), polled.get(i), "stream #" + i + " chunk " + chunk);
+				assertEquals(expected.get(i).toJson(), polled.get(i).toJson(), "stream toJson #" + i + " chunk " + chunk);
+			}
+		}
+	}
+	
+	/**
+	 * Handler which records events, values are recorded as JsonHub.
+	 */
+	private static final class Recorder implements JsonHubHandler {
+		
+		private final List<Object> events = new ArrayList<>();
+		
+		@Override
+		public void startObject() {
+			events.add("{");
+		}
+		
+		@Override
+		public void endObject() {
+			events.add("}");
+		}
+		
+		@Override
+		public void startArray() {
+			events.add("[");
+		}
+		
+		@Override
+		public void endArray() {
+			events.add("]");
+		}
+		
+		@Override
+		public void name(String name) {
+			events.add("name:" + name);
+		}
+		
+		@Override
+		public void stringValue(String v) {
+			events.add("string:" + v);
+		}
+		
+		@Override
+		public void numberValue(Number v) {
+			events.add(new NumberJsonHub(v));
+		}
+		
+		@Override
+		public void booleanValue(boolean v) {
+			events.add(Boolean.valueOf(v));
+		}
+		
+		@Override
+		public void nullValue() {
+			events.add("null");
+		}
+	}
+	
+	private static void walk(JsonHub v, List<Object> events) {
+		
+		switch ( v.type() ) {
+		case OBJECT: {
+			events.add("{");
+			v.forEach((name, value) -> {
+				events.add("name:" + name.unescaped());
+				walk(value, events);
+			});
+			events.add("}");
+			break;
+		}
+		case ARRAY: {
+			events.add("[");
+			v.forEach(value -> walk(value, events));
+			events.add("]");
+			break;
+		}
+		case STRING: {
+			events.add("string:" + v.optionalString().get());
+			break;
+		}
+		case NUMBER: {
+			events.add(v);
+			break;
+		}
+		case TRUE:
+		case FALSE: {
+			events.add(Boolean.valueOf(v.isTrue()));
+			break;
+		}
+		default: {
+			events.add("null");
+		}
+		}
+	}
+	
+	private void testEvents(String doc) {
+		
+		final String tag = doc.length() > 40 ? (doc.substring(0, 40) + "...") : doc;
+		final List<Object> expected = new ArrayList<>();
+		
+		walk(JsonHub.fromJson(doc), expected);
+		
+		final byte[] bs = utf8(doc);
+		
+		for ( int chunk : CHUNKS ) {
+			
+			final Recorder r = new Recorder();
+			final JsonHubIncrementalParser parser = JsonHubIncrementalParser.newParser(r);
+			final List<JsonHub> polled = new ArrayList<>();
+			
+			feed(parser, bs, chunk, polled);
+			parser.endOfInput();
+			poll(parser, polled);
+			
+			assertEquals(expected, r.events, "events chunk " + chunk + " " + tag);
+			assertTrue(polled.isEmpty(), "handler poll null " + tag);
+		}
+	}
+	
+	private void testNoSeparator() {
+		
+		final String doc = "[1][2]{}\"a\"{\"b\":null}[]\"c\"";
+		
+		for ( int chunk : CHUNKS ) {
+			
+			final List<JsonHub> polled = parseAll(utf8(doc), chunk);
+			final StringBuilder sb = new StringBuilder();
+			
+			for ( JsonHub v : polled ) {
+				sb.append(v.toJson());
+			}
+			
+			assertEquals(7, polled.size(), "no separator size chunk " + chunk);
+			assertEquals(doc, sb.toString(), "no separator chunk " + chunk);
+		}
+	}
+	
+	private void testEndOfInput() {
+		
+		/* top-level bare token is completed by next byte or endOfInput */
+		final JsonHubIncrementalParser parser = JsonHubIncrementalParser.newParser();
+		
+		parser.feed(ByteBuffer.wrap(utf8("[1] 12")));
+		assertEquals(JsonHub.fromJson("[1]"), parser.poll(), "poll before bare");
+		assertTrue(parser.poll() == null, "bare not completed");
+		
+		parser.feed(ByteBuffer.wrap(utf8("3")));
+		assertTrue(parser.poll() == null, "bare not completed after fed");
+		
+		parser.endOfInput();
+		assertEquals(JsonHub.fromJson("123"), parser.poll(), "bare completed");
+		assertTrue(parser.poll() == null, "no more");
+		
+		final JsonHubIncrementalParser lit = JsonHubIncrementalParser.newParser();
+		lit.feed(ByteBuffer.wrap(utf8("tru")));
+		lit.feed(ByteBuffer.wrap(utf8("e ")));
+		assertEquals(JsonHub.fromJson("true"), lit.poll(), "literal completed by white-space");
+		
+		/* empty input */
+		final JsonHubIncrementalParser empty = JsonHubIncrementalParser.newParser();
+		empty.feed(ByteBuffer.wrap(utf8(" \n")));
+		empty.endOfInput();
+		assertTrue(empty.poll() == null, "empty");
+	}
+	
+	private void testByteOrderMark() {
+		
+		final byte[] bs = {(byte)0xEF, (byte)0xBB, (byte)0xBF, '[', '1', ']'};
+		
+		for ( int chunk : CHUNKS ) {
+			final List<JsonHub> polled = parseAll(bs, chunk);
+			assertEquals(1, polled.size(), "BOM size chunk " + chunk);
+			assertEquals(JsonHub.fromJson("[1]"), polled.isEmpty() ? null : polled.get(0), "BOM chunk " + chunk);
+		}
+	}
+	
+	private void testErrors() {
+		
+		final String[] docs = {
+				"]",
+				"}",
+				"[1,]",
+				"[,1]",
+				"[1 2]",
+				"[1:2]",
+				"{\"a\"}",
+				"{\"a\":}",
+				"{\"a\" 1}",
+				"{\"a\":1,}",
+				"{1:2}",
+				"[1\"a\"]",
+				"truex",
+				"nul",
+				"-",
+				"1.",
+				"[1e]",
+				"\"abc",
+				"[1",
+				"{\"a\":1",
+				"[\"a\""
+		};
+		
+		for ( String doc : docs ) {
+			for ( int chunk : CHUNKS ) {
+				assertThrows(JsonHubParseException.class, () -> parseAll(utf8(doc), chunk), "error chunk " + chunk + " " + doc);
+			}
+		}
+	}
+	
+}
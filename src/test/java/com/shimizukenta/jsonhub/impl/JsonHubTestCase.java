@@ -0,0 +1,111 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This abstract class is main-driven test case.
+ * 
+ * <p>
+ * Subclass implements {@link #test()} and calls assertions,
+ * failed assertions are recorded and test continues.<br />
+ * Run by {@link AllTests}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public abstract class JsonHubTestCase {
+	
+	/**
+	 * Executable which may throw.
+	 *
+	 */
+	public static interface Executable {
+		public void execute() throws Exception;
+	}
+	
+	private final List<String> failures = new ArrayList<>();
+	private int assertions;
+	
+	protected JsonHubTestCase() {
+		this.assertions = 0;
+	}
+	
+	/**
+	 * Run assertions.
+	 * 
+	 * @throws Exception if test aborted
+	 */
+	protected abstract void test() throws Exception;
+	
+	/**
+	 * Run test, and returns failures.
+	 * 
+	 * @return failure messages, empty if passed
+	 */
+	public final List<String> run() {
+		
+		try {
+			test();
+		}
+		catch ( Throwable t ) {
+			fail("aborted: " + t);
+		}
+		
+		return Collections.unmodifiableList(failures);
+	}
+	
+	/**
+	 * Returns count of assertions.
+	 * 
+	 * @return count of assertions
+	 */
+	public final int assertions() {
+		return assertions;
+	}
+	
+	protected final void fail(String message) {
+		failures.add(message);
+	}
+	
+	protected final void assertTrue(boolean f, String message) {
+		++ assertions;
+		if ( ! f ) {
+			fail(message);
+		}
+	}
+	
+	protected final void assertEquals(Object expected, Object actual, String message) {
+		++ assertions;
+		if ( ! Objects.equals(expected, actual) ) {
+			fail(message + " expected:<" + expected + "> but was:<" + actual + ">");
+		}
+	}
+	
+	protected final void assertThrows(Class<? extends Throwable> expected, Executable e, String message) {
+		++ assertions;
+		try {
+			e.execute();
+			fail(message + " expected " + expected.getSimpleName() + " but not thrown");
+		}
+		catch ( Throwable t ) {
+			if ( ! expected.isInstance(t) ) {
+				fail(message + " expected " + expected.getSimpleName() + " but was " + t);
+			}
+		}
+	}
+	
+	protected final void assertNotThrows(Executable e, String message) {
+		++ assertions;
+		try {
+			e.execute();
+		}
+		catch ( Throwable t ) {
+			fail(message + " thrown " + t);
+		}
+	}
+	
+}
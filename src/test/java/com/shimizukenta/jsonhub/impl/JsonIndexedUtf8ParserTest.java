@@ -0,0 +1,155 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+
+/**
+ * This class is test of two-stage parsing by {@link JsonIndexedUtf8Parser}.
+ * 
+ * <p>
+ * Results are compared with {@link JsonUtf8Parser},
+ * directly and by {@link JsonHubReaderConfig#indexed(boolean)}.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonIndexedUtf8ParserTest extends JsonHubTestCase {
+	
+	@Override
+	protected void test() throws Exception {
+		
+		for ( String doc : JsonCorpus.documents(300) ) {
+			testParity(doc);
+		}
+		
+		testParity(JsonCorpus.largeArray(256 * 1024));
+		
+		testByteOrderMark();
+		testErrors();
+		testShape();
+	}
+	
+	private static byte[] utf8(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private static JsonHubReaderConfig indexed() {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.indexed(true);
+		return c;
+	}
+	
+	private static String abbr(String doc) {
+		return doc.length() > 40 ? (doc.substring(0, 40) + "...") : doc;
+	}
+	
+	private void testParity(String doc) {
+		
+		final String tag = abbr(doc);
+		final byte[] bs = utf8(doc);
+		final JsonHub expected = JsonUtf8Parser.parse(ByteBuffer.wrap(bs));
+		
+		/* heap, direct, and not-zero position */
+		final ByteBuffer direct = ByteBuffer.allocateDirect(bs.length);
+		direct.put(bs).flip();
+		
+		final byte[] padded = new byte[bs.length + 5];
+		System.arraycopy(bs, 0, padded, 3, bs.length);
+		final ByteBuffer slice = ByteBuffer.wrap(padded, 3, bs.length);
+		
+		final JsonHub[] vv = {
+				JsonIndexedUtf8Parser.parse(ByteBuffer.wrap(bs)),
+				JsonIndexedUtf8Parser.parse(ByteBuffer.wrap(bs), null),
+				JsonIndexedUtf8Parser.parse(direct),
+				JsonIndexedUtf8Parser.parse(slice),
+				JsonHub.fromBytes(bs, indexed()),
+				JsonHub.fromBytes(ByteBuffer.wrap(bs), indexed())
+		};
+		
+		for ( int i = 0; i < vv.length; ++i ) {
+			assertEquals(expected, vv[i], "equals #" + i + " " + tag);
+			assertEquals(expected.toJson(), vv[i].toJson(), "toJson #" + i + " " + tag);
+		}
+		
+		assertEquals(3, slice.position(), "position not changed " + tag);
+	}
+	
+	private void testByteOrderMark() {
+		
+		final byte[] bom = {(byte)0xEF, (byte)0xBB, (byte)0xBF};
+		
+		for ( String doc : new String[] {"[1,\"a\"]", "{\"k\":true}", "1", "\"x\""} ) {
+			
+			final byte[] bs = new byte[bom.length + utf8(doc).length];
+			System.arraycopy(bom, 0, bs, 0, bom.length);
+			System.arraycopy(utf8(doc), 0, bs, bom.length, bs.length - bom.length);
+			
+			assertEquals(JsonHub.fromJson(doc), JsonIndexedUtf8Parser.parse(ByteBuffer.wrap(bs)), "BOM " + doc);
+		}
+		
+		assertThrows(JsonHubParseException.class, () -> JsonIndexedUtf8Parser.parse(ByteBuffer.wrap(bom)), "BOM only");
+	}
+	
+	private void testErrors() {
+		
+		final String[] docs = {
+				"",
+				"  \t\r\n",
+				"[",
+				"]",
+				"{",
+				"[1,]",
+				"[,1]",
+				"[1 2]",
+				"[1,,2]",
+				"{\"a\"}",
+				"{\"a\":}",
+				"{\"a\" 1}",
+				"{\"a\":1,}",
+				"{1:2}",
+				"{\"a\":1 \"b\":2}",
+				"\"abc",
+				"[\"abc]",
+				"{\"a\":\"b}",
+				"[1\"a\"]",
+				"[true\"a\"]",
+				"{\"a\":1\"b\":2}",
+				"[1:2]",
+				"[1[2]]",
+				"[1{}]",
+				"truex",
+				"nul",
+				"tru e",
+				"1 2",
+				"[] []",
+				"{}}",
+				"-",
+				"1.",
+				"0x10",
+				"[1e]"
+		};
+		
+		for ( String doc : docs ) {
+			
+			final byte[] bs = utf8(doc);
+			
+			assertThrows(JsonHubParseException.class, () -> JsonHub.fromBytes(bs), "sequential " + doc);
+			assertThrows(JsonHubParseException.class, () -> JsonHub.fromBytes(bs, indexed()), "indexed " + doc);
+		}
+	}
+	
+	private void testShape() {
+		
+		final JsonHub v = JsonIndexedUtf8Parser.parse(ByteBuffer.wrap(utf8("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]")));
+		
+		assertTrue(
+				((ObjectJsonHub)v.get(0)).shape() == ((ObjectJsonHub)v.get(1)).shape(),
+				"shape shared within parsing");
+	}
+	
+}
@@ -0,0 +1,328 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
+
+/**
+ * This class is test of {@link JsonNumberParser}.
+ * 
+ * <p>
+ * Results are compared bit-for-bit with {@link Double#valueOf(String)},
+ * {@link Long#valueOf(String)} and {@link BigDecimal#BigDecimal(String)}.<br />
+ * Table of powers of five and undecidable paths of Eisel-Lemire algorithm are tested directly.<br />
+ * NUMBER nodes scanned from range of source are compared with nodes from whole text.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonNumberParserTest extends JsonHubTestCase {
+	
+	private static final int RANDOM_NUMBERS = 20000;
+	
+	private static final String[] FIXED = {
+			"0", "-0", "1", "-1", "0.0", "-0.0", "0e0", "-0e0", "1e5", "1E5", "1e+5", "1E-400", "-1e-400", "1e400", "-1e400",
+			"1e-342", "1e-343", "1e308", "1e309", "1e23", "8.41e21", "1.5", "0.1", "0.3", "123.456e-7",
+			"9007199254740992", "9007199254740993e0", "9007199254740995e0", "9007199254740993.0", "90071992547409930e-1",
+			"1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308",
+			"2.2250738585072014e-308", "2.2250738585072011e-308", "2.2250738585072012e-308",
+			"4.9e-324", "5e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+			"999999999999999999", "1000000000000000000", "9223372036854775807", "9223372036854775808",
+			"-9223372036854775808", "-9223372036854775809", "18446744073709551615", "18446744073709551616",
+			"123456789012345678901234567890", "-123456789012345678901234567890",
+			"9999999999999999999e0", "99999999999999999999e0", "1.00000000000000000000000001",
+			"0.000000000000000000000000000000000000000000001", "7.2057594037927933e16",
+			"3.0540412499999999e-308", "4.4501477170144023e-308"
+	};
+	
+	private static final String[] ERRORS = {
+			"", "-", "+", ".", "1.", ".1", "1e", "1e+", "e1", "1.e1", "1x", "--1", "0x10", "1 ", "NaN", "Infinity"
+	};
+	
+	@Override
+	protected void test() throws Exception {
+		
+		testPowersOfFive();
+		testUndecided();
+		testRoundToEven();
+		
+		for ( String s : FIXED ) {
+			assertParse(s);
+		}
+		
+		testRandom();
+		testErrors();
+		testToJsonHub();
+	}
+	
+	/**
+	 * Each entry is 5^q scaled to [2^127, 2^128), truncated or truncated + 1.
+	 */
+	private void testPowersOfFive() {
+		
+		final long[] table = JsonNumberParser.POWERS_OF_FIVE_128;
+		final BigInteger five = BigInteger.valueOf(5L);
+		final int min = JsonNumberParser.SMALLEST_POWER_OF_TEN;
+		
+		assertEquals(2 * (JsonNumberParser.LARGEST_POWER_OF_TEN - min + 1), table.length, "table length");
+		
+		for ( int q = min; q <= JsonNumberParser.LARGEST_POWER_OF_TEN; ++q ) {
+			
+			final BigInteger exact;
+			
+			if ( q >= 0 ) {
+				
+				final BigInteger p5 = five.pow(q);
+				final int bits = p5.bitLength();
+				exact = (bits <= 128) ? p5.shiftLeft(128 - bits) : p5.shiftRight(bits - 128);
+				
+			} else {
+				
+				final BigInteger p5 = five.pow(-q);
+				exact = BigInteger.ONE.shiftLeft(127 + p5.bitLength()).divide(p5);
+			}
+			
+			final int index = 2 * (q - min);
+			final BigInteger v = unsigned(table[index]).shiftLeft(64).or(unsigned(table[index + 1]));
+			final BigInteger diff = v.subtract(exact);
+			
+			assertEquals(128, v.bitLength(), "power of five normalized 5^" + q);
+			assertTrue(diff.signum() >= 0 && diff.compareTo(BigInteger.ONE) <= 0, "power of five 5^" + q + " diff " + diff);
+		}
+		
+		/* known entries */
+		assertEquals(0xEEF453D6923BD65AL, table[0], "5^-342 high");
+		assertEquals(0x113FAA2906A13B3FL, table[1], "5^-342 low");
+		assertEquals(0xCCCCCCCCCCCCCCCCL, table[2 * (-1 - min)], "5^-1 high");
+		assertEquals(0xCCCCCCCCCCCCCCCDL, table[2 * (-1 - min) + 1], "5^-1 low");
+		assertEquals(0x8000000000000000L, table[2 * (0 - min)], "5^0 high");
+		assertEquals(0L, table[2 * (0 - min) + 1], "5^0 low");
+		assertEquals(0xA000000000000000L, table[2 * (1 - min)], "5^1 high");
+	}
+	
+	private void testUndecided() {
+		
+		/* subnormal */
+		assertEquals(JsonNumberParser.NOT_DECIDED, JsonNumberParser.eiselLemire(22250738585072011L, -324), "subnormal not decided");
+		assertEquals(JsonNumberParser.NOT_DECIDED, JsonNumberParser.eiselLemire(49L, -325), "subnormal 4.9e-324 not decided");
+		
+		/*
+		 * Low 64 bits of product are all ones, x * T_high == -1 (mod 2^64),
+		 * then x == -1 * inverse(T_high) and T_high is odd.
+		 */
+		final long[] table = JsonNumberParser.POWERS_OF_FIVE_128;
+		final BigInteger ten19 = BigInteger.TEN.pow(19);
+		int found = 0;
+		
+		for ( int q = JsonNumberParser.SMALLEST_POWER_OF_TEN; q <= JsonNumberParser.LARGEST_POWER_OF_TEN - 19; ++q ) {
+			
+			if ( q >= -27 && q <= 55 ) {
+				continue;
+			}
+			
+			final long t = table[2 * (q - JsonNumberParser.SMALLEST_POWER_OF_TEN)];
+			
+			if ( (t & 0x1L) == 0L ) {
+				continue;
+			}
+			
+			long inv = t;
+			for ( int i = 0; i < 5; ++i ) {
+				inv *= 2L - t * inv;
+			}
+			
+			final long x = -inv;
+			final BigInteger ux = unsigned(x);
+			
+			if ( x >= 0L || ux.compareTo(ten19) >= 0 ) {
+				continue;
+			}
+			
+			final long hi = ux.multiply(unsigned(t)).shiftRight(64).longValue();
+			
+			if ( (hi & 0x1FFL) == 0x1FFL ) {
+				continue;
+			}
+			
+			assertEquals(-1L, x * t, "low bits all ones");
+			assertEquals(JsonNumberParser.NOT_DECIDED, JsonNumberParser.eiselLemire(x, q), "lo == -1 not decided " + q);
+			assertParse(ux.toString() + "e" + q);
+			++ found;
+		}
+		
+		assertTrue(found > 0, "lo == -1 cases found");
+	}
+	
+	private void testRoundToEven() {
+		
+		/* 2^53 + 1 is halfway, rounded down to even 2^53 */
+		assertEquals(
+				Double.doubleToRawLongBits(9007199254740992.0),
+				JsonNumberParser.eiselLemire(9007199254740993L, 0),
+				"halfway round down to even");
+		
+		/* 2^53 + 3 is halfway, rounded up to even 2^53 + 4 */
+		assertEquals(
+				Double.doubleToRawLongBits(9007199254740996.0),
+				JsonNumberParser.eiselLemire(9007199254740995L, 0),
+				"halfway round up to even");
+		
+		final Random r = new Random(13L);
+		
+		for ( int i = 0; i < RANDOM_NUMBERS / 4; ++i ) {
+			
+			final double d = randomDouble(r);
+			
+			if ( d == Double.MAX_VALUE ) {
+				continue;
+			}
+			
+			final BigDecimal halfway = new BigDecimal(d).add(new BigDecimal(Math.nextUp(d))).divide(BigDecimal.valueOf(2L));
+			
+			assertParse(halfway.toString());
+			assertParse(halfway.toPlainString());
+			assertParse(halfway.round(new MathContext(17)).toString());
+		}
+	}
+	
+	private void testRandom() {
+		
+		final Random r = new Random(17L);
+		
+		for ( int i = 0; i < RANDOM_NUMBERS; ++i ) {
+			
+			final StringBuilder sb = new StringBuilder();
+			
+			if ( r.nextBoolean() ) {
+				sb.append('-');
+			}
+			
+			final int intDigits = 1 + r.nextInt(25);
+			sb.append(intDigits == 1 ? r.nextInt(10) : (1 + r.nextInt(9)));
+			
+			for ( int j = 1; j < intDigits; ++j ) {
+				sb.append(r.nextInt(10));
+			}
+			
+			if ( r.nextBoolean() ) {
+				
+				sb.append('.');
+				
+				for ( int j = 0, n = 1 + r.nextInt(25); j < n; ++j ) {
+					sb.append(r.nextInt(10));
+				}
+			}
+			
+			if ( r.nextBoolean() ) {
+				sb.append(r.nextBoolean() ? 'e' : 'E');
+				sb.append(r.nextInt(800) - 400);
+			}
+			
+			assertParse(sb.toString());
+			
+			final double d = randomDouble(r);
+			
+			assertParse(Double.toString(d));
+			assertParse(String.format("%.17e", d));
+			assertParse(String.format("%.15e", d));
+			assertParse(new BigDecimal(d).toString());
+		}
+	}
+	
+	private void testErrors() {
+		
+		for ( String s : ERRORS ) {
+			assertThrows(JsonHubNumberFormatException.class, () -> JsonNumberParser.parse(s), "parse error \"" + s + "\"");
+			assertThrows(JsonHubNumberFormatException.class, () -> parseBytes(s), "parse(bytes) error \"" + s + "\"");
+		}
+	}
+	
+	private void testToJsonHub() {
+		
+		final String[] texts = {
+				"0", "-1", "123", "123456789012345678", "1234567890123456789", "-0", "01",
+				"1.5", "-0.25", "1.50", "0.000001", "123456789.123456", "1234567890.1234567",
+				"1e5", "1.5E-3", "9223372036854775808"
+		};
+		
+		for ( String s : texts ) {
+			
+			final AbstractNumberJsonHub expected = JsonNumberParser.toJsonHub(s);
+			final byte[] bs = ("[" + s + "]").getBytes(StandardCharsets.US_ASCII);
+			
+			assertToJsonHub(expected, JsonNumberParser.toJsonHub("[" + s + "]", 1, s.length() + 1), "toJsonHub(range) " + s);
+			assertToJsonHub(expected, JsonNumberParser.toJsonHub(ByteBuffer.wrap(bs), 1, bs.length - 1), "toJsonHub(bytes) " + s);
+			assertEquals(s, expected.toJson(), "toJsonHub toJson " + s);
+		}
+		
+		assertTrue(JsonNumberParser.toJsonHub(ByteBuffer.wrap("[-12]".getBytes(StandardCharsets.US_ASCII)), 1, 4) instanceof LongJsonHub, "toJsonHub(bytes) long");
+		assertTrue(JsonNumberParser.toJsonHub("[1.25]", 1, 5) instanceof DoubleJsonHub, "toJsonHub(range) double");
+		
+		for ( String s : ERRORS ) {
+			final byte[] bs = ("x" + s + "x").getBytes(StandardCharsets.US_ASCII);
+			assertThrows(JsonHubNumberFormatException.class, () -> JsonNumberParser.toJsonHub("x" + s + "x", 1, s.length() + 1), "toJsonHub(range) error \"" + s + "\"");
+			assertThrows(JsonHubNumberFormatException.class, () -> JsonNumberParser.toJsonHub(ByteBuffer.wrap(bs), 1, bs.length - 1), "toJsonHub(bytes) error \"" + s + "\"");
+		}
+	}
+	
+	private void assertToJsonHub(AbstractNumberJsonHub expected, AbstractNumberJsonHub actual, String message) {
+		assertEquals(expected.getClass(), actual.getClass(), message + " class");
+		assertEquals(expected, actual, message);
+		assertEquals(expected.toJson(), actual.toJson(), message + " toJson");
+	}
+	
+	private void assertParse(String s) {
+		
+		final Number expected = reference(s);
+		
+		assertEquals(expected, JsonNumberParser.parse(s), "parse \"" + s + "\"");
+		assertEquals(expected, JsonNumberParser.parse("xx" + s + "x", 2, s.length() + 2), "parse(range) \"" + s + "\"");
+		assertEquals(expected, parseBytes(s), "parse(bytes) \"" + s + "\"");
+	}
+	
+	private static Number parseBytes(String s) {
+		final byte[] bs = ("xx" + s + "x").getBytes(StandardCharsets.US_ASCII);
+		return JsonNumberParser.parse(ByteBuffer.wrap(bs), 2, bs.length - 1);
+	}
+	
+	/**
+	 * Returns Long or BigDecimal if integral, otherwise Double, equals is bit-for-bit.
+	 */
+	private static Number reference(String s) {
+		
+		if ( s.indexOf('.') < 0 && s.indexOf('e') < 0 && s.indexOf('E') < 0 ) {
+			
+			try {
+				return Long.valueOf(s);
+			}
+			catch ( NumberFormatException e ) {
+				return new BigDecimal(s);
+			}
+		}
+		
+		return Double.valueOf(s);
+	}
+	
+	private static double randomDouble(Random r) {
+		
+		for ( ;; ) {
+			
+			final double d = Double.longBitsToDouble(r.nextLong() & Long.MAX_VALUE);
+			
+			if ( ! Double.isNaN(d) && ! Double.isInfinite(d) ) {
+				return d;
+			}
+		}
+	}
+	
+	private static BigInteger unsigned(long v) {
+		return BigInteger.valueOf(v >>> 1).shiftLeft(1).or(BigInteger.valueOf(v & 0x1L));
+	}
+	
+}
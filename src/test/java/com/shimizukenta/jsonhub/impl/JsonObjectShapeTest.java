@@ -0,0 +1,190 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is test of {@link JsonObjectShape}.
+ * 
+ * <p>
+ * Shapes are interned in cache of names by identity of names, names are not decoded on intern.<br />
+ * Shapes of names not from cache are not interned.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonObjectShapeTest extends JsonHubTestCase {
+	
+	@Override
+	protected void test() throws Exception {
+		
+		testIntern();
+		testIndexOf();
+		testParsed();
+		testSerialize();
+	}
+	
+	private void testIntern() {
+		
+		final JsonString a = JsonString.ofEscaped("a");
+		final JsonString b = JsonString.ofEscaped("b\\u0041");
+		
+		final JsonObjectShape[] table = new JsonObjectShape[16];
+		
+		final JsonObjectShape s1 = JsonObjectShape.intern(table, new JsonString[] {a, b});
+		final JsonObjectShape s2 = JsonObjectShape.intern(table, new JsonString[] {a, b});
+		final JsonObjectShape s3 = JsonObjectShape.intern(table, new JsonString[] {JsonString.ofEscaped("a"), b});
+		
+		assertTrue(s1 == s2, "same name instances share shape");
+		assertTrue(s1 != s3, "other name instances not share shape");
+		assertTrue(JsonObjectShape.intern(new JsonObjectShape[16], new JsonString[] {a, b}) != s1, "other table not share shape");
+		assertTrue(JsonObjectShape.of(new JsonString[] {a, b}) != JsonObjectShape.of(new JsonString[] {a, b}), "of not interned");
+		assertTrue(s1.name(0) == a && s1.name(1) == b, "names held as given");
+		assertEquals(1, s3.indexOf("bA"), "indexOf of other shape");
+		
+		final JsonString lazy = new JsonStringImpl() {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected String decodeEscaped() {
+				fail("name decoded on intern");
+				return "x";
+			}
+		};
+		
+		assertTrue(JsonObjectShape.intern(table, new JsonString[] {lazy}).name(0) == lazy, "name not decoded on intern");
+		assertTrue(JsonObjectShape.of(new JsonString[0]).length() == 0, "empty shape");
+	}
+	
+	private void testIndexOf() {
+		
+		for ( int n : new int[] {1, 8, 9, 64, 65, 200} ) {
+			
+			final JsonString[] names = new JsonString[n + 1];
+			
+			for ( int i = 0; i < n; ++i ) {
+				names[i] = JsonString.ofUnescaped("k" + i);
+			}
+			
+			/* duplicated name, first is found */
+			names[n] = JsonString.ofUnescaped("k0");
+			
+			final JsonObjectShape s = JsonObjectShape.of(names);
+			
+			assertEquals(n + 1, s.length(), "length " + n);
+			
+			for ( int i = 0; i < n; ++i ) {
+				assertEquals(i, s.indexOf("k" + i), "indexOf " + n + " k" + i);
+			}
+			
+			assertEquals(-1, s.indexOf("x"), "indexOf not found " + n);
+			assertEquals(-1, s.indexOf("k" + n), "indexOf not found " + n);
+		}
+	}
+	
+	private void testParsed() {
+		
+		final JsonHub v = JsonHub.fromJson("[{\"a\":1,\"b\":2},{\"a\":3,\"b\":4},{\"b\":5,\"a\":6}]");
+		
+		final ObjectJsonHub o0 = (ObjectJsonHub)v.get(0);
+		final ObjectJsonHub o1 = (ObjectJsonHub)v.get(1);
+		final ObjectJsonHub o2 = (ObjectJsonHub)v.get(2);
+		
+		assertTrue(o0.name(0) == o1.name(0) && o0.name(0) == o2.name(1), "parsed names are canonical");
+		assertTrue(o0.shape() == o1.shape(), "parsed shape shared");
+		assertTrue(o0.shape() != o2.shape(), "parsed shape of other order not shared");
+		assertEquals(JsonHub.fromJson("6"), o2.get("a"), "parsed get");
+		
+		final JsonHub u = JsonHub.fromBytes("[{\"a\":1,\"b\":2},{\"a\":3,\"b\":4}]".getBytes(StandardCharsets.UTF_8));
+		assertTrue(((ObjectJsonHub)u.get(0)).shape() == ((ObjectJsonHub)u.get(1)).shape(), "parsed shape shared(utf8)");
+		
+		/* shapes are not shared across parsing */
+		assertTrue(shape(JsonHub.fromJson("{\"a\":1}")) != shape(JsonHub.fromJson("{\"a\":1}")), "shape not shared across parsing");
+		
+		/* names refer to source are not interned */
+		final StringBuilder sb = new StringBuilder();
+		for ( int i = 0; i < 100; ++i ) {
+			sb.append('k');
+		}
+		final String longName = "{\"" + sb + "\":1}";
+		final JsonHub vl = JsonHub.fromJson("[" + longName + "," + longName + "]");
+		assertTrue(shape(vl.get(0)) != shape(vl.get(1)), "long name shape not interned");
+		final JsonHub vlb = JsonHub.fromBytes(("[" + longName + "," + longName + "]").getBytes(StandardCharsets.UTF_8));
+		assertTrue(shape(vlb.get(0)) != shape(vlb.get(1)), "long name shape not interned(utf8)");
+		assertEquals(vl, vlb, "long name equals");
+		
+		/* not interned if names are not cached */
+		final JsonHubReaderConfig notIntern = JsonHubReaderConfig.defaultConfig();
+		notIntern.internNames(false);
+		final JsonHub vn = JsonHub.fromJson("[{\"a\":1},{\"a\":1}]", notIntern);
+		assertTrue(shape(vn.get(0)) != shape(vn.get(1)), "not interned if names are not cached");
+		
+		final JsonString a = JsonString.ofUnescaped("a");
+		final JsonHub b0 = JsonHub.getBuilder().object(JsonHub.getBuilder().pair(a, 1));
+		final JsonHub b1 = JsonHub.getBuilder().object(JsonHub.getBuilder().pair(a, 1));
+		assertTrue(shape(b0) != shape(b1), "built OBJECT not interned");
+		assertEquals(b0, b1, "built OBJECT equals");
+		
+		/* cache of names is for each parsing by default */
+		final String doc = "{\"name\":1}";
+		final JsonHubReaderConfig config = JsonHubReaderConfig.defaultConfig();
+		
+		assertTrue(! config.sharedNameCache(), "default not shared cache");
+		assertTrue(name(JsonHub.fromJson(doc)) != name(JsonHub.fromJson(doc)), "not shared cache");
+		assertTrue(name(JsonHub.fromBytes(doc.getBytes(StandardCharsets.UTF_8))) != name(JsonHub.fromBytes(doc.getBytes(StandardCharsets.UTF_8))), "not shared cache(utf8)");
+		assertTrue(name(JsonHub.fromJson(doc, config)) != name(JsonHub.fromJson(doc, config)), "not shared cache(config)");
+		
+		config.sharedNameCache(true);
+		assertTrue(name(JsonHub.fromJson(doc, config)) == name(JsonHub.fromJson(doc, config)), "shared cache");
+		
+		/* lines of one stream share cache */
+		final List<JsonHub> lines = JsonHub.fromJsonLines(new StringReader(doc + "\n" + doc + "\n")).collect(Collectors.toList());
+		assertTrue(name(lines.get(0)) == name(lines.get(1)), "lines share cache");
+	}
+	
+	private static JsonString name(JsonHub v) {
+		return ((ObjectJsonHub)v).name(0);
+	}
+	
+	private static JsonObjectShape shape(JsonHub v) {
+		return ((ObjectJsonHub)v).shape();
+	}
+	
+	private void testSerialize() throws Exception {
+		
+		final JsonHub v = JsonHub.fromBytes("{\"a\\u0041\":1,\"b\":[{\"c\":null}]}".getBytes("UTF-8"));
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		
+		try (
+				ObjectOutputStream oos = new ObjectOutputStream(baos);
+				) {
+			oos.writeObject(v);
+		}
+		
+		final Object r;
+		
+		try (
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+				) {
+			r = ois.readObject();
+		}
+		
+		assertEquals(v, r, "serialized");
+		assertEquals(v.toJson(), ((JsonHub)r).toJson(), "serialized toJson");
+		assertEquals(JsonHub.fromJson("1"), ((JsonHub)r).get("aA"), "serialized get");
+	}
+	
+}
@@ -0,0 +1,185 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubParseException;
+
+/**
+ * This class is test of reading from Reader, InputStream and mapped file by {@link JsonReader}.
+ * 
+ * <p>
+ * Sources return short chunks, so buffers grow while reading.<br />
+ * Mapped file is also read by small windows, so values span windows.<br />
+ * Results are compared with parsing from String.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonReaderTest extends JsonHubTestCase {
+	
+	private static final int[] CHUNKS = {1, 7, 8 * 1024, 64 * 1024};
+	private static final long[] WINDOWS = {1L, 2L, 3L, 5L, 64L, 4093L};
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final List<String> docs = new ArrayList<>(JsonCorpus.documents(50));
+		docs.add(JsonCorpus.largeArray(100 * 1024));
+		
+		for ( String doc : docs ) {
+			testChunked(doc);
+		}
+		
+		testErrors();
+		
+		final Path path = Files.createTempFile("jsonhub", ".json");
+		
+		try {
+			
+			for ( String doc : JsonCorpus.fixed() ) {
+				testMappedWindows(path, doc);
+			}
+			
+			/* multi-byte UTF-8 and NUMBER split at every window boundary */
+			testMappedWindows(path, "[\"\u3042\u3044\uD83D\uDE00\",12345678901234567890,-1.25e-3,\"\\u3046\",{\"\u3048\":true}]");
+			testMappedWindows(path, JsonCorpus.largeArray(64 * 1024));
+			testMappedErrors(path);
+		}
+		finally {
+			Files.deleteIfExists(path);
+		}
+	}
+	
+	/**
+	 * Reader which returns up to chunk chars at a time.
+	 */
+	private static final class ChunkedReader extends Reader {
+		
+		private final Reader r;
+		private final int chunk;
+		
+		private ChunkedReader(String s, int chunk) {
+			this.r = new StringReader(s);
+			this.chunk = chunk;
+		}
+		
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return r.read(cbuf, off, Math.min(len, chunk));
+		}
+		
+		@Override
+		public void close() throws IOException {
+			r.close();
+		}
+	}
+	
+	/**
+	 * InputStream which returns up to chunk bytes at a time, and estimates nothing available.
+	 */
+	private static final class ChunkedInputStream extends InputStream {
+		
+		private final InputStream strm;
+		private final int chunk;
+		
+		private ChunkedInputStream(byte[] bs, int chunk) {
+			this.strm = new ByteArrayInputStream(bs);
+			this.chunk = chunk;
+		}
+		
+		@Override
+		public int read() throws IOException {
+			return strm.read();
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return strm.read(b, off, Math.min(len, chunk));
+		}
+		
+		@Override
+		public int available() {
+			return 0;
+		}
+	}
+	
+	private void testChunked(String doc) throws IOException {
+		
+		final String tag = doc.length() > 40 ? (doc.substring(0, 40) + "...") : doc;
+		final JsonHub expected = JsonHub.fromJson(doc);
+		final byte[] bs = doc.getBytes(StandardCharsets.UTF_8);
+		
+		for ( int chunk : CHUNKS ) {
+			
+			if ( chunk == 1 && doc.length() > 1024 ) {
+				continue;
+			}
+			
+			final JsonHub r = JsonHub.fromJson(new ChunkedReader(doc, chunk));
+			assertEquals(expected, r, "Reader chunk " + chunk + " " + tag);
+			assertEquals(expected.toJson(), r.toJson(), "Reader toJson chunk " + chunk + " " + tag);
+			
+			final JsonHub s = JsonHub.fromBytes(new ChunkedInputStream(bs, chunk));
+			assertEquals(expected, s, "InputStream chunk " + chunk + " " + tag);
+			assertEquals(expected.toJson(), s.toJson(), "InputStream toJson chunk " + chunk + " " + tag);
+		}
+		
+		/* initial buffer sized by available() */
+		assertEquals(expected, JsonHub.fromBytes(new ByteArrayInputStream(bs)), "InputStream available " + tag);
+	}
+	
+	private void testMappedWindows(Path path, String doc) throws IOException {
+		
+		final String tag = doc.length() > 40 ? (doc.substring(0, 40) + "...") : doc;
+		final JsonHub expected = JsonHub.fromJson(doc);
+		final byte[] bs = doc.getBytes(StandardCharsets.UTF_8);
+		
+		Files.write(path, bs);
+		
+		final JsonHub single = JsonHub.fromMappedFile(path);
+		assertEquals(expected, single, "single map " + tag);
+		
+		for ( long window : WINDOWS ) {
+			
+			if ( window < 64L && bs.length > 1024 ) {
+				continue;
+			}
+			
+			final JsonHub v = JsonReader.fromMappedFile(path, window);
+			assertEquals(single, v, "window " + window + " " + tag);
+			assertEquals(single.toJson(), v.toJson(), "window toJson " + window + " " + tag);
+		}
+	}
+	
+	private void testMappedErrors(Path path) throws IOException {
+		
+		for ( String doc : new String[] {"", "[1,", "{\"a\":}", "[1 2]", "1 2", "[\"\u3042]"} ) {
+			
+			Files.write(path, doc.getBytes(StandardCharsets.UTF_8));
+			
+			for ( long window : WINDOWS ) {
+				assertThrows(JsonHubParseException.class, () -> JsonReader.fromMappedFile(path, window), "window " + window + " error " + doc);
+			}
+		}
+	}
+	
+	private void testErrors() {
+		
+		for ( String doc : new String[] {"", "[1,", "{\"a\":}", "[1 2]"} ) {
+			assertThrows(JsonHubParseException.class, () -> JsonHub.fromJson(new ChunkedReader(doc, 1)), "Reader error " + doc);
+			assertThrows(JsonHubParseException.class, () -> JsonHub.fromBytes(new ChunkedInputStream(doc.getBytes(StandardCharsets.UTF_8), 1)), "InputStream error " + doc);
+		}
+	}
+	
+}
@@ -0,0 +1,236 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.shimizukenta.jsonhub.JsonHubIndexOutOfBoundsException;
+import com.shimizukenta.jsonhub.JsonHubNumberFormatException;
+import com.shimizukenta.jsonhub.JsonString;
+
+/**
+ * This class is test of {@link JsonStringCoder}.
+ * 
+ * <p>
+ * Results are compared with plain char-by-char reference coder.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonStringCoderTest extends JsonHubTestCase {
+	
+	private static final int RANDOM_STRINGS = 20000;
+	
+	@Override
+	protected void test() throws Exception {
+		
+		testFixed();
+		testAllChars();
+		testRandom();
+		testErrors();
+	}
+	
+	private void testFixed() throws Exception {
+		
+		assertCoder("");
+		assertCoder("abc");
+		assertCoder("\"");
+		assertCoder("\\");
+		assertCoder("/");
+		assertCoder("a\"b\\c/d\be\ff\ng\rh\ti");
+		assertCoder("\u3042\u3044\u3046");
+		assertCoder("\uD83D\uDE00");
+		
+		assertEquals("\u3042A\u00e9", JsonStringCoder.unescape("\\u3042\\u0041\\u00E9"), "unescape \\u");
+		assertEquals("\u00e9\u00e9", JsonStringCoder.unescape("\\u00e9\\u00E9"), "unescape \\u case");
+		assertEquals("\uD83D\uDE00", JsonStringCoder.unescape("\\uD83D\\uDE00"), "unescape \\u surrogates");
+		assertEquals("/", JsonStringCoder.unescape("\\/"), "unescape slash");
+		
+		final String s = "no escape";
+		assertTrue(JsonStringCoder.escape(s) == s, "escape returns same instance");
+		assertTrue(JsonStringCoder.unescape(s) == s, "unescape returns same instance");
+		
+		final RecordingWriter w = new RecordingWriter();
+		JsonStringCoder.escape(s, w);
+		assertEquals(1, w.writes.size(), "escape(Writer) writes once");
+		assertTrue(w.writes.get(0) == s, "escape(Writer) writes same instance");
+		
+		/* first and last char */
+		assertCoder("\"abc");
+		assertCoder("abc\"");
+		assertCoder("\n");
+		assertEquals("a\nb", JsonStringCoder.unescape(new StringBuilder("a\\nb")), "unescape(StringBuilder)");
+		assertEquals("ab", JsonStringCoder.unescape(new StringBuilder("ab")), "unescape(StringBuilder) nothing");
+		assertEquals("\"", JsonStringCoder.unescape("\\\""), "unescape shortest");
+	}
+	
+	/**
+	 * Writer which records written Strings.
+	 */
+	private static final class RecordingWriter extends Writer {
+		
+		private final List<String> writes = new ArrayList<>();
+		
+		@Override
+		public void write(String str) {
+			writes.add(str);
+		}
+		
+		@Override
+		public void write(String str, int off, int len) {
+			writes.add(str.substring(off, off + len));
+		}
+		
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			writes.add(new String(cbuf, off, len));
+		}
+		
+		@Override
+		public void flush() {
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
+	
+	private void testAllChars() throws Exception {
+		
+		final StringBuilder sb = new StringBuilder();
+		
+		for ( char c = 0; c < 0x800; ++c ) {
+			sb.append(c);
+			assertCoder(String.valueOf(c));
+			assertEquals(String.valueOf(c), JsonStringCoder.unescape(unicodeEscape(c)), "unescape \\u " + (int)c);
+		}
+		
+		assertCoder(sb.toString());
+	}
+	
+	private void testRandom() throws Exception {
+		
+		final Random r = new Random(21L);
+		final char[] pool = "ab \"\\/\b\f\n\r\t\u0000\u001f\u007f\u3042\uD83D\uDE00".toCharArray();
+		
+		for ( int i = 0; i < RANDOM_STRINGS; ++i ) {
+			
+			final int n = r.nextInt(24);
+			final StringBuilder sb = new StringBuilder();
+			
+			for ( int j = 0; j < n; ++j ) {
+				sb.append(pool[r.nextInt(pool.length)]);
+			}
+			
+			assertCoder(sb.toString());
+			
+			final StringBuilder sbu = new StringBuilder();
+			
+			for ( int j = 0; j < n; ++j ) {
+				sbu.append(unicodeEscape((char)r.nextInt(0x10000)));
+			}
+			
+			assertEquals(referenceUnescape(sbu.toString()), JsonStringCoder.unescape(sbu.toString()), "unescape random \\u");
+		}
+	}
+	
+	private void testErrors() {
+		
+		assertThrows(JsonHubNumberFormatException.class, () -> JsonStringCoder.unescape("\\u00G0"), "unescape bad hex");
+		assertThrows(JsonHubNumberFormatException.class, () -> JsonStringCoder.unescape("\\u\u0661\u0662\u0663\u0664"), "unescape non-ASCII digits");
+		assertThrows(JsonHubIndexOutOfBoundsException.class, () -> JsonStringCoder.unescape("\\u00"), "unescape short \\u");
+		assertThrows(JsonHubIndexOutOfBoundsException.class, () -> JsonStringCoder.unescape("abc\\"), "unescape trailing backslash");
+	}
+	
+	private void assertCoder(String unescaped) throws Exception {
+		
+		final String expected = referenceEscape(unescaped);
+		final String escaped = JsonStringCoder.escape(unescaped);
+		
+		assertEquals(expected, escaped, "escape");
+		assertEquals(expected, JsonStringCoder.escape(new StringBuilder(unescaped)), "escape(StringBuilder)");
+		
+		final StringBuilder sb = new StringBuilder("x");
+		JsonStringCoder.escape(unescaped, sb);
+		assertEquals("x" + expected, sb.toString(), "escape(CharSequence, StringBuilder)");
+		
+		final StringWriter sw = new StringWriter();
+		JsonStringCoder.escape(unescaped, sw);
+		assertEquals(expected, sw.toString(), "escape(CharSequence, Writer)");
+		
+		assertEquals(unescaped, JsonStringCoder.unescape(escaped), "unescape");
+		
+		final JsonString u = JsonString.ofUnescaped(unescaped);
+		final JsonString e = JsonString.ofEscaped(escaped);
+		assertEquals(escaped, u.escaped(), "JsonString escaped");
+		assertEquals(unescaped, e.unescaped(), "JsonString unescaped");
+		assertEquals(u, e, "JsonString equals");
+	}
+	
+	private static String unicodeEscape(char c) {
+		return String.format("\\u%04X", (int)c);
+	}
+	
+	private static String referenceEscape(String s) {
+		
+		final StringBuilder sb = new StringBuilder();
+		
+		for ( char c : s.toCharArray() ) {
+			
+			switch ( c ) {
+			case '"': {
+				sb.append("\\\"");
+				break;
+			}
+			case '\\': {
+				sb.append("\\\\");
+				break;
+			}
+			case '/': {
+				sb.append("\\/");
+				break;
+			}
+			case '\b': {
+				sb.append("\\b");
+				break;
+			}
+			case '\f': {
+				sb.append("\\f");
+				break;
+			}
+			case '\n': {
+				sb.append("\\n");
+				break;
+			}
+			case '\r': {
+				sb.append("\\r");
+				break;
+			}
+			case '\t': {
+				sb.append("\\t");
+				break;
+			}
+			default: {
+				sb.append(c);
+			}
+			}
+		}
+		
+		return sb.toString();
+	}
+	
+	private static String referenceUnescape(String s) {
+		
+		final StringBuilder sb = new StringBuilder();
+		
+		for ( int i = 0; i < s.length(); i += 6 ) {
+			sb.append((char)Integer.parseInt(s.substring(i + 2, i + 6), 16));
+		}
+		
+		return sb.toString();
+	}
+	
+}
@@ -0,0 +1,82 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * This class is test of word-at-a-time scans of {@link JsonStructuralIndex}.
+ *
+ * <p>
+ * Results are compared with byte-by-byte scan, from every start index of random bytes.<br />
+ * </p>
+ *
+ * @author kenta-shimizu
+ *
+ */
+public class JsonStructuralIndexTest extends JsonHubTestCase {
+
+	private static final int ROUNDS = 2000;
+
+	@Override
+	protected void test() throws Exception {
+
+		final Random r = new Random(9L);
+		final byte[] pool = {
+				'a', '0', ' ', '\t', '\n', '\r', 0x00, 0x20, 0x21, '"', '\\', (byte)0x80, (byte)0xE3, (byte)0xFF, 0x7F
+		};
+
+		for ( int i = 0; i < ROUNDS; ++i ) {
+
+			final int len = r.nextInt(40);
+			final byte[] bs = new byte[len + 5];
+
+			/* biased to runs of white-space or plain chars */
+			final boolean ws = r.nextBoolean();
+
+			for ( int j = 0; j < bs.length; ++j ) {
+				if ( r.nextInt(4) == 0 ) {
+					bs[j] = pool[r.nextInt(pool.length)];
+				} else {
+					bs[j] = ws ? (byte)' ' : (byte)'x';
+				}
+			}
+
+			final int offset = r.nextInt(5);
+			final ByteBuffer le = ByteBuffer.wrap(bs, 0, offset + len).order(ByteOrder.LITTLE_ENDIAN);
+			final int limit = offset + len;
+
+			for ( int from = offset; from <= limit; ++from ) {
+
+				assertEquals(
+						referenceQuotOrEscape(bs, from, limit),
+						JsonStructuralIndex.indexOfQuotOrEscape(le, from, limit),
+						"indexOfQuotOrEscape from " + from);
+
+				assertEquals(
+						referenceNotWhiteSpace(bs, from, limit),
+						JsonStructuralIndex.indexOfNotWhiteSpace(le, from, limit),
+						"indexOfNotWhiteSpace from " + from);
+			}
+		}
+	}
+
+	private static int referenceQuotOrEscape(byte[] bs, int from, int limit) {
+		for ( int p = from; p < limit; ++p ) {
+			if ( bs[p] == '"' || bs[p] == '\\' ) {
+				return p;
+			}
+		}
+		return limit;
+	}
+
+	private static int referenceNotWhiteSpace(byte[] bs, int from, int limit) {
+		for ( int p = from; p < limit; ++p ) {
+			if ( bs[p] < 0 || bs[p] > 0x20 ) {
+				return p;
+			}
+		}
+		return limit;
+	}
+
+}
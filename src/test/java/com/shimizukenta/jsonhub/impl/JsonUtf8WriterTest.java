@@ -0,0 +1,180 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+
+/**
+ * This class is test of writing UTF-8 bytes by {@link JsonUtf8Writer}.
+ * 
+ * <p>
+ * Bytes written to OutputStream, ByteBuffer and WritableByteChannel
+ * are compared with UTF-8 bytes of {@link JsonHub#toJson()}.<br />
+ * Values larger than buffer, and surrogate pairs split at buffer boundary, are included.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class JsonUtf8WriterTest extends JsonHubTestCase {
+	
+	private static final int BUFFER_SIZE = 8192;
+	private static final int PREFIX = 3;
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final List<String> docs = new ArrayList<>(JsonCorpus.fixed());
+		docs.addAll(JsonCorpus.documents(100));
+		docs.add(JsonCorpus.largeArray(64 * 1024));
+		
+		for ( String doc : docs ) {
+			
+			final byte[] bs = doc.getBytes(StandardCharsets.UTF_8);
+			
+			testWrite(JsonHub.fromJson(doc));
+			testWrite(JsonHub.fromBytes(bs));
+			testWrite(JsonHub.fromBytes(bs, lazy()));
+		}
+		
+		testSurrogates();
+		testLarge();
+		testOverflow();
+	}
+	
+	private static JsonHubReaderConfig lazy() {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.lazy(true);
+		return c;
+	}
+	
+	/**
+	 * Channel which writes up to chunk bytes at a time.
+	 */
+	private static final class ChunkedChannel implements WritableByteChannel {
+		
+		private final ByteArrayOutputStream strm = new ByteArrayOutputStream();
+		private final int chunk;
+		private boolean open = true;
+		
+		private ChunkedChannel(int chunk) {
+			this.chunk = chunk;
+		}
+		
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+		
+		@Override
+		public void close() {
+			open = false;
+		}
+		
+		@Override
+		public int write(ByteBuffer src) {
+			final int n = Math.min(chunk, src.remaining());
+			for ( int i = 0; i < n; ++i ) {
+				strm.write(src.get());
+			}
+			return n;
+		}
+	}
+	
+	private void testWrite(JsonHub v) throws IOException {
+		
+		final String json = v.toJson();
+		final String tag = " " + (json.length() > 40 ? (json.substring(0, 40) + "...") : json);
+		final byte[] expected = json.getBytes(StandardCharsets.UTF_8);
+		
+		/* OutputStream */
+		final ByteArrayOutputStream strm = new ByteArrayOutputStream();
+		v.writeTo(strm);
+		assertTrue(Arrays.equals(expected, strm.toByteArray()), "OutputStream" + tag);
+		
+		/* ByteBuffer, heap and direct, from not-zero position */
+		for ( ByteBuffer bb : new ByteBuffer[] {
+				ByteBuffer.allocate(PREFIX + expected.length + 5),
+				ByteBuffer.allocateDirect(PREFIX + expected.length + 5)
+		} ) {
+			
+			bb.put(new byte[] {1, 2, 3});
+			v.writeTo(bb);
+			
+			assertEquals(PREFIX + expected.length, bb.position(), "ByteBuffer position" + tag);
+			
+			final byte[] bs = new byte[bb.position()];
+			bb.flip();
+			bb.get(bs);
+			
+			assertTrue(Arrays.equals(new byte[] {1, 2, 3}, Arrays.copyOf(bs, PREFIX)), "ByteBuffer prefix" + tag);
+			assertTrue(Arrays.equals(expected, Arrays.copyOfRange(bs, PREFIX, bs.length)), "ByteBuffer" + tag);
+		}
+		
+		/* WritableByteChannel, partial writes */
+		for ( int chunk : new int[] {7, BUFFER_SIZE} ) {
+			final ChunkedChannel ch = new ChunkedChannel(chunk);
+			v.writeTo(ch);
+			assertTrue(Arrays.equals(expected, ch.strm.toByteArray()), "channel chunk " + chunk + tag);
+			assertTrue(ch.isOpen(), "channel not closed" + tag);
+		}
+	}
+	
+	private void testSurrogates() throws IOException {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		
+		/* surrogate pair at each side of buffer boundary */
+		final char[] pad = new char[BUFFER_SIZE + 8];
+		Arrays.fill(pad, 'a');
+		
+		for ( int k = BUFFER_SIZE - 8; k <= BUFFER_SIZE + 8; ++k ) {
+			final String s = new String(pad, 0, k) + "\uD83D\uDE00\u3042\u00E9";
+			testWrite(jhb.string(s));
+			testWrite(jhb.array(jhb.string(s), jhb.string("\uD83D\uDE00")));
+			testWrite(JsonHub.fromBytes(jhb.string(s).toJson().getBytes(StandardCharsets.UTF_8), lazy()));
+		}
+		
+		/* lone surrogates are written as '?', same as String#getBytes */
+		for ( String s : new String[] {"\uD83D", "\uDE00", "x\uD83Dy", "\uDE00\uD83D", "\uD83D\uD83D\uDE00"} ) {
+			testWrite(jhb.string(s));
+			testWrite(jhb.array(jhb.string(s), jhb.string(s)));
+		}
+	}
+	
+	private void testLarge() throws IOException {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		final StringBuilder sb = new StringBuilder();
+		
+		while ( sb.length() < 4 * BUFFER_SIZE ) {
+			sb.append("abc\u3042\u00E9\"\\\n\uD83D\uDE00");
+		}
+		
+		final String s = sb.toString();
+		
+		testWrite(jhb.string(s));
+		testWrite(jhb.object(jhb.pair(s, jhb.string(s))));
+		testWrite(JsonHub.fromJson(jhb.array(jhb.string(s), jhb.number(1), jhb.string(s)).toJson()));
+	}
+	
+	private void testOverflow() {
+		
+		final JsonHub v = JsonHub.fromJson("[\"abcdefghij\",1,2,3]");
+		final int len = v.toJson().getBytes(StandardCharsets.UTF_8).length;
+		
+		assertThrows(BufferOverflowException.class, () -> v.writeTo(ByteBuffer.allocate(len - 1)), "overflow");
+		assertNotThrows(() -> v.writeTo(ByteBuffer.allocate(len)), "exactly");
+	}
+	
+}
@@ -0,0 +1,135 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+
+/**
+ * This class is test of lookup by name of {@link LazyObjectJsonHub}.
+ * 
+ * <p>
+ * Small OBJECT compares names on source, large OBJECT builds index of names once.<br />
+ * Results are compared with eager OBJECT.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class LazyObjectJsonHubTest extends JsonHubTestCase {
+	
+	private static final int THREADS = 4;
+	
+	@Override
+	protected void test() throws Exception {
+		
+		for ( int n : new int[] {1, 8, 9, 100} ) {
+			testLookup(n);
+		}
+		
+		testConcurrentLookup();
+	}
+	
+	private static String doc(int n) {
+		
+		final StringBuilder sb = new StringBuilder("{");
+		
+		for ( int i = 0; i < n; ++i ) {
+			sb.append("\"k").append(i).append("\":").append(i).append(',');
+		}
+		
+		/* escaped name, and duplicated name which is not found */
+		return sb.append("\"e\\u0041\":\"x\",\"k0\":-1}").toString();
+	}
+	
+	private static JsonHubReaderConfig lazy() {
+		final JsonHubReaderConfig c = JsonHubReaderConfig.defaultConfig();
+		c.lazy(true);
+		return c;
+	}
+	
+	private void testLookup(int n) {
+		
+		final String doc = doc(n);
+		final JsonHub eager = JsonHub.fromJson(doc);
+		
+		final JsonHub[] vv = {
+				JsonHub.fromJson(doc, lazy()),
+				JsonHub.fromBytes(doc.getBytes(StandardCharsets.UTF_8), lazy())
+		};
+		
+		for ( JsonHub v : vv ) {
+			
+			assertTrue(v instanceof LazyObjectJsonHub, "lazy " + n);
+			
+			for ( int i = 0; i < n; ++i ) {
+				assertEquals(eager.get("k" + i), v.get("k" + i), "get " + n + " k" + i);
+				assertTrue(v.containsKey("k" + i), "containsKey " + n + " k" + i);
+			}
+			
+			assertEquals(JsonHub.fromJson("0"), v.get("k0"), "first of duplicated " + n);
+			assertEquals("x", v.get("eA").toString(), "escaped name " + n);
+			assertTrue(! v.containsKey("e\\u0041"), "escaped text is not name " + n);
+			assertTrue(v.get("x") == null, "not found " + n);
+			assertTrue(! v.containsKey("k" + n), "containsKey not found " + n);
+			assertEquals(JsonHub.fromJson("1"), v.getOrDefault("x", JsonHub.fromJson("1")), "getOrDefault " + n);
+			assertEquals(eager, v, "equals eager " + n);
+			assertEquals(eager.toJson(), v.toJson(), "toJson " + n);
+		}
+	}
+	
+	private void testConcurrentLookup() throws Exception {
+		
+		final String doc = doc(100);
+		final JsonHub eager = JsonHub.fromJson(doc);
+		
+		for ( int round = 0; round < 20; ++round ) {
+			
+			final JsonHub v = JsonHub.fromJson(doc, lazy());
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<String> errors = new ArrayList<>();
+			final List<Thread> threads = new ArrayList<>();
+			
+			for ( int t = 0; t < THREADS; ++t ) {
+				
+				final int offset = t;
+				
+				final Thread th = new Thread(() -> {
+					
+					try {
+						start.await();
+						
+						for ( int i = 0; i < 100; ++i ) {
+							
+							final String name = "k" + ((i + offset * 25) % 100);
+							
+							if ( ! eager.get(name).equals(v.get(name)) ) {
+								synchronized ( errors ) {
+									errors.add(name);
+								}
+							}
+						}
+					}
+					catch ( InterruptedException ignore ) {
+						/* Nothing */
+					}
+				});
+				
+				threads.add(th);
+				th.start();
+			}
+			
+			start.countDown();
+			
+			for ( Thread th : threads ) {
+				th.join();
+			}
+			
+			assertTrue(errors.isEmpty(), "concurrent lookup " + errors);
+		}
+	}
+	
+}
@@ -0,0 +1,127 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubBuilder;
+import com.shimizukenta.jsonhub.JsonHubType;
+
+/**
+ * This class is test of {@link LongJsonHub}.
+ * 
+ * <p>
+ * Values, text, equality and hash code are compared with NumberJsonHub of Long.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class LongJsonHubTest extends JsonHubTestCase {
+	
+	private static final int RANDOM_VALUES = 5000;
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final long[] fixed = {
+				0L, 1L, -1L, 9L, 10L, 127L, -128L,
+				Integer.MAX_VALUE, Integer.MIN_VALUE, (long)Integer.MAX_VALUE + 1L,
+				999999999999999999L, -999999999999999999L,
+				Long.MAX_VALUE, Long.MIN_VALUE
+		};
+		
+		for ( long v : fixed ) {
+			assertLong(v);
+		}
+		
+		final Random r = new Random(14L);
+		
+		for ( int i = 0; i < RANDOM_VALUES; ++i ) {
+			assertLong(r.nextLong() >> r.nextInt(64));
+		}
+		
+		testParsed();
+		testBuilder();
+	}
+	
+	private static JsonHub serialize(JsonHub v) throws IOException, ClassNotFoundException {
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		
+		try (
+				ObjectOutputStream oos = new ObjectOutputStream(baos);
+				) {
+			oos.writeObject(v);
+		}
+		
+		try (
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+				) {
+			return (JsonHub)ois.readObject();
+		}
+	}
+	
+	private void assertLong(long v) throws Exception {
+		
+		final LongJsonHub jh = new LongJsonHub(v);
+		final NumberJsonHub boxed = new NumberJsonHub(Long.valueOf(v));
+		final String tag = " " + v;
+		
+		assertEquals(JsonHubType.NUMBER, jh.type(), "type" + tag);
+		assertEquals(Long.toString(v), jh.toJson(), "toJson" + tag);
+		assertEquals(boxed.toJson(), jh.toString(), "toString" + tag);
+		assertEquals((int)v, jh.intValue(), "intValue" + tag);
+		assertEquals(v, jh.longValue(), "longValue" + tag);
+		assertEquals((double)v, jh.doubleValue(), "doubleValue" + tag);
+		assertEquals(boxed.optionalInt(), jh.optionalInt(), "optionalInt" + tag);
+		assertEquals(boxed.optionalLong(), jh.optionalLong(), "optionalLong" + tag);
+		assertEquals(boxed.optionalDouble(), jh.optionalDouble(), "optionalDouble" + tag);
+		assertEquals(boxed.optionalNubmer(), jh.optionalNubmer(), "optionalNubmer" + tag);
+		
+		assertEquals(boxed, jh, "equals boxed" + tag);
+		assertEquals(jh, boxed, "boxed equals" + tag);
+		assertEquals(boxed.hashCode(), jh.hashCode(), "hashCode" + tag);
+		assertEquals(jh, new LongJsonHub(v), "equals" + tag);
+		assertTrue(! jh.equals(new LongJsonHub(v + 1L)), "not equals" + tag);
+		assertTrue(! jh.equals(new DoubleJsonHub((double)v)), "not equals double" + tag);
+		
+		assertEquals(jh, JsonHub.fromJson(Long.toString(v)), "parsed" + tag);
+		assertEquals(jh, serialize(jh), "serialize" + tag);
+	}
+	
+	private void testParsed() {
+		
+		/* canonical integer up to 18 digits */
+		for ( String s : new String[] {"0", "-1", "123", "999999999999999999", "-999999999999999999"} ) {
+			final JsonHub v = JsonHub.fromJson(s);
+			assertTrue(v instanceof LongJsonHub, "parsed LongJsonHub " + s);
+			assertEquals(s, v.toJson(), "parsed toJson " + s);
+		}
+		
+		/* text is kept if not canonical or exceeds */
+		for ( String s : new String[] {"-0", "9223372036854775807", "123456789012345678901234567890", "1e5", "1.0"} ) {
+			final JsonHub v = JsonHub.fromJson(s);
+			assertTrue(! (v instanceof LongJsonHub), "parsed not LongJsonHub " + s);
+			assertEquals(s, v.toJson(), "parsed toJson " + s);
+		}
+		
+		assertEquals(new LongJsonHub(Long.MAX_VALUE), JsonHub.fromJson("9223372036854775807"), "parsed long range");
+	}
+	
+	private void testBuilder() {
+		
+		final JsonHubBuilder jhb = JsonHubBuilder.getInstance();
+		
+		assertTrue(jhb.number(5L) instanceof LongJsonHub, "number(long)");
+		assertTrue(jhb.number(Long.valueOf(5L)) instanceof LongJsonHub, "number(Long)");
+		assertEquals(jhb.number(5L), jhb.number(5), "number(int)");
+		assertEquals(jhb.number(5L).hashCode(), jhb.number(5).hashCode(), "number(int) hashCode");
+		assertEquals(jhb.number(5L), jhb.number(Short.valueOf((short)5)), "number(Short)");
+	}
+	
+}
@@ -0,0 +1,183 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubReaderConfig;
+import com.shimizukenta.jsonhub.JsonObjectPair;
+
+/**
+ * This class is test of {@link ObjectJsonHub}.
+ * 
+ * <p>
+ * Lookup by name is compared with linear search of pairs, order of members is kept.<br />
+ * Serialized form is proxy of names and values,
+ * serialized form of older version (pairs collection) is also readable.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class ObjectJsonHubTest extends JsonHubTestCase {
+	
+	/**
+	 * Serialized {@code {"a":1,"b":[true,null,"x"],"c":{"d":"e\u0041"},"f":{}}} by older version.
+	 */
+	private static final String OLD_FORM =
+			"rO0ABXNyACtjb20uc2hpbWl6dWtlbnRhLmpzb25odWIuaW1wbC5PYmplY3RKc29uSHViXRU+oFGA4roCAANMAAt0b0pzb25D" +
+			"YWNoZXQAEkxqYXZhL2xhbmcvU3RyaW5nO0wAJHRvSnNvbkV4Y2x1ZGVkTnVsbFZhbHVlSW5PYmplY3RDYWNoZXEAfgABTAAB" +
+			"dnQAFkxqYXZhL3V0aWwvQ29sbGVjdGlvbjt4cgAtY29tLnNoaW1penVrZW50YS5qc29uaHViLmltcGwuQWJzdHJhY3RKc29u" +
+			"SHVihR9KstxBxyQCAAJbAAx0b0J5dGVzQ2FjaGV0AAJbQlsAJHRvQnl0ZXNFeGNsdWRlTnVsbFZhbHVlSW5PYmplY3RDYWNo" +
+			"ZXEAfgAEeHBwcHBwc3IAE2phdmEudXRpbC5BcnJheUxpc3R4gdIdmcdhnQMAAUkABHNpemV4cAAAAAR3BAAAAARzcgAwY29t" +
+			"LnNoaW1penVrZW50YS5qc29uaHViLmltcGwuSnNvbk9iamVjdFBhaXJJbXBsTFTUYCSHXOQCAAJMAARuYW1ldAAlTGNvbS9z" +
+			"aGltaXp1a2VudGEvanNvbmh1Yi9Kc29uU3RyaW5nO0wAAXZ0ACJMY29tL3NoaW1penVrZW50YS9qc29uaHViL0pzb25IdWI7" +
+			"eHBzcgAsY29tLnNoaW1penVrZW50YS5qc29uaHViLmltcGwuSnNvblN0cmluZ0ltcGzhKbmmhOY41gIAAkwAB2VzY2FwZWRx" +
+			"AH4AAUwACXVuZXNjYXBlZHEAfgABeHB0AAFhcHNyACtjb20uc2hpbWl6dWtlbnRhLmpzb25odWIuaW1wbC5OdW1iZXJKc29u" +
+			"SHVi12mZvOOpP+ICAAJMAANudW10ABJMamF2YS9sYW5nL051bWJlcjtMAANzdHJxAH4AAXhxAH4AA3Bwc3IADmphdmEubGFu" +
+			"Zy5Mb25nO4vkkMyPI98CAAFKAAV2YWx1ZXhyABBqYXZhLmxhbmcuTnVtYmVyhqyVHQuU4IsCAAB4cAAAAAAAAAABdAABMXNx" +
+			"AH4ACHNxAH4ADHQAAWJwc3IAKmNvbS5zaGltaXp1a2VudGEuanNvbmh1Yi5pbXBsLkFycmF5SnNvbkh1YuQTAf0Nri6NAgAD" +
+			"TAALdG9Kc29uQ2FjaGVxAH4AAUwAJHRvSnNvbkV4Y2x1ZGVkTnVsbFZhbHVlSW5PYmplY3RDYWNoZXEAfgABTAABdnQAEExq" +
+			"YXZhL3V0aWwvTGlzdDt4cQB+AANwcHBwc3EAfgAGAAAAA3cEAAAAA3NyACljb20uc2hpbWl6dWtlbnRhLmpzb25odWIuaW1w" +
+			"bC5UcnVlSnNvbkh1YvUN7V252HVNAgAAeHEAfgADcHBzcgApY29tLnNoaW1penVrZW50YS5qc29uaHViLmltcGwuTnVsbEpz" +
+			"b25IdWI9H579hzUWFAIAAHhxAH4AA3Bwc3IAK2NvbS5zaGltaXp1a2VudGEuanNvbmh1Yi5pbXBsLlN0cmluZ0pzb25IdWLz" +
+			"37E6Q9WxowIAAkwAC3RvSnNvblByb3h5cQB+AAFMAAF2cQB+AAl4cQB+AANwcHBzcQB+AAx0AAF4cHhzcQB+AAhzcQB+AAx0" +
+			"AAFjcHNxAH4AAHBwcHBzcQB+AAYAAAABdwQAAAABc3EAfgAIc3EAfgAMdAABZHBzcQB+ACFwcHBzcQB+AAx0AAdlXHUwMDQx" +
+			"cHhzcQB+AAhzcQB+AAx0AAFmcHNxAH4AAHBwcHBzcQB+AAYAAAAAdwQAAAAAeHg=";
+	
+	private static final String OLD_FORM_JSON = "{\"a\":1,\"b\":[true,null,\"x\"],\"c\":{\"d\":\"e\\u0041\"},\"f\":{}}";
+	
+	@Override
+	protected void test() throws Exception {
+		
+		for ( int n : new int[] {0, 1, 8, 9, 64, 200} ) {
+			testLookup(n);
+		}
+		
+		testOrder();
+		testSerialize();
+	}
+	
+	private void testLookup(int n) {
+		
+		final List<JsonObjectPair> pairs = new ArrayList<>();
+		
+		for ( int i = 0; i < n; ++i ) {
+			pairs.add(JsonHub.getBuilder().pair("k" + (i * 7 % (n + 1)), i));
+		}
+		
+		/* duplicated name, first is found */
+		if ( n > 0 ) {
+			pairs.add(JsonHub.getBuilder().pair(pairs.get(0).name(), -1));
+		}
+		
+		final JsonHub built = JsonHub.getBuilder().object(pairs);
+		final JsonHub parsed = JsonHub.fromJson(built.toJson());
+		
+		for ( JsonHub v : new JsonHub[] {built, parsed} ) {
+			
+			for ( int i = 0; i <= n; ++i ) {
+				
+				final String name = "k" + i;
+				final JsonHub expected = linear(pairs, name);
+				
+				assertEquals(expected, v.get(name), "get " + n + " " + name);
+				assertEquals(expected != null, v.containsKey(name), "containsKey " + n + " " + name);
+				assertEquals(expected, v.getOrDefault(name, null), "getOrDefault " + n + " " + name);
+			}
+			
+			assertTrue(v.get("x") == null, "not found " + n);
+			assertEquals(n + (n > 0 ? 1 : 0), v.length(), "length " + n);
+		}
+	}
+	
+	private static JsonHub linear(List<JsonObjectPair> pairs, String name) {
+		
+		for ( JsonObjectPair p : pairs ) {
+			if ( p.name().toString().equals(name) ) {
+				return p.value();
+			}
+		}
+		
+		return null;
+	}
+	
+	private void testOrder() {
+		
+		final String doc = "{\"b\":1,\"a\":2,\"c\":[3],\"a\":4}";
+		final JsonHub v = JsonHub.fromJson(doc);
+		
+		assertEquals(doc, v.toJson(), "order toJson");
+		assertEquals(Arrays.asList(JsonHub.fromJson("1"), JsonHub.fromJson("2"), JsonHub.fromJson("[3]"), JsonHub.fromJson("4")), v.values(), "order values");
+		
+		final List<String> names = new ArrayList<>();
+		v.forEach((name, value) -> names.add(name.toString()));
+		assertEquals(Arrays.asList("b", "a", "c", "a"), names, "order names");
+		
+		assertTrue(! JsonHub.fromJson("{\"a\":1,\"b\":2}").equals(JsonHub.fromJson("{\"b\":2,\"a\":1}")), "other order not equal");
+		assertEquals(JsonHub.fromJson("{\"a\":1,\"b\":2}").hashCode(), JsonHub.fromBytes("{\"a\":1,\"b\":2}".getBytes(StandardCharsets.UTF_8)).hashCode(), "hashCode");
+	}
+	
+	private void testSerialize() throws Exception {
+		
+		final JsonHubReaderConfig lazy = JsonHubReaderConfig.defaultConfig();
+		lazy.lazy(true);
+		
+		final JsonHub[] vv = {
+				JsonHub.fromJson(OLD_FORM_JSON),
+				JsonHub.fromJson(OLD_FORM_JSON, lazy),
+				JsonHub.getBuilder().object(),
+				JsonHub.getBuilder().object(JsonHub.getBuilder().pair("x", JsonHub.fromJson(OLD_FORM_JSON)))
+		};
+		
+		for ( JsonHub v : vv ) {
+			
+			final Object r = deserialize(serialize(v));
+			
+			assertTrue(r.getClass() == ObjectJsonHub.class, "deserialized class " + v.toJson());
+			assertEquals(v, r, "serialized " + v.toJson());
+			assertEquals(v.toJson(), ((JsonHub)r).toJson(), "serialized toJson");
+			assertEquals(v.keySet(), ((JsonHub)r).keySet(), "serialized keySet");
+		}
+		
+		/* older version */
+		final JsonHub old = (JsonHub)deserialize(Base64.getDecoder().decode(OLD_FORM));
+		
+		assertTrue(old.getClass() == ObjectJsonHub.class, "older form class");
+		assertEquals(JsonHub.fromJson(OLD_FORM_JSON), old, "older form");
+		assertEquals(OLD_FORM_JSON, old.toJson(), "older form toJson");
+		assertEquals("eA", old.get("c").get("d").toString(), "older form get");
+		assertTrue(old.get("f").isEmpty(), "older form empty OBJECT");
+		assertEquals(old, deserialize(serialize(old)), "older form re-serialized");
+	}
+	
+	private static byte[] serialize(Object v) throws Exception {
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		
+		try (
+				ObjectOutputStream oos = new ObjectOutputStream(baos);
+				) {
+			oos.writeObject(v);
+		}
+		
+		return baos.toByteArray();
+	}
+	
+	private static Object deserialize(byte[] bs) throws Exception {
+		
+		try (
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bs));
+				) {
+			return ois.readObject();
+		}
+	}
+	
+}
@@ -0,0 +1,257 @@
+package com.shimizukenta.jsonhub.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.shimizukenta.jsonhub.JsonHub;
+import com.shimizukenta.jsonhub.JsonHubPrettyPrinter;
+
+/**
+ * This class is test of {@link PackedLongArrayJsonHub} and {@link PackedDoubleArrayJsonHub}.
+ * 
+ * <p>
+ * Packed ARRAY is compared with plain ARRAY of same elements,
+ * by equals, hashCode, elements, printing and serialization.<br />
+ * Equality of NUMBER is of values, scales of double elements are not compared.<br />
+ * </p>
+ * 
+ * @author kenta-shimizu
+ *
+ */
+public class PackedArrayJsonHubTest extends JsonHubTestCase {
+	
+	@Override
+	protected void test() throws Exception {
+		
+		final String[] docs = {
+				"[1,2,3,-4,922337203685477580,-922337203685477580]",
+				"[999999999999999999,-999999999999999999]",
+				"[1.5,2.25,-3.125,0.0,1.50,-0.0]",
+				"[0.001,100.0,123456.789,-0.5]",
+				"[0]",
+				"[0.0]"
+		};
+		
+		for ( String doc : docs ) {
+			testRoundTrip(doc);
+		}
+		
+		testLarge();
+		testReentrantWrite();
+		testConcurrentWrite();
+		testScale();
+		testNotPacked();
+	}
+	
+	private static String compact(JsonHub v) throws IOException {
+		final StringWriter w = new StringWriter();
+		JsonHubPrettyPrinter.getCompactPrinter().print(v, w);
+		return w.toString();
+	}
+	
+	private static JsonHub plain(JsonHub packed) {
+		
+		final List<JsonHub> ll = new ArrayList<>();
+		
+		for ( JsonHub v : packed ) {
+			ll.add(v);
+		}
+		
+		return new ArrayJsonHub(ll);
+	}
+	
+	private static JsonHub serialize(JsonHub v) throws IOException, ClassNotFoundException {
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		
+		try (
+				ObjectOutputStream oos = new ObjectOutputStream(baos);
+				) {
+			oos.writeObject(v);
+		}
+		
+		try (
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+				) {
+			return (JsonHub)ois.readObject();
+		}
+	}
+	
+	private void testRoundTrip(String doc) throws Exception {
+		
+		final JsonHub packed = JsonHub.fromJson(doc);
+		
+		assertTrue(packed instanceof AbstractPackedArrayJsonHub, "packed " + doc);
+		
+		final JsonHub plain = plain(packed);
+		
+		assertEquals(plain, packed, "equals plain " + doc);
+		assertEquals(packed, plain, "plain equals " + doc);
+		assertEquals(plain.hashCode(), packed.hashCode(), "hashCode " + doc);
+		assertEquals(packed, JsonHub.fromJson(doc), "equals packed " + doc);
+		assertEquals(plain.values(), packed.values(), "values " + doc);
+		
+		for ( int i = 0, n = packed.length(); i < n; ++i ) {
+			assertEquals(plain.get(i), packed.get(i), "get " + i + " " + doc);
+			assertEquals(plain.get(i).toJson(), packed.get(i).toJson(), "get toJson " + i + " " + doc);
+		}
+		
+		/* printed same text as parsed */
+		assertEquals(doc, packed.toJson(), "toJson " + doc);
+		assertEquals(doc, compact(packed), "compact printer " + doc);
+		assertEquals(plain.toJson(), packed.toJson(), "toJson plain " + doc);
+		assertEquals(plain.prettyPrint(), packed.prettyPrint(), "prettyPrint " + doc);
+		assertEquals(packed, JsonHub.fromJson(packed.toJson()), "reparse " + doc);
+		
+		final JsonHub copy = serialize(packed);
+		assertEquals(packed, copy, "serialize " + doc);
+		assertEquals(doc, copy.toJson(), "serialize toJson " + doc);
+	}
+	
+	private void testLarge() throws Exception {
+		
+		/* larger than buffer of writeJson */
+		final StringBuilder longs = new StringBuilder("[");
+		final StringBuilder doubles = new StringBuilder("[");
+		
+		for ( int i = 0; i < 5000; ++i ) {
+			if ( i > 0 ) {
+				longs.append(',');
+				doubles.append(',');
+			}
+			longs.append(i * 7919L - 1000000L);
+			doubles.append(i).append('.').append(i % 100);
+		}
+		
+		for ( String doc : new String[] {longs.append(']').toString(), doubles.append(']').toString()} ) {
+			
+			final JsonHub packed = JsonHub.fromJson(doc);
+			
+			assertTrue(packed instanceof AbstractPackedArrayJsonHub, "large packed");
+			assertEquals(BaselineJsonReader.fromJson(doc).toJson(), compact(packed), "large compact printer");
+			assertEquals(packed.toJson(), compact(packed), "large compact printer toJson");
+			assertEquals("{\"a\":" + packed.toJson() + "}", compact(JsonHub.fromJson("{\"a\":" + doc + "}")), "nested compact printer");
+			assertEquals(plain(packed).hashCode(), packed.hashCode(), "large hashCode");
+		}
+	}
+	
+	/**
+	 * Writer which prints other packed ARRAY in each write, while buffer of this thread is in use.
+	 */
+	private static final class ReentrantWriter extends Writer {
+		
+		private final StringWriter w = new StringWriter();
+		private final JsonHub inner;
+		
+		private ReentrantWriter(JsonHub inner) {
+			this.inner = inner;
+		}
+		
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			w.write(cbuf, off, len);
+			w.write(compact(inner));
+		}
+		
+		@Override
+		public void flush() {
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
+	
+	private void testReentrantWrite() throws IOException {
+		
+		final JsonHub outer = JsonHub.fromJson("[1,2,3]");
+		final JsonHub inner = JsonHub.fromJson("[4.5,6.75]");
+		final ReentrantWriter w = new ReentrantWriter(inner);
+		
+		((AbstractPackedArrayJsonHub)outer).writeJson(w);
+		
+		assertEquals("[1,2,3][4.5,6.75]", w.w.toString(), "reentrant writeJson");
+		assertEquals("[1,2,3]", compact(outer), "after reentrant writeJson");
+	}
+	
+	private void testConcurrentWrite() throws Exception {
+		
+		final StringBuilder sb = new StringBuilder("[");
+		
+		for ( int i = 0; i < 3000; ++i ) {
+			sb.append(i == 0 ? "" : ",").append(i * 31L);
+		}
+		
+		final JsonHub packed = JsonHub.fromJson(sb.append(']').toString());
+		final String expected = packed.toJson();
+		final List<String> errors = new ArrayList<>();
+		final List<Thread> threads = new ArrayList<>();
+		
+		for ( int t = 0; t < 4; ++t ) {
+			
+			final Thread th = new Thread(() -> {
+				
+				try {
+					for ( int i = 0; i < 20; ++i ) {
+						if ( ! expected.equals(compact(packed)) ) {
+							synchronized ( errors ) {
+								errors.add("differ");
+							}
+						}
+					}
+				}
+				catch ( IOException e ) {
+					synchronized ( errors ) {
+						errors.add(e.toString());
+					}
+				}
+			});
+			
+			threads.add(th);
+			th.start();
+		}
+		
+		for ( Thread th : threads ) {
+			th.join();
+		}
+		
+		assertTrue(errors.isEmpty(), "concurrent writeJson " + errors);
+	}
+	
+	private void testScale() {
+		
+		final JsonHub a = JsonHub.fromJson("[1.0,2.0]");
+		final JsonHub b = JsonHub.fromJson("[1.00,2.0]");
+		
+		assertTrue(a instanceof PackedDoubleArrayJsonHub, "scale packed");
+		assertTrue(b instanceof PackedDoubleArrayJsonHub, "scale packed");
+		
+		/* values are equal, texts are kept */
+		assertEquals(a, b, "scale not compared");
+		assertEquals(a.hashCode(), b.hashCode(), "scale hashCode");
+		assertEquals("[1.0,2.0]", a.toJson(), "scale toJson");
+		assertEquals("[1.00,2.0]", b.toJson(), "scale toJson");
+		assertEquals(plain(b), a, "scale not compared plain");
+		assertEquals(a.get(0), b.get(0), "scale element");
+		assertEquals("1.00", b.get(0).toJson(), "scale element toJson");
+		
+		assertTrue(! a.equals(JsonHub.fromJson("[1.0,2.5]")), "value compared");
+		assertTrue(! a.equals(JsonHub.fromJson("[1.0,2.0,3.0]")), "length compared");
+		assertTrue(! a.equals(JsonHub.fromJson("[1,2]")), "long and double not equal");
+		assertTrue(! JsonHub.fromJson("[0.0]").equals(JsonHub.fromJson("[-0.0]")), "signed zero compared");
+	}
+	
+	private void testNotPacked() {
+		assertTrue(! (JsonHub.fromJson("[1,2.5]") instanceof AbstractPackedArrayJsonHub), "mixed not packed");
+		assertTrue(! (JsonHub.fromJson("[1,null]") instanceof AbstractPackedArrayJsonHub), "null not packed");
+		assertTrue(! (JsonHub.fromJson("[1,\"2\"]") instanceof AbstractPackedArrayJsonHub), "STRING not packed");
+	}
+	
+}
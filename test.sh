@@ -0,0 +1,21 @@
+#!/bin/sh
+
+path_src="src/main/java/com"
+path_test_src="src/test/java/com"
+path_test_bin="test-bin"
+version="8"
+
+# remove test-bin files
+rm -Rf ${path_test_bin}
+
+# mkdir test-bin
+mkdir ${path_test_bin}
+
+# compile
+javac -d ${path_test_bin} \
+--release ${version} \
+$(find ${path_src} ${path_test_src} -name "*.java") || exit 1
+
+# run tests
+java -cp ${path_test_bin} \
+com.shimizukenta.jsonhub.impl.AllTests